@@ -0,0 +1,13 @@
+package com.credit.advisor.ai_advisor_service;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class AiAdvisorServiceApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(AiAdvisorServiceApplication.class, args);
+	}
+
+}
@@ -0,0 +1,234 @@
+package com.credit.advisor.ai_advisor_service.cache;
+
+import com.credit.advisor.ai_advisor_service.dto.ResponseCacheStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * AI RESPONSE CACHE (normalized prompt + similarity)
+ *
+ * Key = currentScore + {@link PromptNormalizer} terms. Pehle exact key, na mile to same score ki
+ * entries me Jaccard(terms) >= similarity-threshold wala sabse close jawab.
+ *
+ * Similar search poori cache scan nahi karti: term -> entries inverted index, aur query ke sirf
+ * sabse rare (1 - t) * |q| + 1 terms ki posting lists se candidates (prefix filter) - jis entry ka
+ * inme se koi term nahi, uska Jaccard threshold tak pahunch hi nahi sakta.
+ *
+ * LRU, max-entries tak; ttl ke baad entry nahi milti. Sirf poore generate hue jawab store hote hain.
+ */
+@Component
+public class AdvisorResponseCache {
+
+    /** Lookup ka result; miss pe bhi normalized terms isme hain taaki put() dobara na nikale. */
+    public record Lookup(Integer score, String[] terms, String key, String response, boolean similar) {
+
+        public boolean hit() {
+            return response != null;
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final Integer score;
+        final String[] terms;
+        final String response;
+        final long expiresAt;
+
+        Entry(String key, Integer score, String[] terms, String response, long expiresAt) {
+            this.key = key;
+            this.score = score;
+            this.terms = terms;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final double threshold;
+    private final LongSupplier clock;
+
+    // access-order = LRU; saare fields is object ke lock ke andar
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<Entry>> postings = new HashMap<>();
+
+    private final LongAdder exactHits = new LongAdder();
+    private final LongAdder similarHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public AdvisorResponseCache(@Value("${ai.cache.enabled:true}") boolean enabled,
+                                @Value("${ai.cache.max-entries:10000}") int maxEntries,
+                                @Value("${ai.cache.ttl:6h}") Duration ttl,
+                                @Value("${ai.cache.similarity-threshold:0.75}") double threshold) {
+        this(enabled, maxEntries, ttl, threshold, System::nanoTime);
+    }
+
+    AdvisorResponseCache(boolean enabled, int maxEntries, Duration ttl, double threshold, LongSupplier clock) {
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+        this.threshold = Math.min(1.0, Math.max(0.0, threshold));
+        this.clock = clock;
+    }
+
+    public Lookup lookup(Integer score, String message) {
+        String[] terms = PromptNormalizer.terms(message);
+        String key = PromptNormalizer.key(score, terms);
+        if (!enabled) {
+            return new Lookup(score, terms, key, null, false);
+        }
+        long now = clock.getAsLong();
+        synchronized (this) {
+            Entry exact = entries.get(key);
+            if (exact != null && !expired(exact, now)) {
+                exactHits.increment();
+                return new Lookup(score, terms, key, exact.response, false);
+            }
+            if (exact != null) {
+                remove(exact);
+            }
+            Entry similar = threshold < 1.0 ? mostSimilar(score, terms, now) : null;
+            if (similar != null) {
+                entries.get(similar.key);                       // LRU touch
+                similarHits.increment();
+                return new Lookup(score, terms, key, similar.response, true);
+            }
+        }
+        misses.increment();
+        return new Lookup(score, terms, key, null, false);
+    }
+
+    public void put(Lookup lookup, String response) {
+        if (!enabled || response == null || response.isBlank()) {
+            return;
+        }
+        Entry entry = new Entry(lookup.key(), lookup.score(), lookup.terms(), response, clock.getAsLong() + ttlNanos);
+        synchronized (this) {
+            Entry previous = entries.put(entry.key, entry);
+            if (previous != null) {
+                unindex(previous);
+            }
+            for (String term : entry.terms) {
+                postings.computeIfAbsent(posting(entry.score, term), k -> new HashSet<>()).add(entry);
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                unindex(evicted);
+                evictions.increment();
+            }
+        }
+    }
+
+    public ResponseCacheStatsResponse stats() {
+        long exact = exactHits.sum();
+        long similar = similarHits.sum();
+        long miss = misses.sum();
+        long total = exact + similar + miss;
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return ResponseCacheStatsResponse.builder()
+                .enabled(enabled)
+                .entries(size)
+                .maxEntries(maxEntries)
+                .exactHits(exact)
+                .similarHits(similar)
+                .misses(miss)
+                .hitRatio(total == 0 ? 0 : (double) (exact + similar) / total)
+                .evictions(evictions.sum())
+                .similarityThreshold(threshold)
+                .build();
+    }
+
+    private Entry mostSimilar(Integer score, String[] terms, long now) {
+        if (terms.length == 0) {
+            return null;
+        }
+        // sabse chhoti posting lists pehle; inme se kisi se match na ho to Jaccard < threshold pakka
+        List<Set<Entry>> lists = new ArrayList<>(terms.length);
+        for (String term : terms) {
+            lists.add(postings.getOrDefault(posting(score, term), Set.of()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        int required = (int) Math.ceil(threshold * terms.length);
+        int prefix = Math.min(lists.size(), terms.length - required + 1);
+
+        Entry best = null;
+        double bestScore = threshold;
+        List<Entry> expired = new ArrayList<>();
+        Set<Entry> seen = new HashSet<>();
+        for (int i = 0; i < prefix; i++) {
+            for (Entry candidate : lists.get(i)) {
+                if (!seen.add(candidate)) {
+                    continue;
+                }
+                if (expired(candidate, now)) {
+                    expired.add(candidate);
+                    continue;
+                }
+                // length filter: |c| < t*|q| ya |c| > |q|/t wale kabhi threshold tak nahi pahunchte
+                int length = candidate.terms.length;
+                if (length < threshold * terms.length || threshold * length > terms.length) {
+                    continue;
+                }
+                double similarity = PromptNormalizer.jaccard(terms, candidate.terms);
+                if (similarity >= bestScore && (best == null || similarity > bestScore)) {
+                    best = candidate;
+                    bestScore = similarity;
+                }
+            }
+        }
+        for (Entry entry : expired) {
+            remove(entry);
+        }
+        return best;
+    }
+
+    private boolean expired(Entry entry, long now) {
+        return now - entry.expiresAt >= 0;
+    }
+
+    private void remove(Entry entry) {
+        if (entries.get(entry.key) == entry) {
+            entries.remove(entry.key);
+        }
+        unindex(entry);
+    }
+
+    private void unindex(Entry entry) {
+        for (String term : entry.terms) {
+            String posting = posting(entry.score, term);
+            Set<Entry> list = postings.get(posting);
+            if (list != null) {
+                list.remove(entry);
+                if (list.isEmpty()) {
+                    postings.remove(posting);
+                }
+            }
+        }
+    }
+
+    private static String posting(Integer score, String term) {
+        return score + "|" + term;
+    }
+}
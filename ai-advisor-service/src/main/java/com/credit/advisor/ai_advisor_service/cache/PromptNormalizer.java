@@ -0,0 +1,87 @@
+package com.credit.advisor.ai_advisor_service.cache;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Prompt ko cache key me badalta hai: lowercase, punctuation hata ke words, filler words
+ * ("how", "do", "i", "my" ...) bahar, simple plural -> singular, phir sorted unique terms.
+ * "How do I improve my credit score?" aur "how can i improve credit scores" = same key.
+ *
+ * "not" / "no" / "without" jaan-bujh ke stopword nahi hain - inse matlab ulat jata hai.
+ * Numbers jaise hain waise rehte hain (650 aur 750 alag terms).
+ */
+public final class PromptNormalizer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "the", "i", "me", "my", "mine", "we", "our", "you", "your", "it", "its", "this", "that",
+            "is", "am", "are", "was", "were", "be", "been", "do", "does", "did", "can", "could", "would",
+            "should", "will", "shall", "may", "might", "must", "to", "of", "in", "on", "at", "for", "from",
+            "by", "with", "about", "into", "and", "or", "so", "if", "then", "than", "how", "what", "which",
+            "please", "tell", "know", "want", "help", "hi", "hello", "hey", "there", "some", "any", "get",
+            "just", "also", "really", "very", "much");
+
+    private PromptNormalizer() {
+    }
+
+    public static String[] terms(String message) {
+        TreeSet<String> terms = new TreeSet<>();
+        String text = message == null ? "" : message.toLowerCase(Locale.ROOT);
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i))
+                    || (text.charAt(i) == ',' && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1))))) {
+                i++;
+            }
+            if (i > start) {
+                String word = text.substring(start, i).replace(",", "");     // "1,00,000" -> "100000"
+                if (!STOPWORDS.contains(word)) {
+                    terms.add(singular(word));
+                }
+            }
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    /** Score + terms. Score alag rakha hai kyunki jawab usi pe depend karta hai. */
+    public static String key(Integer currentScore, String[] terms) {
+        return (currentScore == null ? "-" : currentScore.toString()) + "|" + String.join(" ", terms);
+    }
+
+    /** |a ∩ b| / |a ∪ b|, dono sorted unique arrays. */
+    static double jaccard(String[] a, String[] b) {
+        int overlap = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            int cmp = a[i].compareTo(b[j]);
+            if (cmp == 0) {
+                overlap++;
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - overlap;
+        return union == 0 ? 1.0 : (double) overlap / union;
+    }
+
+    private static String singular(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";            // inquiries -> inquiry
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")
+                && !Character.isDigit(word.charAt(0))) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
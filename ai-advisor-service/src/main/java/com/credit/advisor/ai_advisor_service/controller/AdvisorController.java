@@ -0,0 +1,147 @@
+package com.credit.advisor.ai_advisor_service.controller;
+
+import com.credit.advisor.ai_advisor_service.dto.AdvisorStatsResponse;
+import com.credit.advisor.ai_advisor_service.dto.ChatRequest;
+import com.credit.advisor.ai_advisor_service.dto.ChatResponse;
+import com.credit.advisor.ai_advisor_service.service.AdvisorService;
+import com.credit.advisor.ai_advisor_service.service.ChatStreamListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ai")
+@RequiredArgsConstructor
+@Slf4j
+public class AdvisorController {
+
+    static final String HEADER_USER_ID = "X-User-Id";
+    static final String HEADER_GATEWAY_IDENTITY = "X-Gateway-Identity";
+
+    private final AdvisorService advisorService;
+    private final ObjectMapper objectMapper;
+
+    // gateway ka shared secret; khali = X-User-Id / X-Forwarded-For pe trust nahi
+    @Value("${ai.trusted-headers.secret:}")
+    private String trustedHeadersSecret;
+
+    /**
+     * Poora jawab ek JSON me (frontend ka purana contract).
+     */
+    @PostMapping("/chat")
+    public ChatResponse chat(@Valid @RequestBody ChatRequest request, HttpServletRequest http) {
+        return advisorService.chat(request, userKey(http));
+    }
+
+    /**
+     * Same jawab SSE pe, token-by-token: admission hote hi ": ok" comment flush (pehla byte turant),
+     * phir har token "event: token", end me "event: done". Client beech me chala jaye to write
+     * fail hota hai aur LLM generation wahin ruk jati hai.
+     * Limit / backend error stream shuru hone se pehle = normal 429 / 503 / 502 JSON.
+     */
+    @PostMapping("/chat/stream")
+    public void stream(@Valid @RequestBody ChatRequest request,
+                       HttpServletRequest http,
+                       HttpServletResponse response) throws IOException {
+        ServletOutputStream out = response.getOutputStream();
+        boolean cached;
+        try {
+            cached = advisorService.stream(request, userKey(http), new ChatStreamListener() {
+                @Override
+                public void started(boolean fromCache) throws IOException {
+                    response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+                    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+                    response.setHeader("X-Accel-Buffering", "no");      // nginx jaise proxies buffer na karein
+                    response.setHeader("X-Cache", fromCache ? "HIT" : "MISS");
+                    write(out, ": ok\n\n");
+                }
+
+                @Override
+                public void token(String text) throws IOException {
+                    write(out, "event: token\ndata: " + objectMapper.writeValueAsString(Map.of("text", text)) + "\n\n");
+                }
+            });
+        } catch (IOException e) {
+            log.debug("AI stream client disconnected: {}", e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                throw e;   // abhi status bhej sakte hain (429 / 503 / 502)
+            }
+            // 200 ja chuka - error event me
+            try {
+                write(out, "event: error\ndata: "
+                        + objectMapper.writeValueAsString(Map.of("error", String.valueOf(e.getMessage()))) + "\n\n");
+            } catch (IOException ignored) {
+                // client bhi ja chuka
+            }
+            return;
+        }
+        try {
+            write(out, "event: done\ndata: " + objectMapper.writeValueAsString(Map.of("cached", cached)) + "\n\n");
+        } catch (IOException e) {
+            log.debug("AI stream client disconnected before done: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cache hit ratio, in-flight / rejected generations, first-token latency.
+     */
+    @GetMapping("/stats")
+    public AdvisorStatsResponse stats() {
+        return advisorService.stats();
+    }
+
+    private static void write(ServletOutputStream out, String frame) throws IOException {
+        out.write(frame.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Per-user limit ki key. Body ka userId client-controlled hai, isliye sirf gateway ke
+     * verified headers: X-User-Id (logged in) ya gateway ka append kiya X-Forwarded-For ka last hop.
+     * Warna direct client ka IP.
+     */
+    private String userKey(HttpServletRequest http) {
+        if (fromTrustedGateway(http)) {
+            String userId = http.getHeader(HEADER_USER_ID);
+            if (userId != null && !userId.isBlank()) {
+                return "user:" + userId.trim();
+            }
+            String forwarded = http.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                return "ip:" + forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+            }
+        }
+        return "ip:" + http.getRemoteAddr();
+    }
+
+    private boolean fromTrustedGateway(HttpServletRequest http) {
+        if (trustedHeadersSecret.isEmpty()) {
+            return false;
+        }
+        String presented = http.getHeader(HEADER_GATEWAY_IDENTITY);
+        // constant-time compare, secret timing se leak na ho
+        return presented != null && MessageDigest.isEqual(
+                trustedHeadersSecret.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package com.credit.advisor.ai_advisor_service.controller;
+
+import com.credit.advisor.ai_advisor_service.limit.GenerationRejectedException;
+import com.credit.advisor.ai_advisor_service.llm.LlmException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+// contentType explicit: /chat/stream ka client Accept: text/event-stream bhejta hai, error phir bhi JSON
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // user ki apni limit -> 429, poori service busy -> 503; dono + Retry-After
+    @ExceptionHandler(GenerationRejectedException.class)
+    public ResponseEntity<Map<String, String>> rejected(GenerationRejectedException ex) {
+        return ResponseEntity.status(ex.isPerUser() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(LlmException.class)
+    public ResponseEntity<Map<String, String>> llmFailed(LlmException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.credit.advisor.ai_advisor_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AdvisorStatsResponse {
+
+    private String backend;
+    private long generations;
+    private long failedGenerations;
+    /** client stream ke beech chala gaya, generation roki gayi */
+    private long abandonedGenerations;
+    private int inFlight;
+    private int maxConcurrent;
+    private int perUserConcurrent;
+    private long rejectedPerUser;
+    private long rejectedGlobal;
+    /** admission se pehle token tak, ms (successful generations ka average) */
+    private double avgFirstTokenMillis;
+    private double avgGenerationMillis;
+    private ResponseCacheStatsResponse cache;
+}
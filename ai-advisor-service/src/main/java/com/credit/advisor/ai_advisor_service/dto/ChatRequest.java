@@ -0,0 +1,29 @@
+package com.credit.advisor.ai_advisor_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRequest {
+
+    @NotBlank
+    @Size(max = 2000)
+    private String message;
+
+    // frontend bhejta hai, par client-controlled hai - limits gateway ke X-User-Id / client IP pe
+    private Long userId;
+
+    // optional; jawab aur cache key dono isi pe depend karte hain
+    @Min(300)
+    @Max(900)
+    private Integer currentScore;
+}
@@ -0,0 +1,17 @@
+package com.credit.advisor.ai_advisor_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatResponse {
+
+    private String response;
+    /** true = cache se (exact ya similar prompt), LLM call nahi hua */
+    private boolean cached;
+}
@@ -0,0 +1,20 @@
+package com.credit.advisor.ai_advisor_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ResponseCacheStatsResponse {
+
+    private boolean enabled;
+    private int entries;
+    private int maxEntries;
+    private long exactHits;
+    private long similarHits;
+    private long misses;
+    /** (exactHits + similarHits) / lookups */
+    private double hitRatio;
+    private long evictions;
+    private double similarityThreshold;
+}
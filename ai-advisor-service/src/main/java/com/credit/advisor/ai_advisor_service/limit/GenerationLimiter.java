@@ -0,0 +1,101 @@
+package com.credit.advisor.ai_advisor_service.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LLM generations pe do limits, dono non-blocking (wait nahi, turant reject):
+ *  - per user: ek user ke ek saath max per-user-concurrent streams (tab spam / retry loop ek hi
+ *    user ka budget khaye, baaki users ka nahi)
+ *  - global: max-concurrent - backend / API quota aur request threads dono ki hifazat
+ *
+ * Map me sirf woh users rehte hain jinki generation abhi chal rahi hai.
+ */
+@Component
+public class GenerationLimiter {
+
+    private final int maxConcurrent;
+    private final int perUserConcurrent;
+    private final Semaphore global;
+    private final ConcurrentHashMap<String, Integer> active = new ConcurrentHashMap<>();
+    private final LongAdder rejectedPerUser = new LongAdder();
+    private final LongAdder rejectedGlobal = new LongAdder();
+
+    public GenerationLimiter(@Value("${ai.llm.max-concurrent:16}") int maxConcurrent,
+                             @Value("${ai.llm.per-user-concurrent:2}") int perUserConcurrent) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.perUserConcurrent = Math.max(1, perUserConcurrent);
+        this.global = new Semaphore(this.maxConcurrent);
+    }
+
+    /** Slot lo; close() zaroor karna (try-with-resources). */
+    public Permit acquire(String userKey) {
+        boolean[] admitted = {false};
+        active.compute(userKey, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= perUserConcurrent) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        if (!admitted[0]) {
+            rejectedPerUser.increment();
+            throw new GenerationRejectedException(
+                    "Too many AI requests in progress for this user (max " + perUserConcurrent + ")", true);
+        }
+        if (!global.tryAcquire()) {
+            releaseUser(userKey);
+            rejectedGlobal.increment();
+            throw new GenerationRejectedException("AI advisor is busy, please retry", false);
+        }
+        return new Permit(userKey);
+    }
+
+    public int inFlight() {
+        return maxConcurrent - global.availablePermits();
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int perUserConcurrent() {
+        return perUserConcurrent;
+    }
+
+    public long rejectedPerUser() {
+        return rejectedPerUser.sum();
+    }
+
+    public long rejectedGlobal() {
+        return rejectedGlobal.sum();
+    }
+
+    private void releaseUser(String userKey) {
+        active.computeIfPresent(userKey, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private final String userKey;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(String userKey) {
+            this.userKey = userKey;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                global.release();
+                releaseUser(userKey);
+            }
+        }
+    }
+}
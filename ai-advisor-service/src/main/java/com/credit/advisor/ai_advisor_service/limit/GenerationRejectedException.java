@@ -0,0 +1,19 @@
+package com.credit.advisor.ai_advisor_service.limit;
+
+/**
+ * Generation slot nahi mila. perUser = is user ki apni limit bhari (429),
+ * warna poori service ki (503). Dono pe client Retry-After ke baad dobara try kare.
+ */
+public class GenerationRejectedException extends RuntimeException {
+
+    private final boolean perUser;
+
+    public GenerationRejectedException(String message, boolean perUser) {
+        super(message);
+        this.perUser = perUser;
+    }
+
+    public boolean isPerUser() {
+        return perUser;
+    }
+}
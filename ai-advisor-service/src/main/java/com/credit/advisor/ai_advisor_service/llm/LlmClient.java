@@ -0,0 +1,17 @@
+package com.credit.advisor.ai_advisor_service.llm;
+
+import java.io.IOException;
+
+/**
+ * LLM backend. Implementation ai.llm.provider se chuna jata hai:
+ * stub (default, deterministic, local) ya openai (koi bhi OpenAI-compatible /v1/chat/completions).
+ *
+ * stream() blocking hai - caller ke thread pe tokens ek-ek karke sink me jate hain aur
+ * poora jawab generate hone pe lautta hai. Sink ka IOException as-is upar jata hai.
+ */
+public interface LlmClient {
+
+    void stream(LlmPrompt prompt, TokenSink sink) throws IOException;
+
+    String name();
+}
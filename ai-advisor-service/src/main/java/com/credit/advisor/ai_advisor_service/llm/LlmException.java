@@ -0,0 +1,13 @@
+package com.credit.advisor.ai_advisor_service.llm;
+
+/** Backend ne error diya / timeout / bigda hua stream. */
+public class LlmException extends RuntimeException {
+
+    public LlmException(String message) {
+        super(message);
+    }
+
+    public LlmException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,5 @@
+package com.credit.advisor.ai_advisor_service.llm;
+
+/** Model ko jaane wala input. currentScore optional hai (null = pata nahi). */
+public record LlmPrompt(String message, Integer currentScore) {
+}
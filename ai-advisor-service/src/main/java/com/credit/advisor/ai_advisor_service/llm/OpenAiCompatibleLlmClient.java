@@ -0,0 +1,129 @@
+package com.credit.advisor.ai_advisor_service.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Koi bhi OpenAI-compatible server (OpenAI, vLLM, Ollama, LM Studio): POST /v1/chat/completions
+ * stream=true ke saath, SSE "data:" lines parse karke har delta content sink ko.
+ *
+ * Sink IOException de (client disconnect) to response stream band - HTTP request cancel hota hai
+ * aur backend aage tokens generate nahi karta. ai.llm.timeout = response headers tak ka wait.
+ */
+@Component
+@ConditionalOnProperty(name = "ai.llm.provider", havingValue = "openai")
+public class OpenAiCompatibleLlmClient implements LlmClient {
+
+    static final String SYSTEM_PROMPT = "You are a concise credit score advisor for Indian consumers. "
+            + "Answer in under 150 words with practical, numbered steps. Do not ask for personal documents.";
+
+    private final ObjectMapper objectMapper;
+    private final URI endpoint;
+    private final String apiKey;
+    private final String model;
+    private final int maxTokens;
+    private final Duration timeout;
+    private final HttpClient http;
+
+    public OpenAiCompatibleLlmClient(ObjectMapper objectMapper,
+                                     @Value("${ai.llm.openai.base-url:https://api.openai.com}") String baseUrl,
+                                     @Value("${ai.llm.openai.api-key:}") String apiKey,
+                                     @Value("${ai.llm.openai.model:gpt-4o-mini}") String model,
+                                     @Value("${ai.llm.openai.max-tokens:400}") int maxTokens,
+                                     @Value("${ai.llm.timeout:60s}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.endpoint = URI.create(base + "/v1/chat/completions");
+        this.apiKey = apiKey;
+        this.model = model;
+        this.maxTokens = maxTokens;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    }
+
+    @Override
+    public void stream(LlmPrompt prompt, TokenSink sink) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body(prompt))));
+        if (!apiKey.isEmpty()) {
+            request.header("Authorization", "Bearer " + apiKey);
+        }
+
+        HttpResponse<InputStream> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Generation interrupted", e);
+        } catch (IOException e) {
+            throw new LlmException("LLM backend unreachable: " + e.getMessage(), e);
+        }
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            if (response.statusCode() != 200) {
+                throw new LlmException("LLM backend returned " + response.statusCode());
+            }
+            String line;
+            while ((line = readLine(reader)) != null) {
+                if (!line.startsWith("data:")) {
+                    continue;                    // khali lines, ": keep-alive" comments
+                }
+                String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) {
+                    return;
+                }
+                String text = objectMapper.readTree(data).path("choices").path(0).path("delta").path("content").asText("");
+                if (!text.isEmpty()) {
+                    sink.token(text);            // IOException = client gaya, try-with-resources stream band karega
+                }
+            }
+            throw new LlmException("LLM stream ended without [DONE]");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "openai:" + model;
+    }
+
+    private ObjectNode body(LlmPrompt prompt) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        body.put("stream", true);
+        body.put("max_tokens", maxTokens);
+        ArrayNode messages = body.putArray("messages");
+        messages.addObject().put("role", "system").put("content", SYSTEM_PROMPT);
+        String user = prompt.currentScore() == null ? prompt.message()
+                : "My current credit score is " + prompt.currentScore() + ". " + prompt.message();
+        messages.addObject().put("role", "user").put("content", user);
+        return body;
+    }
+
+    // upstream read failure ko sink ke IOException (client disconnect) se alag rakho
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new LlmException("LLM stream broken: " + e.getMessage(), e);
+        }
+    }
+}
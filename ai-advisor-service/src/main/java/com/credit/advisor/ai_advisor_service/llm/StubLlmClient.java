@@ -0,0 +1,118 @@
+package com.credit.advisor.ai_advisor_service.llm;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default backend: local, deterministic, bina network ke.
+ *
+ * Same prompt = same jawab (keyword + score band se template), to tests aur benchmarks ke
+ * numbers repeatable hain. first-token-delay / token-delay se asli model ki latency shape
+ * (pehle token tak wait, phir steady stream) simulate hoti hai; tests me dono 0.
+ */
+@Component
+@ConditionalOnProperty(name = "ai.llm.provider", havingValue = "stub", matchIfMissing = true)
+public class StubLlmClient implements LlmClient {
+
+    private final long firstTokenDelayNanos;
+    private final long tokenDelayNanos;
+
+    public StubLlmClient(@Value("${ai.llm.stub.first-token-delay:300ms}") Duration firstTokenDelay,
+                         @Value("${ai.llm.stub.token-delay:20ms}") Duration tokenDelay) {
+        this.firstTokenDelayNanos = firstTokenDelay.toNanos();
+        this.tokenDelayNanos = tokenDelay.toNanos();
+    }
+
+    @Override
+    public void stream(LlmPrompt prompt, TokenSink sink) throws IOException {
+        String answer = answer(prompt);
+        pause(firstTokenDelayNanos);
+        int start = 0;
+        boolean first = true;
+        // word + uske baad ka whitespace = ek token
+        while (start < answer.length()) {
+            int end = start;
+            while (end < answer.length() && !Character.isWhitespace(answer.charAt(end))) {
+                end++;
+            }
+            while (end < answer.length() && Character.isWhitespace(answer.charAt(end))) {
+                end++;
+            }
+            if (!first) {
+                pause(tokenDelayNanos);
+            }
+            sink.token(answer.substring(start, end));
+            first = false;
+            start = end;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    static String answer(LlmPrompt prompt) {
+        String q = prompt.message() == null ? "" : prompt.message().toLowerCase(Locale.ROOT);
+        Integer score = prompt.currentScore();
+        String from = score == null ? "your current score" : String.valueOf(score);
+
+        if (q.contains("loan") || q.contains("eligib") || q.contains("mortgage")) {
+            return "Loan eligibility at " + from + ":\n"
+                    + (score == null ? "Share your score for a specific answer. "
+                    : score >= 750 ? "You qualify for most home and personal loans at the best rates. "
+                    : score >= 700 ? "Most lenders will approve you; rates may be slightly above the best tier. "
+                    : score >= 650 ? "Approval is likely with a co-applicant or a smaller amount. "
+                    : "Approval is hard right now; secured loans are the realistic option. ")
+                    + "\n1. Keep EMIs under 40% of monthly income"
+                    + "\n2. Avoid new credit applications for 3 months before applying"
+                    + "\n3. Keep salary slips and bank statements for the last 6 months ready";
+        }
+        if (q.contains("card")) {
+            return "Credit cards for a score of " + from + ":\n"
+                    + (score != null && score >= 750 ? "Premium rewards and travel cards are within reach. "
+                    : score != null && score >= 650 ? "Entry-level rewards and cashback cards are a good fit. "
+                    : "Start with a secured card against a fixed deposit. ")
+                    + "\n1. Use under 30% of the limit"
+                    + "\n2. Pay the full statement balance, not the minimum"
+                    + "\n3. Apply for one card at a time";
+        }
+        if (q.contains("affect") || q.contains("factor") || q.contains("calculat") || q.contains("why")) {
+            return "What drives your score:\n1. Payment history - the biggest factor"
+                    + "\n2. Credit utilization - keep it below 30%"
+                    + "\n3. Length of credit history - keep old accounts open"
+                    + "\n4. Credit mix - secured and unsecured loans"
+                    + "\n5. Recent hard inquiries - each one costs a few points";
+        }
+        if (q.contains("utiliz") || q.contains("limit")) {
+            return "Utilization is the fastest lever on your score. At " + from + ", bring it under 30%, "
+                    + "ideally under 10%:\n1. Pay before the statement date"
+                    + "\n2. Ask for a limit increase instead of opening a new card"
+                    + "\n3. Spread spending across cards";
+        }
+        return "To improve your credit score from " + from + ", focus on:"
+                + "\n1. Pay all bills on time"
+                + "\n2. Reduce credit utilization below 30%"
+                + "\n3. Don't close old credit accounts"
+                + "\n4. Limit hard inquiries"
+                + (score != null && score < 750 ? "\nMost users gain 30-50 points in 6 months with these steps." : "");
+    }
+
+    private static void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Generation interrupted", e);
+        }
+    }
+}
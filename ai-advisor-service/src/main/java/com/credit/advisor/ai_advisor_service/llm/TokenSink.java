@@ -0,0 +1,13 @@
+package com.credit.advisor.ai_advisor_service.llm;
+
+import java.io.IOException;
+
+/**
+ * Generate hote hi har token yahan aata hai. IOException = client chala gaya -
+ * backend ko generation wahin rok deni chahiye (tokens ka paisa bachta hai).
+ */
+@FunctionalInterface
+public interface TokenSink {
+
+    void token(String text) throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.credit.advisor.ai_advisor_service.service;
+
+import com.credit.advisor.ai_advisor_service.dto.AdvisorStatsResponse;
+import com.credit.advisor.ai_advisor_service.dto.ChatRequest;
+import com.credit.advisor.ai_advisor_service.dto.ChatResponse;
+
+import java.io.IOException;
+
+public interface AdvisorService {
+
+    ChatResponse chat(ChatRequest request, String userKey);
+
+    /** Tokens listener me aate jate hain; true = jawab cache se aaya. */
+    boolean stream(ChatRequest request, String userKey, ChatStreamListener listener) throws IOException;
+
+    AdvisorStatsResponse stats();
+}
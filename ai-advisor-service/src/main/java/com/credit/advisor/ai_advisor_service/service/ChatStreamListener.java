@@ -0,0 +1,14 @@
+package com.credit.advisor.ai_advisor_service.service;
+
+import com.credit.advisor.ai_advisor_service.llm.TokenSink;
+
+import java.io.IOException;
+
+/**
+ * Streaming chat ka receiver. started() admission ke baad (cache hit ya generation slot mila)
+ * pehle token se pehle ek baar - isse pehle reject hua to exception, koi callback nahi.
+ */
+public interface ChatStreamListener extends TokenSink {
+
+    void started(boolean cached) throws IOException;
+}
@@ -0,0 +1,133 @@
+package com.credit.advisor.ai_advisor_service.service.impl;
+
+import com.credit.advisor.ai_advisor_service.cache.AdvisorResponseCache;
+import com.credit.advisor.ai_advisor_service.dto.AdvisorStatsResponse;
+import com.credit.advisor.ai_advisor_service.dto.ChatRequest;
+import com.credit.advisor.ai_advisor_service.dto.ChatResponse;
+import com.credit.advisor.ai_advisor_service.limit.GenerationLimiter;
+import com.credit.advisor.ai_advisor_service.llm.LlmClient;
+import com.credit.advisor.ai_advisor_service.llm.LlmException;
+import com.credit.advisor.ai_advisor_service.llm.LlmPrompt;
+import com.credit.advisor.ai_advisor_service.service.AdvisorService;
+import com.credit.advisor.ai_advisor_service.service.ChatStreamListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdvisorServiceImpl implements AdvisorService {
+
+    private final LlmClient llmClient;
+    private final AdvisorResponseCache responseCache;
+    private final GenerationLimiter generationLimiter;
+
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final LongAdder firstTokenNanos = new LongAdder();
+    private final LongAdder generationNanos = new LongAdder();
+
+    @Override
+    public ChatResponse chat(ChatRequest request, String userKey) {
+        StringBuilder text = new StringBuilder();
+        boolean cached;
+        try {
+            cached = stream(request, userKey, new ChatStreamListener() {
+                @Override
+                public void started(boolean fromCache) {
+                }
+
+                @Override
+                public void token(String token) {
+                    text.append(token);
+                }
+            });
+        } catch (IOException e) {
+            // StringBuilder listener kabhi throw nahi karta
+            throw new LlmException("Generation failed", e);
+        }
+        return ChatResponse.builder().response(text.toString()).cached(cached).build();
+    }
+
+    @Override
+    public boolean stream(ChatRequest request, String userKey, ChatStreamListener listener) throws IOException {
+        // 1) cache: hit pe LLM slot bhi nahi lagta
+        AdvisorResponseCache.Lookup lookup = responseCache.lookup(request.getCurrentScore(), request.getMessage());
+        if (lookup.hit()) {
+            listener.started(true);
+            listener.token(lookup.response());
+            return true;
+        }
+
+        // 2) per-user + global slot; reject = exception, response abhi commit nahi hua
+        try (GenerationLimiter.Permit permit = generationLimiter.acquire(userKey)) {
+            listener.started(false);
+            String response = generate(new LlmPrompt(request.getMessage(), request.getCurrentScore()), listener);
+            // 3) sirf poora jawab cache me - adhura (disconnect / error) kabhi nahi
+            responseCache.put(lookup, response);
+        }
+        return false;
+    }
+
+    @Override
+    public AdvisorStatsResponse stats() {
+        long done = generations.sum();
+        return AdvisorStatsResponse.builder()
+                .backend(llmClient.name())
+                .generations(done)
+                .failedGenerations(failed.sum())
+                .abandonedGenerations(abandoned.sum())
+                .inFlight(generationLimiter.inFlight())
+                .maxConcurrent(generationLimiter.maxConcurrent())
+                .perUserConcurrent(generationLimiter.perUserConcurrent())
+                .rejectedPerUser(generationLimiter.rejectedPerUser())
+                .rejectedGlobal(generationLimiter.rejectedGlobal())
+                .avgFirstTokenMillis(done == 0 ? 0 : firstTokenNanos.sum() / 1e6 / done)
+                .avgGenerationMillis(done == 0 ? 0 : generationNanos.sum() / 1e6 / done)
+                .cache(responseCache.stats())
+                .build();
+    }
+
+    private String generate(LlmPrompt prompt, ChatStreamListener listener) throws IOException {
+        long started = System.nanoTime();
+        long[] firstToken = {0};
+        boolean[] clientGone = {false};
+        StringBuilder text = new StringBuilder();
+        try {
+            llmClient.stream(prompt, token -> {
+                if (firstToken[0] == 0) {
+                    firstToken[0] = System.nanoTime();
+                }
+                text.append(token);
+                try {
+                    listener.token(token);
+                } catch (IOException e) {
+                    clientGone[0] = true;
+                    throw e;
+                }
+            });
+        } catch (IOException e) {
+            if (clientGone[0]) {
+                // client ne stream chhod di - generation wahin band, kuch cache nahi
+                abandoned.increment();
+                throw e;
+            }
+            failed.increment();
+            throw new LlmException("LLM backend failed: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("AI generation failed on {}: {}", llmClient.name(), e.getMessage());
+            throw e;
+        }
+        long finished = System.nanoTime();
+        generations.increment();
+        firstTokenNanos.add((firstToken[0] == 0 ? finished : firstToken[0]) - started);
+        generationNanos.add(finished - started);
+        return text.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.credit.advisor.ai_advisor_service.benchmark;
+
+import com.credit.advisor.ai_advisor_service.cache.AdvisorResponseCache;
+import com.credit.advisor.ai_advisor_service.dto.ChatRequest;
+import com.credit.advisor.ai_advisor_service.limit.GenerationLimiter;
+import com.credit.advisor.ai_advisor_service.llm.StubLlmClient;
+import com.credit.advisor.ai_advisor_service.service.impl.AdvisorServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Advisor ke request path ka local cost, cache me 10k entries (12 score values, realistic vocab).
+ *
+ *  - exactHit / similarHit / miss: sirf cache lookup (normalize + exact key / prefix-filtered
+ *    Jaccard search)
+ *  - stubGeneration: cache band, stub LLM bina delay - service + limiter + tokenization overhead.
+ *    Asli miss ka cost isme model latency (first token ~300ms+) jod ke hai.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=AdvisorChat
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AdvisorChatBenchmark {
+
+    private static final int ENTRIES = 10_000;
+    private static final int[] SCORES = {550, 600, 620, 650, 680, 700, 720, 750, 780, 800, 820, 850};
+    private static final String[] VOCAB = {
+            "improve", "credit", "score", "loan", "home", "car", "personal", "card", "utilization", "limit",
+            "payment", "late", "missed", "emi", "salary", "income", "debt", "consolidate", "close", "account",
+            "old", "new", "inquiry", "hard", "soft", "report", "error", "dispute", "bureau", "cibil",
+            "rate", "interest", "eligible", "approval", "reject", "co-applicant", "secured", "unsecured",
+            "fixed", "deposit", "rewards", "cashback", "travel", "annual", "fee", "month", "year", "fast",
+            "quickly", "safely", "mortgage", "refinance", "settle", "default", "history", "mix", "age"};
+
+    private AdvisorResponseCache cache;
+    private AdvisorServiceImpl uncachedService;
+    private String[] exactPrompts;
+    private String[] similarPrompts;
+    private String[] missPrompts;
+    private int[] promptScores;
+    private ChatRequest generationRequest;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        cache = new AdvisorResponseCache(true, ENTRIES, Duration.ofHours(6), 0.75);
+        exactPrompts = new String[1024];
+        similarPrompts = new String[1024];
+        missPrompts = new String[1024];
+        promptScores = new int[1024];
+        for (int i = 0; i < ENTRIES; i++) {
+            int score = SCORES[i % SCORES.length];
+            String prompt = "How can I " + words(random, 4 + random.nextInt(3));
+            cache.put(cache.lookup(score, prompt), "Answer " + i + " ".repeat(200));
+            if (i < 1024) {
+                promptScores[i] = score;
+                exactPrompts[i] = "how do i " + prompt.substring(10);
+                similarPrompts[i] = prompt + " " + VOCAB[random.nextInt(VOCAB.length)] + "zz";
+                missPrompts[i] = "what about " + words(random, 5);
+            }
+        }
+        GenerationLimiter limiter = new GenerationLimiter(1_000_000, 1_000_000);
+        uncachedService = new AdvisorServiceImpl(new StubLlmClient(Duration.ZERO, Duration.ZERO),
+                new AdvisorResponseCache(false, 1, Duration.ofHours(6), 0.75), limiter);
+        generationRequest = ChatRequest.builder().message("How do I improve my credit score?").currentScore(650).build();
+    }
+
+    @Benchmark
+    public Object exactHit() {
+        int i = cursor++ & 1023;
+        return cache.lookup(promptScores[i], exactPrompts[i]);
+    }
+
+    @Benchmark
+    public Object similarHit() {
+        int i = cursor++ & 1023;
+        return cache.lookup(promptScores[i], similarPrompts[i]);
+    }
+
+    @Benchmark
+    public Object miss() {
+        int i = cursor++ & 1023;
+        return cache.lookup(promptScores[i], missPrompts[i]);
+    }
+
+    @Benchmark
+    public Object stubGeneration() {
+        return uncachedService.chat(generationRequest, "user:1");
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(VOCAB[random.nextInt(VOCAB.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+}
@@ -0,0 +1,60 @@
+package com.credit.advisor.ai_advisor_service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdvisorResponseCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void normalizedAndNearDuplicatePromptsHitTheSameEntry() {
+        AdvisorResponseCache cache = new AdvisorResponseCache(true, 100, Duration.ofHours(1), 0.75, clock::get);
+        assertThat(PromptNormalizer.terms("How do I improve my credit score?"))
+                .containsExactly(PromptNormalizer.terms("how can i IMPROVE credit scores"));
+
+        AdvisorResponseCache.Lookup miss = cache.lookup(650, "How do I improve my credit score?");
+        assertThat(miss.hit()).isFalse();
+        cache.put(miss, "Pay on time.");
+
+        AdvisorResponseCache.Lookup exact = cache.lookup(650, "how can i improve credit scores");
+        assertThat(exact.response()).isEqualTo("Pay on time.");
+        assertThat(exact.similar()).isFalse();
+
+        // {improve, credit, score, quickly} vs {improve, credit, score} = 3/4
+        AdvisorResponseCache.Lookup similar = cache.lookup(650, "How can I improve my credit score quickly?");
+        assertThat(similar.response()).isEqualTo("Pay on time.");
+        assertThat(similar.similar()).isTrue();
+
+        // jawab score pe depend karta hai; "not" matlab badal deta hai
+        assertThat(cache.lookup(700, "How do I improve my credit score?").hit()).isFalse();
+        assertThat(cache.lookup(650, "why is my credit score not improving").hit()).isFalse();
+        assertThat(cache.lookup(650, "improve credit score from 650 to 750").hit()).isFalse();
+
+        assertThat(cache.stats().getExactHits()).isEqualTo(1);
+        assertThat(cache.stats().getSimilarHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(4);
+    }
+
+    @Test
+    void boundedByLruAndTtl() {
+        AdvisorResponseCache cache = new AdvisorResponseCache(true, 2, Duration.ofMinutes(10), 0.75, clock::get);
+        cache.put(cache.lookup(650, "home loan eligibility"), "a");
+        cache.put(cache.lookup(650, "best credit card"), "b");
+        cache.lookup(650, "home loan eligibility");                 // LRU touch
+        cache.put(cache.lookup(650, "what affects utilization"), "c");
+
+        assertThat(cache.lookup(650, "best credit card").hit()).isFalse();
+        assertThat(cache.lookup(650, "home loan eligibility").response()).isEqualTo("a");
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertThat(cache.lookup(650, "home loan eligibility").hit()).isFalse();
+        assertThat(cache.lookup(650, "home loans eligibility now").hit()).isFalse();
+        assertThat(cache.stats().getEntries()).isLessThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.credit.advisor.ai_advisor_service.controller;
+
+import com.credit.advisor.ai_advisor_service.limit.GenerationLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdvisorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GenerationLimiter generationLimiter;
+
+    @Test
+    void streamsTokensThenServesTheRepeatFromCache() throws Exception {
+        String body = "{\"message\":\"Am I eligible for a home loan?\",\"userId\":1,\"currentScore\":720}";
+
+        String first = mockMvc.perform(post("/api/ai/chat/stream")
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.TEXT_EVENT_STREAM).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "MISS"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(first).startsWith(": ok\n\nevent: token\ndata: {\"text\":\"Loan ");
+        assertThat(first).endsWith("event: done\ndata: {\"cached\":false}\n\n");
+        assertThat(first.split("event: token").length).isGreaterThan(20);
+
+        // JSON endpoint, same sawaal thoda alag shabdon me - LLM nahi chala
+        mockMvc.perform(post("/api/ai/chat").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"am i eligible for home loans\",\"currentScore\":720}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cached").value(true))
+                .andExpect(jsonPath("$.response").value(startsWith("Loan eligibility at 720")));
+    }
+
+    @Test
+    void perUserLimitRejectsBeforeTheStreamStarts() throws Exception {
+        try (GenerationLimiter.Permit a = generationLimiter.acquire("user:42");
+             GenerationLimiter.Permit b = generationLimiter.acquire("user:42")) {
+            mockMvc.perform(post("/api/ai/chat/stream")
+                            .header("X-User-Id", "42").header("X-Gateway-Identity", "test-gateway-secret")
+                            .contentType(MediaType.APPLICATION_JSON).accept(MediaType.TEXT_EVENT_STREAM)
+                            .content("{\"message\":\"best credit cards for me\",\"currentScore\":610}"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.error").exists());
+
+            // bina gateway secret ke X-User-Id nahi maana jata - client IP ki apni limit
+            mockMvc.perform(post("/api/ai/chat")
+                            .header("X-User-Id", "42").header("X-Gateway-Identity", "wrong")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"message\":\"best credit cards for me\",\"currentScore\":610}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.cached").value(false));
+        }
+        assertThat(generationLimiter.inFlight()).isZero();
+
+        mockMvc.perform(post("/api/ai/chat").contentType(MediaType.APPLICATION_JSON).content("{\"message\":\" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void anonymousRequestsThroughGatewayAreLimitedPerClientIp() throws Exception {
+        // gateway bina JWT bhi X-Gateway-Identity lagata hai - key = X-Forwarded-For ka last hop, gateway ka IP nahi
+        try (GenerationLimiter.Permit a = generationLimiter.acquire("ip:203.0.113.9");
+             GenerationLimiter.Permit b = generationLimiter.acquire("ip:203.0.113.9")) {
+            mockMvc.perform(post("/api/ai/chat")
+                            .header("X-Gateway-Identity", "test-gateway-secret")
+                            .header("X-Forwarded-For", "10.0.0.1, 203.0.113.9")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"message\":\"how do I raise my score fast\",\"currentScore\":580}"))
+                    .andExpect(status().isTooManyRequests());
+
+            // dusra anonymous client usi gateway ke peeche - global limit nahi
+            mockMvc.perform(post("/api/ai/chat")
+                            .header("X-Gateway-Identity", "test-gateway-secret")
+                            .header("X-Forwarded-For", "198.51.100.7")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"message\":\"how do I raise my score fast\",\"currentScore\":580}"))
+                    .andExpect(status().isOk());
+        }
+        assertThat(generationLimiter.inFlight()).isZero();
+    }
+}
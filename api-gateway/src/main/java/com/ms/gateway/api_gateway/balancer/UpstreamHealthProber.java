@@ -0,0 +1,81 @@
+package com.ms.gateway.api_gateway.balancer;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * ACTIVE HEALTH PROBING
+ *
+ * Har interval pe har instance pe GET {health.path}. Koi bhi response &lt; 500 = up; connect error,
+ * timeout ya 5xx = down. Healthy/unhealthy threshold cross hone pe hi state flip hoti hai.
+ *
+ * Probe har baar naya connection kholta hai (routing pool se alag) - taaki "port accept kar raha hai"
+ * bhi check ho, aur probes routing ke keep-alive connections ko occupy na karein.
+ */
+@Component
+@Slf4j
+public class UpstreamHealthProber {
+
+    private final UpstreamRegistry registry;
+    private final UpstreamProperties.Health health;
+    private final HttpClient client;
+
+    private Disposable schedule;
+
+    public UpstreamHealthProber(UpstreamRegistry registry, UpstreamProperties properties) {
+        this.registry = registry;
+        this.health = properties.getHealth();
+        int timeoutMs = (int) health.getTimeout().toMillis();
+        this.client = HttpClient.create(ConnectionProvider.newConnection())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutMs)
+                .responseTimeout(health.getTimeout());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!health.isEnabled()) {
+            return;
+        }
+        // round slow ho to agle ticks drop - probes kabhi pile up nahi hote
+        schedule = Flux.interval(health.getInterval(), health.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> probeAll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    Mono<Void> probeAll() {
+        return Flux.fromIterable(registry.pools())
+                .flatMap(pool -> Flux.fromIterable(pool.instances())
+                        .flatMap(instance -> probe(instance).doOnNext(ok -> pool.onProbe(instance, ok)))
+                        .then(Mono.fromRunnable(pool::decayEjections)))
+                .then();
+    }
+
+    Mono<Boolean> probe(UpstreamInstance instance) {
+        return client.get()
+                .uri(instance.getAddress() + health.getPath())
+                .response((response, body) -> body.then(Mono.just(response.status().code() < 500)))
+                .next()
+                .timeout(health.getTimeout())
+                .defaultIfEmpty(false)
+                .onErrorResume(e -> {
+                    log.debug("Health probe to {} failed: {}", instance, e.toString());
+                    return Mono.just(false);
+                });
+    }
+}
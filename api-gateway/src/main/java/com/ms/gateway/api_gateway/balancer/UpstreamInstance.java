@@ -0,0 +1,118 @@
+package com.ms.gateway.api_gateway.balancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ek backend instance ka live state.
+ *
+ * outstanding / counters request path se (lock-free) update hote hain;
+ * healthy sirf health prober likhta hai; ejection state pool ke lock me badalta hai.
+ */
+public final class UpstreamInstance {
+
+    private final URI uri;
+    private final String address;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    // pehla probe aane tak healthy maan ke chalo - warna startup pe sab 503
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntilNanos;
+
+    // pool lock ke andar
+    int ejections;
+
+    // sirf prober thread
+    int probeSuccesses;
+    int probeFailures;
+
+    UpstreamInstance(URI uri) {
+        if (uri.getHost() == null || uri.getScheme() == null) {
+            throw new IllegalArgumentException("Upstream instance needs scheme://host[:port] - got " + uri);
+        }
+        this.uri = uri;
+        this.address = uri.getScheme() + "://" + uri.getHost() + ":" + port();
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int port() {
+        if (uri.getPort() > 0) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    public boolean isEjected(long nowNanos) {
+        return ejectedUntilNanos - nowNanos > 0;
+    }
+
+    long ejectedUntilNanos() {
+        return ejectedUntilNanos;
+    }
+
+    void ejectUntil(long untilNanos) {
+        this.ejectedUntilNanos = untilNanos;
+    }
+
+    boolean isAvailable(long nowNanos) {
+        return healthy && !isEjected(nowNanos);
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+        requests.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    /** @return lagataar failures ab tak */
+    int recordFailure() {
+        failures.incrementAndGet();
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    @Override
+    public String toString() {
+        return address;
+    }
+}
@@ -0,0 +1,184 @@
+package com.ms.gateway.api_gateway.balancer;
+
+import com.ms.gateway.api_gateway.dto.UpstreamInstanceResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Ek service id ke instances + selection.
+ *
+ * Selection = power-of-two-choices: available instances me se do random, jiske outstanding
+ * requests kam hon woh. Least-outstanding jaisa balance milta hai bina har request pe
+ * poori list scan/sort kiye, aur ek slow instance pe herd nahi banta.
+ *
+ * Available = health probe healthy + ejected nahi. Sab unavailable hon to "panic" mode -
+ * saare instances me se chuno (fail-open), kyunki 503 dene se better hai ek try.
+ *
+ * Outlier ejection: lagataar N failures (connect error / 502 / 503 / 504) -> instance
+ * base * ejections (max tak) ke liye bahar. Ek waqt me max-ejection-percent se zyada nahi.
+ */
+@Slf4j
+public class UpstreamPool {
+
+    public enum Outcome { SUCCESS, FAILURE, CANCELLED }
+
+    static final int MAX_INSTANCES = 64;
+
+    private final String serviceId;
+    private final UpstreamInstance[] instances;
+    private final UpstreamProperties.Outlier outlier;
+    private final UpstreamProperties.Health health;
+    private final LongSupplier nanoClock;
+
+    public UpstreamPool(String serviceId, List<URI> uris, UpstreamProperties properties) {
+        this(serviceId, uris, properties, System::nanoTime);
+    }
+
+    UpstreamPool(String serviceId, List<URI> uris, UpstreamProperties properties, LongSupplier nanoClock) {
+        if (uris.isEmpty() || uris.size() > MAX_INSTANCES) {
+            throw new IllegalArgumentException("Upstream '" + serviceId + "' needs 1.." + MAX_INSTANCES
+                    + " instances, got " + uris.size());
+        }
+        this.serviceId = serviceId;
+        this.instances = uris.stream().map(UpstreamInstance::new).toArray(UpstreamInstance[]::new);
+        this.outlier = properties.getOutlier();
+        this.health = properties.getHealth();
+        this.nanoClock = nanoClock;
+    }
+
+    public String serviceId() {
+        return serviceId;
+    }
+
+    public List<UpstreamInstance> instances() {
+        return List.of(instances);
+    }
+
+    /** Instance chuno aur uska outstanding count badhao - {@link #release} zaruri hai. */
+    public UpstreamInstance acquire() {
+        UpstreamInstance chosen = choose();
+        chosen.acquire();
+        return chosen;
+    }
+
+    public void release(UpstreamInstance instance, Outcome outcome) {
+        instance.release();
+        if (outcome == Outcome.SUCCESS) {
+            instance.recordSuccess();
+        } else if (outcome == Outcome.FAILURE && instance.recordFailure() >= outlier.getConsecutiveFailures()) {
+            eject(instance);
+        }
+    }
+
+    UpstreamInstance choose() {
+        if (instances.length == 1) {
+            return instances[0];
+        }
+        long now = nanoClock.getAsLong();
+        long mask = 0;
+        for (int i = 0; i < instances.length; i++) {
+            if (instances[i].isAvailable(now)) {
+                mask |= 1L << i;
+            }
+        }
+        if (mask == 0) {
+            // panic - sab down/ejected, sab pe try karo
+            mask = instances.length == MAX_INSTANCES ? -1L : (1L << instances.length) - 1;
+        }
+
+        int candidates = Long.bitCount(mask);
+        if (candidates == 1) {
+            return instances[Long.numberOfTrailingZeros(mask)];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(candidates);
+        int b = random.nextInt(candidates - 1);
+        if (b >= a) {
+            b++;
+        }
+        UpstreamInstance first = instances[nthSetBit(mask, a)];
+        UpstreamInstance second = instances[nthSetBit(mask, b)];
+        return second.outstanding() < first.outstanding() ? second : first;
+    }
+
+    /** Health prober ka result - threshold cross hone pe hi state badalti hai (flapping kam). */
+    synchronized void onProbe(UpstreamInstance instance, boolean ok) {
+        if (ok) {
+            instance.probeFailures = 0;
+            if (!instance.isHealthy() && ++instance.probeSuccesses >= health.getHealthyThreshold()) {
+                instance.setHealthy(true);
+                log.info("Upstream {} {} is healthy again", serviceId, instance);
+            }
+        } else {
+            instance.probeSuccesses = 0;
+            if (instance.isHealthy() && ++instance.probeFailures >= health.getUnhealthyThreshold()) {
+                instance.setHealthy(false);
+                log.warn("Upstream {} {} failed {} health probes - marked down",
+                        serviceId, instance, instance.probeFailures);
+            }
+        }
+    }
+
+    /** Har probe round pe: wapas aaye hue, theek chal rahe instances ka ejection multiplier ek kam. */
+    synchronized void decayEjections() {
+        long now = nanoClock.getAsLong();
+        for (UpstreamInstance instance : instances) {
+            if (instance.ejections > 0 && !instance.isEjected(now) && instance.isHealthy()) {
+                instance.ejections--;
+            }
+        }
+    }
+
+    private synchronized void eject(UpstreamInstance instance) {
+        long now = nanoClock.getAsLong();
+        if (instance.isEjected(now)) {
+            return;
+        }
+        int ejected = 0;
+        for (UpstreamInstance other : instances) {
+            if (other.isEjected(now)) {
+                ejected++;
+            }
+        }
+        int allowed = Math.max(1, instances.length * outlier.getMaxEjectionPercent() / 100);
+        if (ejected >= allowed) {
+            return;
+        }
+
+        instance.ejections++;
+        long duration = Math.min(outlier.getBaseEjection().toNanos() * instance.ejections,
+                outlier.getMaxEjection().toNanos());
+        instance.ejectUntil(now + duration);
+        instance.recordSuccess();   // wapas aane pe counter fresh se
+        log.warn("Ejected upstream {} {} for {} ms after {} consecutive failures",
+                serviceId, instance, duration / 1_000_000, outlier.getConsecutiveFailures());
+    }
+
+    public List<UpstreamInstanceResponse> snapshot() {
+        long now = nanoClock.getAsLong();
+        List<UpstreamInstanceResponse> result = new ArrayList<>(instances.length);
+        for (UpstreamInstance instance : instances) {
+            result.add(UpstreamInstanceResponse.builder()
+                    .address(instance.getAddress())
+                    .healthy(instance.isHealthy())
+                    .ejectedForMs(instance.isEjected(now) ? (instance.ejectedUntilNanos() - now) / 1_000_000 : 0)
+                    .outstanding(instance.outstanding())
+                    .requests(instance.requests())
+                    .failures(instance.failures())
+                    .build());
+        }
+        return result;
+    }
+
+    private static int nthSetBit(long mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+}
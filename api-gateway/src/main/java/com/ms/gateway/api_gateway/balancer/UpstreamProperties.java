@@ -0,0 +1,57 @@
+package com.ms.gateway.api_gateway.balancer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * gateway.upstream.* - har service id (lb://&lt;id&gt;) ke static instances + health / outlier settings.
+ *
+ * gateway.upstream.instances.credit-scoring-service=http://localhost:8082,http://localhost:8092
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamProperties {
+
+    private Map<String, List<String>> instances = new LinkedHashMap<>();
+
+    private Health health = new Health();
+
+    private Outlier outlier = new Outlier();
+
+    @Data
+    public static class Health {
+
+        private boolean enabled = true;
+
+        /** Koi bhi HTTP response &lt; 500 = process zinda hai (backends pe actuator nahi hai). */
+        private String path = "/";
+
+        private Duration interval = Duration.ofSeconds(5);
+
+        private Duration timeout = Duration.ofSeconds(1);
+
+        private int healthyThreshold = 2;
+
+        private int unhealthyThreshold = 2;
+    }
+
+    @Data
+    public static class Outlier {
+
+        /** Itne lagataar connect errors / 502-503-504 ke baad instance eject. */
+        private int consecutiveFailures = 5;
+
+        /** Pehli ejection ki duration; har agli ejection pe multiply hoti hai, max-ejection tak. */
+        private Duration baseEjection = Duration.ofSeconds(10);
+
+        private Duration maxEjection = Duration.ofMinutes(2);
+
+        /** Ek waqt me pool ke kitne % instances ejected ho sakte hain (kam se kam ek). */
+        private int maxEjectionPercent = 50;
+    }
+}
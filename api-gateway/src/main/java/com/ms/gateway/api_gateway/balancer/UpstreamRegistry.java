@@ -0,0 +1,45 @@
+package com.ms.gateway.api_gateway.balancer;
+
+import com.ms.gateway.api_gateway.dto.UpstreamInstanceResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service id (lb://&lt;id&gt; ka host) -> {@link UpstreamPool}. Startup pe properties se banta hai.
+ */
+@Component
+@Slf4j
+public class UpstreamRegistry {
+
+    private final Map<String, UpstreamPool> pools = new ConcurrentHashMap<>();
+
+    public UpstreamRegistry(UpstreamProperties properties) {
+        properties.getInstances().forEach((serviceId, urls) -> {
+            List<URI> uris = urls.stream().map(String::trim).filter(s -> !s.isEmpty()).map(URI::create).toList();
+            pools.put(serviceId, new UpstreamPool(serviceId, uris, properties));
+            log.info("Upstream {} -> {}", serviceId, uris);
+        });
+    }
+
+    /** @return null agar service id configured nahi hai */
+    public UpstreamPool pool(String serviceId) {
+        return pools.get(serviceId);
+    }
+
+    public Collection<UpstreamPool> pools() {
+        return pools.values();
+    }
+
+    public Map<String, List<UpstreamInstanceResponse>> snapshot() {
+        Map<String, List<UpstreamInstanceResponse>> result = new TreeMap<>();
+        pools.forEach((serviceId, pool) -> result.put(serviceId, pool.snapshot()));
+        return result;
+    }
+}
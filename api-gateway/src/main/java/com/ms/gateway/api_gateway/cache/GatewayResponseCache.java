@@ -0,0 +1,153 @@
+package com.ms.gateway.api_gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Edge response cache ka storage.
+ *
+ *  - key: (principal, path + query) - ek user ka response dusre ko kabhi nahi milta
+ *  - size-bounded (body bytes se weighted) W-TinyLFU + ttl
+ *  - invalidation scopes pe: har entry ke scopes hain (route + principal, route + path ka userId).
+ *    Successful write un scopes pe ek global sequence number likhta hai; entry apni request shuru
+ *    hone waqt ka sequence (generation) rakhti hai aur koi scope usse baad invalidate hua ho to stale.
+ *    Isliye write ke dauraan chali GET ka purana response bhi cache me nahi bachta, aur ek user ka
+ *    write baaki users ki entries nahi udata.
+ *  - hold: 202 Accepted wale write ke baad scope pe kuch der tak naya entry store nahi hota
+ *    (async kaam abhi hua nahi, us beech ka GET purana data laayega).
+ */
+@Component
+public class GatewayResponseCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Cache<Key, CachedResponse> entries;
+    // scope -> aakhri invalidation. ttl + hold ke baad record bekaar hai: usse pehle store hui har
+    // entry tab tak expire ho chuki, aur baad wali put() me hi reject hui
+    private final Cache<String, Invalidation> invalidations;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxEntryBytes;
+    private final Duration asyncHold;
+
+    public GatewayResponseCache(@Value("${gateway.response-cache.max-bytes:33554432}") long maxBytes,
+                                @Value("${gateway.response-cache.max-entry-bytes:65536}") int maxEntryBytes,
+                                @Value("${gateway.response-cache.ttl:30s}") Duration ttl,
+                                @Value("${gateway.response-cache.async-hold:30s}") Duration asyncHold) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, CachedResponse value) ->
+                        ENTRY_OVERHEAD_BYTES + key.pathAndQuery().length() * 2 + value.body().length)
+                .expireAfterWrite(ttl)
+                .build();
+        this.invalidations = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.plus(asyncHold))
+                .build();
+        this.asyncHold = asyncHold;
+    }
+
+    public record Key(String principal, String pathAndQuery) {
+    }
+
+    public record CachedResponse(byte[] body, String contentType, String etag, long generation, List<String> scopes) {
+    }
+
+    private record Invalidation(long sequence, long holdUntilNanos) {
+    }
+
+    /** Fresh entry ya null (missing / expired / kisi scope pe write ho chuka). */
+    public CachedResponse get(Key key) {
+        CachedResponse cached = entries.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (!fresh(cached.generation(), cached.scopes(), false)) {
+            entries.invalidate(key);
+            return null;
+        }
+        return cached;
+    }
+
+    /** Request shuru hone pe liya gaya sequence; put() isi ke against check karta hai. */
+    public long generation() {
+        return sequence.get();
+    }
+
+    public void put(Key key, CachedResponse response) {
+        if (response.body().length <= maxEntryBytes && fresh(response.generation(), response.scopes(), true)) {
+            entries.put(key, response);
+        }
+    }
+
+    /** Write complete; hold = true (async, 202) pe async-hold tak in scopes pe naya entry store nahi hoga. */
+    public void invalidate(Collection<String> scopes, boolean hold) {
+        long holdNanos = hold ? asyncHold.toNanos() : 0;
+        Invalidation invalidation = new Invalidation(sequence.incrementAndGet(),
+                holdNanos > 0 ? System.nanoTime() + holdNanos : 0);
+        for (String scope : scopes) {
+            invalidations.put(scope, invalidation);
+        }
+    }
+
+    private boolean fresh(long generation, List<String> scopes, boolean storing) {
+        for (String scope : scopes) {
+            Invalidation invalidation = invalidations.getIfPresent(scope);
+            if (invalidation == null) {
+                continue;
+            }
+            if (invalidation.sequence() > generation) {
+                return false;
+            }
+            if (storing && invalidation.holdUntilNanos() != 0 && invalidation.holdUntilNanos() - System.nanoTime() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    /** Strong ETag: body ke SHA-256 ke pehle 96 bits, base64url. */
+    public static String etagOf(byte[] body) {
+        byte[] hash = SHA_256.get().digest(body);
+        return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 12)) + '"';
+    }
+
+    /** If-None-Match me yeh etag hai? ("*" aur comma-separated list dono) */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ms.gateway.api_gateway.config;
+
+import com.ms.gateway.api_gateway.balancer.UpstreamHealthProber;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * fast-start profile (spring.main.lazy-initialization=true) me bhi UpstreamHealthProber startup pe banta hai -
+ * lazy rehta to koi use nahi karta aur probing kabhi shuru hi na hoti (down instance wapas admit nahi hota).
+ * Baaki beans (routes, filters, caches) pehli request pe ya {@link StartupWarmup} me ready ke baad.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FastStartConfig {
+
+    // static - LazyInitializationBeanFactoryPostProcessor baaki beans se pehle isse padhta hai
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(UpstreamHealthProber.class);
+    }
+}
@@ -1,12 +1,20 @@
 package com.ms.gateway.api_gateway.config;
 
+import com.ms.gateway.api_gateway.balancer.UpstreamProperties;
+import com.ms.gateway.api_gateway.ratelimit.RateLimitProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Routes lb://&lt;service-id&gt; pe jaate hain - instances gateway.upstream.instances.&lt;service-id&gt; se
+ * (LoadBalancingFilter + UpstreamPool).
+ */
 @Configuration
+@EnableConfigurationProperties({UpstreamProperties.class, RateLimitProperties.class})
 @Slf4j
 public class GatewayConfig {
 
@@ -26,7 +34,7 @@ public class GatewayConfig {
                                 .addRequestHeader("X-Gateway", "API-Gateway")
                                 .addRequestHeader("X-Service", "UserManagement")
                                 .addResponseHeader("X-Powered-By", "Spring Cloud Gateway"))
-                        .uri("http://localhost:8081"))
+                        .uri("lb://user-management-service"))
 
                 // ============================================
                 // CREDIT SCORING SERVICE ROUTES
@@ -37,7 +45,7 @@ public class GatewayConfig {
                                 .addRequestHeader("X-Gateway", "API-Gateway")
                                 .addRequestHeader("X-Service", "CreditScoring")
                                 .addResponseHeader("X-Powered-By", "Spring Cloud Gateway"))
-                        .uri("http://localhost:8082"))
+                        .uri("lb://credit-scoring-service"))
 
                 // ============================================
                 // HEALTH CHECK ROUTE
@@ -0,0 +1,54 @@
+package com.ms.gateway.api_gateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * fast-start profile: ready hone ke BAAD background me bache hue lazy singletons (filters, caches,
+ * JWT verifier...) bana deta hai - pehli routed request ko yeh kharcha na pade.
+ * Jo request isse pehle aa jaye woh wahi bean khud bana leti hai; warm-up sirf aage nikal jata hai.
+ */
+@Component
+@ConditionalOnProperty(name = "startup.warmup.enabled", havingValue = "true")
+@Slf4j
+public class StartupWarmup {
+
+    private final ConfigurableListableBeanFactory beanFactory;
+
+    public StartupWarmup(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long started = System.nanoTime();
+        int beans = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isSingleton() && !definition.isAbstract() && definition.isLazyInit()
+                    && !beanFactory.containsSingleton(name)) {
+                try {
+                    beanFactory.getBean(name);
+                    beans++;
+                } catch (Exception e) {
+                    log.debug("Warm-up: skipped lazy bean {}: {}", name, e.getMessage());
+                }
+            }
+        }
+        log.info("Startup warm-up done in {} ms ({} lazy beans)",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), beans);
+    }
+}
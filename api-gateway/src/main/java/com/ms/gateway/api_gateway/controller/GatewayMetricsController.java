@@ -0,0 +1,57 @@
+package com.ms.gateway.api_gateway.controller;
+
+import com.ms.gateway.api_gateway.balancer.UpstreamRegistry;
+import com.ms.gateway.api_gateway.dto.RouteMetricsResponse;
+import com.ms.gateway.api_gateway.metrics.AccessLogWriter;
+import com.ms.gateway.api_gateway.metrics.RouteMetrics;
+import com.ms.gateway.api_gateway.ratelimit.ConcurrencyLimits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /gateway/metrics - per-route p50/p90/p99/p999 + status codes, har upstream instance ka state
+ * aur har route ki current concurrency limit.
+ * Default sirf localhost se (ops/sidecar scrape), bahar se 404.
+ */
+@RestController
+public class GatewayMetricsController {
+
+    private final RouteMetrics routeMetrics;
+    private final AccessLogWriter accessLog;
+    private final UpstreamRegistry upstreams;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final boolean localOnly;
+
+    public GatewayMetricsController(RouteMetrics routeMetrics, AccessLogWriter accessLog, UpstreamRegistry upstreams,
+                                    ConcurrencyLimits concurrencyLimits,
+                                    @Value("${gateway.metrics.local-only:true}") boolean localOnly) {
+        this.routeMetrics = routeMetrics;
+        this.accessLog = accessLog;
+        this.upstreams = upstreams;
+        this.concurrencyLimits = concurrencyLimits;
+        this.localOnly = localOnly;
+    }
+
+    @GetMapping("/gateway/metrics")
+    public ResponseEntity<Map<String, Object>> metrics(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (localOnly && (remote == null || remote.getAddress() == null || !remote.getAddress().isLoopbackAddress())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Map<String, RouteMetricsResponse> routes = routeMetrics.snapshot();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("routes", routes);
+        body.put("upstreams", upstreams.snapshot());
+        body.put("concurrencyLimits", concurrencyLimits.snapshot());
+        body.put("accessLogDropped", accessLog.dropped());
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ms.gateway.api_gateway.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConcurrencyLimitResponse {
+
+    private int limit;
+    private int inFlight;
+    private long rejected;
+}
@@ -0,0 +1,19 @@
+package com.ms.gateway.api_gateway.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class RouteMetricsResponse {
+
+    private long count;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+    private Map<String, Long> statusCodes;
+}
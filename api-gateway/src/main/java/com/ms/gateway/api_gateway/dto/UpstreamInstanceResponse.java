@@ -0,0 +1,16 @@
+package com.ms.gateway.api_gateway.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UpstreamInstanceResponse {
+
+    private String address;
+    private boolean healthy;
+    private long ejectedForMs;
+    private int outstanding;
+    private long requests;
+    private long failures;
+}
@@ -0,0 +1,81 @@
+package com.ms.gateway.api_gateway.filter;
+
+import com.ms.gateway.api_gateway.ratelimit.AdaptiveConcurrencyLimit;
+import com.ms.gateway.api_gateway.ratelimit.ConcurrencyLimits;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * BACKEND ADMISSION CONTROL
+ *
+ * lb:// routes pe in-flight requests {@link AdaptiveConcurrencyLimit} tak. Limit full = 429 turant
+ * (backend pe queue banne dene ke bajaye). Latency sample = yahan se backend ke response headers tak,
+ * to cache hits aur rate-limited requests isme nahi aate. SSE (text/event-stream) stream jitni der
+ * khula rahe utna slot leta hai, par uski duration latency sample nahi banti - warna minute bhar ki
+ * AI streams "backend slow" lagti aur route ki limit gir jati.
+ */
+@Component
+public class AdmissionControlFilter implements GlobalFilter, Ordered {
+
+    // RouteToRequestUrlFilter (10000) ke baad, LoadBalancingFilter se pehle
+    static final int ORDER = LoadBalancingFilter.ORDER - 50;
+
+    private static final long RETRY_AFTER_NANOS = 1_000_000_000L;
+
+    private final ConcurrencyLimits limits;
+
+    public AdmissionControlFilter(ConcurrencyLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!limits.enabled() || route == null || !"lb".equals(route.getUri().getScheme())) {
+            return chain.filter(exchange);
+        }
+        AdaptiveConcurrencyLimit limit = limits.forRoute(route.getId());
+        int inFlight = limit.tryAcquire();
+        if (inFlight < 0) {
+            return RateLimitFilter.tooManyRequests(exchange, RETRY_AFTER_NANOS);
+        }
+
+        long started = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal == SignalType.CANCEL || streaming(exchange)) {
+                limit.releaseWithoutSample();
+            } else {
+                limit.release(inFlight, System.nanoTime() - started, dropped(exchange, signal));
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static boolean streaming(ServerWebExchange exchange) {
+        MediaType contentType = exchange.getResponse().getHeaders().getContentType();
+        return contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType);
+    }
+
+    private static boolean dropped(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        int code = status == null ? 0 : status.value();
+        return code == 502 || code == 503 || code == 504;
+    }
+}
@@ -0,0 +1,166 @@
+package com.ms.gateway.api_gateway.filter;
+
+import com.ms.gateway.api_gateway.security.GatewayIdentity;
+import com.ms.gateway.api_gateway.security.JwtVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * EDGE JWT FILTER
+ *
+ * Token gateway pe ek hi baar verify hota hai (cached), backend tak tabhi jata hai jab valid ho:
+ *  - invalid / expired token -> 401 yahin, backend connection khulta hi nahi
+ *  - required-paths pe token missing -> 401
+ *  - denied-paths (service-to-service feeds) -> 404, token ho ya na ho; auth off ho tab bhi
+ *  - valid token -> X-User-Email / X-User-Id / X-User-Roles headers downstream
+ *
+ * Client ke bheje hue X-User-* / X-Gateway-Identity headers hamesha hata diye jate hain,
+ * taaki koi bahar se identity spoof na kar sake.
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER_USER_EMAIL = "X-User-Email";
+    public static final String HEADER_USER_ID = "X-User-Id";
+    public static final String HEADER_USER_ROLES = "X-User-Roles";
+    public static final String HEADER_GATEWAY_IDENTITY = "X-Gateway-Identity";
+
+    /** Verified {@link GatewayIdentity} exchange attribute me - baad ke filters (cache key) isse padhte hain. */
+    public static final String IDENTITY_ATTR = JwtAuthenticationFilter.class.getName() + ".identity";
+
+    // LoggingFilter ke baad, response cache (aur routing) se pehle
+    static final int ORDER = -50;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier verifier;
+    private final boolean enabled;
+    private final List<PathPattern> publicPaths;
+    private final List<PathPattern> requiredPaths;
+    private final List<PathPattern> deniedPaths;
+    private final String identitySecret;
+
+    public JwtAuthenticationFilter(JwtVerifier verifier,
+                                   @Value("${gateway.auth.enabled:true}") boolean enabled,
+                                   @Value("${gateway.auth.public-paths:}") List<String> publicPaths,
+                                   @Value("${gateway.auth.required-paths:}") List<String> requiredPaths,
+                                   @Value("${gateway.auth.denied-paths:}") List<String> deniedPaths,
+                                   @Value("${gateway.auth.identity-secret:}") String identitySecret) {
+        this.verifier = verifier;
+        this.enabled = enabled;
+        this.publicPaths = parse(publicPaths);
+        this.requiredPaths = parse(requiredPaths);
+        this.deniedPaths = parse(deniedPaths);
+        this.identitySecret = identitySecret;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+        if (matches(deniedPaths, path)) {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        boolean isPublic = request.getMethod() == HttpMethod.OPTIONS || matches(publicPaths, path);
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        // public endpoint ya bina token wali request - identity headers ke bina aage
+        if (isPublic || authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            if (!isPublic && matches(requiredPaths, path)) {
+                return reject(exchange, "missing bearer token");
+            }
+            return chain.filter(withIdentity(exchange, null));
+        }
+
+        GatewayIdentity identity = verifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+        if (identity == null) {
+            return reject(exchange, "invalid or expired token");
+        }
+        exchange.getAttributes().put(IDENTITY_ATTR, identity);
+        return chain.filter(withIdentity(exchange, identity));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Spoofed headers hatao; identity ho to verified headers lagao. X-Gateway-Identity HAR forwarded
+     * request pe (anonymous bhi) - backend ke liye matlab "gateway se aayi": X-User-* verified hain
+     * aur X-Forwarded-For ka last hop gateway ne dekha client IP hai (ai-advisor ki per-client limit isi pe).
+     */
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, GatewayIdentity identity) {
+        HttpHeaders incoming = exchange.getRequest().getHeaders();
+        if (identity == null && identitySecret.isEmpty() && !hasIdentityHeaders(incoming)) {
+            return exchange;
+        }
+        ServerHttpRequest mutated = exchange.getRequest().mutate().headers(headers -> {
+            headers.remove(HEADER_USER_EMAIL);
+            headers.remove(HEADER_USER_ID);
+            headers.remove(HEADER_USER_ROLES);
+            headers.remove(HEADER_GATEWAY_IDENTITY);
+            if (identity != null) {
+                headers.set(HEADER_USER_EMAIL, identity.email());
+                if (identity.userId() != null) {
+                    headers.set(HEADER_USER_ID, identity.userId().toString());
+                }
+                headers.set(HEADER_USER_ROLES, identity.roles());
+            }
+            if (!identitySecret.isEmpty()) {
+                headers.set(HEADER_GATEWAY_IDENTITY, identitySecret);
+            }
+        }).build();
+        return exchange.mutate().request(mutated).build();
+    }
+
+    private static boolean hasIdentityHeaders(HttpHeaders headers) {
+        return headers.containsKey(HEADER_USER_EMAIL) || headers.containsKey(HEADER_USER_ID)
+                || headers.containsKey(HEADER_USER_ROLES) || headers.containsKey(HEADER_GATEWAY_IDENTITY);
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, String reason) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE,
+                "Bearer error=\"invalid_token\", error_description=\"" + reason + "\"");
+        return response.setComplete();
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parse(List<String> patterns) {
+        return patterns.stream()
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+}
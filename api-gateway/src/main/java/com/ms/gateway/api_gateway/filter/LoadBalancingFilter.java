@@ -0,0 +1,90 @@
+package com.ms.gateway.api_gateway.filter;
+
+import com.ms.gateway.api_gateway.balancer.UpstreamInstance;
+import com.ms.gateway.api_gateway.balancer.UpstreamPool;
+import com.ms.gateway.api_gateway.balancer.UpstreamRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * lb://&lt;service-id&gt; routes ko {@link UpstreamPool} ke chune hue instance pe bhejta hai.
+ *
+ * Request ke dauraan instance ka outstanding count +1 rehta hai (P2C isi pe chunta hai).
+ * Connect error ya 502/503/504 = failure (outlier ejection ke liye), cancel = neutral.
+ */
+@Component
+public class LoadBalancingFilter implements GlobalFilter, Ordered {
+
+    public static final String UPSTREAM_ATTR = LoadBalancingFilter.class.getName() + ".upstream";
+
+    // RouteToRequestUrlFilter (10000) ke baad - wahi slot jo SCG ka ReactiveLoadBalancerClientFilter leta hai
+    static final int ORDER = 10150;
+
+    private static final String LB_SCHEME = "lb";
+
+    private final UpstreamRegistry registry;
+
+    public LoadBalancingFilter(UpstreamRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        String schemePrefix = exchange.getAttribute(GATEWAY_SCHEME_PREFIX_ATTR);
+        if (url == null || !(LB_SCHEME.equals(url.getScheme()) || LB_SCHEME.equals(schemePrefix))) {
+            return chain.filter(exchange);
+        }
+        addOriginalRequestUrl(exchange, url);
+
+        UpstreamPool pool = registry.pool(url.getHost());
+        if (pool == null) {
+            return Mono.error(NotFoundException.create(false, "No upstream instances configured for " + url.getHost()));
+        }
+
+        UpstreamInstance instance = pool.acquire();
+        URI instanceUri = instance.getUri();
+        URI requestUrl = UriComponentsBuilder.fromUri(url)
+                .scheme(instanceUri.getScheme())
+                .host(instanceUri.getHost())
+                .port(instance.port())
+                .build(true)
+                .toUri();
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, requestUrl);
+        exchange.getAttributes().put(UPSTREAM_ATTR, instance);
+
+        return chain.filter(exchange)
+                .doFinally(signal -> pool.release(instance, outcome(exchange, signal)));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static UpstreamPool.Outcome outcome(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return UpstreamPool.Outcome.FAILURE;
+        }
+        if (signal == SignalType.CANCEL) {
+            return UpstreamPool.Outcome.CANCELLED;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        int code = status == null ? 0 : status.value();
+        return code == 502 || code == 503 || code == 504 ? UpstreamPool.Outcome.FAILURE : UpstreamPool.Outcome.SUCCESS;
+    }
+}
@@ -1,33 +1,68 @@
 package com.ms.gateway.api_gateway.filter;
 
-import lombok.extern.slf4j.Slf4j;
+import com.ms.gateway.api_gateway.metrics.AccessLogWriter;
+import com.ms.gateway.api_gateway.metrics.RouteMetrics;
+import lombok.RequiredArgsConstructor;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+/**
+ * ACCESS LOG + ROUTE METRICS
+ *
+ * Har request ka latency (saare filters + backend) route id ke histogram me jata hai,
+ * aur access log line ring buffer me - formatting/I/O background thread karta hai.
+ * Event loop pe na string concat hai na log call.
+ */
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class LoggingFilter implements GlobalFilter, Ordered {
 
+    static final String UNROUTED = "unrouted";
+    static final int ORDER = -100;
+
+    private final RouteMetrics routeMetrics;
+    private final AccessLogWriter accessLog;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
 
-        String path = exchange.getRequest().getPath().toString();
-        String method = exchange.getRequest().getMethod().toString();
+        return chain.filter(exchange).doFinally(signal -> {
+            long latency = System.nanoTime() - startNanos;
+            int status = statusOf(exchange, signal);
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : UNROUTED;
 
-        log.info("🔵 Gateway Request: {} {}", method, path);
+            routeMetrics.record(routeId, status, latency);
+            ServerHttpRequest request = exchange.getRequest();
+            accessLog.append(startMillis, request.getMethod().name(), request.getPath().value(),
+                    status, latency, routeId);
+        });
+    }
 
-        return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-            int statusCode = exchange.getResponse().getStatusCode().value();
-            log.info("✅ Gateway Response: {} {} - Status: {}", method, path, statusCode);
-        }));
+    private static int statusOf(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return 500;
+        }
+        if (signal == SignalType.CANCEL) {
+            return 499;   // client ne connection chhod diya
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status.value() : 200;
     }
 
     @Override
     public int getOrder() {
-        return -1; // Execute this filter first
+        return ORDER; // Execute this filter first - latency me baaki saare filters shamil
     }
 }
@@ -0,0 +1,100 @@
+package com.ms.gateway.api_gateway.filter;
+
+import com.ms.gateway.api_gateway.ratelimit.RateLimitProperties;
+import com.ms.gateway.api_gateway.ratelimit.TokenBucketLimiter;
+import com.ms.gateway.api_gateway.security.GatewayIdentity;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * PER-USER RATE LIMIT
+ *
+ * Har route ka apna token bucket budget (gateway.rate-limit.routes.&lt;routeId&gt;), key = verified user
+ * (JWT email) ya token na ho to client IP. Budget khatam -> turant 429 + Retry-After,
+ * backend tak kuch nahi jata. Sab in-memory - har gateway instance apna budget rakhta hai.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    // JWT filter ke baad (user key chahiye), response cache se pehle (cache hits bhi budget me gine jaate hain)
+    static final int ORDER = -40;
+
+    private final RateLimitProperties properties;
+    private final Map<String, Optional<TokenBucketLimiter>> limiters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || exchange.getRequest().getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        Optional<TokenBucketLimiter> limiter = limiters.get(route.getId());
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(route.getId(), this::newLimiter);
+        }
+        if (limiter.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        long waitNanos = limiter.get().tryAcquire(clientKey(exchange));
+        if (waitNanos > 0) {
+            return tooManyRequests(exchange, waitNanos);
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /** 429 + Retry-After (seconds, upar round) - body nahi, taaki reject sasta rahe. */
+    static Mono<Void> tooManyRequests(ServerWebExchange exchange, long retryAfterNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long seconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return response.setComplete();
+    }
+
+    static String clientKey(ServerWebExchange exchange) {
+        GatewayIdentity identity = exchange.getAttribute(JwtAuthenticationFilter.IDENTITY_ATTR);
+        if (identity != null) {
+            return "u:" + identity.email();
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + remote.getAddress().getHostAddress();
+    }
+
+    private Optional<TokenBucketLimiter> newLimiter(String routeId) {
+        RateLimitProperties.Budget budget = properties.getRoutes().getOrDefault(routeId, properties.getDefaults());
+        if (budget.getRatePerSecond() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenBucketLimiter(budget.getRatePerSecond(), budget.getBurst(),
+                properties.getMaxKeys(), properties.getIdleExpiry()));
+    }
+}
@@ -0,0 +1,292 @@
+package com.ms.gateway.api_gateway.filter;
+
+import com.ms.gateway.api_gateway.cache.GatewayResponseCache;
+import com.ms.gateway.api_gateway.cache.GatewayResponseCache.CachedResponse;
+import com.ms.gateway.api_gateway.security.GatewayIdentity;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EDGE RESPONSE CACHE (opt-in paths, e.g. dashboard polling)
+ *
+ * GET on gateway.response-cache.paths:
+ *  - fresh entry + If-None-Match match -> 304, backend tak kuch nahi jata
+ *  - fresh entry -> cached 200 body (X-Cache: HIT)
+ *  - miss -> backend; 200 JSON response ka ETag banake store, client ka If-None-Match match ho to 304
+ * POST/PUT/PATCH/DELETE 2xx pe complete ho -> sirf us caller (principal + userId) ki entries stale,
+ * aur path me {userId} ho to us user ki entries bhi (jo bhi principal unhe padh raha ho). Body me userId
+ * wale writes (calculate, batch) ke liye backend X-Invalidate-Users bhejta hai: comma-separated user ids
+ * -> un users ki entries, "*" -> is route ki saari entries. Header client tak nahi jata. 4xx/5xx write
+ * kuch invalidate nahi karta. 202 Accepted (jaise /api/credit/calculate/async) pe kaam abhi hua nahi:
+ * invalidate ke saath async-hold tak un scopes ka naya response cache nahi hota, warna us beech ka GET
+ * purana score ttl bhar serve karta.
+ * Sirf JSON cache hota hai: Accept me koi non-JSON type (jaise application/vnd.credit.score-history)
+ * ho to request seedha pass-through - na cached JSON milta hai, na body buffer hoti hai.
+ *
+ * JWT filter ke baad chalta hai, taaki cache key verified principal pe ho.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String HEADER_CACHE = "X-Cache";
+    static final String HEADER_INVALIDATE_USERS = "X-Invalidate-Users";
+    private static final String ALL_USERS = "*";
+    private static final String ANONYMOUS = "anonymous";
+    private static final String USER_ID_VARIABLE = "userId";
+    private static final String CACHE_CONTROL = "private, no-cache";   // browser har baar ETag se revalidate kare
+
+    private final GatewayResponseCache cache;
+    private final boolean enabled;
+    private final List<PathPattern> paths;
+
+    public ResponseCacheFilter(GatewayResponseCache cache,
+                               @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.response-cache.paths:}") List<String> paths) {
+        this.cache = cache;
+        this.enabled = enabled;
+        this.paths = paths.stream()
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || paths.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        String routeId = routeId(exchange);
+        String principal = principal(exchange);
+        PathContainer path = request.getPath().pathWithinApplication();
+
+        if (method == HttpMethod.POST || method == HttpMethod.PUT
+                || method == HttpMethod.PATCH || method == HttpMethod.DELETE) {
+            // backend ke headers commit se pehle padh lo aur hata do - commit ke baad headers read-only hain
+            List<String> namedUsers = new ArrayList<>(1);
+            exchange.getResponse().beforeCommit(() -> {
+                List<String> values = exchange.getResponse().getHeaders().remove(HEADER_INVALIDATE_USERS);
+                if (values != null) {
+                    namedUsers.addAll(values);
+                }
+                return Mono.empty();
+            });
+            return chain.filter(exchange)
+                    .then(Mono.fromRunnable(() -> afterWrite(exchange, routeId, principal, path, namedUsers)));
+        }
+        PathPattern.PathMatchInfo match = method == HttpMethod.GET ? cacheable(path) : null;
+        if (match == null || !acceptsOnlyJson(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+
+        GatewayResponseCache.Key key = new GatewayResponseCache.Key(principal, pathAndQuery(request));
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return writeCached(exchange.getResponse(), cached, ifNoneMatch);
+        }
+
+        List<String> scopes = scopes(routeId, principal, null, match.getUriVariables().get(USER_ID_VARIABLE));
+        scopes.add(routeScope(routeId));
+        long generation = cache.generation();
+        ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), key, generation, scopes, ifNoneMatch);
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // JWT filter ke baad, par NettyWriteResponseFilter (-1) se pehle - woh jo response object
+        // dekhta hai usi pe body likhta hai, to decorator usse pehle lagna chahiye
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, String ifNoneMatch) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        headers.set(HEADER_CACHE, "HIT");
+        if (GatewayResponseCache.matches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /** Sirf successful write invalidate karta hai - 4xx/5xx ne kuch badla nahi. */
+    private void afterWrite(ServerWebExchange exchange, String routeId, String principal, PathContainer path,
+                            List<String> namedUsers) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null || !status.is2xxSuccessful()) {
+            return;
+        }
+        GatewayIdentity identity = exchange.getAttribute(JwtAuthenticationFilter.IDENTITY_ATTR);
+        String callerId = identity != null && identity.userId() != null ? identity.userId().toString() : null;
+        PathPattern.PathMatchInfo match = cacheable(path);
+        String pathUserId = match != null ? match.getUriVariables().get(USER_ID_VARIABLE) : null;
+        List<String> scopes = scopes(routeId, principal, callerId, pathUserId);
+        addNamedUsers(scopes, routeId, namedUsers);
+        cache.invalidate(scopes, status.value() == HttpStatus.ACCEPTED.value());
+    }
+
+    /** X-Invalidate-Users ki values: numeric id -> us user ka scope, "*" -> poora route; baaki ignore. */
+    private static void addNamedUsers(List<String> scopes, String routeId, List<String> namedUsers) {
+        for (String value : namedUsers) {
+            for (String id : value.split(",")) {
+                id = id.trim();
+                if (ALL_USERS.equals(id)) {
+                    scopes.add(routeScope(routeId));
+                } else if (!id.isEmpty() && id.chars().allMatch(Character::isDigit)) {
+                    scopes.add(routeId + " user:" + id);
+                }
+            }
+        }
+    }
+
+    private static String routeScope(String routeId) {
+        return routeId + " route";
+    }
+
+    /** route + principal, aur route + userId (caller ka ya path ka) - entries inhi pe invalidate hoti hain. */
+    private static List<String> scopes(String routeId, String principal, String callerId, String pathUserId) {
+        List<String> scopes = new ArrayList<>(3);
+        scopes.add(routeId + " principal:" + principal);
+        if (callerId != null) {
+            scopes.add(routeId + " user:" + callerId);
+        }
+        if (pathUserId != null && !pathUserId.equals(callerId)) {
+            scopes.add(routeId + " user:" + pathUserId);
+        }
+        return scopes;
+    }
+
+    private PathPattern.PathMatchInfo cacheable(PathContainer path) {
+        for (PathPattern pattern : paths) {
+            PathPattern.PathMatchInfo match = pattern.matchAndExtract(path);
+            if (match != null) {
+                return match;
+            }
+        }
+        return null;
+    }
+
+    /** Accept nahi / wildcard / sirf JSON types. Binary maangne wale ka response cache se kabhi nahi. */
+    static boolean acceptsOnlyJson(HttpHeaders headers) {
+        List<MediaType> accept;
+        try {
+            accept = headers.getAccept();
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType type : accept) {
+            if (!type.isWildcardType() && !type.isWildcardSubtype() && !MediaType.APPLICATION_JSON.isCompatibleWith(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    /** Verified identity; auth off ho to Authorization header khud key ka hissa hai. */
+    private static String principal(ServerWebExchange exchange) {
+        GatewayIdentity identity = exchange.getAttribute(JwtAuthenticationFilter.IDENTITY_ATTR);
+        if (identity != null) {
+            return identity.email();
+        }
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return authorization != null ? authorization : ANONYMOUS;
+    }
+
+    private static String pathAndQuery(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getPath().value();
+        return query == null ? path : path + '?' + query;
+    }
+
+    /** Backend ka 200 response buffer karke ETag lagata hai aur cache me daalta hai. */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final GatewayResponseCache.Key key;
+        private final long generation;
+        private final List<String> scopes;
+        private final String ifNoneMatch;
+
+        CapturingResponse(ServerHttpResponse delegate, GatewayResponseCache.Key key,
+                          long generation, List<String> scopes, String ifNoneMatch) {
+            super(delegate);
+            this.key = key;
+            this.generation = generation;
+            this.scopes = scopes;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            String cacheControl = headers.getCacheControl();
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value()
+                    || contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    || (cacheControl != null && cacheControl.contains("no-store"))) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                String etag = GatewayResponseCache.etagOf(bytes);
+                cache.put(key, new CachedResponse(bytes, contentType.toString(), etag, generation, scopes));
+
+                headers.setETag(etag);
+                headers.set(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+                headers.set(HEADER_CACHE, "MISS");
+                if (GatewayResponseCache.matches(ifNoneMatch, etag)) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.CONTENT_TYPE);
+                    return setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.ms.gateway.api_gateway.metrics;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ASYNC ACCESS LOG
+ *
+ * Event loop sirf ek ring slot claim karke primitive fields likhta hai (koi formatting,
+ * koi string concat, koi I/O nahi). Ek background thread har flush-interval pe ring drain
+ * karta hai, lines ek reused StringBuilder me banata hai aur poora batch ek saath likhta hai:
+ *  - gateway.access-log.file set ho to us file me (ek write per batch)
+ *  - warna "gateway.access" logger pe (logback config se route karo)
+ *
+ * Ring full ho (writer peeche reh gaya) to entry drop hoti hai aur {@link #dropped()} badhta hai -
+ * request kabhi log ke liye wait nahi karti.
+ */
+@Component
+@Slf4j
+public class AccessLogWriter {
+
+    private static final Logger ACCESS = LoggerFactory.getLogger("gateway.access");
+
+    private final boolean enabled;
+    private final int mask;
+    private final long flushIntervalNanos;
+    private final Writer file;
+
+    // ring columns - slot i ka data published[i] == seq hone ke baad hi valid hai
+    private final long[] epochMillis;
+    private final long[] latencyNanos;
+    private final int[] statuses;
+    private final String[] methods;
+    private final String[] paths;
+    private final String[] routeIds;
+    private final AtomicLongArray published;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final StringBuilder line = new StringBuilder(256);
+
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(@Value("${gateway.access-log.enabled:true}") boolean enabled,
+                           @Value("${gateway.access-log.buffer-size:8192}") int bufferSize,
+                           @Value("${gateway.access-log.flush-interval-ms:100}") long flushIntervalMs,
+                           @Value("${gateway.access-log.file:}") String file) {
+        this.enabled = enabled;
+        int capacity = Integer.highestOneBit(Math.max(16, bufferSize - 1)) << 1;
+        this.mask = capacity - 1;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        this.epochMillis = new long[capacity];
+        this.latencyNanos = new long[capacity];
+        this.statuses = new int[capacity];
+        this.methods = new String[capacity];
+        this.paths = new String[capacity];
+        this.routeIds = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+
+        try {
+            this.file = enabled && !file.isBlank()
+                    ? Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                    : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open access log " + file, e);
+        }
+
+        this.drainer = new Thread(this::drainLoop, "gateway-access-log");
+        drainer.setDaemon(true);
+        if (enabled) {
+            drainer.start();
+        }
+    }
+
+    /** Event loop se call hota hai - non-blocking, allocation-free. */
+    public void append(long startEpochMillis, String method, String path, int status,
+                       long latency, String routeId) {
+        if (!enabled) {
+            return;
+        }
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail.get() > mask) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(seq, seq + 1));
+
+        int slot = (int) (seq & mask);
+        epochMillis[slot] = startEpochMillis;
+        latencyNanos[slot] = latency;
+        statuses[slot] = status;
+        methods[slot] = method;
+        paths[slot] = path;
+        routeIds[slot] = routeId;
+        published.set(slot, seq);   // volatile write - upar ke fields drainer ko dikhne lagte hain
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /** Abhi tak published entries likh do. Drainer thread (aur tests/shutdown) hi call karte hain. */
+    synchronized int drain() {
+        long next = tail.get();
+        int written = 0;
+        StringBuilder batch = file != null ? new StringBuilder(4096) : null;
+        while (true) {
+            int slot = (int) (next & mask);
+            if (published.get(slot) != next) {
+                break;
+            }
+            format(slot);
+            paths[slot] = null;
+            if (batch != null) {
+                batch.append(line).append('\n');
+            } else {
+                ACCESS.info(line.toString());
+            }
+            next++;
+            written++;
+            tail.set(next);
+        }
+        if (batch != null && written > 0) {
+            try {
+                file.write(batch.toString());
+                file.flush();
+            } catch (IOException e) {
+                log.warn("Access log write failed: {}", e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    // 2026-10-18T10:00:00.123Z GET /api/credit/score/1 200 12.345ms route=credit-scoring-service
+    private void format(int slot) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(epochMillis[slot])).append(' ')
+                .append(methods[slot]).append(' ')
+                .append(paths[slot]).append(' ')
+                .append(statuses[slot]).append(' ');
+        long micros = latencyNanos[slot] / 1_000;
+        line.append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            line.append('0');
+        }
+        if (fraction < 10) {
+            line.append('0');
+        }
+        line.append(fraction).append("ms route=").append(routeIds[slot]);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        running = false;
+        LockSupport.unpark(drainer);
+        drain();
+        if (dropped.get() > 0) {
+            log.warn("Access log dropped {} entries (ring full)", dropped.get());
+        }
+        if (file != null) {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ms.gateway.api_gateway.metrics;
+
+import com.credit.metrics.LatencyHistogram;
+import com.ms.gateway.api_gateway.dto.RouteMetricsResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-route latency histogram + status code counters.
+ *
+ * Route ids GatewayConfig wale hi hain (user-management-service, credit-scoring-service, health-check).
+ * Hot path: ek map lookup (route pehli baar aane ke baad) + do atomic increments.
+ */
+@Component
+public class RouteMetrics {
+
+    private static final double[] QUANTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final int MAX_STATUS = 600;
+
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public void record(String routeId, int status, long latencyNanos) {
+        RouteStats stats = routes.get(routeId);
+        if (stats == null) {
+            stats = routes.computeIfAbsent(routeId, id -> new RouteStats());
+        }
+        stats.latency.recordMicros(latencyNanos / 1_000);
+        stats.statuses.incrementAndGet(status > 0 && status < MAX_STATUS ? status : 0);
+    }
+
+    public Map<String, RouteMetricsResponse> snapshot() {
+        Map<String, RouteMetricsResponse> result = new TreeMap<>();
+        routes.forEach((routeId, stats) -> result.put(routeId, stats.snapshot()));
+        return result;
+    }
+
+    private static final class RouteStats {
+
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLongArray statuses = new AtomicLongArray(MAX_STATUS);
+
+        RouteMetricsResponse snapshot() {
+            long[] p = latency.percentilesMicros(QUANTILES);
+            Map<String, Long> codes = new LinkedHashMap<>();
+            for (int code = 0; code < MAX_STATUS; code++) {
+                long n = statuses.get(code);
+                if (n > 0) {
+                    codes.put(code == 0 ? "unknown" : Integer.toString(code), n);
+                }
+            }
+            return RouteMetricsResponse.builder()
+                    .count(latency.count())
+                    .p50Ms(p[0] / 1000d)
+                    .p90Ms(p[1] / 1000d)
+                    .p99Ms(p[2] / 1000d)
+                    .p999Ms(p[3] / 1000d)
+                    .maxMs(latency.maxMicros() / 1000d)
+                    .statusCodes(codes)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.ms.gateway.api_gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * ADAPTIVE CONCURRENCY LIMIT (gradient style)
+ *
+ * Backend pe ek waqt me kitni requests in-flight ho sakti hain, ye latency dekh ke khud set hota hai:
+ *  - longRtt  = window averages ka slow moving average, ~long-window windows (backend ka "normal" latency)
+ *  - shortRtt = is window ka average (window = kam se kam `window` time aur `min-window-samples` samples)
+ *  - gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)
+ *  - newLimit = limit * gradient + sqrt(limit)   (sqrt = thoda headroom upar probe karne ke liye)
+ * Latency badhi (queue ban rahi) -> gradient &lt; 1 -> limit ghatti hai; normal -> limit dheere badhti hai.
+ * Backend error / 502-504 wali window pe limit 10% kat jati hai.
+ *
+ * Acquire/release lock-free hain; sirf window close karte waqt chhota synchronized block.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final RateLimitProperties.Concurrency config;
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+
+    // window state - synchronized(this)
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimit(RateLimitProperties.Concurrency config) {
+        this(config, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(RateLimitProperties.Concurrency config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.windowNanos = config.getWindow().toNanos();
+        this.limit = clamp(config.getInitialLimit());
+        this.estimatedLimit = limit;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /** @return acquire ke baad in-flight count, ya -1 agar limit full hai (tab release mat karo) */
+    public int tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            rejected.incrementAndGet();
+            return -1;
+        }
+        return current;
+    }
+
+    /**
+     * @param inFlightAtStart {@link #tryAcquire} ka return value
+     * @param rttNanos        backend response tak ka time
+     * @param dropped         error / 502 / 503 / 504
+     */
+    public void release(int inFlightAtStart, long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        sample(inFlightAtStart, rttNanos, dropped);
+    }
+
+    /** Client ne cancel kiya - latency sample ka matlab nahi. */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    private synchronized void sample(int inFlightAtStart, long rttNanos, boolean dropped) {
+        windowRttSum += rttNanos;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        windowDropped |= dropped;
+
+        long now = nanoClock.getAsLong();
+        // window time se band hoti hai, sample count se nahi - warna high rps pe baseline milliseconds me
+        // overload latency pakad leti aur limit kabhi nahi girti
+        if (windowCount < config.getMinWindowSamples() || now - windowStart < windowNanos) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowCount;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) / config.getLongWindow();
+            if (longRttNanos > 2 * shortRtt) {
+                longRttNanos *= 0.95;                            // load hatne ke baad baseline jaldi neeche aaye
+            }
+        }
+
+        double next;
+        if (windowDropped) {
+            next = estimatedLimit * 0.9;
+        } else if (windowMaxInFlight < estimatedLimit / 2) {
+            next = estimatedLimit;                               // limit use hi nahi ho rahi - latency se kuch nahi pata
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, config.getTolerance() * longRttNanos / shortRtt));
+            next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        }
+        estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(),
+                estimatedLimit * (1 - config.getSmoothing()) + next * config.getSmoothing()));
+        limit = clamp((int) estimatedLimit);
+
+        windowStart = now;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private int clamp(int value) {
+        return Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), value));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ms.gateway.api_gateway.ratelimit;
+
+import com.ms.gateway.api_gateway.dto.ConcurrencyLimitResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route id -> {@link AdaptiveConcurrencyLimit}. "Global" = saare clients ke liye ek limit, par har backend
+ * route ki apni - warna slow login (BCrypt) scoring ki limit bhi gira deta.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final RateLimitProperties.Concurrency config;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimits(RateLimitProperties properties) {
+        this.config = properties.getConcurrency();
+    }
+
+    public boolean enabled() {
+        return config.isEnabled();
+    }
+
+    public AdaptiveConcurrencyLimit forRoute(String routeId) {
+        AdaptiveConcurrencyLimit limit = limits.get(routeId);
+        if (limit == null) {
+            limit = limits.computeIfAbsent(routeId, id -> new AdaptiveConcurrencyLimit(config));
+        }
+        return limit;
+    }
+
+    public Map<String, ConcurrencyLimitResponse> snapshot() {
+        Map<String, ConcurrencyLimitResponse> result = new TreeMap<>();
+        limits.forEach((routeId, limit) -> result.put(routeId, ConcurrencyLimitResponse.builder()
+                .limit(limit.limit())
+                .inFlight(limit.inFlight())
+                .rejected(limit.rejected())
+                .build()));
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ms.gateway.api_gateway.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * gateway.rate-limit.* - per-user token buckets (route wise) + per-route adaptive concurrency limit.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Jis route ka apna budget nahi hai uske liye. rate-per-second &lt;= 0 = unlimited. */
+    private Budget defaults = new Budget();
+
+    /** Route id -> budget (GatewayConfig wale ids). */
+    private Map<String, Budget> routes = new LinkedHashMap<>();
+
+    /** Har route pe itni keys (users / IPs) tak buckets yaad rakho; idle keys expire. */
+    private long maxKeys = 100_000;
+
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Budget {
+
+        private double ratePerSecond = 20;
+
+        private int burst = 40;
+    }
+
+    @Data
+    public static class Concurrency {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 50;
+
+        private int minLimit = 8;
+
+        private int maxLimit = 500;
+
+        /** Short-term latency long-term average ke itne guna tak chalegi, uske baad limit ghatti hai. */
+        private double tolerance = 2.0;
+
+        /** Har window pe nayi limit ka kitna hissa apply hota hai (0..1). */
+        private double smoothing = 0.2;
+
+        /** Ek window kam se kam itni lambi, aur kam se kam itne samples - dono. */
+        private Duration window = Duration.ofSeconds(1);
+
+        private int minWindowSamples = 20;
+
+        /** longRtt kitne windows ka average hai (~1 min at 1s windows). */
+        private int longWindow = 60;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ms.gateway.api_gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * TOKEN BUCKET (GCRA form)
+ *
+ * Har key ka poora bucket ek AtomicLong hai - "theoretical arrival time" (TAT) nanos me.
+ * Request tab allowed hai jab TAT - now &lt;= burst tolerance; allowed pe TAT ek emission interval
+ * aage CAS hota hai. Ye exactly rate + burst wala token bucket hai, bina refill timer, bina lock.
+ *
+ * Keys Caffeine me (andar se striped, concurrent) - idle keys expire, total keys bounded.
+ */
+public final class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(double ratePerSecond, int burst, long maxKeys, Duration idleExpiry) {
+        this(ratePerSecond, burst, maxKeys, idleExpiry, System::nanoTime);
+    }
+
+    TokenBucketLimiter(double ratePerSecond, int burst, long maxKeys, Duration idleExpiry, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs rate > 0 and burst >= 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 0 agar token mil gaya, warna kitne nanos baad agla token milega
+     */
+    public long tryAcquire(String key) {
+        AtomicLong tat = buckets.getIfPresent(key);
+        if (tat == null) {
+            tat = buckets.get(key, k -> new AtomicLong(nanoClock.getAsLong()));   // naya key = poora burst
+        }
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long current = tat.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
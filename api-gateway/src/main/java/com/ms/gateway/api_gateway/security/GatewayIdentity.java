@@ -0,0 +1,11 @@
+package com.ms.gateway.api_gateway.security;
+
+/**
+ * Verified JWT se nikli identity - downstream X-User-* headers isi se bante hain.
+ */
+public record GatewayIdentity(String email, Long userId, String roles, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
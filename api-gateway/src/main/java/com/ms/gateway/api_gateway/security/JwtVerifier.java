@@ -0,0 +1,135 @@
+package com.ms.gateway.api_gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * HS256 token verification for the edge.
+ *
+ * Sirf CPU kaam hai (HMAC + JSON claims), koi I/O nahi - event loop pe safe.
+ * Results SHA-256 digest se keyed bounded cache me rehte hain:
+ *  - valid token -> identity, token ke exp tak
+ *  - invalid token -> negative entry, invalid-ttl tak (same bad token ka flood sasta pade)
+ */
+@Component
+@Slf4j
+public class JwtVerifier {
+
+    private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String DEFAULT_ROLES = "USER";
+
+    // negative cache entry
+    private static final GatewayIdentity INVALID = new GatewayIdentity(null, null, null, Long.MAX_VALUE);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtParser parser;
+    private final Cache<TokenDigest, GatewayIdentity> cache;
+
+    public JwtVerifier(@Value("${gateway.auth.jwt-secret}") String secret,
+                       @Value("${gateway.auth.cache.max-entries:100000}") long maxEntries,
+                       @Value("${gateway.auth.cache.invalid-ttl:1m}") Duration invalidTtl) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new TokenExpiry(invalidTtl.toNanos()))
+                .build();
+    }
+
+    /** Valid token ki identity, warna null. */
+    public GatewayIdentity verify(String token) {
+        long now = System.currentTimeMillis();
+        TokenDigest digest = TokenDigest.of(token);
+        GatewayIdentity cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return cached == INVALID || cached.isExpired(now) ? null : cached;
+        }
+
+        GatewayIdentity identity;
+        try {
+            identity = toIdentity(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Rejected token at gateway: {}", ex.getMessage());
+            cache.put(digest, INVALID);
+            return null;
+        }
+        if (identity.isExpired(now)) {
+            return null;
+        }
+        cache.put(digest, identity);
+        return identity;
+    }
+
+    private static GatewayIdentity toIdentity(Claims claims) {
+        Object rolesClaim = claims.get(CLAIM_ROLES);
+        String roles = rolesClaim instanceof Collection<?> values
+                ? values.stream().map(String::valueOf).collect(Collectors.joining(","))
+                : DEFAULT_ROLES;
+        Object uid = claims.get(CLAIM_USER_ID);
+        Long userId = uid instanceof Number number ? number.longValue() : null;
+        return new GatewayIdentity(claims.getSubject(), userId, roles, claims.getExpiration().getTime());
+    }
+
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<TokenDigest, GatewayIdentity> {
+
+        private final long invalidTtlNanos;
+
+        private TokenExpiry(long invalidTtlNanos) {
+            this.invalidTtlNanos = invalidTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, GatewayIdentity value, long currentTime) {
+            if (value == INVALID) {
+                return invalidTtlNanos;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, GatewayIdentity value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, GatewayIdentity value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
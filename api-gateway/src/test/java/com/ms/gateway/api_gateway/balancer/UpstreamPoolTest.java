@@ -0,0 +1,124 @@
+package com.ms.gateway.api_gateway.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamPoolTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void twoChoicesFavourTheLessLoadedInstance() {
+        UpstreamPool pool = pool(2, new UpstreamProperties());
+        UpstreamInstance busy = pool.instances().get(0);
+        for (int i = 0; i < 10; i++) {
+            busy.acquire();
+        }
+        // do hi instances hain, to har baar dono compare hote hain - idle wala jeetna chahiye
+        for (int i = 0; i < 100; i++) {
+            assertThat(pool.choose()).isSameAs(pool.instances().get(1));
+        }
+    }
+
+    @Test
+    void loadSpreadsEvenlyUnderConcurrentRequests() {
+        UpstreamPool pool = pool(4, new UpstreamProperties());
+        List<UpstreamInstance> inFlight = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            inFlight.add(pool.acquire());
+        }
+        for (UpstreamInstance instance : pool.instances()) {
+            assertThat(instance.outstanding()).isBetween(80, 120);
+        }
+        inFlight.forEach(instance -> pool.release(instance, UpstreamPool.Outcome.SUCCESS));
+        assertThat(pool.instances()).allMatch(instance -> instance.outstanding() == 0);
+    }
+
+    @Test
+    void consecutiveFailuresEjectUntilTheWindowPasses() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getOutlier().setConsecutiveFailures(3);
+        properties.getOutlier().setBaseEjection(Duration.ofSeconds(10));
+        UpstreamPool pool = pool(3, properties);
+        UpstreamInstance bad = pool.instances().get(0);
+
+        fail(pool, bad, 2);
+        pool.release(acquired(bad), UpstreamPool.Outcome.SUCCESS);   // success streak todta hai
+        fail(pool, bad, 2);
+        assertThat(bad.isEjected(clock.get())).isFalse();
+
+        fail(pool, bad, 1);
+        assertThat(bad.isEjected(clock.get())).isTrue();
+        for (int i = 0; i < 200; i++) {
+            assertThat(pool.choose()).isNotSameAs(bad);
+        }
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(bad.isEjected(clock.get())).isFalse();
+
+        // dobara fail -> ejection lambi (base * 2)
+        fail(pool, bad, 3);
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(bad.isEjected(clock.get())).isTrue();
+    }
+
+    @Test
+    void ejectionIsCappedAndPanicModeFailsOpen() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getOutlier().setConsecutiveFailures(1);
+        properties.getOutlier().setMaxEjectionPercent(50);
+        UpstreamPool pool = pool(2, properties);
+        UpstreamInstance first = pool.instances().get(0);
+        UpstreamInstance second = pool.instances().get(1);
+
+        fail(pool, first, 1);
+        fail(pool, second, 1);
+        // 50% of 2 = sirf ek ejected ho sakta hai
+        assertThat(first.isEjected(clock.get())).isTrue();
+        assertThat(second.isEjected(clock.get())).isFalse();
+
+        // health probes dusre ko bhi down kar dein -> panic: dono me se chuno, 503 nahi
+        pool.onProbe(second, false);
+        pool.onProbe(second, false);
+        assertThat(second.isHealthy()).isFalse();
+        boolean sawFirst = false;
+        boolean sawSecond = false;
+        for (int i = 0; i < 200; i++) {
+            UpstreamInstance chosen = pool.choose();
+            sawFirst |= chosen == first;
+            sawSecond |= chosen == second;
+        }
+        assertThat(sawFirst && sawSecond).isTrue();
+
+        pool.onProbe(second, true);
+        assertThat(second.isHealthy()).isFalse();   // healthy-threshold = 2
+        pool.onProbe(second, true);
+        assertThat(second.isHealthy()).isTrue();
+    }
+
+    private UpstreamPool pool(int size, UpstreamProperties properties) {
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            uris.add(URI.create("http://localhost:" + (9000 + i)));
+        }
+        return new UpstreamPool("svc", uris, properties, clock::get);
+    }
+
+    private static UpstreamInstance acquired(UpstreamInstance instance) {
+        instance.acquire();
+        return instance;
+    }
+
+    private static void fail(UpstreamPool pool, UpstreamInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            pool.release(acquired(instance), UpstreamPool.Outcome.FAILURE);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ms.gateway.api_gateway.benchmark;
+
+import com.ms.gateway.api_gateway.ApiGatewayApplication;
+import com.ms.gateway.api_gateway.filter.LoggingFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway ka per-request fixed cost (backend call ke bina), asli application context ke routes pe.
+ *
+ *  - routeLookup: RoutePredicateHandlerMapping - saare routes ke Path predicates, order me
+ *  - loggingFilter: LoggingFilter + no-op chain - route histogram + access log ring append
+ *
+ * Paths me users / credit / ai / health aur ek unrouted path ghoomte hain. Exchanges setup me ek
+ * baar bante hain (MockServerWebExchange banana khud ~200us / 50KB hai, asli Netty exchange se
+ * kahin mehenga) - har call se pehle attributes clear, taaki predicates ka cached path bhi na bache.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=GatewayHotPath
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GatewayHotPathBenchmark {
+
+    private static final String[] PATHS = {
+            "/api/users/42", "/api/credit/score/7", "/api/credit/history/7", "/api/auth/refresh",
+            "/api/ai/chat", "/health", "/api/credit/portfolio", "/unknown/path"};
+
+    private final GatewayFilterChain noop = exchange -> Mono.empty();
+
+    private ConfigurableApplicationContext context;
+    private RoutePredicateHandlerMapping handlerMapping;
+    private LoggingFilter loggingFilter;
+    private Route[] routes;
+    private MockServerWebExchange[] exchanges;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiGatewayApplication.class)
+                .properties("server.port=0", "gateway.upstream.health.enabled=false",
+                        "logging.level.root=warn", "logging.level.gateway.access=off")
+                .run();
+        handlerMapping = context.getBean(RoutePredicateHandlerMapping.class);
+        loggingFilter = context.getBean(LoggingFilter.class);
+        List<Route> all = context.getBean(RouteLocator.class).getRoutes().collectList().block();
+        routes = all.toArray(new Route[0]);
+        exchanges = new MockServerWebExchange[PATHS.length];
+        for (int i = 0; i < PATHS.length; i++) {
+            exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(PATHS[i]).header("Authorization", "Bearer x"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object routeLookup() {
+        MockServerWebExchange exchange = exchanges[cursor++ & (PATHS.length - 1)];
+        exchange.getAttributes().clear();
+        return handlerMapping.getHandler(exchange).block();
+    }
+
+    @Benchmark
+    public Object loggingFilter() {
+        int i = cursor++;
+        MockServerWebExchange exchange = exchanges[i & (PATHS.length - 1)];
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, routes[i % routes.length]);
+        loggingFilter.filter(exchange, noop).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ms.gateway.api_gateway.filter;
+
+import com.ms.gateway.api_gateway.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "Zm9yZGV2LXNlY3JldC1wbGVhc2UtY2hhbmdlLWF0LWxlYXN0LTI1Ni1iaXRzIQ==";
+
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+            new JwtVerifier(SECRET, 1000, Duration.ofMinutes(1)),
+            true,
+            List.of("/api/users/register", "/api/users/login", "/api/auth/**"),
+            List.of("/api/users/**", "/api/credit/portfolio/**"),
+            List.of("/api/users/replication/**", "/api/credit/portfolio/rebuild"),
+            "shared-secret");
+
+    @Test
+    void validTokenForwardsIdentityHeaders() {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/credit/score/7")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(3_600_000))
+                .header(JwtAuthenticationFilter.HEADER_USER_EMAIL, "spoofed@x.com"));
+
+        filter.filter(exchange, capture(forwarded)).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.get(JwtAuthenticationFilter.HEADER_USER_EMAIL)).containsExactly("a@b.com");
+        assertThat(headers.getFirst(JwtAuthenticationFilter.HEADER_USER_ID)).isEqualTo("7");
+        assertThat(headers.getFirst(JwtAuthenticationFilter.HEADER_USER_ROLES)).isEqualTo("USER");
+        assertThat(headers.getFirst(JwtAuthenticationFilter.HEADER_GATEWAY_IDENTITY)).isEqualTo("shared-secret");
+    }
+
+    @Test
+    void invalidOrExpiredTokenIsRejectedBeforeRouting() {
+        for (String token : List.of("garbage", token(-1_000), token(3_600_000) + "x")) {
+            AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/credit/score/7")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+            filter.filter(exchange, capture(forwarded)).block();
+
+            assertThat(forwarded.get()).isNull();
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    @Test
+    void requiredPathsNeedTokenButPublicPathsDoNot() {
+        MockServerWebExchange profile = exchange(MockServerHttpRequest.get("/api/users/7"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        filter.filter(profile, capture(forwarded)).block();
+        assertThat(forwarded.get()).isNull();
+        assertThat(profile.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        MockServerWebExchange login = exchange(MockServerHttpRequest.post("/api/users/login")
+                .header(JwtAuthenticationFilter.HEADER_USER_ID, "1"));
+        filter.filter(login, capture(forwarded)).block();
+        assertThat(forwarded.get().getRequest().getHeaders().containsKey(JwtAuthenticationFilter.HEADER_USER_ID)).isFalse();
+    }
+
+    @Test
+    void anonymousRequestsCarryGatewayIdentityButNoUserHeaders() {
+        // /api/ai/chat bina token - backend ko pata chale ki X-Forwarded-For gateway ka hai
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        MockServerWebExchange chat = exchange(MockServerHttpRequest.post("/api/ai/chat")
+                .header(JwtAuthenticationFilter.HEADER_GATEWAY_IDENTITY, "spoofed")
+                .header(JwtAuthenticationFilter.HEADER_USER_ID, "42"));
+
+        filter.filter(chat, capture(forwarded)).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.get(JwtAuthenticationFilter.HEADER_GATEWAY_IDENTITY)).containsExactly("shared-secret");
+        assertThat(headers.containsKey(JwtAuthenticationFilter.HEADER_USER_ID)).isFalse();
+    }
+
+    @Test
+    void deniedPathsNeverReachTheBackendEvenWithValidToken() {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/users/replication/snapshot")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(3_600_000))
+                .header("X-Replication-Token", "dev-replication-token"));
+
+        filter.filter(exchange, capture(forwarded)).block();
+
+        assertThat(forwarded.get()).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void portfolioDashboardNeedsTokenAndRebuildIsNeverRouted() {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        MockServerWebExchange anonymous = exchange(MockServerHttpRequest.get("/api/credit/portfolio/cohorts"));
+        filter.filter(anonymous, capture(forwarded)).block();
+        assertThat(forwarded.get()).isNull();
+        assertThat(anonymous.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        MockServerWebExchange dashboard = exchange(MockServerHttpRequest.get("/api/credit/portfolio")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(3_600_000)));
+        filter.filter(dashboard, capture(forwarded)).block();
+        assertThat(forwarded.get()).isNotNull();
+
+        // full table scan - token ho tab bhi gateway se nahi
+        forwarded.set(null);
+        MockServerWebExchange rebuild = exchange(MockServerHttpRequest.post("/api/credit/portfolio/rebuild")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(3_600_000)));
+        filter.filter(rebuild, capture(forwarded)).block();
+        assertThat(forwarded.get()).isNull();
+        assertThat(rebuild.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private static String token(long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of("uid", 7, "roles", List.of("USER")))
+                .setSubject("a@b.com")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private static GatewayFilterChain capture(AtomicReference<ServerWebExchange> forwarded) {
+        return exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+    }
+}
@@ -0,0 +1,247 @@
+package com.ms.gateway.api_gateway.filter;
+
+import com.ms.gateway.api_gateway.cache.GatewayResponseCache;
+import com.ms.gateway.api_gateway.security.GatewayIdentity;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private static final Route CREDIT_ROUTE = Route.async()
+            .id("credit-scoring-service")
+            .uri(URI.create("http://localhost:8082"))
+            .predicate(exchange -> true)
+            .build();
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private String backendBody = "{\"score\":791}";
+
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(
+            new GatewayResponseCache(1 << 20, 1 << 16, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+            true, List.of("/api/credit/score/{userId}"));
+
+    private final GatewayFilterChain backend = exchange -> {
+        backendCalls.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = backendBody.getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    };
+
+    @Test
+    void secondGetIsServedFromCacheAndRevalidatesWith304() {
+        MockServerWebExchange first = get("a@b.com", null);
+        filter.filter(first, backend).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("{\"score\":791}");
+        assertThat(etag).isNotBlank();
+
+        MockServerWebExchange hit = get("a@b.com", null);
+        filter.filter(hit, backend).block();
+        assertThat(hit.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(hit.getResponse().getBodyAsString().block()).isEqualTo("{\"score\":791}");
+
+        MockServerWebExchange conditional = get("a@b.com", etag);
+        filter.filter(conditional, backend).block();
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void entriesAreKeyedPerPrincipal() {
+        filter.filter(get("a@b.com", null), backend).block();
+        filter.filter(get("c@d.com", null), backend).block();
+
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void successfulPostInvalidatesOnlyTheCallersEntries() {
+        filter.filter(get("a@b.com", 7L, "/api/credit/score/7"), backend).block();
+        filter.filter(get("c@d.com", 9L, "/api/credit/score/9"), backend).block();
+
+        write("a@b.com", 7L, "/api/credit/calculate", HttpStatus.OK);
+
+        backendBody = "{\"score\":802}";
+        MockServerWebExchange after = get("a@b.com", 7L, "/api/credit/score/7");
+        filter.filter(after, backend).block();
+        assertThat(after.getResponse().getBodyAsString().block()).isEqualTo("{\"score\":802}");
+        // dusre user ki entry ko write ne nahi chhua
+        MockServerWebExchange other = get("c@d.com", 9L, "/api/credit/score/9");
+        filter.filter(other, backend).block();
+        assertThat(other.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(backendCalls).hasValue(3);
+    }
+
+    @Test
+    void writeForAUserInvalidatesOtherPrincipalsReadingThatUser() {
+        // admin user 7 ka score padh raha hai; user 7 ka apna write admin ki entry bhi stale kare
+        filter.filter(get("admin@b.com", 1L, "/api/credit/score/7"), backend).block();
+
+        write("a@b.com", 7L, "/api/credit/calculate", HttpStatus.OK);
+
+        filter.filter(get("admin@b.com", 1L, "/api/credit/score/7"), backend).block();
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void backendNamedUsersAreInvalidatedWhateverTheCaller() {
+        // user 7 ka score admin aur khud user 7 dono ne cache karaya; calculate kisi aur principal se aaya
+        filter.filter(get("admin@b.com", 1L, "/api/credit/score/7"), backend).block();
+        filter.filter(get("a@b.com", 7L, "/api/credit/score/7"), backend).block();
+        filter.filter(get("c@d.com", 9L, "/api/credit/score/9"), backend).block();
+
+        MockServerWebExchange post = routed(MockServerHttpRequest.post("/api/credit/calculate").build(), "ops@b.com", 2L);
+        filter.filter(post, respondWith(HttpStatus.OK, "7")).block();
+        assertThat(post.getResponse().getHeaders().containsKey(ResponseCacheFilter.HEADER_INVALIDATE_USERS)).isFalse();
+
+        filter.filter(get("admin@b.com", 1L, "/api/credit/score/7"), backend).block();
+        filter.filter(get("a@b.com", 7L, "/api/credit/score/7"), backend).block();
+        MockServerWebExchange other = get("c@d.com", 9L, "/api/credit/score/9");
+        filter.filter(other, backend).block();
+        assertThat(other.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(backendCalls).hasValue(5);
+    }
+
+    @Test
+    void batchWriteInvalidatesEveryEntryOnTheRoute() {
+        filter.filter(get("a@b.com", 7L, "/api/credit/score/7"), backend).block();
+        filter.filter(get("c@d.com", 9L, "/api/credit/score/9"), backend).block();
+
+        MockServerWebExchange batch = routed(MockServerHttpRequest.post("/api/credit/batch").build(), "ops@b.com", 2L);
+        filter.filter(batch, respondWith(HttpStatus.OK, "*")).block();
+
+        filter.filter(get("a@b.com", 7L, "/api/credit/score/7"), backend).block();
+        filter.filter(get("c@d.com", 9L, "/api/credit/score/9"), backend).block();
+        assertThat(backendCalls).hasValue(4);
+    }
+
+    @Test
+    void failedWriteKeepsCachedEntries() {
+        filter.filter(get("a@b.com", null), backend).block();
+
+        write("a@b.com", 7L, "/api/credit/calculate", HttpStatus.BAD_REQUEST);
+        write("a@b.com", 7L, "/api/credit/calculate", HttpStatus.SERVICE_UNAVAILABLE);
+
+        MockServerWebExchange after = get("a@b.com", null);
+        filter.filter(after, backend).block();
+        assertThat(after.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void acceptedAsyncWriteStopsCachingUntilTheHoldEnds() {
+        filter.filter(get("a@b.com", null), backend).block();
+
+        write("a@b.com", 7L, "/api/credit/calculate/async", HttpStatus.ACCEPTED);
+
+        // score abhi likha nahi gaya: GET backend jaata hai par purana jawab cache nahi hota
+        filter.filter(get("a@b.com", null), backend).block();
+        backendBody = "{\"score\":802}";
+        MockServerWebExchange processed = get("a@b.com", null);
+        filter.filter(processed, backend).block();
+        assertThat(processed.getResponse().getBodyAsString().block()).isEqualTo("{\"score\":802}");
+        assertThat(backendCalls).hasValue(3);
+    }
+
+    @Test
+    void holdExpiresAfterTheConfiguredWindow() throws InterruptedException {
+        ResponseCacheFilter shortHold = new ResponseCacheFilter(
+                new GatewayResponseCache(1 << 20, 1 << 16, Duration.ofMinutes(1), Duration.ofMillis(50)),
+                true, List.of("/api/credit/score/{userId}"));
+        MockServerWebExchange post = routed(MockServerHttpRequest.post("/api/credit/calculate/async").build(), "a@b.com", 7L);
+        shortHold.filter(post, respondWith(HttpStatus.ACCEPTED)).block();
+        Thread.sleep(100);
+
+        shortHold.filter(get("a@b.com", null), backend).block();
+        MockServerWebExchange hit = get("a@b.com", null);
+        shortHold.filter(hit, backend).block();
+        assertThat(hit.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void binaryAcceptBypassesCacheWithoutBuffering() {
+        filter.filter(get("a@b.com", null), backend).block();
+
+        byte[] binary = {'C', 'S', 'H', 1, 0, 0, 0, 7};
+        GatewayFilterChain binaryBackend = exchange -> {
+            backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.parseMediaType("application/vnd.credit.score-history"));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(binary)));
+        };
+        MockServerWebExchange exchange = routed(MockServerHttpRequest.get("/api/credit/score/7")
+                .header(HttpHeaders.ACCEPT, "application/vnd.credit.score-history").build(), "a@b.com");
+        filter.filter(exchange, binaryBackend).block();
+
+        // cached JSON nahi mila, backend ka binary as-is aur koi cache header / ETag nahi
+        assertThat(backendCalls).hasValue(2);
+        assertThat(exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isNull();
+        assertThat(exchange.getResponse().getHeaders().getETag()).isNull();
+        assertThat(ResponseCacheFilter.acceptsOnlyJson(exchange.getRequest().getHeaders())).isFalse();
+    }
+
+    private void write(String principal, Long userId, String path, HttpStatus status) {
+        MockServerWebExchange post = routed(MockServerHttpRequest.post(path).build(), principal, userId);
+        filter.filter(post, respondWith(status)).block();
+    }
+
+    private static GatewayFilterChain respondWith(HttpStatus status) {
+        return respondWith(status, null);
+    }
+
+    private static GatewayFilterChain respondWith(HttpStatus status, String invalidateUsers) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            if (invalidateUsers != null) {
+                exchange.getResponse().getHeaders().set(ResponseCacheFilter.HEADER_INVALIDATE_USERS, invalidateUsers);
+            }
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    private static MockServerWebExchange get(String principal, String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/credit/score/7");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return routed(request.build(), principal);
+    }
+
+    private static MockServerWebExchange get(String principal, Long userId, String path) {
+        return routed(MockServerHttpRequest.get(path).build(), principal, userId);
+    }
+
+    private static MockServerWebExchange routed(MockServerHttpRequest request, String principal) {
+        return routed(request, principal, 7L);
+    }
+
+    private static MockServerWebExchange routed(MockServerHttpRequest request, String principal, Long userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, CREDIT_ROUTE);
+        exchange.getAttributes().put(JwtAuthenticationFilter.IDENTITY_ATTR,
+                new GatewayIdentity(principal, userId, "USER", Long.MAX_VALUE));
+        return exchange;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ms.gateway.api_gateway.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogWriterTest {
+
+    @Test
+    void accessLogKeepsOrderAndDropsWhenFull(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(true, 16, 60_000, file.toString());
+        for (int i = 0; i < 20; i++) {
+            writer.append(0, "GET", "/api/credit/score/" + i, 200, 1_234_567, "credit-scoring-service");
+        }
+        writer.close();
+
+        // drainer beech me kuch nikaal sakta hai - par jo likha gaya woh order me, aur baaki drop count me
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.size()).isGreaterThanOrEqualTo(16);
+        assertThat(lines.size() + writer.dropped()).isEqualTo(20);
+        assertThat(lines.get(0)).isEqualTo("1970-01-01T00:00:00Z GET /api/credit/score/0 200 1.234ms route=credit-scoring-service");
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i)).contains("/api/credit/score/" + i + " ");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ms.gateway.api_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void rejectsAboveTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(config(), clock::get);
+        for (int i = 0; i < 20; i++) {
+            assertThat(limit.tryAcquire()).isPositive();
+        }
+        assertThat(limit.tryAcquire()).isEqualTo(-1);
+        assertThat(limit.rejected()).isEqualTo(1);
+        assertThat(limit.inFlight()).isEqualTo(20);
+    }
+
+    @Test
+    void latencyRiseShrinksTheLimitAndRecoveryGrowsItBack() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(config(), clock::get);
+
+        runWindows(limit, 20, 10);                 // normal: ~10 ms
+        int healthy = limit.limit();
+        assertThat(healthy).isGreaterThan(20);     // saturated + fast -> upar probe
+
+        runWindows(limit, 10, 100);                // backend queue: 10x latency
+        int overloaded = limit.limit();
+        assertThat(overloaded).isLessThan(healthy);
+
+        runWindows(limit, 40, 10);
+        assertThat(limit.limit()).isGreaterThan(overloaded);
+    }
+
+    @Test
+    void errorsBackOffAndIdleTrafficDoesNotGrowTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(config(), clock::get);
+        int start = limit.limit();
+
+        // sirf 1-2 in-flight: limit use nahi ho rahi, to badhni nahi chahiye
+        for (int i = 0; i < 500; i++) {
+            int inFlight = limit.tryAcquire();
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            limit.release(inFlight, TimeUnit.MILLISECONDS.toNanos(5), false);
+        }
+        assertThat(limit.limit()).isEqualTo(start);
+
+        for (int w = 0; w < 5; w++) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            for (int i = 0; i < 10; i++) {
+                limit.release(limit.tryAcquire(), TimeUnit.MILLISECONDS.toNanos(5), true);
+            }
+        }
+        assertThat(limit.limit()).isLessThan(start);
+    }
+
+    /** Har window: limit tak requests in-flight, sab ek hi latency pe complete. */
+    private void runWindows(AdaptiveConcurrencyLimit limit, int windows, long latencyMs) {
+        for (int w = 0; w < windows; w++) {
+            int n = limit.limit();
+            int[] inFlight = new int[n];
+            for (int i = 0; i < n; i++) {
+                inFlight[i] = limit.tryAcquire();
+            }
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+            for (int i = 0; i < n; i++) {
+                limit.release(inFlight[i], TimeUnit.MILLISECONDS.toNanos(latencyMs), false);
+            }
+        }
+    }
+
+    private static RateLimitProperties.Concurrency config() {
+        RateLimitProperties.Concurrency config = new RateLimitProperties.Concurrency();
+        config.setInitialLimit(20);
+        config.setMinLimit(4);
+        config.setMaxLimit(200);
+        config.setWindow(Duration.ofMillis(10));
+        config.setMinWindowSamples(10);
+        return config;
+    }
+}
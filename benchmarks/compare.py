@@ -0,0 +1,114 @@
+#!/usr/bin/env python3
+"""Do JMH result sets (benchmarks/run.sh ki directories ya single -rf json files) ka diff.
+
+Primary score: thrpt me bada behtar, avgt/sample/ss me chhota. gc.alloc.rate.norm (B/op) alag
+check hota hai - allocation noise kam hai, to yeh regression ka sabse bharosemand signal hai.
+
+Exit code 1 agar koi regression threshold se upar ho (CI gate ke liye), warna 0.
+
+Usage: benchmarks/compare.py BASELINE NEW [--threshold 15] [--alloc-threshold 64]
+"""
+
+import argparse
+import glob
+import json
+import os
+import sys
+
+
+def load(path):
+    files = sorted(glob.glob(os.path.join(path, "*.json"))) if os.path.isdir(path) else [path]
+    results, env = {}, None
+    for file in files:
+        with open(file) as f:
+            data = json.load(f)
+        if isinstance(data, dict):          # run.sh ka env.json
+            env = data
+            continue
+        for run in data:
+            results[key(run)] = run
+    return results, env
+
+
+def key(run):
+    # com.ms.credit.benchmark.ScoringEngineBenchmark.evaluate -> ScoringEngineBenchmark.evaluate
+    name = ".".join(run["benchmark"].split(".")[-2:])
+    params = run.get("params") or {}
+    if params:
+        name += "[" + ",".join(f"{k}={v}" for k, v in sorted(params.items())) + "]"
+    return name
+
+
+def alloc(run):
+    metric = (run.get("secondaryMetrics") or {}).get("gc.alloc.rate.norm")
+    return None if metric is None else metric["score"]
+
+
+def worse_percent(run_old, run_new):
+    old, new = run_old["primaryMetric"]["score"], run_new["primaryMetric"]["score"]
+    if old == 0:
+        return 0.0
+    change = (new - old) / old * 100
+    return -change if run_new["mode"] == "thrpt" else change
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Diff two JMH result sets")
+    parser.add_argument("baseline")
+    parser.add_argument("new")
+    parser.add_argument("--threshold", type=float, default=15.0,
+                        help="primary score kitne %% kharab ho to regression (default 15)")
+    parser.add_argument("--alloc-threshold", type=float, default=64.0,
+                        help="B/op kitne badhe to regression (default 64; relative threshold bhi lagta hai)")
+    args = parser.parse_args()
+
+    base, base_env = load(args.baseline)
+    new, new_env = load(args.new)
+    if base_env and new_env:
+        for field in ("cpus", "java", "quick"):
+            if base_env.get(field) != new_env.get(field):
+                print(f"WARNING: {field} differs ({base_env.get(field)} vs {new_env.get(field)}) - "
+                      f"numbers are not directly comparable")
+
+    regressions = 0
+    rows = []
+    for name in sorted(set(base) & set(new)):
+        old_run, new_run = base[name], new[name]
+        worse = worse_percent(old_run, new_run)
+        status = "ok"
+        if worse > args.threshold:
+            status = "SLOWER"
+        elif worse < -args.threshold:
+            status = "faster"
+
+        old_alloc, new_alloc = alloc(old_run), alloc(new_run)
+        alloc_text = "-"
+        if old_alloc is not None and new_alloc is not None:
+            alloc_text = f"{old_alloc:.0f} -> {new_alloc:.0f}"
+            grown = new_alloc - old_alloc
+            if grown > max(args.alloc_threshold, old_alloc * args.threshold / 100):
+                status = "SLOWER+ALLOC" if status == "SLOWER" else "ALLOC"
+        if status in ("SLOWER", "ALLOC", "SLOWER+ALLOC"):
+            regressions += 1
+
+        unit = new_run["primaryMetric"]["scoreUnit"]
+        rows.append((name, f"{old_run['primaryMetric']['score']:.4g}", f"{new_run['primaryMetric']['score']:.4g}",
+                     unit, f"{-worse:+.1f}%", alloc_text, status))
+
+    header = ("benchmark", "baseline", "new", "unit", "better", "B/op", "status")
+    widths = [max(len(str(r[i])) for r in rows + [header]) for i in range(len(header))]
+    for row in [header] + rows:
+        print("  ".join(str(c).ljust(w) for c, w in zip(row, widths)))
+
+    for name in sorted(set(base) - set(new)):
+        print(f"missing in new: {name}")
+    for name in sorted(set(new) - set(base)):
+        print(f"new benchmark (no baseline): {name}")
+
+    print(f"\n{len(rows)} compared, {regressions} regression(s) "
+          f"(threshold {args.threshold:g}%, alloc +{args.alloc_threshold:g} B/op)")
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
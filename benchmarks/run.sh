@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Har module ke JMH suites (-Pbenchmark profile) chala ke JSON results ek directory me likhta hai,
+# taaki compare.py do commits / machines ke results diff kar sake.
+#
+# Usage: benchmarks/run.sh [--quick] [--out DIR] [module ...]
+#   --quick    1 warmup + 3 x 1s iterations (CI / laptop pe smoke); default = har benchmark ke annotations
+#   --out DIR  default benchmarks/results/<short commit>
+#   module     user-management-ms | credit-scoring-service | api-gateway | ai-advisor-service (default: sab)
+# Env: BENCH_INCLUDE (JMH regex, default .*), MVN (default "mvn", e.g. "mvn -o")
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+MVN=${MVN:-mvn}
+INCLUDE=${BENCH_INCLUDE:-.*}
+QUICK=""
+OUT=""
+SELECTED=()
+
+while [ $# -gt 0 ]; do
+  case "$1" in
+    --quick) QUICK="-wi 1 -i 3 -w 1s -r 1s"; shift ;;
+    --out) OUT="$2"; shift 2 ;;
+    -h|--help) sed -n '2,10p' "$0"; exit 0 ;;
+    *) SELECTED+=("$1"); shift ;;
+  esac
+done
+
+module_dir() {
+  case "$1" in
+    credit-scoring-service) echo "credit-scoring-service/credit-scoring-service" ;;
+    *) echo "$1" ;;
+  esac
+}
+
+[ ${#SELECTED[@]} -eq 0 ] && SELECTED=(user-management-ms credit-scoring-service api-gateway ai-advisor-service)
+OUT=${OUT:-$ROOT/benchmarks/results/$(git -C "$ROOT" rev-parse --short HEAD)}
+mkdir -p "$OUT"
+OUT=$(cd "$OUT" && pwd)
+
+# machine ki details - alag hardware ke numbers compare.py warning ke saath dikhata hai
+cat > "$OUT/env.json" <<JSON
+{"commit": "$(git -C "$ROOT" rev-parse HEAD)", "date": "$(date -u +%Y-%m-%dT%H:%M:%SZ)",
+ "cpus": $(getconf _NPROCESSORS_ONLN), "os": "$(uname -sr)",
+ "java": "$(java -version 2>&1 | head -1 | sed 's/"/\\"/g')", "quick": $([ -n "$QUICK" ] && echo true || echo false)}
+JSON
+
+for module in "${SELECTED[@]}"; do
+  dir="$ROOT/$(module_dir "$module")"
+  result="$OUT/$module.json"
+  echo "=== $module -> $result"
+  args=(-B -q -Pbenchmark test-compile exec:exec "-Dbenchmark.include=$INCLUDE" "-Dbenchmark.result=$result")
+  if [ -n "$QUICK" ]; then
+    # profile ke arguments ki jagah poori command line (quick options ke saath)
+    args+=("-Dexec.args=-classpath %classpath org.openjdk.jmh.Main $INCLUDE -prof gc -rf json -rff $result $QUICK")
+  fi
+  (cd "$dir" && $MVN "${args[@]}")
+done
+
+echo "Results: $OUT"
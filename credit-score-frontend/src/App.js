@@ -275,6 +275,12 @@ function Dashboard({ user }) {
       const response = await axios.get(`${API_BASE_URL}/api/credit/score/${userId}`);
       setScoreData(response.data);
     } catch (err) {
+      if (err.response?.status === 429) {
+        // gateway rate limit - purana score dikhate raho, Retry-After ke baad try karo
+        const wait = err.response.headers?.['retry-after'] || 1;
+        setError(`Too many requests. Please try again in ${wait}s.`);
+        return;
+      }
       setError(err.response?.data?.message || 'Score not found. Please calculate your score first.');
       setScoreData(null);
     } finally {
@@ -0,0 +1,47 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.dto.BatchSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * OFFLINE MODE - local NDJSON file ko score karta hai (nightly re-scoring).
+ *
+ * java -jar credit-scoring-service.jar --spring.main.web-application-type=none \
+ *      --credit.batch.input=/data/book.ndjson [--credit.batch.output=/data/book.scores.ndjson] \
+ *      [--credit.batch.persist=false] [--credit.batch.parallelism=8]
+ */
+@Component
+@ConditionalOnProperty(name = "credit.batch.input")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchFileRunner implements ApplicationRunner {
+
+    private final NdjsonBatchScorer batchScorer;
+
+    @Value("${credit.batch.input}")
+    private String input;
+
+    @Value("${credit.batch.output:}")
+    private String output;
+
+    @Value("${credit.batch.persist:true}")
+    private boolean persist;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path in = Path.of(input);
+        Path out = output.isBlank() ? in.resolveSibling(in.getFileName() + ".scores.ndjson") : Path.of(output);
+
+        log.info("Offline batch scoring {} -> {} (persist={})", in, out, persist);
+        BatchSummary summary = batchScorer.scoreFile(in, out, persist);
+        log.info("Offline batch done: {}", summary);
+    }
+}
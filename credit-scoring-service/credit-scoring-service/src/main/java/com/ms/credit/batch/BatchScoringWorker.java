@@ -0,0 +1,79 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Ek thread ka scoring state: parser, reusable record, output writer aur optional persist buffer.
+ * Steady state me per-line koi allocation nahi hoti.
+ */
+final class BatchScoringWorker {
+
+    private final NdjsonScoreParser parser = new NdjsonScoreParser();
+    private final ScoreRecord record = new ScoreRecord();
+    private final ScoreWriter writer;
+    private final ScoreBatchPersister.Buffer persistBuffer;
+
+    private long scored;
+    private long failed;
+
+    BatchScoringWorker(ScoreWriter writer, ScoreBatchPersister.Buffer persistBuffer) {
+        this.writer = writer;
+        this.persistBuffer = persistBuffer;
+    }
+
+    /** [from, to) ek line hai (newline ke bina). Blank lines ignore hoti hain. */
+    void accept(ByteBuffer buffer, int from, int to, long position) throws IOException {
+        while (to > from && isBlank(buffer.get(to - 1))) {
+            to--;
+        }
+        while (from < to && isBlank(buffer.get(from))) {
+            from++;
+        }
+        if (from == to) {
+            return;
+        }
+
+        int status = parser.parse(buffer, from, to, record);
+        if (status != NdjsonScoreParser.OK) {
+            reject(position, status);
+            return;
+        }
+
+        long packed = ScoringEngine.evaluate(record.monthlyIncomeMinor, record.existingLoansMinor,
+                record.utilizationBp, record.paymentHistory);
+        int score = ScoringEngine.scoreOf(packed);
+        writer.writeScore(record.userId, score, RiskCategory.of(score));
+        if (persistBuffer != null) {
+            persistBuffer.add(record, packed);
+        }
+        scored++;
+    }
+
+    void reject(long position, int status) throws IOException {
+        failed++;
+        writer.writeError(position, status);
+    }
+
+    void finish() throws IOException {
+        if (persistBuffer != null) {
+            persistBuffer.flush();
+        }
+        writer.finish(scored, failed);
+    }
+
+    long scored() {
+        return scored;
+    }
+
+    long failed() {
+        return failed;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
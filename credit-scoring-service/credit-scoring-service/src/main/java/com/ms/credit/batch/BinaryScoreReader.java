@@ -0,0 +1,147 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.codec.BinaryMediaTypes;
+import com.ms.credit.engine.RiskCategory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * application/vnd.credit.score-batch stream ka pull reader (Java clients, tests, benchmarks).
+ * Layout {@link BinaryScoreWriter} me. Apna fixed buffer - har record pe allocation sirf error message ki.
+ *
+ * <pre>
+ * while (reader.next() != BinaryScoreReader.END) { ... reader.userId(), reader.score() ... }
+ * </pre>
+ */
+public final class BinaryScoreReader {
+
+    public static final int SCORE = BinaryScoreWriter.SCORE;
+    public static final int ERROR = BinaryScoreWriter.ERROR;
+    public static final int END = BinaryScoreWriter.END;
+
+    private static final RiskCategory[] CATEGORIES = RiskCategory.values();
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean headerRead;
+
+    private long userId;
+    private int score;
+    private RiskCategory riskCategory;
+    private int pointsToNextLevel;
+    private long errorPosition;
+    private String error;
+    private long scored;
+    private long failed;
+
+    public BinaryScoreReader(InputStream in) {
+        this(in, new byte[8 * 1024]);
+    }
+
+    public BinaryScoreReader(InputStream in, byte[] buffer) {
+        this.in = in;
+        this.buffer = buffer;
+    }
+
+    /** Agla record: {@link #SCORE}, {@link #ERROR} ya {@link #END} (trailer - scored() / failed() ab valid). */
+    public int next() throws IOException {
+        if (!headerRead) {
+            for (byte expected : BinaryScoreWriter.MAGIC) {
+                if (readByte() != expected) {
+                    throw new IOException("Not a score-batch v" + BinaryMediaTypes.VERSION + " stream");
+                }
+            }
+            headerRead = true;
+        }
+        int type = readByte();
+        switch (type) {
+            case SCORE -> {
+                userId = readLong();
+                score = readShort();
+                int category = readByte() & 0xFF;
+                if (category >= CATEGORIES.length) {
+                    throw new IOException("Unknown risk category " + category);
+                }
+                riskCategory = CATEGORIES[category];
+                pointsToNextLevel = readShort();
+            }
+            case ERROR -> {
+                errorPosition = readLong();
+                readByte();                                   // code - message hi kaafi hai
+                byte[] message = new byte[readByte() & 0xFF];
+                for (int i = 0; i < message.length; i++) {
+                    message[i] = readByte();
+                }
+                error = new String(message, StandardCharsets.US_ASCII);
+            }
+            case END -> {
+                scored = readLong();
+                failed = readLong();
+            }
+            default -> throw new IOException("Unknown record type " + type);
+        }
+        return type;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public int score() {
+        return score;
+    }
+
+    public RiskCategory riskCategory() {
+        return riskCategory;
+    }
+
+    public int pointsToNextLevel() {
+        return pointsToNextLevel;
+    }
+
+    /** Error record ki input line number. */
+    public long errorPosition() {
+        return errorPosition;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    public long scored() {
+        return scored;
+    }
+
+    public long failed() {
+        return failed;
+    }
+
+    private byte readByte() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new EOFException("Score-batch stream ended before trailer");
+            }
+        }
+        return buffer[position++];
+    }
+
+    private int readShort() throws IOException {
+        return (readByte() & 0xFF) << 8 | (readByte() & 0xFF);
+    }
+
+    private long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | (readByte() & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.codec.BinaryMediaTypes;
+import com.ms.credit.engine.RiskCategory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Batch results ka fixed-schema binary stream (application/vnd.credit.score-batch). Big-endian:
+ *
+ * <pre>
+ * header  'C' 'S' 'B' version(1)
+ * score   0x01 | userId int64 | score uint16 | riskCategory uint8 | pointsToNextLevel uint16      (14 bytes)
+ * error   0x02 | position int64 | code uint8 | length uint8 | message (US-ASCII, length bytes)
+ * trailer 0x00 | scored int64 | failed int64
+ * </pre>
+ * riskCategory = RiskCategory ordinal (LOW, MEDIUM, HIGH, VERY_HIGH). NDJSON line ~75 bytes ki jagah
+ * 14 bytes, aur koi number formatting nahi. Trailer na aaye to stream beech me kata hai.
+ */
+final class BinaryScoreWriter implements ScoreWriter {
+
+    static final byte[] MAGIC = {'C', 'S', 'B', BinaryMediaTypes.VERSION};
+    static final int SCORE = 1;
+    static final int ERROR = 2;
+    static final int END = 0;
+
+    private static final int MAX_RECORD_BYTES = 1 + 8 + 1 + 1 + 255;
+
+    private static final byte[][] ERROR_MESSAGES;
+
+    static {
+        ERROR_MESSAGES = new byte[NdjsonScoreParser.MESSAGES.length][];
+        for (int i = 0; i < ERROR_MESSAGES.length; i++) {
+            ERROR_MESSAGES[i] = NdjsonScoreParser.MESSAGES[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int length;
+
+    BinaryScoreWriter(OutputStream out, byte[] buffer) {
+        if (buffer.length < MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Write buffer must be at least " + MAX_RECORD_BYTES + " bytes");
+        }
+        this.out = out;
+        this.buffer = buffer;
+        System.arraycopy(MAGIC, 0, buffer, 0, MAGIC.length);
+        this.length = MAGIC.length;
+    }
+
+    @Override
+    public void writeScore(long userId, int score, RiskCategory category) throws IOException {
+        ensureCapacity();
+        buffer[length++] = SCORE;
+        putLong(userId);
+        putShort(score);
+        buffer[length++] = (byte) category.ordinal();
+        putShort(category.pointsToNextLevel(score));
+    }
+
+    @Override
+    public void writeError(long position, int status) throws IOException {
+        ensureCapacity();
+        byte[] message = ERROR_MESSAGES[status];
+        buffer[length++] = ERROR;
+        putLong(position);
+        buffer[length++] = (byte) status;
+        buffer[length++] = (byte) message.length;
+        System.arraycopy(message, 0, buffer, length, message.length);
+        length += message.length;
+    }
+
+    @Override
+    public void finish(long scored, long failed) throws IOException {
+        ensureCapacity();
+        buffer[length++] = END;
+        putLong(scored);
+        putLong(failed);
+        out.write(buffer, 0, length);
+        length = 0;
+        out.flush();
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (buffer.length - length < MAX_RECORD_BYTES) {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+    }
+
+    private void putLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void putShort(int value) {
+        buffer[length++] = (byte) (value >>> 8);
+        buffer[length++] = (byte) value;
+    }
+}
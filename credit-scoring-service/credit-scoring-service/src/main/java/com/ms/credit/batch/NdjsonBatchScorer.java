@@ -0,0 +1,283 @@
+package com.ms.credit.batch;
+
+import com.credit.threads.VirtualThreads;
+import com.ms.credit.codec.BufferPool;
+import com.ms.credit.dto.BatchSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * BULK SCORING
+ *
+ * Input: NDJSON - har line ek calculate request ({"userId":1,"monthlyIncome":75000,...}).
+ * Output: NDJSON - har input line ke liye ek result ya error line, same order me. Stream mode me
+ * binary bhi ({@link BinaryScoreWriter}, Accept: application/vnd.credit.score-batch) - same records, same order.
+ *
+ * Do modes:
+ *  - {@link #scoreStream}: HTTP body ko fixed buffer se line by line padhta hai aur
+ *    results turant likhta hai - pura payload kabhi memory me nahi aata.
+ *  - {@link #scoreFile}: local file ko memory-map karke newline-aligned chunks me
+ *    baantata hai, har core ek chunk parse karta hai, aur part files order me jod di jaati hain.
+ *
+ * Dono me heap usage buffers pe fixed hai, input size pe nahi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NdjsonBatchScorer {
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;   // = max line length for streams
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private final ScoreBatchPersister persister;
+    private final VirtualThreads virtualThreads;
+    private final BufferPool bufferPool;
+
+    @Value("${credit.batch.parallelism:0}")
+    private int parallelism;
+
+    public BatchSummary scoreStream(InputStream in, OutputStream out, boolean persist) throws IOException {
+        return scoreStream(in, out, persist, false);
+    }
+
+    /** @param binary true = fixed-schema binary records, false = NDJSON lines */
+    public BatchSummary scoreStream(InputStream in, OutputStream out, boolean persist, boolean binary) throws IOException {
+        // write buffer pool se - har batch request pe naya 64 KB array nahi
+        byte[] writeBuffer = bufferPool.acquire();
+        try {
+            ScoreWriter writer = binary
+                    ? new BinaryScoreWriter(out, writeBuffer)
+                    : new NdjsonScoreWriter(out, writeBuffer, "line");
+            return scoreStream(in, new BatchScoringWorker(writer, persist ? persister.newBuffer(Instant.now()) : null));
+        } finally {
+            bufferPool.release(writeBuffer);
+        }
+    }
+
+    private BatchSummary scoreStream(InputStream in, BatchScoringWorker worker) throws IOException {
+        long started = System.nanoTime();
+
+        byte[] data = new byte[READ_BUFFER_BYTES];
+        ByteBuffer view = ByteBuffer.wrap(data);
+        int start = 0;
+        int limit = 0;
+        int scanFrom = 0;
+        long lineNo = 0;
+        boolean skippingLongLine = false;
+
+        while (true) {
+            int newline = indexOf(data, scanFrom, limit);
+            if (newline >= 0) {
+                if (skippingLongLine) {
+                    skippingLongLine = false;
+                } else {
+                    worker.accept(view, start, newline, ++lineNo);
+                }
+                start = newline + 1;
+                scanFrom = start;
+                continue;
+            }
+
+            // newline nahi mila - bachi hui line ko aage shift karo aur aur padho
+            if (start > 0) {
+                System.arraycopy(data, start, data, 0, limit - start);
+                limit -= start;
+                start = 0;
+            }
+            if (limit == data.length) {
+                if (!skippingLongLine) {
+                    worker.reject(++lineNo, NdjsonScoreParser.ERR_LINE_TOO_LONG);
+                    skippingLongLine = true;
+                }
+                limit = 0;
+            }
+            scanFrom = limit;
+
+            int read = in.read(data, limit, data.length - limit);
+            if (read < 0) {
+                break;
+            }
+            limit += read;
+        }
+        if (limit > start && !skippingLongLine) {
+            worker.accept(view, start, limit, ++lineNo);
+        }
+        worker.finish();
+
+        return summary(worker.scored(), worker.failed(), started);
+    }
+
+    public BatchSummary scoreFile(Path input, Path output, boolean persist) throws IOException {
+        long started = System.nanoTime();
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.max(threads, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+            long[] bounds = splitOnLines(channel, size, chunks);
+
+            List<Path> parts = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                parts.add(output.resolveSibling(output.getFileName() + ".part" + i));
+            }
+
+            // chunk workers JDBC batches bhi likhte hain - virtual mode me virtual threads, concurrency phir bhi `threads`
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, chunks),
+                    virtualThreads.threadFactory("batch-score-"));
+            try {
+                List<Future<BatchScoringWorker>> futures = new ArrayList<>(chunks);
+                for (int i = 0; i < chunks; i++) {
+                    long from = bounds[i];
+                    long to = bounds[i + 1];
+                    Path part = parts.get(i);
+                    futures.add(pool.submit(() -> scoreRegion(channel, from, to, part, persist)));
+                }
+
+                long scored = 0;
+                long failed = 0;
+                for (Future<BatchScoringWorker> future : futures) {
+                    BatchScoringWorker worker = future.get();
+                    scored += worker.scored();
+                    failed += worker.failed();
+                }
+                concatenate(parts, output);
+
+                BatchSummary summary = summary(scored, failed, started);
+                log.info("Scored {} ({} bytes, {} chunks): {} ok, {} failed in {} ms",
+                        input, size, chunks, scored, failed, summary.getElapsedMillis());
+                return summary;
+
+            } catch (ExecutionException e) {
+                throw new IOException("Batch scoring failed for " + input, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Batch scoring interrupted", e);
+            } finally {
+                pool.shutdownNow();
+                for (Path part : parts) {
+                    Files.deleteIfExists(part);
+                }
+            }
+        }
+    }
+
+    private BatchScoringWorker scoreRegion(FileChannel channel, long from, long to,
+                                           Path part, boolean persist) throws IOException {
+        try (OutputStream out = Files.newOutputStream(part)) {
+            BatchScoringWorker worker = newWorker(out, "offset", persist);
+            if (to > from) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+                int length = (int) (to - from);
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (region.get(i) == '\n') {
+                        worker.accept(region, lineStart, i, from + lineStart);
+                        lineStart = i + 1;
+                    }
+                }
+                if (lineStart < length) {
+                    worker.accept(region, lineStart, length, from + lineStart);
+                }
+            }
+            worker.finish();
+            return worker;
+        }
+    }
+
+    private BatchScoringWorker newWorker(OutputStream out, String positionLabel, boolean persist) {
+        return new BatchScoringWorker(
+                new NdjsonScoreWriter(out, WRITE_BUFFER_BYTES, positionLabel),
+                persist ? persister.newBuffer(Instant.now()) : null);
+    }
+
+    /** Chunk boundaries ko agli line ki shuruaat tak aage khiskata hai taaki koi line do chunks me na bante. */
+    private static long[] splitOnLines(FileChannel channel, long size, int chunks) throws IOException {
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+        ByteBuffer probe = ByteBuffer.allocate(8 * 1024);
+        for (int i = 1; i < chunks; i++) {
+            long ideal = Math.max(bounds[i - 1], size * i / chunks);
+            bounds[i] = nextLineStart(channel, ideal, size, probe);
+        }
+        for (int i = 0; i < chunks; i++) {
+            if (bounds[i + 1] - bounds[i] > Integer.MAX_VALUE) {
+                throw new IOException("Line-aligned chunk exceeds 2 GB at offset " + bounds[i]);
+            }
+        }
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size,
+                                      ByteBuffer probe) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        long cursor = position - 1;   // agar pichla byte hi '\n' hai to position line start hai
+        while (cursor < size) {
+            probe.clear();
+            int read = channel.read(probe, cursor);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return cursor + i + 1;
+                }
+            }
+            cursor += read;
+        }
+        return size;
+    }
+
+    private static void concatenate(List<Path> parts, Path output) throws IOException {
+        try (FileChannel target = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Path part : parts) {
+                try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = source.size();
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int indexOf(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static BatchSummary summary(long scored, long failed, long startedNanos) {
+        return BatchSummary.builder()
+                .scored(scored)
+                .failed(failed)
+                .elapsedMillis((System.nanoTime() - startedNanos) / 1_000_000)
+                .build();
+    }
+}
@@ -0,0 +1,350 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.engine.PaymentHistory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ek flat JSON object (ek NDJSON line) ko seedha bytes se {@link ScoreRecord} me parse karta hai.
+ *
+ * Jackson ya String allocation nahi - heap buffer aur memory-mapped buffer dono pe
+ * absolute reads se kaam karta hai. Amounts seedhe paise me (2 decimals, half-up) aur
+ * utilization basis points me parse hote hain, beech me double nahi banta.
+ * Unknown keys skip hote hain; nested objects/arrays supported nahi hain.
+ *
+ * Instance thread-safe nahi hai - har worker apna parser rakhe.
+ */
+final class NdjsonScoreParser {
+
+    static final int OK = 0;
+    static final int ERR_SYNTAX = 1;
+    static final int ERR_MISSING_USER_ID = 2;
+    static final int ERR_MISSING_PAYMENT_HISTORY = 3;
+    static final int ERR_BAD_NUMBER = 4;
+    static final int ERR_BAD_PAYMENT_HISTORY = 5;
+    static final int ERR_NESTED_VALUE = 6;
+    static final int ERR_LINE_TOO_LONG = 7;
+
+    static final String[] MESSAGES = {
+            "ok",
+            "malformed JSON object",
+            "userId is required",
+            "paymentHistory is required",
+            "numbers must be non-negative plain decimals",
+            "unknown paymentHistory",
+            "nested objects and arrays are not supported",
+            "line too long"
+    };
+
+    private static final int FIELD_UNKNOWN = -1;
+    private static final int FIELD_USER_ID = 0;
+    private static final int FIELD_MONTHLY_INCOME = 1;
+    private static final int FIELD_EXISTING_LOANS = 2;
+    private static final int FIELD_CREDIT_UTILIZATION = 3;
+    private static final int FIELD_PAYMENT_HISTORY = 4;
+
+    private static final byte[][] FIELD_NAMES = ascii(
+            "userId", "monthlyIncome", "existingLoans", "creditUtilization", "paymentHistory");
+
+    private static final byte[][] HISTORY_NAMES;
+
+    static {
+        PaymentHistory[] values = PaymentHistory.values();
+        String[] names = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name();
+        }
+        HISTORY_NAMES = ascii(names);
+    }
+
+    private static final int MAX_WHOLE_DIGITS = 15;
+
+    private ByteBuffer buf;
+    private int pos;
+    private int end;
+
+    /**
+     * @return {@link #OK} ya ERR_* code ({@link #MESSAGES} me message)
+     */
+    int parse(ByteBuffer buffer, int from, int to, ScoreRecord out) {
+        this.buf = buffer;
+        this.pos = from;
+        this.end = to;
+        out.reset();
+
+        skipWhitespace();
+        if (!consume('{')) {
+            return ERR_SYNTAX;
+        }
+        skipWhitespace();
+        if (!consume('}')) {
+            while (true) {
+                skipWhitespace();
+                if (!consume('"')) {
+                    return ERR_SYNTAX;
+                }
+                int keyStart = pos;
+                if (!skipStringBody()) {
+                    return ERR_SYNTAX;
+                }
+                int field = fieldIndex(keyStart, pos - 1);
+                skipWhitespace();
+                if (!consume(':')) {
+                    return ERR_SYNTAX;
+                }
+                skipWhitespace();
+
+                int status = readValue(field, out);
+                if (status != OK) {
+                    return status;
+                }
+
+                skipWhitespace();
+                if (consume(',')) {
+                    continue;
+                }
+                if (consume('}')) {
+                    break;
+                }
+                return ERR_SYNTAX;
+            }
+        }
+        skipWhitespace();
+        if (pos != end) {
+            return ERR_SYNTAX;
+        }
+        if (!out.hasUserId) {
+            return ERR_MISSING_USER_ID;
+        }
+        if (out.paymentHistory < 0) {
+            return ERR_MISSING_PAYMENT_HISTORY;
+        }
+        return OK;
+    }
+
+    private int readValue(int field, ScoreRecord out) {
+        if (field != FIELD_UNKNOWN && consumeLiteral("null")) {
+            // Jackson bhi primitive fields ke liye null -> 0 karta hai
+            return OK;
+        }
+        switch (field) {
+            case FIELD_USER_ID -> {
+                long id = readInteger();
+                if (id < 0) {
+                    return ERR_BAD_NUMBER;
+                }
+                out.userId = id;
+                out.hasUserId = true;
+            }
+            case FIELD_MONTHLY_INCOME -> {
+                long v = readScaled();
+                if (v < 0) {
+                    return ERR_BAD_NUMBER;
+                }
+                out.monthlyIncomeMinor = v;
+            }
+            case FIELD_EXISTING_LOANS -> {
+                long v = readScaled();
+                if (v < 0) {
+                    return ERR_BAD_NUMBER;
+                }
+                out.existingLoansMinor = v;
+            }
+            case FIELD_CREDIT_UTILIZATION -> {
+                // percent * 100 == basis points
+                long v = readScaled();
+                if (v < 0) {
+                    return ERR_BAD_NUMBER;
+                }
+                out.utilizationBp = (int) Math.min(v, Integer.MAX_VALUE);
+            }
+            case FIELD_PAYMENT_HISTORY -> {
+                if (!consume('"')) {
+                    return ERR_BAD_PAYMENT_HISTORY;
+                }
+                int start = pos;
+                if (!skipStringBody()) {
+                    return ERR_SYNTAX;
+                }
+                int history = match(HISTORY_NAMES, start, pos - 1);
+                if (history < 0) {
+                    return ERR_BAD_PAYMENT_HISTORY;
+                }
+                out.paymentHistory = history;
+            }
+            default -> {
+                return skipValue();
+            }
+        }
+        return OK;
+    }
+
+    /** Plain non-negative integer; error pe -1. */
+    private long readInteger() {
+        long value = 0;
+        int digits = 0;
+        while (pos < end && isDigit(buf.get(pos))) {
+            if (++digits > 18) {
+                return -1;
+            }
+            value = value * 10 + (buf.get(pos++) - '0');
+        }
+        return digits == 0 || isNumberTail() ? -1 : value;
+    }
+
+    /** Non-negative decimal ko x100 fixed-point me (2 decimals, half-up); error pe -1. */
+    private long readScaled() {
+        long whole = 0;
+        int digits = 0;
+        while (pos < end && isDigit(buf.get(pos))) {
+            if (++digits > MAX_WHOLE_DIGITS) {
+                return -1;
+            }
+            whole = whole * 10 + (buf.get(pos++) - '0');
+        }
+        if (digits == 0) {
+            return -1;
+        }
+
+        long fraction = 0;
+        if (pos < end && buf.get(pos) == '.') {
+            pos++;
+            int fractionDigits = 0;
+            boolean roundUp = false;
+            while (pos < end && isDigit(buf.get(pos))) {
+                int d = buf.get(pos++) - '0';
+                if (fractionDigits < 2) {
+                    fraction = fraction * 10 + d;
+                } else if (fractionDigits == 2) {
+                    roundUp = d >= 5;
+                }
+                fractionDigits++;
+            }
+            if (fractionDigits == 0) {
+                return -1;
+            }
+            if (fractionDigits == 1) {
+                fraction *= 10;
+            }
+            if (roundUp) {
+                fraction++;
+            }
+        }
+        return isNumberTail() ? -1 : whole * 100 + fraction;
+    }
+
+    /** Exponent / sign / garbage directly after digits. */
+    private boolean isNumberTail() {
+        if (pos >= end) {
+            return false;
+        }
+        byte b = buf.get(pos);
+        return b == 'e' || b == 'E' || b == '.' || b == '-' || b == '+' || isDigit(b);
+    }
+
+    private int skipValue() {
+        if (pos >= end) {
+            return ERR_SYNTAX;
+        }
+        byte b = buf.get(pos);
+        if (b == '{' || b == '[') {
+            return ERR_NESTED_VALUE;
+        }
+        if (b == '"') {
+            pos++;
+            return skipStringBody() ? OK : ERR_SYNTAX;
+        }
+        // number / true / false / null
+        int start = pos;
+        while (pos < end) {
+            b = buf.get(pos);
+            if (b == ',' || b == '}' || isWhitespace(b)) {
+                break;
+            }
+            pos++;
+        }
+        return pos > start ? OK : ERR_SYNTAX;
+    }
+
+    /** Opening quote ke baad se closing quote ke baad tak. */
+    private boolean skipStringBody() {
+        while (pos < end) {
+            byte b = buf.get(pos++);
+            if (b == '"') {
+                return true;
+            }
+            if (b == '\\') {
+                pos++;
+            }
+        }
+        return false;
+    }
+
+    private int fieldIndex(int from, int to) {
+        int index = match(FIELD_NAMES, from, to);
+        return index < 0 ? FIELD_UNKNOWN : index;
+    }
+
+    private int match(byte[][] candidates, int from, int to) {
+        int length = to - from;
+        for (int i = 0; i < candidates.length; i++) {
+            byte[] candidate = candidates[i];
+            if (candidate.length != length) {
+                continue;
+            }
+            int j = 0;
+            while (j < length && buf.get(from + j) == candidate[j]) {
+                j++;
+            }
+            if (j == length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean consume(char c) {
+        if (pos < end && buf.get(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consumeLiteral(String literal) {
+        int length = literal.length();
+        if (end - pos < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buf.get(pos + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        pos += length;
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(buf.get(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static byte[][] ascii(String... values) {
+        byte[][] bytes = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = values[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+}
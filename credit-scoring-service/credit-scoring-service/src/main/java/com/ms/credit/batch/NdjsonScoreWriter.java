@@ -0,0 +1,128 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.engine.RiskCategory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Result lines ko ek fixed byte[] buffer me likhta hai aur bhar jane pe flush karta hai.
+ * Jackson / String concat nahi - memory usage buffer size pe fixed rehta hai.
+ */
+final class NdjsonScoreWriter implements ScoreWriter {
+
+    private static final int MAX_LINE_BYTES = 256;
+
+    private static final byte[] USER_ID = ascii("{\"userId\":");
+    private static final byte[] SCORE = ascii(",\"score\":");
+    private static final byte[] RISK_CATEGORY = ascii(",\"riskCategory\":\"");
+    private static final byte[] POINTS_TO_NEXT_LEVEL = ascii("\",\"pointsToNextLevel\":");
+    private static final byte[] ERROR = ascii(",\"error\":\"");
+    private static final byte[] LINE_END = ascii("}\n");
+    private static final byte[] ERROR_END = ascii("\"}\n");
+
+    private static final byte[][] CATEGORY_NAMES;
+    private static final byte[][] ERROR_MESSAGES;
+
+    static {
+        RiskCategory[] categories = RiskCategory.values();
+        CATEGORY_NAMES = new byte[categories.length][];
+        for (int i = 0; i < categories.length; i++) {
+            CATEGORY_NAMES[i] = ascii(categories[i].name());
+        }
+        ERROR_MESSAGES = new byte[NdjsonScoreParser.MESSAGES.length][];
+        for (int i = 0; i < ERROR_MESSAGES.length; i++) {
+            ERROR_MESSAGES[i] = ascii(NdjsonScoreParser.MESSAGES[i]);
+        }
+    }
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final byte[] positionKey;
+    private int length;
+
+    /**
+     * @param positionLabel error lines me position ka key ("line" ya "offset")
+     */
+    NdjsonScoreWriter(OutputStream out, int bufferSize, String positionLabel) {
+        this(out, new byte[Math.max(bufferSize, MAX_LINE_BYTES)], positionLabel);
+    }
+
+    /** Caller ka (pooled) buffer - writer ke finish ke baad hi wapas dena. */
+    NdjsonScoreWriter(OutputStream out, byte[] buffer, String positionLabel) {
+        if (buffer.length < MAX_LINE_BYTES) {
+            throw new IllegalArgumentException("Write buffer must be at least " + MAX_LINE_BYTES + " bytes");
+        }
+        this.out = out;
+        this.buffer = buffer;
+        this.positionKey = ascii("{\"" + positionLabel + "\":");
+    }
+
+    @Override
+    public void writeScore(long userId, int score, RiskCategory category) throws IOException {
+        ensureCapacity();
+        append(USER_ID);
+        appendLong(userId);
+        append(SCORE);
+        appendLong(score);
+        append(RISK_CATEGORY);
+        append(CATEGORY_NAMES[category.ordinal()]);
+        append(POINTS_TO_NEXT_LEVEL);
+        appendLong(category.pointsToNextLevel(score));
+        append(LINE_END);
+    }
+
+    @Override
+    public void writeError(long position, int status) throws IOException {
+        ensureCapacity();
+        append(positionKey);
+        appendLong(position);
+        append(ERROR);
+        append(ERROR_MESSAGES[status]);
+        append(ERROR_END);
+    }
+
+    @Override
+    public void finish(long scored, long failed) throws IOException {
+        if (length > 0) {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+        out.flush();
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (buffer.length - length < MAX_LINE_BYTES) {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+    }
+
+    private void append(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void appendLong(long value) {
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int start = length;
+        do {
+            buffer[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // digits ulte likhe gaye the
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.cache.ScoreCache;
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+import com.ms.credit.history.ScoreHistoryStore;
+import com.ms.credit.portfolio.PortfolioAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Batch scores ko JDBC batch inserts se credit_scores table me likhta hai.
+ *
+ * JPA row-by-row save ki jagah har worker ek {@link Buffer} rakhta hai (primitive arrays,
+ * fixed size) jo bhar jane pe ek batchUpdate me flush hota hai - isliye heap input size se
+ * independent rehta hai.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScoreBatchPersister {
+
+    public static final String INSERT_SQL = "INSERT INTO credit_scores "
+            + "(user_id, monthly_income, existing_loans, credit_utilization, payment_history, "
+            + "score, risk_category, factor_flags, calculated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final PaymentHistory[] HISTORIES = PaymentHistory.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScoreCache scoreCache;
+    private final ScoreHistoryStore scoreHistoryStore;
+    private final PortfolioAggregator portfolioAggregator;
+
+    @Value("${credit.batch.jdbc-batch-size:1000}")
+    private int batchSize;
+
+    Buffer newBuffer(Instant calculatedAt) {
+        return new Buffer(batchSize, Timestamp.from(calculatedAt));
+    }
+
+    final class Buffer {
+
+        private final Timestamp calculatedAt;
+        private final long[] userIds;
+        private final long[] incomes;
+        private final long[] loans;
+        private final int[] utilizations;
+        private final byte[] histories;
+        private final int[] packedScores;
+        private int size;
+
+        private Buffer(int capacity, Timestamp calculatedAt) {
+            this.calculatedAt = calculatedAt;
+            this.userIds = new long[capacity];
+            this.incomes = new long[capacity];
+            this.loans = new long[capacity];
+            this.utilizations = new int[capacity];
+            this.histories = new byte[capacity];
+            this.packedScores = new int[capacity];
+        }
+
+        void add(ScoreRecord record, long packed) {
+            userIds[size] = record.userId;
+            incomes[size] = record.monthlyIncomeMinor;
+            loans[size] = record.existingLoansMinor;
+            utilizations[size] = record.utilizationBp;
+            histories[size] = (byte) record.paymentHistory;
+            packedScores[size] = (int) packed;
+            if (++size == userIds.length) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (size == 0) {
+                return;
+            }
+            int count = size;
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int score = ScoringEngine.scoreOf(packedScores[i]);
+                    ps.setLong(1, userIds[i]);
+                    ps.setDouble(2, incomes[i] / 100d);
+                    ps.setDouble(3, loans[i] / 100d);
+                    ps.setDouble(4, utilizations[i] / 100d);
+                    ps.setString(5, HISTORIES[histories[i]].name());
+                    ps.setInt(6, score);
+                    ps.setString(7, RiskCategory.of(score).name());
+                    ps.setInt(8, ScoringEngine.flagsOf(packedScores[i]));
+                    ps.setTimestamp(9, calculatedAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+            // batchUpdate auto-commit me chalta hai - rows ab visible hain
+            long timestamp = calculatedAt.getTime();
+            for (int i = 0; i < count; i++) {
+                scoreCache.invalidate(userIds[i]);
+                int score = ScoringEngine.scoreOf(packedScores[i]);
+                scoreHistoryStore.append(userIds[i], timestamp, score);
+                portfolioAggregator.record(userIds[i], timestamp, score, utilizations[i], HISTORIES[histories[i]], incomes[i]);
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ms.credit.batch;
+
+/**
+ * Ek NDJSON line ka parsed, fixed-point data. Har worker ek hi instance reuse karta hai.
+ */
+final class ScoreRecord {
+
+    long userId;
+    boolean hasUserId;
+    long monthlyIncomeMinor;
+    long existingLoansMinor;
+    int utilizationBp;
+    int paymentHistory;
+
+    void reset() {
+        userId = 0;
+        hasUserId = false;
+        monthlyIncomeMinor = 0;
+        existingLoansMinor = 0;
+        utilizationBp = 0;
+        paymentHistory = -1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.engine.RiskCategory;
+
+import java.io.IOException;
+
+/**
+ * Batch result ka output format - NDJSON (default) ya binary (Accept: application/vnd.credit.score-batch).
+ */
+interface ScoreWriter {
+
+    void writeScore(long userId, int score, RiskCategory category) throws IOException;
+
+    /** @param status NdjsonScoreParser ka ERR_* code */
+    void writeError(long position, int status) throws IOException;
+
+    /** Stream khatam - bacha buffer flush (binary me counts wala trailer bhi). */
+    void finish(long scored, long failed) throws IOException;
+}
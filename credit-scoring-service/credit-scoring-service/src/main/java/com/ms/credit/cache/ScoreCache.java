@@ -0,0 +1,169 @@
+package com.ms.credit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.ms.credit.dto.CacheStatsResponse;
+import com.ms.credit.dto.CreditScoreResponse;
+import com.ms.credit.dto.SingleFlightStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * IN-PROCESS SCORE CACHE (GET /api/credit/score/{userId})
+ *
+ * Caffeine = W-TinyLFU: frequency sketch se admission hoti hai, isliye ek-baar wale
+ * lookups (batch jobs, scans) hot dashboard users ko evict nahi kar paate.
+ *  - size-aware: entries bytes ke estimate se weigh hoti hain, total max-bytes pe bounded
+ *  - per-entry TTL: real score ttl tak, "score nahi mila" (negative) entries negative-ttl tak
+ *  - hit / miss / eviction counters {@link #stats()} me
+ *
+ * Redis ki zarurat nahi - single node pe bhi same latency win milta hai.
+ *
+ * Consistency: loads cache ke per-key compute ke andar hote hain aur invalidation
+ * DB commit ke baad hoti hai, jo us key ke in-flight load ke khatam hone ka wait karti hai
+ * aur phir us key ka single-flight slot bhi hata deti hai. Leader ka load cache me aane ke baad
+ * bhi uska slot thodi der rehta hai - slot na hatate to invalidation ke baad aaya GET usi
+ * purane load ke future pe join ho jata. Isliye invalidation ke baad koi bhi GET purana score
+ * nahi dekh sakta (commit aur afterCommit invalidation ke beech wale GETs commit ke concurrent hain).
+ *
+ * Miss pe {@link SingleFlight}: expiry / invalidation ke baad same user ke saare concurrent GETs
+ * ek hi DB query pe collapse hote hain (cache disabled ho tab bhi), aur waiting threads Caffeine
+ * ke hash-bin lock ke bajaye leader ke future pe rukte hain.
+ */
+@Component
+@Slf4j
+public class ScoreCache {
+
+    // Node + Long key + CreditScoreResponse fields; recommendations shared constants hain
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final boolean enabled;
+    private final Cache<Long, Optional<CreditScoreResponse>> cache;
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final SingleFlight<Long, Optional<CreditScoreResponse>> loads = new SingleFlight<>("score-lookup");
+
+    public ScoreCache(@Value("${credit.cache.score.enabled:true}") boolean enabled,
+                      @Value("${credit.cache.score.max-bytes:67108864}") long maxBytes,
+                      @Value("${credit.cache.score.ttl:10m}") Duration ttl,
+                      @Value("${credit.cache.score.negative-ttl:30s}") Duration negativeTtl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, Optional<CreditScoreResponse> value) -> weigh(value))
+                .expireAfter(new PerEntryExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats(() -> statsCounter)
+                .build();
+
+        log.info("Score cache enabled={} maxBytes={} ttl={} negativeTtl={}", enabled, maxBytes, ttl, negativeTtl);
+    }
+
+    /**
+     * Cached score, warna loader se load karke cache karta hai.
+     * Loader ka empty result bhi (thodi der ke liye) cache hota hai.
+     */
+    public Optional<CreditScoreResponse> get(Long userId, Function<Long, Optional<CreditScoreResponse>> loader) {
+        if (!enabled) {
+            return loads.execute(userId, () -> loader.apply(userId));
+        }
+        // hit path pe single-flight ka koi kharcha nahi
+        Optional<CreditScoreResponse> cached = cache.policy().getIfPresentQuietly(userId);
+        if (cached != null) {
+            statsCounter.recordHits(1);
+            return cached;
+        }
+        // leader ka cache.get khud miss (ya beech me load ho gaya to hit) record karta hai;
+        // followers ka miss yahan - hit + miss = total GETs
+        boolean[] led = new boolean[1];
+        Optional<CreditScoreResponse> loaded = loads.execute(userId, () -> {
+            led[0] = true;
+            return cache.get(userId, loader);
+        });
+        if (!led[0]) {
+            statsCounter.recordMisses(1);
+        }
+        return loaded;
+    }
+
+    /**
+     * Current transaction commit hone ke baad userId ki entry hatao (rollback pe kuch nahi).
+     * Transaction na ho to turant.
+     */
+    public void invalidateAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId);
+            }
+        });
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+        // is key pe chalu load commit se pehle ka ho sakta hai - aage aane wale GETs usse join na karein
+        loads.forget(userId);
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .enabled(enabled)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .estimatedSize(cache.estimatedSize())
+                .weightedSizeBytes(cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .build();
+    }
+
+    public SingleFlightStatsResponse loadCoalescingStats() {
+        return loads.stats();
+    }
+
+    private static int weigh(Optional<CreditScoreResponse> value) {
+        if (value.isEmpty()) {
+            return ENTRY_OVERHEAD_BYTES;
+        }
+        String range = value.get().getScoreRange();
+        return ENTRY_OVERHEAD_BYTES + (range == null ? 0 : range.length());
+    }
+
+    private record PerEntryExpiry(long ttlNanos, long negativeTtlNanos)
+            implements Expiry<Long, Optional<CreditScoreResponse>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<CreditScoreResponse> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<CreditScoreResponse> value,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<CreditScoreResponse> value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ms.credit.cache;
+
+import com.ms.credit.dto.SingleFlightStatsResponse;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SINGLE-FLIGHT (request coalescing)
+ *
+ * Ek key pe ek waqt me sirf ek computation: pehla caller (leader) kaam apne hi thread pe karta hai,
+ * us dauraan aaye same-key callers (followers) leader ke result / exception ka wait karte hain.
+ * Key ka in-flight slot result publish hone se pehle hat jata hai - uske baad aane wala naya
+ * computation shuru karta hai, purana result nahi uthata. Data badla ho to {@link #forget}
+ * slot turant hata deta hai: chalu computation ke followers purana result hi paate hain,
+ * par uske baad aane wale callers naya computation karte hain.
+ *
+ * Followers kisi map lock pe nahi, sirf apne future pe block hote hain.
+ * Leader ke thread pe koi transaction / DB connection ho to followers usse share nahi karte -
+ * isliye ise transaction ke BAHAR lagao.
+ */
+public final class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        V value;
+        try {
+            value = work.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, mine);
+        mine.complete(value);
+        return value;
+    }
+
+    /**
+     * Key ka in-flight slot hatao (invalidation pe). Chalu leader apna slot sirf tab hatata hai
+     * jab woh abhi bhi uska ho - naye leader ka slot nahi chhedta.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public SingleFlightStatsResponse stats() {
+        long led = leaders.sum();
+        long collapsed = followers.sum();
+        long total = led + collapsed;
+        return SingleFlightStatsResponse.builder()
+                .name(name)
+                .executions(led)
+                .collapsed(collapsed)
+                .collapseRatio(total == 0 ? 0 : (double) collapsed / total)
+                .inFlight(inFlight.size())
+                .build();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // leader ka exception as-is, taaki controller/handler same response de
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Coalesced computation was cancelled", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ms.credit.codec;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Opt-in binary representations (Accept header se chuna jata hai; default JSON / NDJSON hi rehta hai).
+ *
+ * Dono fixed-schema, big-endian, 4 byte header ('C' 'S' &lt;kind&gt; version) ke saath:
+ *  - score-batch: POST /api/credit/batch ka result stream ({@code BinaryScoreWriter} me layout)
+ *  - score-history: GET /api/credit/history/{userId} ({@link ScoreHistoryCodec} me layout)
+ */
+public final class BinaryMediaTypes {
+
+    public static final String SCORE_BATCH_VALUE = "application/vnd.credit.score-batch";
+    public static final MediaType SCORE_BATCH = MediaType.parseMediaType(SCORE_BATCH_VALUE);
+
+    public static final String SCORE_HISTORY_VALUE = "application/vnd.credit.score-history";
+    public static final MediaType SCORE_HISTORY = MediaType.parseMediaType(SCORE_HISTORY_VALUE);
+
+    public static final int VERSION = 1;
+
+    private BinaryMediaTypes() {
+    }
+
+    /** Accept me type naam se likha hai? Wildcard Accept (curl, browsers, purane clients) pe JSON hi milta hai. */
+    public static boolean explicitlyAccepts(String accept, MediaType type) {
+        if (accept == null || accept.isEmpty()) {
+            return false;
+        }
+        try {
+            for (MediaType candidate : MediaType.parseMediaTypes(accept)) {
+                if (!candidate.isWildcardType() && !candidate.isWildcardSubtype()
+                        && candidate.getQualityValue() > 0 && type.isCompatibleWith(candidate)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+}
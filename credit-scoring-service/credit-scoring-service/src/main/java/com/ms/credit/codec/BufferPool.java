@@ -0,0 +1,53 @@
+package com.ms.credit.codec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response streaming ke write buffers (batch NDJSON / binary, binary history) ka chhota pool -
+ * har request pe naya 64 KB array (jo seedha old gen / humongous region tak ja sakta hai) nahi.
+ *
+ * Pool khaali ho to naya buffer ban jata hai (request kabhi wait nahi karti); release pe max-pooled
+ * se zyada ho to GC ke liye chhod dete hain. Buffer wapas dene ke baad use nahi hona chahiye.
+ */
+@Component
+public class BufferPool {
+
+    private final int bufferBytes;
+    private final BlockingQueue<byte[]> free;
+    private final AtomicLong allocated = new AtomicLong();
+
+    public BufferPool(@Value("${credit.codec.buffer-bytes:65536}") int bufferBytes,
+                      @Value("${credit.codec.pooled-buffers:32}") int maxPooled) {
+        this.bufferBytes = bufferBytes;
+        this.free = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = free.poll();
+        if (buffer == null) {
+            allocated.incrementAndGet();
+            buffer = new byte[bufferBytes];
+        }
+        return buffer;
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferBytes) {
+            free.offer(buffer);
+        }
+    }
+
+    public int bufferBytes() {
+        return bufferBytes;
+    }
+
+    /** Ab tak bane buffers - steady state me pool size pe ruk jana chahiye. */
+    public long allocatedCount() {
+        return allocated.get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ms.credit.codec;
+
+import com.ms.credit.dto.ScoreHistoryResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * ScoreHistoryResponse to / from application/vnd.credit.score-history.
+ *
+ * config.BinaryCodecConfig register karta hai. /history ka produces JSON pehle rakhta hai, to wildcard
+ * Accept ya application/json pe JSON hi jata hai, binary sirf jab client naam se maange.
+ */
+public class ScoreHistoryBinaryConverter extends AbstractHttpMessageConverter<ScoreHistoryResponse> {
+
+    private final BufferPool bufferPool;
+
+    public ScoreHistoryBinaryConverter(BufferPool bufferPool) {
+        super(BinaryMediaTypes.SCORE_HISTORY);
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ScoreHistoryResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected ScoreHistoryResponse readInternal(Class<? extends ScoreHistoryResponse> clazz,
+                                                HttpInputMessage inputMessage) throws IOException {
+        return ScoreHistoryCodec.decode(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(ScoreHistoryResponse history, HttpOutputMessage outputMessage) throws IOException {
+        byte[] buffer = bufferPool.acquire();
+        try {
+            ScoreHistoryCodec.encode(history, outputMessage.getBody(), buffer);
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ms.credit.codec;
+
+import com.ms.credit.dto.ScoreHistoryResponse;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Score history ka binary form (application/vnd.credit.score-history), JSON se ~3x chhota:
+ *
+ * <pre>
+ * 'C' 'S' 'H' version(1)
+ * userId int64 | from int64 | to int64 | count int32
+ * count x timestamp  - zigzag varint, pichle timestamp se delta (pehla `from` se)
+ * count x score      - uint16
+ * </pre>
+ * Big-endian. Columnar hi rakha hai (JSON response jaisa) - ghante / din ke deltas 4 byte varint, JSON me ~14 chars.
+ * Encode caller ke buffer me hota hai aur bhar jane pe stream pe flush - poora payload memory me nahi banta.
+ */
+public final class ScoreHistoryCodec {
+
+    static final byte[] MAGIC = {'C', 'S', 'H', BinaryMediaTypes.VERSION};
+    private static final int MAX_ENTRY_BYTES = 10;
+
+    private ScoreHistoryCodec() {
+    }
+
+    public static void encode(ScoreHistoryResponse history, OutputStream out, byte[] buffer) throws IOException {
+        long[] timestamps = history.getTimestamps() != null ? history.getTimestamps() : new long[0];
+        int[] scores = history.getScores() != null ? history.getScores() : new int[0];
+        int count = Math.min(timestamps.length, scores.length);
+
+        Writer writer = new Writer(out, buffer);
+        writer.bytes(MAGIC);
+        writer.int64(history.getUserId());
+        writer.int64(history.getFrom());
+        writer.int64(history.getTo());
+        writer.int32(count);
+        long previous = history.getFrom();
+        for (int i = 0; i < count; i++) {
+            writer.varLong(zigzag(timestamps[i] - previous));
+            previous = timestamps[i];
+        }
+        for (int i = 0; i < count; i++) {
+            writer.uint16(scores[i]);
+        }
+        writer.flush();
+    }
+
+    public static ScoreHistoryResponse decode(InputStream in) throws IOException {
+        return decode(ByteBuffer.wrap(in.readAllBytes()));
+    }
+
+    public static ScoreHistoryResponse decode(ByteBuffer in) throws IOException {
+        try {
+            for (byte expected : MAGIC) {
+                if (in.get() != expected) {
+                    throw new IOException("Not a score-history v" + BinaryMediaTypes.VERSION + " payload");
+                }
+            }
+            long userId = in.getLong();
+            long from = in.getLong();
+            long to = in.getLong();
+            int count = in.getInt();
+            if (count < 0) {
+                throw new IOException("Bad point count " + count);
+            }
+            // har point kam se kam 3 bytes (1 varint + 2 score) - corrupt / kata payload pe bada array nahi
+            if (count > in.remaining() / 3) {
+                throw new EOFException("Truncated score-history payload");
+            }
+            long[] timestamps = new long[count];
+            long previous = from;
+            for (int i = 0; i < count; i++) {
+                previous += unzigzag(varLong(in));
+                timestamps[i] = previous;
+            }
+            int[] scores = new int[count];
+            for (int i = 0; i < count; i++) {
+                scores[i] = in.getShort() & 0xFFFF;
+            }
+            return ScoreHistoryResponse.builder()
+                    .userId(userId)
+                    .from(from)
+                    .to(to)
+                    .timestamps(timestamps)
+                    .scores(scores)
+                    .build();
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated score-history payload");
+        }
+    }
+
+    private static long varLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+
+        private final OutputStream out;
+        private final byte[] buffer;
+        private int length;
+
+        Writer(OutputStream out, byte[] buffer) {
+            this.out = out;
+            this.buffer = buffer;
+        }
+
+        void bytes(byte[] bytes) throws IOException {
+            ensure();
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        void int64(long value) throws IOException {
+            ensure();
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void int32(int value) throws IOException {
+            ensure();
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void uint16(int value) throws IOException {
+            ensure();
+            buffer[length++] = (byte) (value >>> 8);
+            buffer[length++] = (byte) value;
+        }
+
+        void varLong(long value) throws IOException {
+            ensure();
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        void flush() throws IOException {
+            if (length > 0) {
+                out.write(buffer, 0, length);
+                length = 0;
+            }
+            out.flush();
+        }
+
+        // har write se pehle ek entry (max 10 bytes) ki jagah
+        private void ensure() throws IOException {
+            if (buffer.length - length < MAX_ENTRY_BYTES) {
+                out.write(buffer, 0, length);
+                length = 0;
+            }
+        }
+    }
+}
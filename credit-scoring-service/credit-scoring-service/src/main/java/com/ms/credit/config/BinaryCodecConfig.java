@@ -0,0 +1,27 @@
+package com.ms.credit.config;
+
+import com.ms.credit.codec.BufferPool;
+import com.ms.credit.codec.ScoreHistoryBinaryConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Binary history converter register karta hai. Custom converters builder me defaults (Jackson) se
+ * aage lagte hain, isliye wildcard Accept pe JSON ka faisla converter order se nahi, /history ke
+ * produces order (JSON pehle) se hota hai.
+ */
+@Configuration
+public class BinaryCodecConfig implements WebMvcConfigurer {
+
+    private final BufferPool bufferPool;
+
+    public BinaryCodecConfig(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new ScoreHistoryBinaryConverter(bufferPool));
+    }
+}
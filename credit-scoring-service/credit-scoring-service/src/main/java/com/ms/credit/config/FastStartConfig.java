@@ -0,0 +1,26 @@
+package com.ms.credit.config;
+
+import com.credit.startup.StartupWarmup;
+import com.ms.credit.events.ScoreEventPipeline;
+import com.ms.credit.users.UserDirectoryReplicator;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * fast-start profile (spring.main.lazy-initialization=true) me bhi yeh beans startup pe bante hain:
+ *  - UserDirectoryReplicator: replication jitna jaldi shuru, utna jaldi directory caught-up
+ *  - ScoreEventPipeline: relay pichle instance ke pending outbox rows bina kisi request ke bhi uthata hai
+ * Baaki beans (ScoreHistoryStore recovery bhi) pehli zarurat pe ya {@link StartupWarmup} me ready ke baad.
+ */
+@Configuration(proxyBeanMethods = false)
+@Import(StartupWarmup.class)
+public class FastStartConfig {
+
+    // static - LazyInitializationBeanFactoryPostProcessor baaki beans se pehle isse padhta hai
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(UserDirectoryReplicator.class, ScoreEventPipeline.class);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ms.credit.config;
+
+import com.credit.threads.PinningMonitor;
+import com.credit.threads.VirtualThreads;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Shared thread mode beans (spring.threads.virtual.enabled):
+ *  - {@link VirtualThreads} - offline batch pool (NdjsonBatchScorer) yahan se ThreadFactory leta hai
+ *  - {@link PinningMonitor} - virtual mode me JFR pinning events; score history WAL isi wajah se ReentrantLock pe hai
+ */
+@Configuration(proxyBeanMethods = false)
+@Import({VirtualThreads.class, PinningMonitor.class})
+public class ThreadModeConfig {
+}
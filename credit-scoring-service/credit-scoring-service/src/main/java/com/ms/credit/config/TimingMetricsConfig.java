@@ -0,0 +1,25 @@
+package com.ms.credit.config;
+
+import com.credit.metrics.StageTimings;
+import com.credit.metrics.StatementCounter;
+import com.credit.metrics.TimingMetricsConfiguration;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * DB side ke timings hook karta hai:
+ *  - shared timing beans ({@link TimingMetricsConfiguration}) - har HikariDataSource pe PoolTimings
+ *  - Hibernate statement inspector = {@link StatementCounter}
+ */
+@Configuration
+@Import(TimingMetricsConfiguration.class)
+public class TimingMetricsConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer statementCounterCustomizer(StageTimings stageTimings) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter(stageTimings));
+    }
+}
@@ -0,0 +1,212 @@
+package com.ms.credit.controller;
+
+import com.ms.credit.batch.NdjsonBatchScorer;
+import com.ms.credit.cache.ScoreCache;
+import com.ms.credit.codec.BinaryMediaTypes;
+import com.ms.credit.dto.BatchSummary;
+import com.ms.credit.dto.CacheStatsResponse;
+import com.ms.credit.dto.CreditScoreRequest;
+import com.ms.credit.dto.CreditScoreResponse;
+import com.ms.credit.dto.EventPipelineStatsResponse;
+import com.ms.credit.dto.PortfolioStatsResponse;
+import com.ms.credit.dto.PortfolioSummaryResponse;
+import com.ms.credit.dto.RecalculationAcceptedResponse;
+import com.ms.credit.dto.ScoreHistoryResponse;
+import com.ms.credit.dto.SimulationRequest;
+import com.ms.credit.dto.SimulationResponse;
+import com.ms.credit.dto.SingleFlightStatsResponse;
+import com.ms.credit.dto.UserDirectoryStatsResponse;
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.events.ScoreEventPipeline;
+import com.ms.credit.portfolio.IncomeBand;
+import com.ms.credit.portfolio.PortfolioAggregator;
+import com.ms.credit.service.CreditScoreService;
+import com.ms.credit.simulation.ScenarioSimulator;
+import com.ms.credit.simulation.SimulationRun;
+import com.ms.credit.users.UserDirectoryReplicator;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/credit")
+@RequiredArgsConstructor
+@Slf4j
+public class CreditScoreController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    // gateway ka response cache isse padh ke un users ki cached GET /score entries hatata hai (client tak nahi jata)
+    static final String INVALIDATE_USERS = "X-Invalidate-Users";
+    private static final String ALL_USERS = "*";
+
+    private final CreditScoreService creditScoreService;
+    private final NdjsonBatchScorer batchScorer;
+    private final ScoreCache scoreCache;
+    private final ScoreEventPipeline scoreEventPipeline;
+    private final UserDirectoryReplicator userDirectoryReplicator;
+    private final ScenarioSimulator scenarioSimulator;
+    private final PortfolioAggregator portfolioAggregator;
+    private final JsonMapper jsonMapper;
+
+    @PostMapping("/calculate")
+    public CreditScoreResponse calculate(@Valid @RequestBody CreditScoreRequest request,
+                                         HttpServletResponse response) {
+        CreditScoreResponse score = creditScoreService.calculate(request);
+        response.setHeader(INVALIDATE_USERS, String.valueOf(request.getUserId()));
+        return score;
+    }
+
+    /**
+     * Async recalculation: 202 + eventId turant; score background me batch ke saath likha jata hai,
+     * phir GET /score/{userId} se milta hai.
+     */
+    @PostMapping("/calculate/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RecalculationAcceptedResponse calculateAsync(@Valid @RequestBody CreditScoreRequest request,
+                                                        HttpServletResponse response) {
+        RecalculationAcceptedResponse accepted = creditScoreService.submitRecalculation(request);
+        response.setHeader(INVALIDATE_USERS, String.valueOf(request.getUserId()));
+        return accepted;
+    }
+
+    @GetMapping("/score/{userId}")
+    public CreditScoreResponse getScore(@PathVariable Long userId) {
+        return creditScoreService.getLatestScore(userId);
+    }
+
+    /**
+     * What-if grid (income change x loan payoff x utilization target) ka month-by-month forecast
+     * + sensitivity curves. Lambi simulation me har heartbeat-interval pe ek space (valid JSON
+     * whitespace) likhte hain - client disconnect hote hi write fail hota hai aur simulation ruk jata hai.
+     */
+    @PostMapping("/simulate")
+    public void simulate(@Valid @RequestBody SimulationRequest request,
+                         HttpServletResponse response) throws IOException {
+        SimulationRun run = scenarioSimulator.start(request);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ServletOutputStream out = response.getOutputStream();
+        SimulationResponse result;
+        try {
+            result = run.await(scenarioSimulator.timeout(), scenarioSimulator.heartbeatInterval(), () -> {
+                out.write(' ');
+                out.flush();
+            });
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                throw e;   // abhi status bhej sakte hain (422 / 503)
+            }
+            // 200 + whitespace ja chuka - error body me
+            jsonMapper.writeValue(out, Map.of("error", String.valueOf(e.getMessage())));
+            return;
+        }
+        jsonMapper.writeValue(out, result);
+    }
+
+    /**
+     * Score history (trend graph). Default: last 12 months; from/to (epoch millis) se custom range.
+     * Accept: application/vnd.credit.score-history -> compact binary (ScoreHistoryCodec), warna JSON.
+     * produces me JSON pehle - wildcard / missing Accept pe wahi chuna jata hai.
+     */
+    @GetMapping(value = "/history/{userId}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, BinaryMediaTypes.SCORE_HISTORY_VALUE})
+    public ScoreHistoryResponse getHistory(@PathVariable Long userId,
+                                           @RequestParam(defaultValue = "12") int months,
+                                           @RequestParam(required = false) Long from,
+                                           @RequestParam(required = false) Long to,
+                                           HttpServletResponse response) {
+        // same URL, do representations - beech ke HTTP caches Accept ke hisaab se alag rakhein
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        long toMillis = to != null ? to : System.currentTimeMillis();
+        long fromMillis = from != null ? from : ZonedDateTime.now().minusMonths(months).toInstant().toEpochMilli();
+        return creditScoreService.getHistory(userId, fromMillis, toMillis);
+    }
+
+    /**
+     * Bulk scoring: NDJSON body in, NDJSON results out (same order), dono streamed.
+     * Accept: application/vnd.credit.score-batch -> results fixed-schema binary me (BinaryScoreWriter).
+     * persist=false se sirf scores milte hain, DB me kuch save nahi hota.
+     * Users stream hote hue pata chalte hain aur headers pehle ja chuke hote hain, isliye persist pe
+     * X-Invalidate-Users: * (gateway is route ki saari cached entries stream khatam hone pe hatata hai).
+     */
+    @PostMapping(value = "/batch", consumes = NDJSON)
+    public void batch(@RequestParam(defaultValue = "true") boolean persist,
+                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+
+        boolean binary = BinaryMediaTypes.explicitlyAccepts(accept, BinaryMediaTypes.SCORE_BATCH);
+        response.setContentType(binary ? BinaryMediaTypes.SCORE_BATCH_VALUE : NDJSON);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (persist) {
+            response.setHeader(INVALIDATE_USERS, ALL_USERS);
+        }
+        BatchSummary summary = batchScorer.scoreStream(request.getInputStream(), response.getOutputStream(),
+                persist, binary);
+        log.info("Batch request scored: {}", summary);
+    }
+
+    /**
+     * Poori book (har user ka latest score) ke distributions - in-memory sketches se, DB query nahi.
+     * paymentHistory / incomeBand na do to saare cohorts.
+     */
+    @GetMapping("/portfolio")
+    public PortfolioSummaryResponse portfolio(@RequestParam(required = false) PaymentHistory paymentHistory,
+                                              @RequestParam(required = false) IncomeBand incomeBand) {
+        return portfolioAggregator.summary(paymentHistory, incomeBand);
+    }
+
+    @GetMapping("/portfolio/cohorts")
+    public List<PortfolioSummaryResponse> portfolioCohorts() {
+        return portfolioAggregator.cohorts();
+    }
+
+    /** credit_scores se full parallel rebuild (background me); progress /portfolio/stats pe. */
+    @PostMapping("/portfolio/rebuild")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public PortfolioStatsResponse rebuildPortfolio() {
+        if (!portfolioAggregator.startRebuild()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Portfolio rebuild already running or disabled");
+        }
+        return portfolioAggregator.stats();
+    }
+
+    @GetMapping("/portfolio/stats")
+    public PortfolioStatsResponse portfolioStats() {
+        return portfolioAggregator.stats();
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStatsResponse cacheStats() {
+        return scoreCache.stats();
+    }
+
+    @GetMapping("/singleflight/stats")
+    public List<SingleFlightStatsResponse> singleFlightStats() {
+        return creditScoreService.coalescingStats();
+    }
+
+    @GetMapping("/events/stats")
+    public EventPipelineStatsResponse eventStats() {
+        return scoreEventPipeline.stats();
+    }
+
+    @GetMapping("/users/directory/stats")
+    public UserDirectoryStatsResponse userDirectoryStats() {
+        return userDirectoryReplicator.stats();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.ms.credit.controller;
+
+import com.credit.metrics.PoolTimings;
+import com.credit.metrics.StageTimings;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /metrics/timings - har hot-path stage aur endpoint ka p50/p90/p99/max, DB pools ka
+ * connection wait aur Hibernate statements.
+ * Gateway isse route nahi karta; default sirf localhost se (ops/sidecar scrape), bahar se 404.
+ */
+@RestController
+public class TimingMetricsController {
+
+    private final StageTimings stageTimings;
+    private final PoolTimings poolTimings;
+    private final boolean localOnly;
+
+    public TimingMetricsController(StageTimings stageTimings, PoolTimings poolTimings,
+                                   @Value("${metrics.local-only:true}") boolean localOnly) {
+        this.stageTimings = stageTimings;
+        this.poolTimings = poolTimings;
+        this.localOnly = localOnly;
+    }
+
+    @GetMapping("/metrics/timings")
+    public ResponseEntity<Map<String, Object>> timings(HttpServletRequest request) {
+        if (localOnly && !isLoopback(request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("endpoints", stageTimings.endpointSnapshot());
+        body.put("stages", stageTimings.stageSnapshot());
+        body.put("pools", poolTimings.snapshot());
+        body.put("statements", stageTimings.statementCount());
+        return ResponseEntity.ok(body);
+    }
+
+    // remote addr IP literal hai - DNS lookup nahi hota
+    private static boolean isLoopback(String remoteAddr) {
+        try {
+            return remoteAddr != null && InetAddress.getByName(remoteAddr).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
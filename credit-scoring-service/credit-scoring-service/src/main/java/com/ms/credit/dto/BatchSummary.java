@@ -0,0 +1,13 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchSummary {
+
+    private long scored;
+    private long failed;
+    private long elapsedMillis;
+}
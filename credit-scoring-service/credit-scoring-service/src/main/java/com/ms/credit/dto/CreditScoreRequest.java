@@ -0,0 +1,36 @@
+package com.ms.credit.dto;
+
+import com.ms.credit.engine.PaymentHistory;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditScoreRequest {
+
+    @NotNull
+    private Long userId;
+
+    @PositiveOrZero
+    @DecimalMax("1000000000")
+    private double monthlyIncome;
+
+    @PositiveOrZero
+    @DecimalMax("1000000000000")
+    private double existingLoans;
+
+    // percent (0-100)
+    @PositiveOrZero
+    @DecimalMax("100")
+    private double creditUtilization;
+
+    @NotNull
+    private PaymentHistory paymentHistory;
+}
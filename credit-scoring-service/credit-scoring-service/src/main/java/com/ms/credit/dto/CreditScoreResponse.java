@@ -0,0 +1,19 @@
+package com.ms.credit.dto;
+
+import com.ms.credit.engine.RiskCategory;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CreditScoreResponse {
+
+    private Long userId;
+    private int score;
+    private RiskCategory riskCategory;
+    private String scoreRange;
+    private List<String> recommendations;
+    private int pointsToNextLevel;
+}
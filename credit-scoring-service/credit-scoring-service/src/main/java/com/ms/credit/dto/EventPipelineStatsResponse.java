@@ -0,0 +1,25 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class EventPipelineStatsResponse {
+
+    private String transport;
+    private long submitted;
+    /** Transport ne mana kiya (ring full / broker down) - outbox se relay hoga */
+    private long deferred;
+    private long relayed;
+    private long received;
+    /** Redelivery me aaye, pehle hi processed */
+    private long duplicates;
+    /** Same user ke purane events jo batch me latest se replace hue */
+    private long coalesced;
+    private long scoresWritten;
+    private long batches;
+    private double avgBatchSize;
+    private long failedBatches;
+    private long outboxPending;
+}
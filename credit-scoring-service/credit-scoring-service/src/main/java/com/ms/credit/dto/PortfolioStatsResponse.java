@@ -0,0 +1,23 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PortfolioStatsResponse {
+
+    private boolean enabled;
+    private boolean ready;
+    private boolean rebuilding;
+    private long users;
+    private long updatesApplied;
+    /** calculatedAt tracked score se purana tha - ignore hua */
+    private long staleUpdates;
+    private long rebuilds;
+    private int rebuildParallelism;
+    private long lastRebuildMillis;
+    private long lastRebuildDurationMillis;
+    private long lastRebuildRows;
+    private long lastCheckpointMillis;
+}
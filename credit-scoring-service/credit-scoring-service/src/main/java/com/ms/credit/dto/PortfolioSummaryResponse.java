@@ -0,0 +1,29 @@
+package com.ms.credit.dto;
+
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.portfolio.IncomeBand;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class PortfolioSummaryResponse {
+
+    /** null = saare cohorts */
+    private PaymentHistory paymentHistory;
+    private IncomeBand incomeBand;
+    /** false = startup recovery / pehla rebuild abhi chal raha hai */
+    private boolean ready;
+    private long users;
+    private double meanScore;
+    /** "p10", "p25", "p50", "p75", "p90", "p99" -> score */
+    private Map<String, Integer> scorePercentiles;
+    private Map<RiskCategory, Long> riskCategories;
+    private double meanUtilization;
+    private int utilizationBucketPercent;
+    /** utilizationHistogram[i] = users with utilization in [i * bucket, (i + 1) * bucket); aakhri me 100%+ bhi */
+    private long[] utilizationHistogram;
+}
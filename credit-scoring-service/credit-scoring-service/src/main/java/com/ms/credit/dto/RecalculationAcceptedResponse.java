@@ -0,0 +1,14 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RecalculationAcceptedResponse {
+
+    private Long eventId;
+    private Long userId;
+    // QUEUED = transport me; PENDING = outbox me, relay bhejega
+    private String status;
+}
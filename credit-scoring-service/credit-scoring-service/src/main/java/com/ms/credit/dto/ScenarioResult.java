@@ -0,0 +1,17 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ScenarioResult {
+
+    private double incomeChangePercent;
+    private double monthlyLoanPayment;
+    private double utilizationTarget;
+    /** Month 0 (aaj) se months tak */
+    private int[] scores;
+    /** Pehla month jab risk level sudhra; -1 = horizon me nahi */
+    private int monthsToNextLevel;
+}
@@ -0,0 +1,18 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Columnar history: timestamps[i] (epoch millis) pe score scores[i] tha.
+ */
+@Data
+@Builder
+public class ScoreHistoryResponse {
+
+    private long userId;
+    private long from;
+    private long to;
+    private long[] timestamps;
+    private int[] scores;
+}
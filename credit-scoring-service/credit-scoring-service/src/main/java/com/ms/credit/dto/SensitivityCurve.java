@@ -0,0 +1,18 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** Ek parameter ki har value pe horizon score - baaki axes ke saare scenarios par. */
+@Data
+@Builder
+public class SensitivityCurve {
+
+    private String parameter;
+    private double[] values;
+    private double[] meanScore;
+    private int[] minScore;
+    private int[] maxScore;
+    /** Kitne scenarios horizon ke andar agle risk level tak pahunche (0..1) */
+    private double[] reachNextLevelShare;
+}
@@ -0,0 +1,59 @@
+package com.ms.credit.dto;
+
+import com.ms.credit.engine.PaymentHistory;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * What-if simulation: aaj ki state + parameter grid. Har combination (scenario) months tak
+ * month-by-month project hota hai. Khaali axis = "koi badlav nahi".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationRequest {
+
+    @PositiveOrZero
+    @DecimalMax("1000000000")
+    private double monthlyIncome;
+
+    @PositiveOrZero
+    @DecimalMax("1000000000000")
+    private double existingLoans;
+
+    @PositiveOrZero
+    @DecimalMax("100")
+    private double creditUtilization;
+
+    @NotNull
+    private PaymentHistory paymentHistory;
+
+    @Builder.Default
+    @Min(1)
+    @Max(24)
+    private int months = 12;
+
+    /** Income me badlav, percent (-20 = 20% kam); horizon ki shuruaat se lagu. */
+    @Size(max = 1000)
+    private List<@NotNull @DecimalMin("-100") @DecimalMax("1000") Double> incomeChangePercent;
+
+    /** Har mahine loan payoff (rupees). */
+    @Size(max = 1000)
+    private List<@NotNull @PositiveOrZero @DecimalMax("1000000000000") Double> monthlyLoanPayment;
+
+    /** Horizon ke end tak utilization yahan tak (percent), beech me linear. */
+    @Size(max = 1000)
+    private List<@NotNull @PositiveOrZero @DecimalMax("100") Double> utilizationTarget;
+}
@@ -0,0 +1,22 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SimulationResponse {
+
+    private int scenarios;
+    private int months;
+    private int currentScore;
+    /** Kuch na badle to (on-time payments hi) */
+    private ScenarioResult asIs;
+    /** Horizon pe sabse uncha score dene wala scenario */
+    private ScenarioResult best;
+    private List<SensitivityCurve> curves;
+    private long elapsedMillis;
+    private long cpuMillis;
+}
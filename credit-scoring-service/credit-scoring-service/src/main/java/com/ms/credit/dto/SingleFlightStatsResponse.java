@@ -0,0 +1,16 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SingleFlightStatsResponse {
+
+    private String name;
+    private long executions;
+    private long collapsed;
+    /** collapsed / (executions + collapsed) */
+    private double collapseRatio;
+    private int inFlight;
+}
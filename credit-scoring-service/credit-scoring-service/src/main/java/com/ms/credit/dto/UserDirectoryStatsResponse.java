@@ -0,0 +1,21 @@
+package com.ms.credit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserDirectoryStatsResponse {
+
+    private boolean enabled;
+    private boolean caughtUp;
+    private int users;
+    private long memoryBytes;
+    private long appliedSeq;
+    /** user-ms log ka latest seq - appliedSeq (last poll ke hisaab se) */
+    private long lagEvents;
+    private long lastSyncMillis;
+    private long snapshotsLoaded;
+    private long changesApplied;
+    private int pendingGaps;
+}
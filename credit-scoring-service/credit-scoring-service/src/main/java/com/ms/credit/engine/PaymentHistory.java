@@ -0,0 +1,12 @@
+package com.ms.credit.engine;
+
+/**
+ * Payment history buckets jo frontend ke dropdown se aate hain.
+ * Ordinal order matters - ScoringEngine ki lookup table isi order pe indexed hai.
+ */
+public enum PaymentHistory {
+    EXCELLENT,
+    GOOD,
+    FAIR,
+    POOR
+}
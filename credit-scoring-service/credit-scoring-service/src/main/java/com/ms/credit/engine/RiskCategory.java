@@ -0,0 +1,94 @@
+package com.ms.credit.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Risk bands + unke recommendations.
+ *
+ * Sab kuch class-load pe precompute hota hai: score -> band ek array lookup hai,
+ * aur (band, factor flags) -> recommendations bhi ek shared immutable list hai.
+ * Is wajah se response banate waqt koi naya object allocate nahi hota.
+ */
+public enum RiskCategory {
+
+    LOW(750, ScoringEngine.MAX_SCORE,
+            "Excellent credit score! Maintain current habits",
+            "Consider increasing credit limit for better utilization",
+            "You qualify for premium credit cards"),
+
+    MEDIUM(650, 749,
+            "Good score - keep paying every bill on time",
+            "Keep credit utilization below 30% to reach the next level"),
+
+    HIGH(550, 649,
+            "Set up auto-pay so no EMI or card bill is missed",
+            "Avoid applying for new credit for the next 6 months"),
+
+    VERY_HIGH(ScoringEngine.MIN_SCORE, 549,
+            "Clear overdue payments first - they hurt your score the most",
+            "Consider a secured credit card to rebuild your history");
+
+    private static final String TIP_UTILIZATION = "Bring credit utilization under 30% of your limit";
+    private static final String TIP_DEBT = "Your loans are high compared to income - prioritise prepaying the costliest one";
+    private static final String TIP_PAYMENTS = "Payment history is the biggest factor - aim for 12 months without a late payment";
+
+    private static final RiskCategory[] VALUES = values();
+    private static final RiskCategory[] BY_SCORE = new RiskCategory[ScoringEngine.MAX_SCORE - ScoringEngine.MIN_SCORE + 1];
+
+    @SuppressWarnings("unchecked")
+    private static final List<String>[][] RECOMMENDATIONS = new List[VALUES.length][ScoringEngine.FLAG_COUNT];
+
+    static {
+        for (RiskCategory category : VALUES) {
+            for (int s = category.minScore; s <= category.maxScore; s++) {
+                BY_SCORE[s - ScoringEngine.MIN_SCORE] = category;
+            }
+            for (int flags = 0; flags < ScoringEngine.FLAG_COUNT; flags++) {
+                List<String> recs = new ArrayList<>(category.baseRecommendations);
+                if ((flags & ScoringEngine.FLAG_WEAK_PAYMENTS) != 0) {
+                    recs.add(TIP_PAYMENTS);
+                }
+                if ((flags & ScoringEngine.FLAG_HIGH_UTILIZATION) != 0) {
+                    recs.add(TIP_UTILIZATION);
+                }
+                if ((flags & ScoringEngine.FLAG_HIGH_DEBT) != 0) {
+                    recs.add(TIP_DEBT);
+                }
+                RECOMMENDATIONS[category.ordinal()][flags] = List.copyOf(recs);
+            }
+        }
+    }
+
+    private final int minScore;
+    private final int maxScore;
+    private final String scoreRange;
+    private final List<String> baseRecommendations;
+
+    RiskCategory(int minScore, int maxScore, String... baseRecommendations) {
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.scoreRange = minScore + "-" + maxScore;
+        this.baseRecommendations = List.of(baseRecommendations);
+    }
+
+    /** Score (300-850) ka band. Range ke bahar ka score clamp ho jata hai. */
+    public static RiskCategory of(int score) {
+        return BY_SCORE[ScoringEngine.clampScore(score) - ScoringEngine.MIN_SCORE];
+    }
+
+    public String getScoreRange() {
+        return scoreRange;
+    }
+
+    /** Agle (better) band tak kitne points chahiye; top band me max score tak. */
+    public int pointsToNextLevel(int score) {
+        int target = this == LOW ? ScoringEngine.MAX_SCORE : maxScore + 1;
+        return Math.max(0, target - score);
+    }
+
+    /** Precomputed, immutable list - caller ko modify nahi karni chahiye. */
+    public List<String> recommendations(int factorFlags) {
+        return RECOMMENDATIONS[ordinal()][factorFlags & (ScoringEngine.FLAG_COUNT - 1)];
+    }
+}
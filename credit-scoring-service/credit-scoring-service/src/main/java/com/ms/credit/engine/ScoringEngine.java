@@ -0,0 +1,153 @@
+package com.ms.credit.engine;
+
+/**
+ * CREDIT SCORING ENGINE
+ *
+ * Score = 300 + payment history points + utilization points + debt-to-income points (max 850).
+ *
+ * Hot path pe sirf primitive fixed-point math hai:
+ *  - money "minor units" (paise) me long ke roop me aata hai
+ *  - ratios basis points (1% = 100 bp) me int ke roop me
+ *  - har factor ke points precomputed int[] tables se aate hain
+ * Koi boxing, BigDecimal ya per-call object allocation nahi hoti.
+ *
+ * Result ek packed long hai: low 16 bits = score, next bits = factor flags.
+ * {@link #scoreOf(long)} / {@link #flagsOf(long)} se unpack karo.
+ */
+public final class ScoringEngine {
+
+    public static final int MIN_SCORE = 300;
+    public static final int MAX_SCORE = 850;
+
+    /** 100% in basis points */
+    public static final int BP_SCALE = 10_000;
+
+    // Factor flags - recommendations choose karne ke liye
+    public static final int FLAG_HIGH_UTILIZATION = 1;
+    public static final int FLAG_HIGH_DEBT = 1 << 1;
+    public static final int FLAG_WEAK_PAYMENTS = 1 << 2;
+    public static final int FLAG_COUNT = 1 << 3;
+
+    static final int HIGH_UTILIZATION_BP = 3_000;
+    static final int HIGH_DEBT_BP = 4_000;
+
+    /** Indexed by PaymentHistory.ordinal() */
+    private static final int[] PAYMENT_POINTS = {220, 175, 110, 40};
+
+    /** Utilization points per whole percent (0..100), beech ke bp linearly interpolate hote hain. */
+    private static final int[] UTILIZATION_POINTS = curve(new int[][]{
+            {0, 165}, {10, 165}, {30, 140}, {50, 90}, {75, 40}, {100, 0}});
+
+    /** Annual debt-to-income points per whole percent (0..100); 100% se upar zero. */
+    private static final int[] DEBT_POINTS = curve(new int[][]{
+            {0, 165}, {20, 150}, {40, 110}, {60, 60}, {100, 0}});
+
+    private static final int PACK_SHIFT = 16;
+    private static final int SCORE_MASK = (1 << PACK_SHIFT) - 1;
+
+    static {
+        if (PAYMENT_POINTS.length != PaymentHistory.values().length) {
+            throw new IllegalStateException("PAYMENT_POINTS must cover every PaymentHistory");
+        }
+    }
+
+    private ScoringEngine() {
+    }
+
+    /**
+     * @param monthlyIncomeMinor monthly income in paise
+     * @param existingLoansMinor total outstanding loans in paise
+     * @param utilizationBp      credit utilization in basis points (2500 = 25%)
+     * @param paymentHistory     {@link PaymentHistory} ordinal
+     * @return packed score + factor flags
+     */
+    public static long evaluate(long monthlyIncomeMinor, long existingLoansMinor,
+                                int utilizationBp, int paymentHistory) {
+
+        int utilBp = clamp(utilizationBp, 0, BP_SCALE);
+        int debtBp = debtToIncomeBp(monthlyIncomeMinor, existingLoansMinor);
+
+        int points = PAYMENT_POINTS[paymentHistory]
+                + interpolate(UTILIZATION_POINTS, utilBp)
+                + interpolate(DEBT_POINTS, debtBp);
+
+        int flags = 0;
+        if (utilBp > HIGH_UTILIZATION_BP) {
+            flags |= FLAG_HIGH_UTILIZATION;
+        }
+        if (debtBp > HIGH_DEBT_BP) {
+            flags |= FLAG_HIGH_DEBT;
+        }
+        if (paymentHistory >= PaymentHistory.FAIR.ordinal()) {
+            flags |= FLAG_WEAK_PAYMENTS;
+        }
+
+        return ((long) flags << PACK_SHIFT) | clampScore(MIN_SCORE + points);
+    }
+
+    public static long evaluate(long monthlyIncomeMinor, long existingLoansMinor,
+                                int utilizationBp, PaymentHistory paymentHistory) {
+        return evaluate(monthlyIncomeMinor, existingLoansMinor, utilizationBp, paymentHistory.ordinal());
+    }
+
+    public static int scoreOf(long packed) {
+        return (int) (packed & SCORE_MASK);
+    }
+
+    public static int flagsOf(long packed) {
+        return (int) (packed >>> PACK_SHIFT);
+    }
+
+    /** Rupees (double) -> paise (long). API boundary pe ek hi baar call hota hai. */
+    public static long toMinorUnits(double amount) {
+        return Math.round(amount * 100d);
+    }
+
+    /** Percent (double) -> basis points. */
+    public static int toBasisPoints(double percent) {
+        return (int) Math.round(percent * 100d);
+    }
+
+    static int clampScore(int score) {
+        return clamp(score, MIN_SCORE, MAX_SCORE);
+    }
+
+    /** Outstanding loans / annual income, basis points me, BP_SCALE pe capped. */
+    static int debtToIncomeBp(long monthlyIncomeMinor, long existingLoansMinor) {
+        if (existingLoansMinor <= 0) {
+            return 0;
+        }
+        long annualIncome = monthlyIncomeMinor * 12;
+        if (annualIncome <= 0 || existingLoansMinor >= annualIncome) {
+            return BP_SCALE;
+        }
+        // existingLoans < annualIncome, to multiply overflow nahi karega jab tak income < ~7.6e14 paise
+        return (int) (existingLoansMinor * BP_SCALE / annualIncome);
+    }
+
+    private static int interpolate(int[] table, int bp) {
+        int percent = bp / 100;
+        if (percent >= 100) {
+            return table[100];
+        }
+        int low = table[percent];
+        return low + (table[percent + 1] - low) * (bp - percent * 100) / 100;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return value < min ? min : Math.min(value, max);
+    }
+
+    /** Piecewise-linear control points se 101-entry percent table banata hai (class-load pe, ek baar). */
+    private static int[] curve(int[][] points) {
+        int[] table = new int[101];
+        for (int i = 0; i < points.length - 1; i++) {
+            int x0 = points[i][0], y0 = points[i][1];
+            int x1 = points[i + 1][0], y1 = points[i + 1][1];
+            for (int x = x0; x <= x1; x++) {
+                table[x] = y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ms.credit.entity;
+
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.engine.RiskCategory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "credit_scores", indexes = {
+        @Index(name = "idx_credit_scores_user", columnList = "userId, calculatedAt"),
+        // portfolio restart pe checkpoint ke baad ki rows
+        @Index(name = "idx_credit_scores_calculated", columnList = "calculatedAt")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private double monthlyIncome;
+
+    private double existingLoans;
+
+    private double creditUtilization;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentHistory paymentHistory;
+
+    private int score;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RiskCategory riskCategory;
+
+    // ScoringEngine ke factor flags - recommendations dubara banane ke liye
+    private int factorFlags;
+
+    @Column(nullable = false)
+    private Instant calculatedAt;
+}
@@ -0,0 +1,49 @@
+package com.ms.credit.entity;
+
+import com.ms.credit.engine.PaymentHistory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Async recalculation ka durable record. Row commit = request accepted; transport (ring / Kafka)
+ * sirf delivery hai - event kho jaye to relay isi table se dobara bhejta hai.
+ */
+@Entity
+@Table(name = "score_outbox", indexes = {
+        @Index(name = "idx_score_outbox_pending", columnList = "processedAt, id"),
+        @Index(name = "idx_score_outbox_user", columnList = "userId, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private double monthlyIncome;
+
+    private double existingLoans;
+
+    private double creditUtilization;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentHistory paymentHistory;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // null = abhi pending
+    private Instant processedAt;
+}
@@ -0,0 +1,151 @@
+package com.ms.credit.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Default transport: bounded multi-producer ring + ek consumer thread.
+ *
+ * Request thread sirf slot claim (CAS) karke event rakhta hai - koi lock, koi queue node nahi.
+ * Consumer ek baar me batch-size tak events nikal ke handler ko deta hai; load badhne pe
+ * batches apne aap bade hote hain (jitna consumer peeche, utna bada flush).
+ * Ring full = publish false, event outbox me pending rehta hai.
+ */
+@Component
+@ConditionalOnProperty(name = "credit.events.transport", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryScoreEventTransport implements ScoreEventTransport {
+
+    private final int mask;
+    private final int batchSize;
+    private final long idleParkNanos;
+
+    // slot ka event published[slot] == seq hone ke baad hi valid hai
+    private final ScoreRecalculationEvent[] slots;
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread consumer;
+    private Consumer<List<ScoreRecalculationEvent>> handler;
+
+    public InMemoryScoreEventTransport(@Value("${credit.events.ring-size:65536}") int ringSize,
+                                       @Value("${credit.events.batch-size:500}") int batchSize,
+                                       @Value("${credit.events.idle-wait:2ms}") Duration idleWait) {
+        int capacity = Integer.highestOneBit(Math.max(16, ringSize - 1)) << 1;
+        this.mask = capacity - 1;
+        this.batchSize = Math.max(1, batchSize);
+        this.idleParkNanos = idleWait.toNanos();
+        this.slots = new ScoreRecalculationEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    @Override
+    public boolean publish(ScoreRecalculationEvent event) {
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail.get() > mask) {
+                return false;
+            }
+        } while (!head.compareAndSet(seq, seq + 1));
+
+        int slot = (int) (seq & mask);
+        slots[slot] = event;
+        published.set(slot, seq);
+        return true;
+    }
+
+    @Override
+    public synchronized void start(Consumer<List<ScoreRecalculationEvent>> handler) {
+        this.handler = handler;
+        this.running = true;
+        this.consumer = new Thread(this::consumeLoop, "score-events-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = consumer;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(30_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // jo bacha hai wo bhi likh do; na ho paye to relay restart pe uthayega
+        while (drain() > 0) {
+            // batch by batch
+        }
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    /** Ring me pending events (approx). */
+    public long backlog() {
+        return head.get() - tail.get();
+    }
+
+    /** Ek batch nikal ke handler ko do. Sirf consumer thread (aur stop) call karte hain. */
+    synchronized int drain() {
+        long next = tail.get();
+        List<ScoreRecalculationEvent> batch = null;
+        while (batch == null || batch.size() < batchSize) {
+            int slot = (int) (next & mask);
+            if (published.get(slot) != next) {
+                break;
+            }
+            if (batch == null) {
+                batch = new ArrayList<>(Math.min(batchSize, 64));
+            }
+            batch.add(slots[slot]);
+            slots[slot] = null;
+            next++;
+        }
+        if (batch == null) {
+            return 0;
+        }
+        // slots pehle free karo - handler ka DB time producers ko block na kare
+        tail.set(next);
+        try {
+            handler.accept(batch);
+        } catch (RuntimeException e) {
+            // outbox rows pending hain - relay redeliver karega
+            log.warn("Score event batch of {} failed: {}", batch.size(), e.getMessage());
+        }
+        return batch.size();
+    }
+
+    private void consumeLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ms.credit.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.CloseOptions;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.LongDeserializer;
+import org.apache.kafka.common.serialization.LongSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Kafka adapter (credit.events.transport=kafka): multiple instances ek consumer group me
+ * events baant lete hain. Key = userId, to ek user ke events ek hi partition (aur consumer) pe
+ * order me aate hain - coalescing wahin hoti hai.
+ *
+ * Offsets batch handle hone ke baad commit hote hain; batch fail ho to bhi commit, kyunki
+ * outbox row pending rehti hai aur relay dobara bhejega (partition atakta nahi).
+ */
+@Component
+@ConditionalOnProperty(name = "credit.events.transport", havingValue = "kafka")
+@Slf4j
+public class KafkaScoreEventTransport implements ScoreEventTransport {
+
+    private final String topic;
+    private final KafkaProducer<Long, byte[]> producer;
+    private final KafkaConsumer<Long, byte[]> consumer;
+    private final Duration pollTimeout;
+
+    private volatile boolean running;
+    private Thread poller;
+
+    public KafkaScoreEventTransport(@Value("${credit.events.kafka.bootstrap-servers}") String bootstrapServers,
+                                    @Value("${credit.events.kafka.topic:score-recalculations}") String topic,
+                                    @Value("${credit.events.kafka.group-id:credit-scoring-service}") String groupId,
+                                    @Value("${credit.events.batch-size:500}") int batchSize,
+                                    @Value("${credit.events.kafka.linger:5ms}") Duration linger,
+                                    @Value("${credit.events.kafka.poll-timeout:500ms}") Duration pollTimeout) {
+        this.topic = topic;
+        this.pollTimeout = pollTimeout;
+        this.producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis(),
+                // broker down ho to request thread ko mat roko - outbox relay baad me bhejega
+                ProducerConfig.MAX_BLOCK_MS_CONFIG, 100),
+                new LongSerializer(), new ByteArraySerializer());
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, groupId,
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.max(1, batchSize)),
+                new LongDeserializer(), new ByteArrayDeserializer());
+    }
+
+    @Override
+    public boolean publish(ScoreRecalculationEvent event) {
+        try {
+            producer.send(new ProducerRecord<>(topic, event.userId(), event.encode()), (metadata, e) -> {
+                if (e != null) {
+                    log.warn("Score event {} not delivered to Kafka: {}", event.outboxId(), e.getMessage());
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Kafka publish failed for score event {}: {}", event.outboxId(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void start(Consumer<List<ScoreRecalculationEvent>> handler) {
+        running = true;
+        poller = new Thread(() -> pollLoop(handler), "score-events-kafka");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = poller;
+        }
+        consumer.wakeup();
+        try {
+            thread.join(30_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    @Override
+    public String name() {
+        return "kafka";
+    }
+
+    private void pollLoop(Consumer<List<ScoreRecalculationEvent>> handler) {
+        try {
+            consumer.subscribe(List.of(topic));
+            while (running) {
+                ConsumerRecords<Long, byte[]> records = consumer.poll(pollTimeout);
+                if (records.isEmpty()) {
+                    continue;
+                }
+                List<ScoreRecalculationEvent> batch = new ArrayList<>(records.count());
+                for (ConsumerRecord<Long, byte[]> record : records) {
+                    try {
+                        batch.add(ScoreRecalculationEvent.decode(record.value()));
+                    } catch (RuntimeException e) {
+                        log.warn("Skipping bad score event at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                    }
+                }
+                try {
+                    handler.accept(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Score event batch of {} failed: {}", batch.size(), e.getMessage());
+                }
+                consumer.commitSync();
+            }
+        } catch (WakeupException e) {
+            // stop() - normal shutdown
+        } catch (RuntimeException e) {
+            log.error("Kafka score event consumer stopped", e);
+        } finally {
+            consumer.close(CloseOptions.timeout(Duration.ofSeconds(5)));
+        }
+    }
+}
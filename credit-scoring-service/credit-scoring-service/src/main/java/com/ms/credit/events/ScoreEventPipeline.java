@@ -0,0 +1,161 @@
+package com.ms.credit.events;
+
+import com.ms.credit.dto.CreditScoreRequest;
+import com.ms.credit.dto.EventPipelineStatsResponse;
+import com.ms.credit.dto.RecalculationAcceptedResponse;
+import com.ms.credit.entity.ScoreOutbox;
+import com.ms.credit.repository.ScoreOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ASYNC SCORE RECALCULATION (outbox + transport + batched consumer)
+ *
+ * submit = ek chhota outbox INSERT + transport publish; request scoring / credit_scores write
+ * ka wait nahi karti. Consumer ({@link ScoreEventProcessor}) batches me likhta hai, to DB
+ * round trips per event load ke saath ghat-te hain.
+ *
+ * Outbox hi source of truth hai: relay har relay-interval pe redeliver-after se purani pending
+ * rows dobara publish karta hai (ring full, crash, Kafka outage) aur retention se purani
+ * processed rows delete karta hai.
+ */
+@Component
+@Slf4j
+public class ScoreEventPipeline {
+
+    private static final int RELAY_PAGE = 1000;
+
+    private final ScoreEventTransport transport;
+    private final ScoreEventProcessor processor;
+    private final ScoreOutboxRepository outboxRepository;
+    private final Duration redeliverAfter;
+    private final Duration relayInterval;
+    private final Duration retention;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder relayed = new LongAdder();
+
+    private ScheduledExecutorService relay;
+
+    public ScoreEventPipeline(ScoreEventTransport transport,
+                              ScoreEventProcessor processor,
+                              ScoreOutboxRepository outboxRepository,
+                              @Value("${credit.events.redeliver-after:30s}") Duration redeliverAfter,
+                              @Value("${credit.events.relay-interval:10s}") Duration relayInterval,
+                              @Value("${credit.events.retention:1d}") Duration retention) {
+        this.transport = transport;
+        this.processor = processor;
+        this.outboxRepository = outboxRepository;
+        this.redeliverAfter = redeliverAfter;
+        this.relayInterval = relayInterval;
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    void start() {
+        transport.start(processor::process);
+        relay = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "score-events-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, relayInterval.toMillis());
+        relay.scheduleWithFixedDelay(this::relayQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Score event pipeline started (transport={})", transport.name());
+    }
+
+    public RecalculationAcceptedResponse submit(CreditScoreRequest request) {
+        // save apna transaction commit karke lautata hai - consumer ko row dikhegi
+        ScoreOutbox row = outboxRepository.save(ScoreOutbox.builder()
+                .userId(request.getUserId())
+                .monthlyIncome(request.getMonthlyIncome())
+                .existingLoans(request.getExistingLoans())
+                .creditUtilization(request.getCreditUtilization())
+                .paymentHistory(request.getPaymentHistory())
+                .createdAt(Instant.now())
+                .build());
+        submitted.increment();
+
+        boolean queued = transport.publish(ScoreRecalculationEvent.of(row));
+        if (!queued) {
+            deferred.increment();
+        }
+        return RecalculationAcceptedResponse.builder()
+                .eventId(row.getId())
+                .userId(row.getUserId())
+                .status(queued ? "QUEUED" : "PENDING")
+                .build();
+    }
+
+    /** Purani pending rows dobara bhejo. Transport ne mana kiya to agle round tak ruko. */
+    int relayPending() {
+        Instant cutoff = Instant.now().minus(redeliverAfter);
+        long afterId = 0;
+        int sent = 0;
+        List<ScoreOutbox> page;
+        do {
+            page = outboxRepository.findByProcessedAtIsNullAndCreatedAtBeforeAndIdGreaterThanOrderByIdAsc(
+                    cutoff, afterId, PageRequest.of(0, RELAY_PAGE));
+            for (ScoreOutbox row : page) {
+                if (!transport.publish(ScoreRecalculationEvent.of(row))) {
+                    relayed.add(sent);
+                    return sent;
+                }
+                afterId = row.getId();
+                sent++;
+            }
+        } while (page.size() == RELAY_PAGE);
+        relayed.add(sent);
+        return sent;
+    }
+
+    public EventPipelineStatsResponse stats() {
+        long batches = processor.batches();
+        return EventPipelineStatsResponse.builder()
+                .transport(transport.name())
+                .submitted(submitted.sum())
+                .deferred(deferred.sum())
+                .relayed(relayed.sum())
+                .received(processor.received())
+                .duplicates(processor.duplicates())
+                .coalesced(processor.coalesced())
+                .scoresWritten(processor.written())
+                .batches(batches)
+                .avgBatchSize(batches == 0 ? 0 : (double) processor.received() / batches)
+                .failedBatches(processor.failedBatches())
+                .outboxPending(outboxRepository.countByProcessedAtIsNull())
+                .build();
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        relay.shutdown();
+        relay.awaitTermination(30, TimeUnit.SECONDS);
+        transport.stop();
+    }
+
+    private void relayQuietly() {
+        try {
+            int sent = relayPending();
+            if (sent > 0) {
+                log.info("Relayed {} pending score events from outbox", sent);
+            }
+            outboxRepository.deleteProcessedBefore(Instant.now().minus(retention));
+        } catch (Exception e) {
+            log.error("Score outbox relay failed", e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ms.credit.events;
+
+import com.ms.credit.batch.ScoreBatchPersister;
+import com.ms.credit.cache.ScoreCache;
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+import com.ms.credit.history.ScoreHistoryStore;
+import com.ms.credit.portfolio.PortfolioAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Event batch -> ek transaction:
+ *  1. batch ki outbox rows FOR UPDATE lock, jo pehle hi processed hain (redelivery) unhe chhodo
+ *  2. har userId ka sirf latest event (sabse bada outboxId) score hota hai
+ *  3. saare scores ek JDBC batchUpdate me credit_scores me
+ *  4. har user ki latest id tak ki pending outbox rows processed (ek batched UPDATE) - isse
+ *     superseded purane events bhi band ho jate hain, baad me aaye to score regress nahi karte
+ * Cache invalidation + history + portfolio commit ke baad.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScoreEventProcessor {
+
+    private static final String LOCK_SQL =
+            "SELECT id FROM score_outbox WHERE id IN (:ids) AND processed_at IS NULL FOR UPDATE";
+
+    private static final String MARK_PROCESSED_SQL =
+            "UPDATE score_outbox SET processed_at = ? WHERE user_id = ? AND id <= ? AND processed_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScoreCache scoreCache;
+    private final ScoreHistoryStore scoreHistoryStore;
+    private final PortfolioAggregator portfolioAggregator;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    public void process(List<ScoreRecalculationEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        received.add(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            throw e;
+        }
+        batches.increment();
+    }
+
+    private void write(List<ScoreRecalculationEvent> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (ScoreRecalculationEvent event : batch) {
+            ids.add(event.outboxId());
+        }
+        Set<Long> pending = new HashSet<>(namedJdbcTemplate.queryForList(LOCK_SQL, Map.of("ids", ids), Long.class));
+        duplicates.add(batch.size() - pending.size());
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ScoreRecalculationEvent> latest = new HashMap<>(pending.size() * 2);
+        for (ScoreRecalculationEvent event : batch) {
+            if (pending.contains(event.outboxId())) {
+                latest.merge(event.userId(), event, (a, b) -> a.outboxId() >= b.outboxId() ? a : b);
+            }
+        }
+        coalesced.add(pending.size() - latest.size());
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(latest.size());
+        List<Object[]> marks = new ArrayList<>(latest.size());
+        ScoreRecalculationEvent[] events = new ScoreRecalculationEvent[latest.size()];
+        int[] scores = new int[latest.size()];
+        int i = 0;
+        for (ScoreRecalculationEvent event : latest.values()) {
+            long packed = ScoringEngine.evaluate(
+                    ScoringEngine.toMinorUnits(event.monthlyIncome()),
+                    ScoringEngine.toMinorUnits(event.existingLoans()),
+                    ScoringEngine.toBasisPoints(event.creditUtilization()),
+                    event.paymentHistory());
+            int score = ScoringEngine.scoreOf(packed);
+            rows.add(new Object[]{event.userId(), event.monthlyIncome(), event.existingLoans(),
+                    event.creditUtilization(), event.paymentHistory().name(), score,
+                    RiskCategory.of(score).name(), ScoringEngine.flagsOf(packed), now});
+            marks.add(new Object[]{now, event.userId(), event.outboxId()});
+            events[i] = event;
+            scores[i] = score;
+            i++;
+        }
+        jdbcTemplate.batchUpdate(ScoreBatchPersister.INSERT_SQL, rows);
+        jdbcTemplate.batchUpdate(MARK_PROCESSED_SQL, marks);
+        written.add(rows.size());
+
+        long timestamp = now.getTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (int j = 0; j < events.length; j++) {
+                    ScoreRecalculationEvent event = events[j];
+                    scoreCache.invalidate(event.userId());
+                    scoreHistoryStore.append(event.userId(), timestamp, scores[j]);
+                    portfolioAggregator.record(event.userId(), timestamp, scores[j],
+                            ScoringEngine.toBasisPoints(event.creditUtilization()), event.paymentHistory(),
+                            ScoringEngine.toMinorUnits(event.monthlyIncome()));
+                }
+            }
+        });
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    long received() {
+        return received.sum();
+    }
+
+    long duplicates() {
+        return duplicates.sum();
+    }
+
+    long coalesced() {
+        return coalesced.sum();
+    }
+
+    long written() {
+        return written.sum();
+    }
+
+    long failedBatches() {
+        return failedBatches.sum();
+    }
+}
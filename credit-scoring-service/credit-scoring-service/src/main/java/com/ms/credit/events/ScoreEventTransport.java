@@ -0,0 +1,21 @@
+package com.ms.credit.events;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Outbox se consumer tak delivery. Best-effort hai: publish false lautaye (ya event raaste me
+ * kho jaye) to bhi outbox row pending rehti hai aur relay use dobara bhejta hai.
+ * Handler ko batches milte hain - ek batch = ek DB transaction.
+ */
+public interface ScoreEventTransport {
+
+    /** Non-blocking; false = abhi jagah nahi (relay baad me bhejega). */
+    boolean publish(ScoreRecalculationEvent event);
+
+    void start(Consumer<List<ScoreRecalculationEvent>> handler);
+
+    void stop();
+
+    String name();
+}
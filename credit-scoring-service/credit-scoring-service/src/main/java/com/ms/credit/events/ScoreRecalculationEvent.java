@@ -0,0 +1,48 @@
+package com.ms.credit.events;
+
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.entity.ScoreOutbox;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Ek pending recalculation. outboxId order = submit order, isliye same user ke events me
+ * bada outboxId hi latest input hai.
+ */
+public record ScoreRecalculationEvent(long outboxId,
+                                      long userId,
+                                      double monthlyIncome,
+                                      double existingLoans,
+                                      double creditUtilization,
+                                      PaymentHistory paymentHistory) {
+
+    /** Fixed-size wire format (Kafka transport): 5 x 8 bytes + history ordinal. */
+    static final int ENCODED_SIZE = 41;
+
+    private static final PaymentHistory[] HISTORIES = PaymentHistory.values();
+
+    public static ScoreRecalculationEvent of(ScoreOutbox row) {
+        return new ScoreRecalculationEvent(row.getId(), row.getUserId(), row.getMonthlyIncome(),
+                row.getExistingLoans(), row.getCreditUtilization(), row.getPaymentHistory());
+    }
+
+    byte[] encode() {
+        return ByteBuffer.allocate(ENCODED_SIZE)
+                .putLong(outboxId)
+                .putLong(userId)
+                .putDouble(monthlyIncome)
+                .putDouble(existingLoans)
+                .putDouble(creditUtilization)
+                .put((byte) paymentHistory.ordinal())
+                .array();
+    }
+
+    static ScoreRecalculationEvent decode(byte[] bytes) {
+        if (bytes == null || bytes.length != ENCODED_SIZE) {
+            throw new IllegalArgumentException("Bad score event payload");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new ScoreRecalculationEvent(buffer.getLong(), buffer.getLong(), buffer.getDouble(),
+                buffer.getDouble(), buffer.getDouble(), HISTORIES[buffer.get()]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ms.credit.history;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Abhi tak flush na hue points. Har user ka PointBuffer apne monitor se guarded hai.
+ */
+final class Memtable {
+
+    private final ConcurrentHashMap<Long, PointBuffer> users = new ConcurrentHashMap<>();
+    private final AtomicInteger points = new AtomicInteger();
+    private final long createdAtNanos = System.nanoTime();
+
+    int add(long userId, long timestamp, int score) {
+        PointBuffer buffer = users.computeIfAbsent(userId, id -> new PointBuffer(4));
+        synchronized (buffer) {
+            buffer.add(timestamp, score);
+        }
+        return points.incrementAndGet();
+    }
+
+    void copyRange(long userId, long from, long to, PointBuffer out) {
+        PointBuffer buffer = users.get(userId);
+        if (buffer != null) {
+            synchronized (buffer) {
+                buffer.copyRange(from, to, out);
+            }
+        }
+    }
+
+    int points() {
+        return points.get();
+    }
+
+    long ageNanos() {
+        return System.nanoTime() - createdAtNanos;
+    }
+
+    /** Flush ke liye - sirf frozen memtable pe call hota hai, jab koi append nahi ho raha. */
+    void writeTo(SegmentWriter writer) throws IOException {
+        long[] userIds = users.keySet().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(userIds);
+        for (long userId : userIds) {
+            writer.add(userId, users.get(userId));
+        }
+    }
+}
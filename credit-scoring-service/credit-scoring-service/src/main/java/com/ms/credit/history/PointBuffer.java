@@ -0,0 +1,98 @@
+package com.ms.credit.history;
+
+import java.util.Arrays;
+
+/**
+ * Ek user ke (timestamp, score) points - do primitive columns me, bina boxing ke.
+ */
+final class PointBuffer {
+
+    private long[] timestamps;
+    private short[] scores;
+    private int size;
+
+    PointBuffer(int initialCapacity) {
+        this.timestamps = new long[Math.max(initialCapacity, 1)];
+        this.scores = new short[Math.max(initialCapacity, 1)];
+    }
+
+    void add(long timestamp, int score) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+        }
+        timestamps[size] = timestamp;
+        scores[size] = (short) score;
+        size++;
+    }
+
+    void setScore(int i, int score) {
+        scores[i] = (short) score;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long timestamp(int i) {
+        return timestamps[i];
+    }
+
+    int score(int i) {
+        return scores[i];
+    }
+
+    /** [from, to] me aane wale points out me copy karta hai. */
+    void copyRange(long from, long to, PointBuffer out) {
+        for (int i = 0; i < size; i++) {
+            long ts = timestamps[i];
+            if (ts >= from && ts <= to) {
+                out.add(ts, scores[i]);
+            }
+        }
+    }
+
+    /** Time order me hain ya nahi (segments chronological appends expect karte hain, par guarantee nahi). */
+    boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (timestamps[i] < timestamps[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Stable sort by timestamp - sirf out-of-order appends ke rare case me. */
+    void sortByTime() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(timestamps[a], timestamps[b]));
+        long[] ts = new long[timestamps.length];
+        short[] sc = new short[scores.length];
+        for (int i = 0; i < size; i++) {
+            ts[i] = timestamps[order[i]];
+            sc[i] = scores[order[i]];
+        }
+        timestamps = ts;
+        scores = sc;
+    }
+
+    long[] timestamps() {
+        return Arrays.copyOf(timestamps, size);
+    }
+
+    int[] scores() {
+        int[] copy = new int[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = scores[i];
+        }
+        return copy;
+    }
+}
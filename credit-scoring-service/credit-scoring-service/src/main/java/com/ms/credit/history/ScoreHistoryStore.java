@@ -0,0 +1,432 @@
+package com.ms.credit.history;
+
+import com.ms.credit.dto.ScoreHistoryResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * SCORE HISTORY STORE (historical trend analysis)
+ *
+ * Har score ke liye JPA row ki jagah ek chhota append-only, LSM jaisa store:
+ *  1. append -> write-ahead log (wal-N.log) + in-memory memtable
+ *  2. memtable bhar jaye (ya purana ho jaye) -> immutable segment (seg-A-B.hist):
+ *     userId-sorted blocks, har block me timestamps aur scores alag columns,
+ *     delta / delta-of-delta + varint encoded (regular cadence pe ~2 bytes per point),
+ *     aur sparse userId index
+ *  3. background compactor chhote purane segments ko ek bade segment me merge karta hai
+ *
+ * Query = har segment me binary search + memtable - microseconds me, DB touch nahi hota.
+ */
+@Component
+@Slf4j
+public class ScoreHistoryStore {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("seg-(\\d+)-(\\d+)\\.hist");
+    private static final Pattern WAL_NAME = Pattern.compile("wal-(\\d+)\\.log");
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int memtablePoints;
+    private final long flushAgeNanos;
+    private final int compactionMinSegments;
+    private final long maxSegmentBytes;
+    private final boolean fsync;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ScheduledExecutorService background;
+
+    // lock ke andar badalte hain; reads read-lock me hote hain taaki snapshot consistent rahe
+    private List<Segment> segments = List.of();
+    private Memtable active = new Memtable();
+    private Memtable frozen;
+    private WriteAheadLog wal;
+    private long activeFirstSeq;
+    private List<Path> pendingWals = List.of();
+    private long nextSeq;
+
+    public ScoreHistoryStore(@Value("${credit.history.enabled:true}") boolean enabled,
+                             @Value("${credit.history.dir:./data/score-history}") Path directory,
+                             @Value("${credit.history.memtable-points:200000}") int memtablePoints,
+                             @Value("${credit.history.maintenance-interval:5m}") Duration maintenanceInterval,
+                             @Value("${credit.history.compaction.min-segments:4}") int compactionMinSegments,
+                             @Value("${credit.history.compaction.max-segment-bytes:536870912}") long maxSegmentBytes,
+                             @Value("${credit.history.fsync:false}") boolean fsync) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.memtablePoints = memtablePoints;
+        this.flushAgeNanos = maintenanceInterval.toNanos();
+        this.compactionMinSegments = Math.max(2, compactionMinSegments);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.fsync = fsync;
+
+        if (!enabled) {
+            this.background = null;
+            return;
+        }
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open score history store at " + directory, e);
+        }
+        this.background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "score-history-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, maintenanceInterval.toMillis());
+        background.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void append(long userId, long timestampMillis, int score) {
+        if (!enabled) {
+            return;
+        }
+        int points;
+        lock.readLock().lock();
+        try {
+            wal.append(userId, timestampMillis, score);
+            points = active.add(userId, timestampMillis, score);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Score history append failed", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (points >= memtablePoints && flushQueued.compareAndSet(false, true)) {
+            background.execute(this::flushQuietly);
+        }
+    }
+
+    /** DB transaction commit hone ke baad hi history me likho; transaction na ho to turant. */
+    public void appendAfterCommit(long userId, long timestampMillis, int score) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(userId, timestampMillis, score);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(userId, timestampMillis, score);
+            }
+        });
+    }
+
+    /** [fromMillis, toMillis] ke points, time order me. */
+    public ScoreHistoryResponse query(long userId, long fromMillis, long toMillis) {
+        PointBuffer out = new PointBuffer(16);
+        if (enabled) {
+            PointBuffer scratch = new PointBuffer(64);
+            lock.readLock().lock();
+            try {
+                for (Segment segment : segments) {
+                    segment.read(userId, fromMillis, toMillis, out, scratch);
+                }
+                if (frozen != null) {
+                    frozen.copyRange(userId, fromMillis, toMillis, out);
+                }
+                active.copyRange(userId, fromMillis, toMillis, out);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (!out.isSorted()) {
+                out.sortByTime();
+            }
+        }
+        return ScoreHistoryResponse.builder()
+                .userId(userId)
+                .from(fromMillis)
+                .to(toMillis)
+                .timestamps(out.timestamps())
+                .scores(out.scores())
+                .build();
+    }
+
+    int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Active memtable ko segment me likhta hai. Background thread (ya shutdown) se hi call hota hai. */
+    synchronized void flush() throws IOException {
+        Memtable toFlush;
+        WriteAheadLog oldWal;
+        long firstSeq;
+        List<Path> oldPendingWals;
+
+        lock.writeLock().lock();
+        try {
+            flushQueued.set(false);
+            if (active.points() == 0) {
+                return;
+            }
+            toFlush = active;
+            frozen = active;
+            oldWal = wal;
+            firstSeq = activeFirstSeq;
+            oldPendingWals = pendingWals;
+
+            active = new Memtable();
+            wal = WriteAheadLog.create(walPath(nextSeq), nextSeq, fsync);
+            activeFirstSeq = nextSeq++;
+            pendingWals = List.of();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        oldWal.close();
+
+        Path path = segmentPath(firstSeq, oldWal.seq);
+        try (SegmentWriter writer = new SegmentWriter(path)) {
+            toFlush.writeTo(writer);
+            writer.finish();
+        }
+        Segment segment = Segment.open(path, firstSeq, oldWal.seq);
+
+        lock.writeLock().lock();
+        try {
+            List<Segment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            segments = List.copyOf(updated);
+            frozen = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Files.deleteIfExists(oldWal.path);
+        for (Path pending : oldPendingWals) {
+            Files.deleteIfExists(pending);
+        }
+        log.debug("Flushed {} history points to {}", toFlush.points(), path.getFileName());
+    }
+
+    /**
+     * Lagatar (consecutive) purane segments ki pehli window jo max-segment-bytes me fit ho
+     * aur kam se kam min-segments ho, use ek segment me merge karta hai.
+     */
+    synchronized boolean compact() throws IOException {
+        List<Segment> current;
+        lock.readLock().lock();
+        try {
+            current = segments;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int start = -1;
+        int end = -1;
+        for (int i = 0; i < current.size() && start < 0; i++) {
+            long bytes = 0;
+            int j = i;
+            while (j < current.size() && bytes + current.get(j).sizeBytes <= maxSegmentBytes) {
+                bytes += current.get(j).sizeBytes;
+                j++;
+            }
+            if (j - i >= compactionMinSegments) {
+                start = i;
+                end = j;
+            }
+        }
+        if (start < 0) {
+            return false;
+        }
+
+        List<Segment> inputs = current.subList(start, end);
+        long firstSeq = inputs.get(0).firstSeq;
+        long lastSeq = inputs.get(inputs.size() - 1).lastSeq;
+        Path path = segmentPath(firstSeq, lastSeq);
+
+        try (SegmentWriter writer = new SegmentWriter(path)) {
+            merge(inputs, writer);
+            writer.finish();
+        }
+        Segment merged = Segment.open(path, firstSeq, lastSeq);
+
+        lock.writeLock().lock();
+        try {
+            // sirf background thread segments list badalta hai, to indexes abhi bhi valid hain
+            List<Segment> updated = new ArrayList<>(segments.subList(0, start));
+            updated.add(merged);
+            updated.addAll(segments.subList(end, segments.size()));
+            segments = List.copyOf(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        for (Segment input : inputs) {
+            Files.deleteIfExists(input.path);
+        }
+        log.info("Compacted {} history segments into {}", inputs.size(), path.getFileName());
+        return true;
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        background.shutdown();
+        background.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+        wal.close();
+    }
+
+    private void maintain() {
+        try {
+            if (active.points() > 0 && active.ageNanos() >= flushAgeNanos) {
+                flush();
+            }
+            while (compact()) {
+                // ek baar me jitna ho sake
+            }
+        } catch (Exception e) {
+            log.error("Score history maintenance failed", e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+            compact();
+        } catch (Exception e) {
+            log.error("Score history flush failed", e);
+        }
+    }
+
+    /** K-way merge by userId; same user ke points segment order (= time order) me jodte hain. */
+    private static void merge(List<Segment> inputs, SegmentWriter writer) throws IOException {
+        List<Segment.Cursor> cursors = new ArrayList<>(inputs.size());
+        for (Segment segment : inputs) {
+            Segment.Cursor cursor = segment.cursor();
+            if (cursor.next()) {
+                cursors.add(cursor);
+            }
+        }
+        PointBuffer points = new PointBuffer(64);
+        while (!cursors.isEmpty()) {
+            long userId = Long.MAX_VALUE;
+            for (Segment.Cursor cursor : cursors) {
+                userId = Math.min(userId, cursor.userId());
+            }
+            points.clear();
+            for (int i = 0; i < cursors.size(); ) {
+                Segment.Cursor cursor = cursors.get(i);
+                if (cursor.userId() == userId) {
+                    cursor.decodeInto(points);
+                    if (!cursor.next()) {
+                        cursors.remove(i);
+                        continue;
+                    }
+                }
+                i++;
+            }
+            writer.add(userId, points);
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+
+        List<Segment> recovered = new ArrayList<>();
+        List<Long> walSeqs = new ArrayList<>();
+        long maxSeq = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher segment = SEGMENT_NAME.matcher(name);
+                Matcher walFile = WAL_NAME.matcher(name);
+                if (segment.matches()) {
+                    long first = Long.parseLong(segment.group(1));
+                    long last = Long.parseLong(segment.group(2));
+                    recovered.add(Segment.open(file, first, last));
+                    maxSeq = Math.max(maxSeq, last);
+                } else if (walFile.matches()) {
+                    long seq = Long.parseLong(walFile.group(1));
+                    walSeqs.add(seq);
+                    maxSeq = Math.max(maxSeq, seq);
+                } else if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        // compaction ke beech crash: merged segment aur uske inputs dono ho sakte hain
+        recovered.sort(Comparator.comparingLong((Segment s) -> s.firstSeq).thenComparingLong(s -> -s.lastSeq));
+        List<Segment> live = new ArrayList<>();
+        for (Segment segment : recovered) {
+            Segment previous = live.isEmpty() ? null : live.get(live.size() - 1);
+            if (previous != null && segment.lastSeq <= previous.lastSeq) {
+                Files.deleteIfExists(segment.path);
+            } else {
+                live.add(segment);
+            }
+        }
+
+        walSeqs.sort(Comparator.naturalOrder());
+        List<Path> replayed = new ArrayList<>();
+        long firstReplayed = -1;
+        int records = 0;
+        for (long seq : walSeqs) {
+            Path path = walPath(seq);
+            if (covered(live, seq)) {
+                Files.deleteIfExists(path);   // already flushed
+                continue;
+            }
+            records += WriteAheadLog.replay(path, active);
+            replayed.add(path);
+            if (firstReplayed < 0) {
+                firstReplayed = seq;
+            }
+        }
+
+        segments = List.copyOf(live);
+        nextSeq = maxSeq + 1;
+        wal = WriteAheadLog.create(walPath(nextSeq), nextSeq, fsync);
+        activeFirstSeq = firstReplayed >= 0 ? firstReplayed : nextSeq;
+        pendingWals = List.copyOf(replayed);
+        nextSeq++;
+
+        log.info("Score history store at {}: {} segments, {} points replayed from {} logs",
+                directory, segments.size(), records, replayed.size());
+    }
+
+    private static boolean covered(List<Segment> segments, long seq) {
+        for (Segment segment : segments) {
+            if (seq >= segment.firstSeq && seq <= segment.lastSeq) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path segmentPath(long firstSeq, long lastSeq) {
+        return directory.resolve(String.format("seg-%016d-%016d.hist", firstSeq, lastSeq));
+    }
+
+    private Path walPath(long seq) {
+        return directory.resolve(String.format("wal-%016d.log", seq));
+    }
+}
@@ -0,0 +1,165 @@
+package com.ms.credit.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ek immutable, memory-mapped segment. Sparse index heap pe rehta hai (har 16th user),
+ * baaki sab mapped file se absolute reads - isliye lookup = binary search + max 16 block headers skip.
+ * Absolute reads ki wajah se concurrent readers safe hain.
+ */
+final class Segment {
+
+    final Path path;
+    final long firstSeq;
+    final long lastSeq;
+    final long sizeBytes;
+    final long pointCount;
+
+    private final MappedByteBuffer data;
+    private final long[] indexUserIds;
+    private final int[] indexOffsets;
+    private final int indexOffset;
+
+    private Segment(Path path, long firstSeq, long lastSeq, MappedByteBuffer data) {
+        this.path = path;
+        this.firstSeq = firstSeq;
+        this.lastSeq = lastSeq;
+        this.data = data;
+        this.sizeBytes = data.capacity();
+
+        int limit = data.capacity();
+        if (limit < 4 + SegmentWriter.FOOTER_BYTES
+                || data.getInt(0) != SegmentWriter.MAGIC
+                || data.getInt(limit - 4) != SegmentWriter.MAGIC) {
+            throw new IllegalStateException("Corrupt score history segment: " + path);
+        }
+        int footer = limit - SegmentWriter.FOOTER_BYTES;
+        this.indexOffset = data.getInt(footer);
+        int indexCount = data.getInt(footer + 4);
+        this.pointCount = data.getLong(footer + 12);
+
+        this.indexUserIds = new long[indexCount];
+        this.indexOffsets = new int[indexCount];
+        for (int i = 0; i < indexCount; i++) {
+            int entry = indexOffset + i * 12;
+            indexUserIds[i] = data.getLong(entry);
+            indexOffsets[i] = data.getInt(entry + 8);
+        }
+    }
+
+    static Segment open(Path path, long firstSeq, long lastSeq) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // mapping channel band hone ke baad bhi valid rehti hai
+            return new Segment(path, firstSeq, lastSeq, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * userId ke [from, to] wale points out me append karta hai.
+     * scratch ek reusable decode buffer hai.
+     */
+    void read(long userId, long from, long to, PointBuffer out, PointBuffer scratch) {
+        int slot = floorIndex(userId);
+        if (slot < 0) {
+            return;
+        }
+        int end = slot + 1 < indexOffsets.length ? indexOffsets[slot + 1] : indexOffset;
+        VarInts.Reader reader = new VarInts.Reader(data, indexOffsets[slot]);
+        while (reader.position < end) {
+            long blockUser = reader.readVarLong();
+            int count = (int) reader.readVarLong();
+            int length = (int) reader.readVarLong();
+            if (blockUser == userId) {
+                decode(reader, count, scratch);
+                scratch.copyRange(from, to, out);
+                return;
+            }
+            if (blockUser > userId) {
+                return;
+            }
+            reader.position += length;
+        }
+    }
+
+    /** Compaction ke liye - blocks ko file order (ascending userId) me iterate karta hai. */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    final class Cursor {
+
+        private final VarInts.Reader reader = new VarInts.Reader(data, 4);
+        private long userId;
+        private int count;
+        private int payloadStart;
+        private int payloadLength;
+
+        /** Agle block pe jao; khatam ho gaye to false. */
+        boolean next() {
+            if (payloadLength > 0 || payloadStart > 0) {
+                reader.position = payloadStart + payloadLength;
+            }
+            if (reader.position >= indexOffset) {
+                return false;
+            }
+            userId = reader.readVarLong();
+            count = (int) reader.readVarLong();
+            payloadLength = (int) reader.readVarLong();
+            payloadStart = reader.position;
+            return true;
+        }
+
+        long userId() {
+            return userId;
+        }
+
+        /** Current block ke points out me append. */
+        void decodeInto(PointBuffer out) {
+            reader.position = payloadStart;
+            decodeAppend(reader, count, out);
+        }
+    }
+
+    private static void decode(VarInts.Reader reader, int count, PointBuffer scratch) {
+        scratch.clear();
+        decodeAppend(reader, count, scratch);
+    }
+
+    private static void decodeAppend(VarInts.Reader reader, int count, PointBuffer out) {
+        int base = out.size();
+        long ts = reader.readVarLong();
+        long delta = 0;
+        out.add(ts, 0);
+        for (int i = 1; i < count; i++) {
+            delta += VarInts.unzigzag(reader.readVarLong());
+            ts += delta;
+            out.add(ts, 0);
+        }
+        int score = (int) reader.readVarLong();
+        out.setScore(base, score);
+        for (int i = 1; i < count; i++) {
+            score += (int) VarInts.unzigzag(reader.readVarLong());
+            out.setScore(base + i, score);
+        }
+    }
+
+    private int floorIndex(long userId) {
+        int low = 0;
+        int high = indexUserIds.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexUserIds[mid] <= userId) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ms.credit.history;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Immutable segment file likhta hai. Users ascending userId order me add hone chahiye.
+ *
+ * <pre>
+ * [magic:int]
+ * block* : [userId:varint][count:varint][payloadLen:varint]
+ *          payload = timestamps column (first absolute, phir zigzag delta-of-deltas)
+ *                    + scores column (first absolute, phir zigzag deltas)
+ * index  : har INDEX_INTERVAL-th block ke liye [userId:long][offset:int]   (sparse)
+ * footer : [indexOffset:int][indexCount:int][blockCount:int][pointCount:long][magic:int]
+ * </pre>
+ *
+ * Temp file me likh ke fsync aur atomic rename hota hai - half-written segment kabhi dikhta nahi.
+ */
+final class SegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x53485331; // "SHS1"
+    static final int INDEX_INTERVAL = 16;
+    static final int FOOTER_BYTES = 24;
+
+    private final Path target;
+    private final Path temp;
+    private final FileOutputStream file;
+    private final OutputStream out;
+
+    private final VarInts.Sink header = new VarInts.Sink(16);
+    private final VarInts.Sink payload = new VarInts.Sink(4096);
+    private final VarInts.Sink index = new VarInts.Sink(1024);
+
+    private long offset;
+    private int blockCount;
+    private int indexCount;
+    private long pointCount;
+    private long lastUserId = Long.MIN_VALUE;
+    private boolean finished;
+
+    SegmentWriter(Path target) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.file = new FileOutputStream(temp.toFile());
+        this.out = new BufferedOutputStream(file, 64 * 1024);
+
+        header.writeInt(MAGIC);
+        writeSink(header);
+    }
+
+    void add(long userId, PointBuffer points) throws IOException {
+        if (userId <= lastUserId) {
+            throw new IllegalArgumentException("Users must be added in ascending order: " + userId);
+        }
+        if (points.size() == 0) {
+            return;
+        }
+        if (!points.isSorted()) {
+            points.sortByTime();
+        }
+        lastUserId = userId;
+
+        if (blockCount % INDEX_INTERVAL == 0) {
+            index.writeLong(userId);
+            index.writeInt(toIntOffset(offset));
+            indexCount++;
+        }
+
+        payload.reset();
+        long previous = points.timestamp(0);
+        long previousDelta = 0;
+        payload.writeVarLong(previous);
+        for (int i = 1; i < points.size(); i++) {
+            long ts = points.timestamp(i);
+            long delta = ts - previous;
+            // delta-of-delta: nightly re-scoring jaisi regular cadence 1 byte me aa jaati hai
+            payload.writeVarLong(VarInts.zigzag(delta - previousDelta));
+            previous = ts;
+            previousDelta = delta;
+        }
+        int previousScore = points.score(0);
+        payload.writeVarLong(previousScore);
+        for (int i = 1; i < points.size(); i++) {
+            int score = points.score(i);
+            payload.writeVarLong(VarInts.zigzag(score - previousScore));
+            previousScore = score;
+        }
+
+        header.reset();
+        header.writeVarLong(userId);
+        header.writeVarLong(points.size());
+        header.writeVarLong(payload.length());
+        writeSink(header);
+        writeSink(payload);
+
+        blockCount++;
+        pointCount += points.size();
+    }
+
+    /** Index + footer likh ke file ko final naam pe publish karta hai. */
+    Path finish() throws IOException {
+        int indexOffset = toIntOffset(offset);
+        writeSink(index);
+
+        header.reset();
+        header.writeInt(indexOffset);
+        header.writeInt(indexCount);
+        header.writeInt(blockCount);
+        header.writeLong(pointCount);
+        header.writeInt(MAGIC);
+        writeSink(header);
+
+        out.flush();
+        file.getChannel().force(true);
+        out.close();
+        finished = true;
+        return Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    long bytesWritten() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            out.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeSink(VarInts.Sink sink) throws IOException {
+        var buffer = sink.asByteBuffer();
+        out.write(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+        offset += buffer.remaining();
+    }
+
+    private static int toIntOffset(long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Segment exceeds 2 GB");
+        }
+        return (int) offset;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ms.credit.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Memtable ka durability log: har append ek [userId][timestamp][zigzag score] varint record.
+ * Segment flush hone ke baad file delete ho jaati hai.
+ *
+ * synchronized ki jagah ReentrantLock: append request thread pe file write (aur fsync) karta hai,
+ * monitor ke andar I/O virtual thread ko carrier pe pin kar deta.
+ */
+final class WriteAheadLog implements Closeable {
+
+    final long seq;
+    final Path path;
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final VarInts.Sink record = new VarInts.Sink(32);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private WriteAheadLog(long seq, Path path, FileChannel channel, boolean fsync) {
+        this.seq = seq;
+        this.path = path;
+        this.channel = channel;
+        this.fsync = fsync;
+    }
+
+    static WriteAheadLog create(Path path, long seq, boolean fsync) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new WriteAheadLog(seq, path, channel, fsync);
+    }
+
+    void append(long userId, long timestamp, int score) throws IOException {
+        lock.lock();
+        try {
+            record.reset();
+            record.writeVarLong(userId);
+            record.writeVarLong(timestamp);
+            record.writeVarLong(VarInts.zigzag(score));
+            ByteBuffer buffer = record.asByteBuffer();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Log ke records memtable me daalta hai; crash se kata hua aakhri record ignore hota hai. */
+    static int replay(Path path, Memtable into) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        VarInts.Reader reader = new VarInts.Reader(data, 0);
+        int records = 0;
+        try {
+            while (reader.position < data.limit()) {
+                long userId = reader.readVarLong();
+                long timestamp = reader.readVarLong();
+                int score = (int) VarInts.unzigzag(reader.readVarLong());
+                into.add(userId, timestamp, score);
+                records++;
+            }
+        } catch (IndexOutOfBoundsException truncatedTail) {
+            // partial last record - ignore
+        }
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
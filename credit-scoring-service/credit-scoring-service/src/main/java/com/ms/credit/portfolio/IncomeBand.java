@@ -0,0 +1,30 @@
+package com.ms.credit.portfolio;
+
+/**
+ * Portfolio cohorts ke liye monthly income bands (rupees). Upper bound exclusive.
+ */
+public enum IncomeBand {
+    BELOW_25K(25_000),
+    BELOW_50K(50_000),
+    BELOW_1L(100_000),
+    BELOW_2L(200_000),
+    FROM_2L(Long.MAX_VALUE / 100);
+
+    private static final IncomeBand[] VALUES = values();
+
+    private final long upperMinor;
+
+    IncomeBand(long upperRupees) {
+        this.upperMinor = upperRupees * 100;
+    }
+
+    /** Paise me monthly income ka band. */
+    public static IncomeBand of(long monthlyIncomeMinor) {
+        for (IncomeBand band : VALUES) {
+            if (monthlyIncomeMinor < band.upperMinor) {
+                return band;
+            }
+        }
+        return FROM_2L;
+    }
+}
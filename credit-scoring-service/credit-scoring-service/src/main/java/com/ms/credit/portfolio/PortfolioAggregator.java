@@ -0,0 +1,505 @@
+package com.ms.credit.portfolio;
+
+import com.ms.credit.dto.PortfolioStatsResponse;
+import com.ms.credit.dto.PortfolioSummaryResponse;
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PORTFOLIO AGGREGATION (risk / ops dashboards)
+ *
+ * Poori book (har user ka latest score) ke distributions - score percentiles, risk category counts,
+ * utilization histogram - (payment history x income band) cohorts me, bina credit_scores pe
+ * GROUP BY ke:
+ *  - har naya score (calculate, async consumer, batch) commit ke baad {@link #record} se
+ *    incrementally apply hota hai: user ki purani state sketch se hatti, nayi judti
+ *  - state 16 shards me (alag locks); query = shards x cohorts ke sketches ka merge, users
+ *    kitne bhi hon, kaam utna hi
+ *  - checkpoint-interval pe checkpoint file; restart pe checkpoint + us time (minus
+ *    replay-overlap) ke baad ke credit_scores rows replay. Checkpoint na ho to full rebuild
+ *  - rebuild: userId ranges parallel threads pe scan, har user ki sirf latest row apply;
+ *    tab tak purani state queries serve karti hai
+ */
+@Component
+@Slf4j
+public class PortfolioAggregator {
+
+    static final int COHORTS = PaymentHistory.values().length * IncomeBand.values().length;
+
+    private static final int SHARDS = 16;
+    private static final int SHARD_SHIFT = 28;
+    private static final int CHECKPOINT_MAGIC = 0x50464C4F;   // PFLO
+    private static final int FETCH_SIZE = 5000;
+    private static final int RANGES_PER_THREAD = 4;
+    private static final int HISTOGRAM_WIDTH_PERCENT = 10;
+    private static final double[] PERCENTILES = {0.10, 0.25, 0.50, 0.75, 0.90, 0.99};
+    private static final PaymentHistory[] HISTORIES = PaymentHistory.values();
+    private static final IncomeBand[] BANDS = IncomeBand.values();
+    private static final RiskCategory[] CATEGORIES = RiskCategory.values();
+
+    private static final String SELECT_SQL = "SELECT user_id, score, credit_utilization, payment_history, "
+            + "monthly_income, calculated_at FROM credit_scores ";
+    private static final String RANGE_SQL = SELECT_SQL + "WHERE user_id BETWEEN ? AND ? ORDER BY user_id, calculated_at, id";
+    private static final String SINCE_SQL = SELECT_SQL + "WHERE calculated_at >= ? ORDER BY calculated_at, id";
+    private static final String BOUNDS_SQL = "SELECT MIN(user_id), MAX(user_id) FROM credit_scores";
+
+    private final boolean enabled;
+    private final Path checkpoint;
+    private final long checkpointIntervalMillis;
+    private final long replayOverlapMillis;
+    private final int rebuildParallelism;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final ScheduledExecutorService background;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder updatesApplied = new LongAdder();
+    private final LongAdder staleUpdates = new LongAdder();
+
+    private volatile PortfolioShard[] shards = newShards();
+    private volatile boolean ready;
+    private volatile boolean dirty;
+    private volatile long rebuilds;
+    private volatile long lastRebuildMillis;
+    private volatile long lastRebuildDurationMillis;
+    private volatile long lastRebuildRows;
+    private volatile long lastCheckpointMillis;
+
+    public PortfolioAggregator(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${credit.portfolio.enabled:true}") boolean enabled,
+                               @Value("${credit.portfolio.checkpoint:./data/portfolio/portfolio.snap}") Path checkpoint,
+                               @Value("${credit.portfolio.checkpoint-interval:5m}") Duration checkpointInterval,
+                               @Value("${credit.portfolio.replay-overlap:5m}") Duration replayOverlap,
+                               @Value("${credit.portfolio.rebuild.parallelism:0}") int rebuildParallelism) {
+        this.enabled = enabled;
+        this.checkpoint = checkpoint;
+        this.checkpointIntervalMillis = Math.max(1, checkpointInterval.toMillis());
+        this.replayOverlapMillis = replayOverlap.toMillis();
+        // har thread ek DB connection pakadta hai - pool se chhota rakho
+        this.rebuildParallelism = rebuildParallelism > 0 ? rebuildParallelism
+                : Math.min(8, Runtime.getRuntime().availableProcessors());
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.background = enabled ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "portfolio-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        // schema ready hone ke baad; startup block na ho
+        background.execute(this::recoverQuietly);
+        background.scheduleWithFixedDelay(this::checkpointQuietly,
+                checkpointIntervalMillis, checkpointIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Committed score ko book me lagao. calculatedAt se purana ho to ignore. */
+    public void record(long userId, long calculatedAtMillis, int score, int utilizationBp,
+                       PaymentHistory paymentHistory, long monthlyIncomeMinor) {
+        if (!enabled) {
+            return;
+        }
+        int state = PortfolioShard.state(score, cohort(paymentHistory, IncomeBand.of(monthlyIncomeMinor)), utilizationBp);
+        if (apply(shards, userId, calculatedAtMillis, state)) {
+            updatesApplied.increment();
+            if (!dirty) {
+                dirty = true;
+            }
+        } else {
+            staleUpdates.increment();
+        }
+    }
+
+    /** DB transaction commit hone ke baad hi; transaction na ho to turant. */
+    public void recordAfterCommit(long userId, long calculatedAtMillis, int score, int utilizationBp,
+                                  PaymentHistory paymentHistory, long monthlyIncomeMinor) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(userId, calculatedAtMillis, score, utilizationBp, paymentHistory, monthlyIncomeMinor);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(userId, calculatedAtMillis, score, utilizationBp, paymentHistory, monthlyIncomeMinor);
+            }
+        });
+    }
+
+    /** Filters null = sab. */
+    public PortfolioSummaryResponse summary(PaymentHistory paymentHistory, IncomeBand incomeBand) {
+        PortfolioSketch[] cohorts = mergeShards();
+        PortfolioSketch merged = new PortfolioSketch();
+        for (PaymentHistory history : HISTORIES) {
+            for (IncomeBand band : BANDS) {
+                if ((paymentHistory == null || paymentHistory == history) && (incomeBand == null || incomeBand == band)) {
+                    merged.merge(cohorts[cohort(history, band)]);
+                }
+            }
+        }
+        return toResponse(paymentHistory, incomeBand, merged);
+    }
+
+    /** Har (payment history, income band) cohort ka summary. */
+    public List<PortfolioSummaryResponse> cohorts() {
+        PortfolioSketch[] cohorts = mergeShards();
+        List<PortfolioSummaryResponse> result = new ArrayList<>(COHORTS);
+        for (PaymentHistory history : HISTORIES) {
+            for (IncomeBand band : BANDS) {
+                result.add(toResponse(history, band, cohorts[cohort(history, band)]));
+            }
+        }
+        return result;
+    }
+
+    /** Background me full rebuild; pehle se chal raha ho to false. */
+    public boolean startRebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        background.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.warn("Portfolio rebuild failed: {}", e.toString());
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    public PortfolioStatsResponse stats() {
+        return PortfolioStatsResponse.builder()
+                .enabled(enabled)
+                .ready(ready)
+                .rebuilding(rebuilding.get())
+                .users(users(shards))
+                .updatesApplied(updatesApplied.sum())
+                .staleUpdates(staleUpdates.sum())
+                .rebuilds(rebuilds)
+                .rebuildParallelism(rebuildParallelism)
+                .lastRebuildMillis(lastRebuildMillis)
+                .lastRebuildDurationMillis(lastRebuildDurationMillis)
+                .lastRebuildRows(lastRebuildRows)
+                .lastCheckpointMillis(lastCheckpointMillis)
+                .build();
+    }
+
+    /** Checkpoint + newer rows, warna rebuild. Maintenance thread (aur tests) hi call karte hain. */
+    void recover() throws Exception {
+        Long watermark = loadCheckpoint();
+        if (watermark == null) {
+            rebuilding.set(true);
+            try {
+                rebuild();
+            } finally {
+                rebuilding.set(false);
+            }
+            return;
+        }
+        long rows = replaySince(shards, watermark - replayOverlapMillis);
+        ready = true;
+        log.info("Portfolio restored from checkpoint: {} users, {} newer rows replayed", users(shards), rows);
+    }
+
+    /** Poori book credit_scores se; naya state ready hone tak purana serve karta hai. */
+    void rebuild() throws InterruptedException, ExecutionException {
+        long startedMillis = System.currentTimeMillis();
+        long startedNanos = System.nanoTime();
+        PortfolioShard[] fresh = newShards();
+        long rows = loadRanges(fresh);
+        shards = fresh;
+        // scan ke dauraan commit hue scores purane shards me gaye the - unhe replay karo
+        rows += replaySince(fresh, startedMillis - replayOverlapMillis);
+        ready = true;
+        dirty = true;
+        rebuilds++;
+        lastRebuildMillis = startedMillis;
+        lastRebuildDurationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        lastRebuildRows = rows;
+        log.info("Portfolio rebuilt: {} users from {} rows in {} ms ({} threads)",
+                users(fresh), rows, lastRebuildDurationMillis, rebuildParallelism);
+    }
+
+    void writeCheckpoint() throws IOException {
+        long watermark = System.currentTimeMillis();
+        dirty = false;
+        PortfolioShard[] current = shards;
+        Files.createDirectories(checkpoint.toAbsolutePath().getParent());
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeLong(watermark);
+            out.writeInt(current.length);
+            for (PortfolioShard shard : current) {
+                shard.writeTo(out);
+            }
+        }
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lastCheckpointMillis = watermark;
+    }
+
+    static int hash(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int cohort(PaymentHistory paymentHistory, IncomeBand band) {
+        return paymentHistory.ordinal() * BANDS.length + band.ordinal();
+    }
+
+    private static boolean apply(PortfolioShard[] target, long userId, long timeMillis, int state) {
+        int hash = hash(userId);
+        return target[hash >>> SHARD_SHIFT].apply(userId, hash, timeMillis, state);
+    }
+
+    private static PortfolioShard[] newShards() {
+        PortfolioShard[] shards = new PortfolioShard[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new PortfolioShard(1024);
+        }
+        return shards;
+    }
+
+    private static long users(PortfolioShard[] shards) {
+        long users = 0;
+        for (PortfolioShard shard : shards) {
+            users += shard.size();
+        }
+        return users;
+    }
+
+    private PortfolioSketch[] mergeShards() {
+        PortfolioSketch[] cohorts = new PortfolioSketch[COHORTS];
+        for (int i = 0; i < COHORTS; i++) {
+            cohorts[i] = new PortfolioSketch();
+        }
+        for (PortfolioShard shard : shards) {
+            shard.mergeInto(cohorts);
+        }
+        return cohorts;
+    }
+
+    private PortfolioSummaryResponse toResponse(PaymentHistory paymentHistory, IncomeBand band, PortfolioSketch sketch) {
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (double q : PERCENTILES) {
+            percentiles.put("p" + Math.round(q * 100), sketch.scoreQuantile(q));
+        }
+        long[] counts = sketch.riskCounts();
+        Map<RiskCategory, Long> risk = new EnumMap<>(RiskCategory.class);
+        for (RiskCategory category : CATEGORIES) {
+            risk.put(category, counts[category.ordinal()]);
+        }
+        return PortfolioSummaryResponse.builder()
+                .paymentHistory(paymentHistory)
+                .incomeBand(band)
+                .ready(ready)
+                .users(sketch.users)
+                .meanScore(sketch.meanScore())
+                .scorePercentiles(percentiles)
+                .riskCategories(risk)
+                .meanUtilization(sketch.meanUtilization())
+                .utilizationBucketPercent(HISTOGRAM_WIDTH_PERCENT)
+                .utilizationHistogram(sketch.utilizationHistogram(HISTOGRAM_WIDTH_PERCENT))
+                .build();
+    }
+
+    private long loadRanges(PortfolioShard[] target) throws InterruptedException, ExecutionException {
+        long[] bounds = jdbcTemplate.query(BOUNDS_SQL, rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        });
+        if (bounds == null) {
+            return 0;
+        }
+        int ranges = rebuildParallelism * RANGES_PER_THREAD;
+        long step = Math.max(1, (bounds[1] - bounds[0]) / ranges + 1);
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(rebuildParallelism, r -> {
+            Thread thread = new Thread(r, "portfolio-rebuild-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> parts = new ArrayList<>(ranges);
+            for (long from = bounds[0]; from <= bounds[1]; from += step) {
+                long lo = from;
+                long hi = Math.min(bounds[1], from + step - 1);
+                parts.add(pool.submit(() -> loadRange(target, lo, hi)));
+            }
+            long rows = 0;
+            for (Future<Long> part : parts) {
+                rows += part.get();
+            }
+            return rows;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Range rows user_id, calculated_at order me aati hain - har user ki sirf aakhri row apply. */
+    private long loadRange(PortfolioShard[] target, long fromUserId, long toUserId) {
+        LatestRowPerUser latest = new LatestRowPerUser(target);
+        // read-only transaction: Postgres / MySQL cursor fetch ke liye
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(RANGE_SQL, latest, fromUserId, toUserId));
+        latest.flush();
+        return latest.rows;
+    }
+
+    private long replaySince(PortfolioShard[] target, long sinceMillis) {
+        long[] rows = new long[1];
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(SINCE_SQL, (RowCallbackHandler) rs -> {
+            apply(target, rs.getLong(1), rs.getTimestamp(6).getTime(), stateOf(rs));
+            rows[0]++;
+        }, new Timestamp(sinceMillis)));
+        return rows[0];
+    }
+
+    private static int stateOf(ResultSet rs) throws SQLException {
+        PaymentHistory history = PaymentHistory.valueOf(rs.getString(4));
+        IncomeBand band = IncomeBand.of(ScoringEngine.toMinorUnits(rs.getDouble(5)));
+        return PortfolioShard.state(rs.getInt(2), cohort(history, band), ScoringEngine.toBasisPoints(rs.getDouble(3)));
+    }
+
+    /** Checkpoint ka watermark; file na ho ya kharab ho to null. */
+    private Long loadCheckpoint() {
+        if (!Files.exists(checkpoint)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint), 1 << 16))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                throw new IOException("Unexpected portfolio checkpoint format");
+            }
+            long watermark = in.readLong();
+            int sections = in.readInt();
+            PortfolioShard[] restored = newShards();
+            for (int s = 0; s < sections; s++) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    apply(restored, in.readLong(), in.readLong(), in.readInt());
+                }
+            }
+            shards = restored;
+            lastCheckpointMillis = watermark;
+            return watermark;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable portfolio checkpoint {}: {}", checkpoint, e.getMessage());
+            return null;
+        }
+    }
+
+    private void recoverQuietly() {
+        try {
+            recover();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Portfolio recovery failed - POST /api/credit/portfolio/rebuild se retry karo: {}", e.toString());
+        }
+    }
+
+    private void checkpointQuietly() {
+        if (!ready || !dirty || rebuilding.get()) {
+            return;
+        }
+        try {
+            writeCheckpoint();
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("Portfolio checkpoint failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        background.shutdownNow();
+        background.awaitTermination(10, TimeUnit.SECONDS);
+        checkpointQuietly();
+    }
+
+    /** Ek range ki rows ke liye: user badle tab pichhle user ki latest row apply. */
+    private static final class LatestRowPerUser implements RowCallbackHandler {
+
+        private final PortfolioShard[] target;
+        private long userId;
+        private long timeMillis;
+        private int state;
+        private long rows;
+
+        LatestRowPerUser(PortfolioShard[] target) {
+            this.target = target;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (id != userId) {
+                flush();
+                userId = id;
+            }
+            timeMillis = rs.getTimestamp(6).getTime();
+            state = stateOf(rs);
+            rows++;
+        }
+
+        void flush() {
+            if (userId != 0) {
+                apply(target, userId, timeMillis, state);
+                userId = 0;
+            }
+        }
+    }
+}
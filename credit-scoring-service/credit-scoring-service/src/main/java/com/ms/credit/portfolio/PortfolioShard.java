@@ -0,0 +1,128 @@
+package com.ms.credit.portfolio;
+
+import com.ms.credit.engine.ScoringEngine;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Users ka ek hissa (userId hash se): har user ki latest state + har cohort ka sketch.
+ *
+ * Naya score aaye to user ki purani state sketch se hatti hai aur nayi judti hai, isliye sketch
+ * hamesha "book" (har user ka latest score) dikhata hai, saare scores ka flow nahi.
+ * State calculatedAt ke saath rakhi jati hai - purana score baad me aaye (replay, out-of-order
+ * commit) to ignore; same time pe dobara aaye to no-op. Isliye replay idempotent hai.
+ *
+ * Map open-addressing hai (keys / times / states arrays), synchronized - shards alag locks hain.
+ */
+final class PortfolioShard {
+
+    private static final long EMPTY = 0;                     // user ids 1 se shuru hote hain
+
+    // state int: score offset (10 bits) | cohort (5 bits) | utilization bp (14 bits)
+    private static final int COHORT_SHIFT = 10;
+    private static final int UTILIZATION_SHIFT = 15;
+
+    private final PortfolioSketch[] cohorts = new PortfolioSketch[PortfolioAggregator.COHORTS];
+    private long[] keys;
+    private long[] times;
+    private int[] states;
+    private int size;
+
+    PortfolioShard(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity) - 1) << 1;
+        keys = new long[capacity];
+        times = new long[capacity];
+        states = new int[capacity];
+        for (int i = 0; i < cohorts.length; i++) {
+            cohorts[i] = new PortfolioSketch();
+        }
+    }
+
+    static int state(int score, int cohort, int utilizationBp) {
+        int clampedScore = Math.max(ScoringEngine.MIN_SCORE, Math.min(ScoringEngine.MAX_SCORE, score));
+        int clampedBp = Math.max(0, Math.min(PortfolioSketch.MAX_UTILIZATION_BP, utilizationBp));
+        return (clampedScore - ScoringEngine.MIN_SCORE) | cohort << COHORT_SHIFT | clampedBp << UTILIZATION_SHIFT;
+    }
+
+    /** false = state is se purani thi, kuch nahi badla. */
+    synchronized boolean apply(long userId, int hash, long timeMillis, int state) {
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == userId) {
+                if (timeMillis < times[slot]) {
+                    return false;
+                }
+                times[slot] = timeMillis;
+                if (states[slot] != state) {
+                    sketch(states[slot], -1);
+                    states[slot] = state;
+                    sketch(state, 1);
+                }
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = userId;
+        times[slot] = timeMillis;
+        states[slot] = state;
+        sketch(state, 1);
+        if (++size * 4 > keys.length * 3) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /** Har cohort ka sketch target[cohort] me jodo. */
+    synchronized void mergeInto(PortfolioSketch[] target) {
+        for (int i = 0; i < cohorts.length; i++) {
+            if (cohorts[i].users != 0) {
+                target[i].merge(cohorts[i]);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /** Checkpoint entries: count, phir (userId, calculatedAt, state) har user ke liye. */
+    synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                out.writeLong(keys[slot]);
+                out.writeLong(times[slot]);
+                out.writeInt(states[slot]);
+            }
+        }
+    }
+
+    private void sketch(int state, int sign) {
+        int score = ScoringEngine.MIN_SCORE + (state & ((1 << COHORT_SHIFT) - 1));
+        int cohort = (state >>> COHORT_SHIFT) & ((1 << (UTILIZATION_SHIFT - COHORT_SHIFT)) - 1);
+        cohorts[cohort].add(score, state >>> UTILIZATION_SHIFT, sign);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldTimes = times;
+        int[] oldStates = states;
+        keys = new long[capacity];
+        times = new long[capacity];
+        states = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = PortfolioAggregator.hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                times[slot] = oldTimes[i];
+                states[slot] = oldStates[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ms.credit.portfolio;
+
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+
+/**
+ * Ek cohort ke scores + utilization ka mergeable sketch.
+ *
+ * Score 300-850 ka integer hai, to har score ka apna counter (551 buckets) hi quantile sketch hai:
+ * exact, merge = counters ka jod, aur user ka purana score hatana (remove) bhi ek decrement.
+ * Utilization 1% buckets me (100 = 100% ya usse zyada). Memory aur query cost users se independent.
+ */
+final class PortfolioSketch {
+
+    static final int SCORE_BUCKETS = ScoringEngine.MAX_SCORE - ScoringEngine.MIN_SCORE + 1;
+    static final int UTILIZATION_BUCKETS = 101;
+    static final int MAX_UTILIZATION_BP = ScoringEngine.BP_SCALE;
+
+    private static final RiskCategory[] CATEGORIES = RiskCategory.values();
+
+    final long[] scores = new long[SCORE_BUCKETS];
+    final long[] utilization = new long[UTILIZATION_BUCKETS];
+    long users;
+    long scoreSum;
+    long utilizationBpSum;
+
+    /** sign = +1 (add) / -1 (remove). score clamped, utilizationBp 0..BP_SCALE. */
+    void add(int score, int utilizationBp, int sign) {
+        scores[score - ScoringEngine.MIN_SCORE] += sign;
+        utilization[utilizationBp / 100] += sign;
+        users += sign;
+        scoreSum += (long) sign * score;
+        utilizationBpSum += (long) sign * utilizationBp;
+    }
+
+    void merge(PortfolioSketch other) {
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            scores[i] += other.scores[i];
+        }
+        for (int i = 0; i < UTILIZATION_BUCKETS; i++) {
+            utilization[i] += other.utilization[i];
+        }
+        users += other.users;
+        scoreSum += other.scoreSum;
+        utilizationBpSum += other.utilizationBpSum;
+    }
+
+    /** Nearest-rank quantile (q 0..1); empty sketch pe 0. */
+    int scoreQuantile(double q) {
+        int bucket = rank(scores, q);
+        return bucket < 0 ? 0 : ScoringEngine.MIN_SCORE + bucket;
+    }
+
+    double meanScore() {
+        return users == 0 ? 0 : (double) scoreSum / users;
+    }
+
+    double meanUtilization() {
+        return users == 0 ? 0 : utilizationBpSum / 100d / users;
+    }
+
+    /** RiskCategory ordinal -> users. */
+    long[] riskCounts() {
+        long[] counts = new long[CATEGORIES.length];
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            counts[RiskCategory.of(ScoringEngine.MIN_SCORE + i).ordinal()] += scores[i];
+        }
+        return counts;
+    }
+
+    /** width% wide buckets; aakhri bucket me 100%+ bhi. */
+    long[] utilizationHistogram(int widthPercent) {
+        long[] buckets = new long[(100 + widthPercent - 1) / widthPercent];
+        for (int i = 0; i < UTILIZATION_BUCKETS; i++) {
+            buckets[Math.min(buckets.length - 1, i / widthPercent)] += utilization[i];
+        }
+        return buckets;
+    }
+
+    private int rank(long[] counts, double q) {
+        if (users <= 0) {
+            return -1;
+        }
+        long target = Math.max(1, (long) Math.ceil(q * users));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return i;
+            }
+        }
+        return counts.length - 1;
+    }
+}
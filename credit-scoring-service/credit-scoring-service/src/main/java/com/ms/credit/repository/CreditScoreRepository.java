@@ -0,0 +1,12 @@
+package com.ms.credit.repository;
+
+import com.ms.credit.entity.CreditScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface CreditScoreRepository extends JpaRepository<CreditScore, Long> {
+
+    Optional<CreditScore> findFirstByUserIdOrderByCalculatedAtDescIdDesc(Long userId);
+
+}
@@ -0,0 +1,24 @@
+package com.ms.credit.repository;
+
+import com.ms.credit.entity.ScoreOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ScoreOutboxRepository extends JpaRepository<ScoreOutbox, Long> {
+
+    List<ScoreOutbox> findByProcessedAtIsNullAndCreatedAtBeforeAndIdGreaterThanOrderByIdAsc(Instant cutoff, Long afterId,
+                                                                                  Pageable page);
+
+    long countByProcessedAtIsNull();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScoreOutbox o WHERE o.processedAt < :cutoff")
+    int deleteProcessedBefore(Instant cutoff);
+}
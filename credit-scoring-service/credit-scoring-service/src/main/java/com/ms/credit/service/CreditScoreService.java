@@ -0,0 +1,25 @@
+package com.ms.credit.service;
+
+import com.ms.credit.dto.CreditScoreRequest;
+import com.ms.credit.dto.CreditScoreResponse;
+import com.ms.credit.dto.RecalculationAcceptedResponse;
+import com.ms.credit.dto.ScoreHistoryResponse;
+import com.ms.credit.dto.SingleFlightStatsResponse;
+
+import java.util.List;
+
+public interface CreditScoreService {
+
+    CreditScoreResponse calculate(CreditScoreRequest request);
+
+    /** Outbox me daal ke turant lautta hai; score background batch me likha jata hai. */
+    RecalculationAcceptedResponse submitRecalculation(CreditScoreRequest request);
+
+    CreditScoreResponse getLatestScore(Long userId);
+
+    ScoreHistoryResponse getHistory(Long userId, long fromMillis, long toMillis);
+
+    /** Concurrent identical requests kitni baar ek computation pe collapse hui. */
+    List<SingleFlightStatsResponse> coalescingStats();
+
+}
@@ -0,0 +1,123 @@
+package com.ms.credit.service.impl;
+
+import com.credit.metrics.StageTimings;
+import com.ms.credit.cache.ScoreCache;
+import com.ms.credit.cache.SingleFlight;
+import com.ms.credit.dto.CreditScoreRequest;
+import com.ms.credit.dto.CreditScoreResponse;
+import com.ms.credit.dto.RecalculationAcceptedResponse;
+import com.ms.credit.dto.ScoreHistoryResponse;
+import com.ms.credit.dto.SingleFlightStatsResponse;
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+import com.ms.credit.entity.CreditScore;
+import com.ms.credit.events.ScoreEventPipeline;
+import com.ms.credit.history.ScoreHistoryStore;
+import com.ms.credit.portfolio.PortfolioAggregator;
+import com.ms.credit.repository.CreditScoreRepository;
+import com.ms.credit.service.CreditScoreService;
+import com.ms.credit.users.UserDirectoryReplicator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CreditScoreServiceImpl implements CreditScoreService {
+
+    private final CreditScoreRepository creditScoreRepository;
+    private final ScoreCache scoreCache;
+    private final ScoreHistoryStore scoreHistoryStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ScoreEventPipeline scoreEventPipeline;
+    private final UserDirectoryReplicator userDirectory;
+    private final PortfolioAggregator portfolioAggregator;
+    private final StageTimings stageTimings;
+
+    // same payload ke concurrent duplicates (multiple tabs, batch + UI) = ek hi save
+    private final SingleFlight<CreditScoreRequest, CreditScoreResponse> calculations = new SingleFlight<>("calculate");
+
+    @Override
+    public CreditScoreResponse calculate(CreditScoreRequest request) {
+        // local replica se - user-ms ko network call nahi
+        stageTimings.time("users.check", () -> userDirectory.checkKnownUser(request.getUserId()));
+        // coalescing transaction ke bahar - waiting duplicates DB connection nahi pakadte
+        return calculations.execute(request, () -> transactionTemplate.execute(status -> calculateAndSave(request)));
+    }
+
+    private CreditScoreResponse calculateAndSave(CreditScoreRequest request) {
+
+        // 1) API boundary pe ek baar fixed-point me convert, phir engine
+        long engineStart = System.nanoTime();
+        long packed = ScoringEngine.evaluate(
+                ScoringEngine.toMinorUnits(request.getMonthlyIncome()),
+                ScoringEngine.toMinorUnits(request.getExistingLoans()),
+                ScoringEngine.toBasisPoints(request.getCreditUtilization()),
+                request.getPaymentHistory());
+        stageTimings.record("engine", System.nanoTime() - engineStart);
+
+        int score = ScoringEngine.scoreOf(packed);
+
+        // 2) DB me save
+        CreditScore saved = stageTimings.time("db.save", () -> creditScoreRepository.save(CreditScore.builder()
+                .userId(request.getUserId())
+                .monthlyIncome(request.getMonthlyIncome())
+                .existingLoans(request.getExistingLoans())
+                .creditUtilization(request.getCreditUtilization())
+                .paymentHistory(request.getPaymentHistory())
+                .score(score)
+                .riskCategory(RiskCategory.of(score))
+                .factorFlags(ScoringEngine.flagsOf(packed))
+                .calculatedAt(Instant.now())
+                .build()));
+
+        // 3) cached score commit ke baad hi hatao - rollback pe purana score valid rehta hai
+        scoreCache.invalidateAfterCommit(saved.getUserId());
+        scoreHistoryStore.appendAfterCommit(saved.getUserId(), saved.getCalculatedAt().toEpochMilli(), score);
+        portfolioAggregator.recordAfterCommit(saved.getUserId(), saved.getCalculatedAt().toEpochMilli(), score,
+                ScoringEngine.toBasisPoints(request.getCreditUtilization()), request.getPaymentHistory(),
+                ScoringEngine.toMinorUnits(request.getMonthlyIncome()));
+
+        return toResponse(saved);
+    }
+
+    @Override
+    public RecalculationAcceptedResponse submitRecalculation(CreditScoreRequest request) {
+        userDirectory.checkKnownUser(request.getUserId());
+        return scoreEventPipeline.submit(request);
+    }
+
+    @Override
+    public CreditScoreResponse getLatestScore(Long userId) {
+        // cache hit pe na transaction, na DB
+        return stageTimings.time("score.lookup", () -> scoreCache.get(userId, id -> stageTimings.time("db.score-load",
+                        () -> creditScoreRepository.findFirstByUserIdOrderByCalculatedAtDescIdDesc(id)
+                                .map(this::toResponse))))
+                .orElseThrow(() -> new RuntimeException("Score not found. Please calculate your score first."));
+    }
+
+    @Override
+    public ScoreHistoryResponse getHistory(Long userId, long fromMillis, long toMillis) {
+        return stageTimings.time("history.query", () -> scoreHistoryStore.query(userId, fromMillis, toMillis));
+    }
+
+    @Override
+    public List<SingleFlightStatsResponse> coalescingStats() {
+        return List.of(scoreCache.loadCoalescingStats(), calculations.stats());
+    }
+
+    private CreditScoreResponse toResponse(CreditScore entity) {
+        RiskCategory category = entity.getRiskCategory();
+        return CreditScoreResponse.builder()
+                .userId(entity.getUserId())
+                .score(entity.getScore())
+                .riskCategory(category)
+                .scoreRange(category.getScoreRange())
+                .recommendations(category.recommendations(entity.getFactorFlags()))
+                .pointsToNextLevel(category.pointsToNextLevel(entity.getScore()))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.ms.credit.simulation;
+
+import com.ms.credit.dto.SimulationRequest;
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+
+import java.util.List;
+
+/**
+ * Simulation input, struct-of-arrays: har scenario i ke inputs alag primitive columns me
+ * (incomeMinor[i], paymentMinor[i], targetBp[i]) aur outputs bhi (horizonScores[i],
+ * monthsToNextLevel[i]). Leaf task ek contiguous index range pe chalta hai - koi per-scenario
+ * object nahi, columns cache lines me sequential padhe jate hain.
+ *
+ * Projection model (month m = 1..months):
+ *  - income: change horizon ki shuruaat se lagu
+ *  - loans: har mahine monthlyLoanPayment kam, zero pe ruk jata hai
+ *  - utilization: aaj se target tak linear
+ *  - on-time payments maan ke payment history har historyUpgradeMonths pe ek level upar
+ */
+final class ScenarioGrid {
+
+    final double[] incomeAxis;
+    final double[] paymentAxis;
+    final double[] targetAxis;
+    final int size;
+    final int months;
+
+    // inputs
+    final long[] incomeMinor;
+    final long[] paymentMinor;
+    final int[] targetBp;
+
+    // outputs (leaf tasks apni range me likhte hain)
+    final short[] horizonScores;
+    final byte[] monthsToNextLevel;
+
+    private final long baseIncomeMinor;
+    private final long loansMinor;
+    private final int utilizationBp;
+    private final int history;
+    private final int historyUpgradeMonths;
+    private final int currentCategory;
+
+    ScenarioGrid(SimulationRequest request, int maxScenarios, int historyUpgradeMonths) {
+        double currentUtilization = request.getCreditUtilization();
+        this.incomeAxis = axis(request.getIncomeChangePercent(), 0);
+        this.paymentAxis = axis(request.getMonthlyLoanPayment(), 0);
+        this.targetAxis = axis(request.getUtilizationTarget(), currentUtilization);
+        long count = (long) incomeAxis.length * paymentAxis.length * targetAxis.length;
+        if (count > maxScenarios) {
+            throw new SimulationRejectedException("Grid has " + count + " scenarios, limit is " + maxScenarios);
+        }
+        this.size = (int) count;
+        this.months = request.getMonths();
+        this.historyUpgradeMonths = Math.max(1, historyUpgradeMonths);
+
+        this.baseIncomeMinor = ScoringEngine.toMinorUnits(request.getMonthlyIncome());
+        this.loansMinor = ScoringEngine.toMinorUnits(request.getExistingLoans());
+        this.utilizationBp = ScoringEngine.toBasisPoints(currentUtilization);
+        this.history = request.getPaymentHistory().ordinal();
+        this.currentCategory = RiskCategory.of(currentScore()).ordinal();
+
+        this.incomeMinor = new long[size];
+        this.paymentMinor = new long[size];
+        this.targetBp = new int[size];
+        this.horizonScores = new short[size];
+        this.monthsToNextLevel = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            incomeMinor[i] = Math.max(0, Math.round(baseIncomeMinor * (1 + incomeAxis[incomeIndex(i)] / 100d)));
+            paymentMinor[i] = ScoringEngine.toMinorUnits(paymentAxis[paymentIndex(i)]);
+            targetBp[i] = ScoringEngine.toBasisPoints(targetAxis[targetIndex(i)]);
+        }
+    }
+
+    int currentScore() {
+        return ScoringEngine.scoreOf(ScoringEngine.evaluate(baseIncomeMinor, loansMinor, utilizationBp, history));
+    }
+
+    /** [from, to) scenarios ko poore horizon tak project karo. */
+    void evaluate(int from, int to) {
+        for (int i = from; i < to; i++) {
+            int reached = -1;
+            int score = 0;
+            for (int m = 1; m <= months; m++) {
+                score = scoreAt(i, m);
+                if (reached < 0 && RiskCategory.of(score).ordinal() < currentCategory) {
+                    reached = m;
+                }
+            }
+            horizonScores[i] = (short) score;
+            monthsToNextLevel[i] = (byte) reached;
+        }
+    }
+
+    /** Month 0..months ke scores (response ke liye - sirf chuninda scenarios). */
+    int[] trajectory(int i) {
+        int[] scores = new int[months + 1];
+        scores[0] = currentScore();
+        for (int m = 1; m <= months; m++) {
+            scores[m] = scoreAt(i, m);
+        }
+        return scores;
+    }
+
+    int incomeIndex(int i) {
+        return i / (paymentAxis.length * targetAxis.length);
+    }
+
+    int paymentIndex(int i) {
+        return (i / targetAxis.length) % paymentAxis.length;
+    }
+
+    int targetIndex(int i) {
+        return i % targetAxis.length;
+    }
+
+    private int scoreAt(int i, int m) {
+        long loans = Math.max(0, loansMinor - paymentMinor[i] * m);
+        int utilization = utilizationBp + (int) ((long) (targetBp[i] - utilizationBp) * m / months);
+        int paymentHistory = Math.max(PaymentHistory.EXCELLENT.ordinal(), history - m / historyUpgradeMonths);
+        return ScoringEngine.scoreOf(ScoringEngine.evaluate(incomeMinor[i], loans, utilization, paymentHistory));
+    }
+
+    private static double[] axis(List<Double> values, double fallback) {
+        if (values == null || values.isEmpty()) {
+            return new double[]{fallback};
+        }
+        double[] axis = new double[values.size()];
+        for (int i = 0; i < axis.length; i++) {
+            axis[i] = values.get(i);
+        }
+        return axis;
+    }
+}
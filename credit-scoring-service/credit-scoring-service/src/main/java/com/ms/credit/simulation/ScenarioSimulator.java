@@ -0,0 +1,254 @@
+package com.ms.credit.simulation;
+
+import com.ms.credit.dto.ScenarioResult;
+import com.ms.credit.dto.SensitivityCurve;
+import com.ms.credit.dto.SimulationRequest;
+import com.ms.credit.dto.SimulationResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT-IF SIMULATION / SCORE FORECAST
+ *
+ * Grid ke saare scenarios ({@link ScenarioGrid}) ek dedicated ForkJoinPool pe evaluate hote hain:
+ * index range aadhi-aadhi split hoti hai jab tak LEAF_SCENARIOS tak na aa jaye, idle workers
+ * baaki ranges steal karte hain. Request threads aur commonPool is kaam se block nahi hote.
+ *
+ * Har request ka hard CPU budget (saare workers ka total thread CPU time): leaf apna CPU time
+ * charge karta hai, budget paar = run stop + 422. Client disconnect / timeout pe bhi run stop.
+ */
+@Component
+@Slf4j
+public class ScenarioSimulator {
+
+    static final int LEAF_SCENARIOS = 512;
+    private static final int CHUNK = 64;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ForkJoinPool pool;
+    private final int maxScenarios;
+    private final long cpuBudgetNanos;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final int historyUpgradeMonths;
+    private final boolean threadCpuTime;
+
+    public ScenarioSimulator(@Value("${credit.simulation.parallelism:0}") int parallelism,
+                             @Value("${credit.simulation.max-scenarios:250000}") int maxScenarios,
+                             @Value("${credit.simulation.cpu-budget:2s}") Duration cpuBudget,
+                             @Value("${credit.simulation.timeout:10s}") Duration timeout,
+                             @Value("${credit.simulation.heartbeat-interval:250ms}") Duration heartbeatInterval,
+                             @Value("${credit.simulation.history-upgrade-months:6}") int historyUpgradeMonths) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("simulation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.maxScenarios = maxScenarios;
+        this.cpuBudgetNanos = cpuBudget.toNanos();
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.historyUpgradeMonths = historyUpgradeMonths;
+        // CPU time na mile (kuch JVMs) to wall time se charge - budget phir bhi hard rehta hai
+        this.threadCpuTime = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    }
+
+    /** Grid caller thread pe hi validate + build (galat input turant 422), evaluation pool pe. */
+    public SimulationRun start(SimulationRequest request) {
+        ScenarioGrid grid = new ScenarioGrid(request, maxScenarios, historyUpgradeMonths);
+        SimulationRun run = new SimulationRun(cpuBudgetNanos);
+        run.attach(CompletableFuture.supplyAsync(() -> simulate(request, grid, run), pool));
+        return run;
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    public Duration heartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    private SimulationResponse simulate(SimulationRequest request, ScenarioGrid grid, SimulationRun run) {
+        long start = System.nanoTime();
+        new EvaluateTask(grid, run, 0, grid.size).invoke();
+        if (run.stopped()) {
+            log.info("Simulation of {} scenarios stopped after {} ms CPU: {}", grid.size,
+                    TimeUnit.NANOSECONDS.toMillis(run.cpuNanos()), run.stopReason());
+            if (SimulationRun.BUDGET_EXCEEDED.equals(run.stopReason())) {
+                throw new SimulationRejectedException("Simulation exceeded its CPU budget of "
+                        + TimeUnit.NANOSECONDS.toMillis(cpuBudgetNanos) + " ms - send a smaller grid or fewer months");
+            }
+            throw new CancellationException("Simulation cancelled: " + run.stopReason());
+        }
+
+        int best = 0;
+        for (int i = 1; i < grid.size; i++) {
+            if (better(grid, i, best)) {
+                best = i;
+            }
+        }
+
+        // "kuch na badle" = bina axes ka ek-scenario grid
+        ScenarioGrid asIs = new ScenarioGrid(SimulationRequest.builder()
+                .monthlyIncome(request.getMonthlyIncome())
+                .existingLoans(request.getExistingLoans())
+                .creditUtilization(request.getCreditUtilization())
+                .paymentHistory(request.getPaymentHistory())
+                .months(request.getMonths())
+                .build(), 1, historyUpgradeMonths);
+        asIs.evaluate(0, 1);
+
+        return SimulationResponse.builder()
+                .scenarios(grid.size)
+                .months(grid.months)
+                .currentScore(grid.currentScore())
+                .asIs(result(asIs, 0))
+                .best(result(grid, best))
+                .curves(curves(grid))
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .cpuMillis(TimeUnit.NANOSECONDS.toMillis(run.cpuNanos()))
+                .build();
+    }
+
+    /** Horizon score uncha; barabar ho to jo jaldi agle level pe pahunche. */
+    private static boolean better(ScenarioGrid grid, int i, int best) {
+        if (grid.horizonScores[i] != grid.horizonScores[best]) {
+            return grid.horizonScores[i] > grid.horizonScores[best];
+        }
+        int a = grid.monthsToNextLevel[i];
+        int b = grid.monthsToNextLevel[best];
+        return a >= 0 && (b < 0 || a < b);
+    }
+
+    private static ScenarioResult result(ScenarioGrid grid, int i) {
+        return ScenarioResult.builder()
+                .incomeChangePercent(grid.incomeAxis[grid.incomeIndex(i)])
+                .monthlyLoanPayment(grid.paymentAxis[grid.paymentIndex(i)])
+                .utilizationTarget(grid.targetAxis[grid.targetIndex(i)])
+                .scores(grid.trajectory(i))
+                .monthsToNextLevel(grid.monthsToNextLevel[i])
+                .build();
+    }
+
+    /** Ek pass me teeno axes ke per-value aggregates. */
+    private static List<SensitivityCurve> curves(ScenarioGrid grid) {
+        Curve income = new Curve("incomeChangePercent", grid.incomeAxis);
+        Curve payment = new Curve("monthlyLoanPayment", grid.paymentAxis);
+        Curve target = new Curve("utilizationTarget", grid.targetAxis);
+        for (int i = 0; i < grid.size; i++) {
+            int score = grid.horizonScores[i];
+            boolean reached = grid.monthsToNextLevel[i] >= 0;
+            income.add(grid.incomeIndex(i), score, reached);
+            payment.add(grid.paymentIndex(i), score, reached);
+            target.add(grid.targetIndex(i), score, reached);
+        }
+        return List.of(income.build(), payment.build(), target.build());
+    }
+
+    private long threadTime() {
+        return threadCpuTime ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    @PreDestroy
+    void close() {
+        pool.shutdownNow();
+    }
+
+    private final class EvaluateTask extends RecursiveAction {
+
+        private final ScenarioGrid grid;
+        private final SimulationRun run;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(ScenarioGrid grid, SimulationRun run, int from, int to) {
+            this.grid = grid;
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (run.stopped()) {
+                return;
+            }
+            if (to - from > LEAF_SCENARIOS) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new EvaluateTask(grid, run, from, mid), new EvaluateTask(grid, run, mid, to));
+                return;
+            }
+            long started = threadTime();
+            for (int lo = from; lo < to && !run.stopped(); lo += CHUNK) {
+                grid.evaluate(lo, Math.min(to, lo + CHUNK));
+            }
+            run.charge(threadTime() - started);
+        }
+    }
+
+    private static final class Curve {
+
+        private final String parameter;
+        private final double[] values;
+        private final long[] sums;
+        private final int[] counts;
+        private final int[] reached;
+        private final int[] min;
+        private final int[] max;
+
+        Curve(String parameter, double[] values) {
+            this.parameter = parameter;
+            this.values = values;
+            this.sums = new long[values.length];
+            this.counts = new int[values.length];
+            this.reached = new int[values.length];
+            this.min = new int[values.length];
+            this.max = new int[values.length];
+            Arrays.fill(min, Integer.MAX_VALUE);
+        }
+
+        void add(int index, int score, boolean reachedNext) {
+            sums[index] += score;
+            counts[index]++;
+            if (reachedNext) {
+                reached[index]++;
+            }
+            min[index] = Math.min(min[index], score);
+            max[index] = Math.max(max[index], score);
+        }
+
+        SensitivityCurve build() {
+            double[] mean = new double[values.length];
+            double[] share = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                mean[i] = counts[i] == 0 ? 0 : (double) sums[i] / counts[i];
+                share[i] = counts[i] == 0 ? 0 : (double) reached[i] / counts[i];
+            }
+            return SensitivityCurve.builder()
+                    .parameter(parameter)
+                    .values(values)
+                    .meanScore(mean)
+                    .minScore(min)
+                    .maxScore(max)
+                    .reachNextLevelShare(share)
+                    .build();
+        }
+    }
+}
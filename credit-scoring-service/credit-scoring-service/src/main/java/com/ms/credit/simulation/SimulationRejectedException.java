@@ -0,0 +1,13 @@
+package com.ms.credit.simulation;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Grid bahut bada ya CPU budget khatam - client chhota grid bheje. */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_CONTENT)
+public class SimulationRejectedException extends RuntimeException {
+
+    public SimulationRejectedException(String message) {
+        super(message);
+    }
+}
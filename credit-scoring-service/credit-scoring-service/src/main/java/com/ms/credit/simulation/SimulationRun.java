@@ -0,0 +1,106 @@
+package com.ms.credit.simulation;
+
+import com.ms.credit.dto.SimulationResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ek chalta hua simulation: result future + stop flag. Leaf tasks har chunk ke baad flag dekhte
+ * hain aur apna CPU time yahan charge karte hain; budget paar hote hi baaki kaam ruk jata hai.
+ *
+ * Tomcat idle async request pe client disconnect notice nahi karta (pata tab chalta hai jab
+ * likhne jao), isliye {@link #await} wait karte hue heartbeat likhta hai - fail = client gaya = cancel.
+ */
+public final class SimulationRun {
+
+    static final String BUDGET_EXCEEDED = "cpu budget exceeded";
+
+    private final long cpuBudgetNanos;
+    private final AtomicLong cpuNanos = new AtomicLong();
+    private volatile String stopReason;
+    private CompletableFuture<SimulationResponse> result;
+
+    SimulationRun(long cpuBudgetNanos) {
+        this.cpuBudgetNanos = cpuBudgetNanos;
+    }
+
+    public CompletableFuture<SimulationResponse> result() {
+        return result;
+    }
+
+    /** Har interval pe heartbeat - client band kar chuka ho to IOException. */
+    @FunctionalInterface
+    public interface Heartbeat {
+        void beat() throws IOException;
+    }
+
+    /**
+     * Result ka wait. interval tak result na aaye to har interval pe heartbeat; heartbeat fail
+     * (client disconnect) ya timeout pe run cancel.
+     */
+    public SimulationResponse await(Duration timeout, Duration interval, Heartbeat heartbeat) throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            try {
+                return result.get(interval.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (System.nanoTime() - deadline > 0) {
+                    cancel("timeout");
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Simulation timed out");
+                }
+                try {
+                    heartbeat.beat();
+                } catch (IOException disconnected) {
+                    cancel("client disconnected");
+                    throw disconnected;
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("Simulation failed", e.getCause());
+            } catch (InterruptedException e) {
+                cancel("interrupted");
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for simulation", e);
+            }
+        }
+    }
+
+    /** Client chala gaya / timeout - pehla reason hi rehta hai. Complete run pe no-op. */
+    public void cancel(String reason) {
+        if (stopReason == null) {
+            stopReason = reason;
+        }
+    }
+
+    boolean stopped() {
+        return stopReason != null;
+    }
+
+    String stopReason() {
+        return stopReason;
+    }
+
+    void charge(long nanos) {
+        if (cpuNanos.addAndGet(nanos) > cpuBudgetNanos) {
+            cancel(BUDGET_EXCEEDED);
+        }
+    }
+
+    long cpuNanos() {
+        return cpuNanos.get();
+    }
+
+    void attach(CompletableFuture<SimulationResponse> result) {
+        this.result = result;
+    }
+}
@@ -0,0 +1,4 @@
+package com.ms.credit.users;
+
+public record DirectoryUser(long userId, String email, UserStatus status) {
+}
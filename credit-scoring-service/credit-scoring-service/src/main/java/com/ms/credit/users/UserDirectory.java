@@ -0,0 +1,283 @@
+package com.ms.credit.users;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * LOCAL USER DIRECTORY (user-management-ms ka read replica)
+ *
+ * userId -> (email, status), bina boxing ke: open-addressing long[] keys + long[] refs, aur saare
+ * emails ek UTF-8 byte arena me. ref = arena offset | length (16 bits) | status (8 bits).
+ * Per user ~16 bytes + email bytes; HashMap&lt;Long, User&gt; ka ~100 bytes overhead nahi.
+ *
+ * Ek writer (replicator) aur bahut saare readers: reads StampedLock ke optimistic mode me
+ * (koi CAS / lock write nahi), writer ke beech me pakde jayen to read lock se dobara.
+ * Email update pe purane bytes arena me garbage bante hain; aadha garbage hone pe rebuild.
+ */
+public final class UserDirectory {
+
+    private static final int SNAPSHOT_MAGIC = 0x55444952;   // UDIR
+    private static final long EMPTY = 0;                     // user ids 1 se shuru hote hain
+
+    private final StampedLock lock = new StampedLock();
+
+    // lock ke andar hi badalte hain
+    private long[] keys;
+    private long[] refs;
+    private byte[] arena;
+    private int arenaUsed;
+    private int garbage;
+    private int size;
+    // ab tak dekha sabse bada userId - naya register hua user isse upar hota hai (fail-open ke liye)
+    private volatile long maxUserId;
+
+    public UserDirectory() {
+        this(1024);
+    }
+
+    UserDirectory(int expectedUsers) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedUsers * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.refs = new long[capacity];
+        this.arena = new byte[Math.max(1024, expectedUsers * 24)];
+    }
+
+    public boolean contains(long userId) {
+        long stamp = lock.tryOptimisticRead();
+        boolean found = slotOf(keys, userId) >= 0;
+        if (lock.validate(stamp)) {
+            return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return slotOf(keys, userId) >= 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Email String sirf yahin banti hai; contains() allocation-free hai. */
+    public Optional<DirectoryUser> find(long userId) {
+        long stamp = lock.readLock();
+        try {
+            int slot = slotOf(keys, userId);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            long ref = refs[slot];
+            String email = new String(arena, offsetOf(ref), lengthOf(ref), StandardCharsets.UTF_8);
+            return Optional.of(new DirectoryUser(userId, email, UserStatus.of(statusOf(ref))));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Insert ya overwrite (replay idempotent hai). Sirf replicator thread call karta hai. */
+    public void upsert(long userId, String email, UserStatus status) {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("userId must be positive");
+        }
+        byte[] bytes = email.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("email too long");
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (userId > maxUserId) {
+                maxUserId = userId;
+            }
+            int slot = slotOf(keys, userId);
+            if (slot >= 0) {
+                long ref = refs[slot];
+                if (lengthOf(ref) == bytes.length
+                        && Arrays.equals(arena, offsetOf(ref), offsetOf(ref) + bytes.length, bytes, 0, bytes.length)) {
+                    refs[slot] = pack(offsetOf(ref), bytes.length, status.ordinal());
+                    return;
+                }
+                garbage += lengthOf(ref);
+                refs[slot] = pack(append(bytes), bytes.length, status.ordinal());
+            } else {
+                if ((size + 1) * 4L > keys.length * 3L) {
+                    rehash(keys.length << 1);
+                }
+                insert(userId, append(bytes), bytes.length, status.ordinal());
+                size++;
+            }
+            if (garbage > arenaUsed / 2 && garbage > 1 << 16) {
+                rehash(keys.length);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Poora content dusri directory se (snapshot catch-up) - readers ko half-loaded state nahi dikhti. */
+    public void replaceWith(UserDirectory other) {
+        long stamp = lock.writeLock();
+        try {
+            this.keys = other.keys;
+            this.refs = other.refs;
+            this.arena = other.arena;
+            this.arenaUsed = other.arenaUsed;
+            this.garbage = other.garbage;
+            this.size = other.size;
+            this.maxUserId = other.maxUserId;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Directory me aaya sabse bada userId (0 = khaali). */
+    public long maxUserId() {
+        return maxUserId;
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int value = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    /** Heap footprint (arrays + arena), stats ke liye. */
+    public long memoryBytes() {
+        long stamp = lock.readLock();
+        try {
+            return keys.length * 16L + arena.length;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Local checkpoint: magic, seq, count, count x (userId, status, email). */
+    public void writeTo(DataOutputStream out, long seq) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(seq);
+            out.writeInt(size);
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    long ref = refs[slot];
+                    out.writeLong(keys[slot]);
+                    out.writeByte(statusOf(ref));
+                    out.writeShort(lengthOf(ref));
+                    out.write(arena, offsetOf(ref), lengthOf(ref));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** {@link #writeTo} ka ulta; checkpoint ka seq lautata hai. */
+    public static long readFrom(DataInputStream in, UserDirectory target) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a user directory checkpoint");
+        }
+        long seq = in.readLong();
+        int count = in.readInt();
+        byte[] buffer = new byte[256];
+        for (int i = 0; i < count; i++) {
+            long userId = in.readLong();
+            int status = in.readUnsignedByte();
+            int length = in.readUnsignedShort();
+            if (buffer.length < length) {
+                buffer = new byte[length];
+            }
+            in.readFully(buffer, 0, length);
+            target.upsert(userId, new String(buffer, 0, length, StandardCharsets.UTF_8), UserStatus.of(status));
+        }
+        return seq;
+    }
+
+    private static int slotOf(long[] keys, long userId) {
+        int mask = keys.length - 1;
+        int slot = mix(userId) & mask;
+        while (true) {
+            long key = keys[slot];
+            if (key == userId) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insert(long userId, int offset, int length, int status) {
+        int mask = keys.length - 1;
+        int slot = mix(userId) & mask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = userId;
+        refs[slot] = pack(offset, length, status);
+    }
+
+    private int append(byte[] bytes) {
+        if (arenaUsed + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaUsed + bytes.length));
+        }
+        int offset = arenaUsed;
+        System.arraycopy(bytes, 0, arena, offset, bytes.length);
+        arenaUsed += bytes.length;
+        return offset;
+    }
+
+    /** Naye arrays + compact arena; purane arrays optimistic readers ke liye intact rehte hain. */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldRefs = refs;
+        byte[] oldArena = arena;
+        keys = new long[capacity];
+        refs = new long[capacity];
+        arena = new byte[Math.max(1024, (arenaUsed - garbage) * 2)];
+        arenaUsed = 0;
+        garbage = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                long ref = oldRefs[slot];
+                int length = lengthOf(ref);
+                int offset = arenaUsed;
+                System.arraycopy(oldArena, offsetOf(ref), arena, offset, length);
+                arenaUsed += length;
+                insert(oldKeys[slot], offset, length, statusOf(ref));
+            }
+        }
+    }
+
+    private static long pack(int offset, int length, int status) {
+        return ((long) offset << 24) | ((long) length << 8) | status;
+    }
+
+    private static int offsetOf(long ref) {
+        return (int) (ref >>> 24);
+    }
+
+    private static int lengthOf(long ref) {
+        return (int) (ref >>> 8) & 0xFFFF;
+    }
+
+    private static int statusOf(long ref) {
+        return (int) ref & 0xFF;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
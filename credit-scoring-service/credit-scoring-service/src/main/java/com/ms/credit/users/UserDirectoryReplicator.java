@@ -0,0 +1,375 @@
+package com.ms.credit.users;
+
+import com.ms.credit.dto.UserDirectoryStatsResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * USER DIRECTORY REPLICATION
+ *
+ * user-management-ms ke change log ko follow karke {@link UserDirectory} ko up to date rakhta hai,
+ * taaki scoring requests userId validate karne ke liye network call na karein.
+ *
+ *  - startup: local checkpoint (directory + seq) load, phir us seq se changes replay
+ *  - checkpoint na ho / seq log retention ke bahar (410): user-ms se full snapshot
+ *  - har poll-interval pe seq ke baad ke changes; checkpoint-interval pe naya checkpoint
+ *
+ * seq IDENTITY hai, to commit order alag ho sakta hai: beech me chhoota seq "gap" maana jata hai
+ * aur gap-timeout tak har poll alag se uske page dobara padhta hai (rollback hua ho to gap expire).
+ *
+ * Pehla sync hone tak caughtUp() false hai - tab validation fail-open rehti hai.
+ * Sync ke baad bhi abhi register hua user ek poll-interval tak replica me nahi hota, isliye
+ * sirf woh userId reject hota hai jo replica ke dekhe sabse bade id (minus id-slack) se neeche ho
+ * aur koi gap pending na ho. id-slack: kai user-ms instances alag pooled id blocks se ids dete hain,
+ * to naya user sabse bade id se thoda neeche bhi aa sakta hai.
+ */
+@Component
+@Slf4j
+public class UserDirectoryReplicator {
+
+    private static final int CHANGES_MAGIC = 0x55434847;   // UCHG
+    private static final int SNAPSHOT_MAGIC = 0x55534E50;  // USNP
+    private static final String TOKEN_HEADER = "X-Replication-Token";
+    static final int PAGE = 5000;
+    private static final int MAX_GAPS = 10_000;
+
+    private final UserDirectory directory = new UserDirectory();
+    private final boolean enabled;
+    private final boolean validate;
+    private final long idSlack;
+    private final String sourceUrl;
+    private final String token;
+    private final Path checkpoint;
+    private final long gapTimeoutNanos;
+    private final long checkpointIntervalNanos;
+    private final HttpClient http;
+    private final ScheduledExecutorService background;
+
+    // sirf replication thread
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long checkpointedSeq = -1;
+    private long lastCheckpointNanos = System.nanoTime();
+    private long lastReadSeq;
+    private boolean failing;
+
+    private volatile long appliedSeq;
+    private volatile long sourceLatestSeq;
+    private volatile long lastSyncMillis;
+    private volatile boolean caughtUp;
+    private volatile long snapshotsLoaded;
+    private volatile long changesApplied;
+    private volatile int pendingGaps;
+
+    public UserDirectoryReplicator(@Value("${credit.users.replication.enabled:true}") boolean enabled,
+                                   @Value("${credit.users.validate:true}") boolean validate,
+                                   @Value("${credit.users.id-slack:100}") long idSlack,
+                                   @Value("${credit.users.replication.source-url:http://localhost:8081}") String sourceUrl,
+                                   @Value("${credit.users.replication.token:}") String token,
+                                   @Value("${credit.users.checkpoint:./data/user-directory/directory.snap}") Path checkpoint,
+                                   @Value("${credit.users.replication.poll-interval:1s}") Duration pollInterval,
+                                   @Value("${credit.users.replication.gap-timeout:10s}") Duration gapTimeout,
+                                   @Value("${credit.users.checkpoint-interval:5m}") Duration checkpointInterval) {
+        // bina token user-ms 403 hi dega - har second fail hone se behtar saaf off
+        if (enabled && token.isEmpty()) {
+            log.warn("credit.users.replication.token (USER_REPLICATION_TOKEN) not set - user directory replication disabled");
+        }
+        this.enabled = enabled && !token.isEmpty();
+        this.validate = validate;
+        this.idSlack = idSlack;
+        this.sourceUrl = sourceUrl.endsWith("/") ? sourceUrl.substring(0, sourceUrl.length() - 1) : sourceUrl;
+        this.token = token;
+        this.checkpoint = checkpoint;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.checkpointIntervalNanos = checkpointInterval.toNanos();
+        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+        if (!this.enabled) {
+            this.background = null;
+            return;
+        }
+        this.background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "user-directory-replicator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // startup block na ho - checkpoint load bhi background me
+        background.execute(this::loadCheckpointQuietly);
+        long interval = Math.max(1, pollInterval.toMillis());
+        background.scheduleWithFixedDelay(this::syncQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public UserDirectory directory() {
+        return directory;
+    }
+
+    /** Kam se kam ek baar source ke saath sync ho chuka (ya checkpoint se load). */
+    public boolean caughtUp() {
+        return caughtUp;
+    }
+
+    /**
+     * Directory ready ho aur user usme na ho to 422. Fail-open: directory ready nahi, gap pending hai,
+     * ya userId replica ke dekhe ids se upar hai (abhi register hua, replication lag).
+     */
+    public void checkKnownUser(Long userId) {
+        if (!validate || !caughtUp || directory.contains(userId)) {
+            return;
+        }
+        if (pendingGaps > 0 || userId > directory.maxUserId() - idSlack) {
+            return;
+        }
+        throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT, "Unknown user: " + userId);
+    }
+
+    public UserDirectoryStatsResponse stats() {
+        long applied = appliedSeq;
+        return UserDirectoryStatsResponse.builder()
+                .enabled(enabled)
+                .caughtUp(caughtUp)
+                .users(directory.size())
+                .memoryBytes(directory.memoryBytes())
+                .appliedSeq(applied)
+                .lagEvents(Math.max(0, sourceLatestSeq - applied))
+                .lastSyncMillis(lastSyncMillis)
+                .snapshotsLoaded(snapshotsLoaded)
+                .changesApplied(changesApplied)
+                .pendingGaps(pendingGaps)
+                .build();
+    }
+
+    /**
+     * Ek sync round: pehle open gaps dobara (sirf gap wale seq apply), phir appliedSeq se aage jab tak
+     * changes aate rahein. Aage wala paging hamesha appliedSeq se hota hai - rollback wala permanent gap
+     * (e.g. fail hua import chunk) usse ek hi page pe atka nahi sakta. Replication thread (aur tests) hi call karte hain.
+     */
+    void sync() throws IOException, InterruptedException {
+        if (appliedSeq == 0 && !caughtUp) {
+            loadSnapshot();
+        }
+        expireGaps();
+        refetchGaps();
+        int received;
+        do {
+            long after = appliedSeq;
+            HttpResponse<InputStream> response = get(changesPath(after));
+            if (response.statusCode() == 410) {
+                response.body().close();
+                log.info("User change log no longer has seq {} - reloading snapshot", after);
+                loadSnapshot();
+                received = PAGE;
+                continue;
+            }
+            received = applyChanges(response, false);
+        } while (received == PAGE);
+
+        caughtUp = true;
+        lastSyncMillis = System.currentTimeMillis();
+        if (appliedSeq != checkpointedSeq && System.nanoTime() - lastCheckpointNanos >= checkpointIntervalNanos) {
+            writeCheckpoint();
+        }
+    }
+
+    /**
+     * Gaps ke around ke pages: har page ke baad agla request page ke last seq ke baad wale gap se,
+     * to har call aage badhti hai aur gaps ki ginti jitni (max) pages pe khatam.
+     */
+    private void refetchGaps() throws IOException, InterruptedException {
+        Long next = gaps.isEmpty() ? null : gaps.firstKey();
+        while (next != null) {
+            HttpResponse<InputStream> response = get(changesPath(next - 1));
+            if (response.statusCode() == 410) {
+                // gaps log retention ke bahar - ab kabhi nahi aayenge
+                response.body().close();
+                log.warn("User change log no longer has gap seq {} - dropping {} open gaps", next, gaps.size());
+                gaps.clear();
+                pendingGaps = 0;
+                return;
+            }
+            int received = applyChanges(response, true);
+            next = received < PAGE ? null : gaps.higherKey(lastReadSeq);
+        }
+    }
+
+    private static String changesPath(long after) {
+        return "/api/users/replication/changes?after=" + after + "&limit=" + PAGE;
+    }
+
+    /** gapsOnly: sirf woh seqs jo abhi gap hain - baaki rows pehle hi apply ho chuki (dobara lagane se purana state wapas aata). */
+    private int applyChanges(HttpResponse<InputStream> response, boolean gapsOnly) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(ok(response).body(), 1 << 16))) {
+            if (in.readInt() != CHANGES_MAGIC) {
+                throw new IOException("Unexpected user change feed format");
+            }
+            in.readLong();                       // oldest seq (sirf 410 decision ke liye server pe)
+            sourceLatestSeq = in.readLong();
+            int count = in.readInt();
+            long now = System.nanoTime();
+            long applied = appliedSeq;
+            int changed = 0;
+            for (int i = 0; i < count; i++) {
+                long seq = in.readLong();
+                long userId = in.readLong();
+                UserStatus status = UserStatus.of(in.readUnsignedByte());
+                String email = in.readUTF();
+                lastReadSeq = seq;
+                if (gapsOnly || seq <= applied) {
+                    if (gaps.remove(seq) != null) {
+                        directory.upsert(userId, email, status);
+                        changed++;
+                    }
+                    continue;
+                }
+                directory.upsert(userId, email, status);
+                changed++;
+                for (long missing = applied + 1; missing < seq && gaps.size() < MAX_GAPS; missing++) {
+                    gaps.put(missing, now);
+                }
+                applied = seq;
+            }
+            appliedSeq = applied;
+            pendingGaps = gaps.size();
+            changesApplied += changed;
+            return count;
+        }
+    }
+
+    private void loadSnapshot() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = get("/api/users/replication/snapshot");
+        UserDirectory fresh = new UserDirectory();
+        long watermark;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(ok(response).body(), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Unexpected user snapshot format");
+            }
+            watermark = in.readLong();
+            long userId;
+            while ((userId = in.readLong()) != 0) {
+                UserStatus status = UserStatus.of(in.readUnsignedByte());
+                fresh.upsert(userId, in.readUTF(), status);
+            }
+        }
+        directory.replaceWith(fresh);
+        gaps.clear();
+        pendingGaps = 0;
+        appliedSeq = watermark;
+        snapshotsLoaded++;
+        log.info("User directory loaded from snapshot: {} users at seq {}", directory.size(), watermark);
+        writeCheckpoint();
+    }
+
+    private void expireGaps() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Long, Long>> it = gaps.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue() > gapTimeoutNanos) {
+                it.remove();
+            }
+        }
+    }
+
+    private HttpResponse<InputStream> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(sourceUrl + path))
+                .header(TOKEN_HEADER, token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static HttpResponse<InputStream> ok(HttpResponse<InputStream> response) throws IOException {
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("user-management-ms replied " + response.statusCode());
+        }
+        return response;
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Files.createDirectories(checkpoint.toAbsolutePath().getParent());
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        long seq = appliedSeq;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            directory.writeTo(out, seq);
+        }
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointedSeq = seq;
+        lastCheckpointNanos = System.nanoTime();
+    }
+
+    private void loadCheckpointQuietly() {
+        if (!Files.exists(checkpoint)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint), 1 << 16))) {
+            UserDirectory restored = new UserDirectory();
+            long seq = UserDirectory.readFrom(in, restored);
+            directory.replaceWith(restored);
+            appliedSeq = seq;
+            checkpointedSeq = seq;
+            // purana sahi, par user-ms down ho tab bhi validate kar sakte hain
+            caughtUp = true;
+            log.info("User directory restored from checkpoint: {} users at seq {}", directory.size(), seq);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable user directory checkpoint {}: {}", checkpoint, e.getMessage());
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+            if (failing) {
+                log.info("User directory replication recovered at seq {}", appliedSeq);
+                failing = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // har poll pe log spam nahi - sirf state change pe
+            if (!failing) {
+                log.warn("User directory replication failing (will retry): {}", e.toString());
+                failing = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        background.shutdownNow();
+        background.awaitTermination(10, TimeUnit.SECONDS);
+        if (appliedSeq != checkpointedSeq) {
+            try {
+                writeCheckpoint();
+            } catch (IOException e) {
+                log.warn("User directory checkpoint on shutdown failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ms.credit.users;
+
+/** user-management-ms ke UserStatus ka mirror - ordinal replication wire format me jaata hai. */
+public enum UserStatus {
+    ACTIVE,
+    DISABLED;
+
+    private static final UserStatus[] VALUES = values();
+
+    static UserStatus of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,121 @@
+package com.ms.credit.batch;
+
+import com.ms.credit.dto.BatchSummary;
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.repository.CreditScoreRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class NdjsonBatchScorerTest {
+
+    @Autowired
+    private NdjsonBatchScorer batchScorer;
+
+    @Autowired
+    private CreditScoreRepository creditScoreRepository;
+
+    @Test
+    void streamsResultsAndErrorsInInputOrder() throws Exception {
+        String input = """
+                {"userId":9001,"monthlyIncome":75000,"existingLoans":300000,"creditUtilization":25,"paymentHistory":"EXCELLENT"}
+
+                {"userId":9002, "paymentHistory":"NEVER"}
+                {"userId":9003,"monthlyIncome":-5,"paymentHistory":"GOOD"}
+                {"note":"ignored","userId":9004,"monthlyIncome":20000.505,"creditUtilization":null,"paymentHistory":"POOR"}\r
+                not json
+                {"userId":9005,"paymentHistory":"FAIR"}""";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchSummary summary = batchScorer.scoreStream(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out, true);
+
+        assertEquals(3, summary.getScored());
+        assertEquals(3, summary.getFailed());
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(6, lines.size());
+        assertEquals("{\"userId\":9001,\"score\":791,\"riskCategory\":\"LOW\",\"pointsToNextLevel\":59}", lines.get(0));
+        assertEquals("{\"line\":3,\"error\":\"unknown paymentHistory\"}", lines.get(1));
+        assertEquals("{\"line\":4,\"error\":\"numbers must be non-negative plain decimals\"}", lines.get(2));
+        assertTrue(lines.get(3).startsWith("{\"userId\":9004,"));
+        assertEquals("{\"line\":6,\"error\":\"malformed JSON object\"}", lines.get(4));
+        assertTrue(lines.get(5).startsWith("{\"userId\":9005,"));
+
+        // JDBC batch insert wahi rows likhta hai jo JPA padh sake
+        assertEquals(791, creditScoreRepository.findFirstByUserIdOrderByCalculatedAtDescIdDesc(9001L)
+                .orElseThrow().getScore());
+        assertEquals(20000.51, creditScoreRepository.findFirstByUserIdOrderByCalculatedAtDescIdDesc(9004L)
+                .orElseThrow().getMonthlyIncome(), 1e-9);
+    }
+
+    @Test
+    void binaryStreamCarriesSameRecordsAsNdjson() throws Exception {
+        String input = """
+                {"userId":9101,"monthlyIncome":75000,"existingLoans":300000,"creditUtilization":25,"paymentHistory":"EXCELLENT"}
+                {"userId":9102, "paymentHistory":"NEVER"}
+                {"userId":9103,"paymentHistory":"FAIR"}""";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchSummary summary = batchScorer.scoreStream(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out, false, true);
+
+        assertEquals(2, summary.getScored());
+        BinaryScoreReader reader = new BinaryScoreReader(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(BinaryScoreReader.SCORE, reader.next());
+        assertEquals(9101, reader.userId());
+        assertEquals(791, reader.score());
+        assertEquals(RiskCategory.LOW, reader.riskCategory());
+        assertEquals(59, reader.pointsToNextLevel());
+        assertEquals(BinaryScoreReader.ERROR, reader.next());
+        assertEquals(2, reader.errorPosition());
+        assertEquals("unknown paymentHistory", reader.error());
+        assertEquals(BinaryScoreReader.SCORE, reader.next());
+        assertEquals(9103, reader.userId());
+        assertEquals(BinaryScoreReader.END, reader.next());
+        assertEquals(2, reader.scored());
+        assertEquals(1, reader.failed());
+        // 4 header + 2 x 14 score + (11 + 22) error + 17 trailer
+        assertEquals(82, out.size());
+    }
+
+    @Test
+    void scoresMappedFileInParallelChunksPreservingOrder(@TempDir Path dir) throws Exception {
+        Path input = dir.resolve("book.ndjson");
+        StringBuilder sb = new StringBuilder();
+        int rows = 20_000;
+        for (int i = 1; i <= rows; i++) {
+            sb.append("{\"userId\":").append(i)
+                    .append(",\"monthlyIncome\":").append(10_000 + i)
+                    .append(",\"existingLoans\":").append(i * 7)
+                    .append(",\"creditUtilization\":").append(i % 101)
+                    .append(",\"paymentHistory\":\"").append(i % 2 == 0 ? "GOOD" : "POOR").append("\"}\n");
+        }
+        Files.writeString(input, sb);
+        Path output = dir.resolve("book.scores.ndjson");
+
+        BatchSummary summary = batchScorer.scoreFile(input, output, false);
+
+        assertEquals(rows, summary.getScored());
+        assertEquals(0, summary.getFailed());
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(rows, lines.size());
+        for (int i = 0; i < rows; i += 997) {
+            assertTrue(lines.get(i).startsWith("{\"userId\":" + (i + 1) + ","), lines.get(i));
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count(), "part files should be cleaned up");
+        }
+    }
+}
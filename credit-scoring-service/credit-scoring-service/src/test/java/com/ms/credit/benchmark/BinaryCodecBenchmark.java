@@ -0,0 +1,155 @@
+package com.ms.credit.benchmark;
+
+import com.ms.credit.batch.BinaryScoreReader;
+import com.ms.credit.batch.NdjsonBatchScorer;
+import com.ms.credit.codec.BufferPool;
+import com.ms.credit.codec.ScoreHistoryCodec;
+import com.ms.credit.dto.ScoreHistoryResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs binary (application/vnd.credit.score-history / score-batch) - encode + decode cost aur payload size.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=BinaryCodec
+ * Payload sizes @Setup me print hote hain. Batch benchmarks me parse + scoring dono side same hai,
+ * farak sirf output encoding ka hai.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class BinaryCodecBenchmark {
+
+    private static final int HISTORY_POINTS = 2_000;
+    private static final int BATCH_LINES = 2_000;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    // persist=false stream path - persister / virtual threads chahiye nahi
+    private final NdjsonBatchScorer batchScorer = new NdjsonBatchScorer(null, null, new BufferPool(64 * 1024, 4));
+    private final byte[] encodeBuffer = new byte[64 * 1024];
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+
+    private ScoreHistoryResponse history;
+    private byte[] historyJson;
+    private byte[] historyBinary;
+    private byte[] batchInput;
+    private byte[] batchNdjson;
+    private byte[] batchBinary;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] timestamps = new long[HISTORY_POINTS];
+        int[] scores = new int[HISTORY_POINTS];
+        long t = 1_700_000_000_000L;
+        for (int i = 0; i < HISTORY_POINTS; i++) {
+            t += random.nextLong(60_000L, 86_400_000L);
+            timestamps[i] = t;
+            scores[i] = random.nextInt(300, 901);
+        }
+        history = ScoreHistoryResponse.builder()
+                .userId(42).from(1_700_000_000_000L).to(t + 1).timestamps(timestamps).scores(scores).build();
+        historyJson = jsonMapper.writeValueAsBytes(history);
+        out.reset();
+        ScoreHistoryCodec.encode(history, out, encodeBuffer);
+        historyBinary = out.toByteArray();
+
+        String[] histories = {"EXCELLENT", "GOOD", "FAIR", "POOR"};
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < BATCH_LINES; i++) {
+            lines.append("{\"userId\":").append(100_000 + i)
+                    .append(",\"monthlyIncome\":").append(random.nextInt(10_000, 500_000))
+                    .append(",\"existingLoans\":").append(random.nextInt(0, 2_000_000))
+                    .append(",\"creditUtilization\":").append(random.nextInt(0, 101))
+                    .append(",\"paymentHistory\":\"").append(histories[i & 3]).append("\"}\n");
+        }
+        batchInput = lines.toString().getBytes(StandardCharsets.UTF_8);
+        batchNdjson = scoreBatch(false);
+        batchBinary = scoreBatch(true);
+
+        System.out.printf("%nhistory %d points: json %d B, binary %d B%n", HISTORY_POINTS, historyJson.length, historyBinary.length);
+        System.out.printf("batch %d results: ndjson %d B, binary %d B%n", BATCH_LINES, batchNdjson.length, batchBinary.length);
+    }
+
+    @Benchmark
+    public int historyEncodeJson() throws IOException {
+        out.reset();
+        jsonMapper.writeValue(out, history);
+        return out.size();
+    }
+
+    @Benchmark
+    public int historyEncodeBinary() throws IOException {
+        out.reset();
+        ScoreHistoryCodec.encode(history, out, encodeBuffer);
+        return out.size();
+    }
+
+    /** Client side JSON parse - tree me, kyunki response DTO builder-only hai. */
+    @Benchmark
+    public Object historyDecodeJson() {
+        return jsonMapper.readTree(historyJson);
+    }
+
+    @Benchmark
+    public ScoreHistoryResponse historyDecodeBinary() throws IOException {
+        return ScoreHistoryCodec.decode(ByteBuffer.wrap(historyBinary));
+    }
+
+    @Benchmark
+    public int batchEncodeNdjson() throws IOException {
+        return scoreBatch(false).length;
+    }
+
+    @Benchmark
+    public int batchEncodeBinary() throws IOException {
+        return scoreBatch(true).length;
+    }
+
+    @Benchmark
+    public void batchDecodeNdjson(Blackhole bh) {
+        int start = 0;
+        for (int i = 0; i < batchNdjson.length; i++) {
+            if (batchNdjson[i] == '\n') {
+                bh.consume(jsonMapper.readTree(batchNdjson, start, i - start));
+                start = i + 1;
+            }
+        }
+    }
+
+    @Benchmark
+    public void batchDecodeBinary(Blackhole bh) throws IOException {
+        BinaryScoreReader reader = new BinaryScoreReader(new ByteArrayInputStream(batchBinary), encodeBuffer);
+        int type;
+        while ((type = reader.next()) != BinaryScoreReader.END) {
+            if (type == BinaryScoreReader.SCORE) {
+                bh.consume(reader.userId());
+                bh.consume(reader.score());
+                bh.consume(reader.riskCategory());
+                bh.consume(reader.pointsToNextLevel());
+            } else {
+                bh.consume(reader.errorPosition());
+                bh.consume(reader.error());
+            }
+        }
+    }
+
+    private byte[] scoreBatch(boolean binary) throws IOException {
+        out.reset();
+        batchScorer.scoreStream(new ByteArrayInputStream(batchInput), out, false, binary);
+        return out.toByteArray();
+    }
+}
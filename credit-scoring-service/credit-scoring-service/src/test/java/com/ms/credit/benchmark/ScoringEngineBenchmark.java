@@ -0,0 +1,63 @@
+package com.ms.credit.benchmark;
+
+import com.ms.credit.engine.RiskCategory;
+import com.ms.credit.engine.ScoringEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores per second per core for the scoring engine.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ScoringEngine
+ * "-prof gc" ke output me gc.alloc.rate.norm ~0 B/op hona chahiye (steady-state zero allocation).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class ScoringEngineBenchmark {
+
+    private static final int SIZE = 4096; // power of two - index mask ke liye
+
+    private final long[] incomes = new long[SIZE];
+    private final long[] loans = new long[SIZE];
+    private final int[] utilizations = new int[SIZE];
+    private final int[] paymentHistories = new int[SIZE];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            incomes[i] = random.nextLong(1_000_000L, 50_000_000L);   // 10k - 5 lakh rupees
+            loans[i] = random.nextLong(0L, 2_000_000_000L);
+            utilizations[i] = random.nextInt(0, ScoringEngine.BP_SCALE + 1);
+            paymentHistories[i] = random.nextInt(0, 4);
+        }
+    }
+
+    @Benchmark
+    public long evaluate() {
+        int i = cursor++ & (SIZE - 1);
+        return ScoringEngine.evaluate(incomes[i], loans[i], utilizations[i], paymentHistories[i]);
+    }
+
+    /** Engine + sab response fields (band, range, recommendations, next level) - controller jitna kaam. */
+    @Benchmark
+    public void evaluateWithResponseFields(Blackhole bh) {
+        int i = cursor++ & (SIZE - 1);
+        long packed = ScoringEngine.evaluate(incomes[i], loans[i], utilizations[i], paymentHistories[i]);
+        int score = ScoringEngine.scoreOf(packed);
+        RiskCategory category = RiskCategory.of(score);
+        bh.consume(score);
+        bh.consume(category.getScoreRange());
+        bh.consume(category.recommendations(ScoringEngine.flagsOf(packed)));
+        bh.consume(category.pointsToNextLevel(score));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ms.credit.cache;
+
+import com.ms.credit.dto.CacheStatsResponse;
+import com.ms.credit.dto.CreditScoreRequest;
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.service.CreditScoreService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ScoreCacheTest {
+
+    @Autowired
+    private CreditScoreService creditScoreService;
+
+    @Autowired
+    private ScoreCache scoreCache;
+
+    @Test
+    void calculateInvalidatesCachedScoreOnCommit() {
+        long userId = 7001L;
+
+        // negative lookup bhi cache hota hai...
+        assertThrows(RuntimeException.class, () -> creditScoreService.getLatestScore(userId));
+
+        // ...par calculate commit hote hi hat jata hai
+        creditScoreService.calculate(request(userId, PaymentHistory.POOR));
+        int first = creditScoreService.getLatestScore(userId).getScore();
+
+        CacheStatsResponse before = scoreCache.stats();
+        assertEquals(first, creditScoreService.getLatestScore(userId).getScore());
+        assertEquals(before.getHitCount() + 1, scoreCache.stats().getHitCount());
+
+        creditScoreService.calculate(request(userId, PaymentHistory.EXCELLENT));
+        int second = creditScoreService.getLatestScore(userId).getScore();
+
+        assertTrue(second > first, "stale score served after recalculation");
+    }
+
+    private static CreditScoreRequest request(long userId, PaymentHistory history) {
+        return CreditScoreRequest.builder()
+                .userId(userId)
+                .monthlyIncome(50_000)
+                .existingLoans(100_000)
+                .creditUtilization(20)
+                .paymentHistory(history)
+                .build();
+    }
+}
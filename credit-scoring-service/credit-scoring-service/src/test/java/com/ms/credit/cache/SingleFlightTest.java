@@ -0,0 +1,196 @@
+package com.ms.credit.cache;
+
+import com.ms.credit.dto.CacheStatsResponse;
+import com.ms.credit.dto.CreditScoreResponse;
+import com.ms.credit.dto.SingleFlightStatsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test");
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = runConcurrently(() -> flight.execute("user-1", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return 42;
+        }), () -> flight.stats().getCollapsed(), release);
+
+        for (Future<Integer> result : results) {
+            assertEquals(42, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        SingleFlightStatsResponse stats = flight.stats();
+        assertEquals(1, stats.getExecutions());
+        assertEquals(CALLERS - 1, stats.getCollapsed());
+        assertEquals(0, stats.getInFlight());
+
+        // flight khatam - agla call naya computation karta hai
+        assertEquals(7, flight.execute("user-1", () -> 7));
+    }
+
+    @Test
+    void leaderFailureReachesEveryFollower() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test");
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = runConcurrently(() -> flight.execute("user-1", () -> {
+            await(release);
+            throw new IllegalStateException("db down");
+        }), () -> flight.stats().getCollapsed(), release);
+
+        for (Future<Integer> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("db down", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void scoreCacheMissesCollapseOntoOneLoad() throws Exception {
+        ScoreCache cache = new ScoreCache(true, 1 << 20, Duration.ofMinutes(1), Duration.ofSeconds(30));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CreditScoreResponse score = CreditScoreResponse.builder().userId(9L).score(700).build();
+
+        List<Future<Optional<CreditScoreResponse>>> results = runConcurrently(() -> cache.get(9L, id -> {
+            loads.incrementAndGet();
+            await(release);
+            return Optional.of(score);
+        }), () -> cache.loadCoalescingStats().getCollapsed(), release);
+
+        for (Future<Optional<CreditScoreResponse>> result : results) {
+            assertEquals(700, result.get(5, TimeUnit.SECONDS).orElseThrow().getScore());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, cache.loadCoalescingStats().getCollapsed());
+
+        cache.get(9L, id -> Optional.empty());
+        CacheStatsResponse stats = cache.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(CALLERS, stats.getMissCount());
+    }
+
+    @Test
+    void forgottenKeyStartsAFreshExecution() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test");
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> leader = pool.submit(() -> flight.execute("user-1", () -> {
+                await(release);
+                return 1;
+            }));
+            waitForInFlight(() -> flight.stats().getInFlight());
+
+            // data badla - leader ka result purana hai, naya caller usse join na kare
+            flight.forget("user-1");
+            assertEquals(2, flight.execute("user-1", () -> 2));
+
+            release.countDown();
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            assertEquals(2, flight.stats().getExecutions());
+            assertEquals(0, flight.stats().getCollapsed());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidateWhileLoadInFlightIsNotJoinedByLaterGets() throws Exception {
+        // cache off: load Caffeine compute ke bahar chalta hai, to invalidate leader ka wait nahi karta
+        ScoreCache cache = new ScoreCache(false, 1 << 20, Duration.ofMinutes(1), Duration.ofSeconds(30));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<CreditScoreResponse>> leader = pool.submit(() -> cache.get(9L, id -> {
+                await(release);   // commit se pehle padha hua score
+                return Optional.of(CreditScoreResponse.builder().userId(9L).score(600).build());
+            }));
+            waitForInFlight(() -> cache.loadCoalescingStats().getInFlight());
+
+            cache.invalidate(9L);   // writer ka afterCommit
+            Optional<CreditScoreResponse> afterCommit = cache.get(9L,
+                    id -> Optional.of(CreditScoreResponse.builder().userId(9L).score(750).build()));
+
+            assertEquals(750, afterCommit.orElseThrow().getScore());
+            release.countDown();
+            assertEquals(600, leader.get(5, TimeUnit.SECONDS).orElseThrow().getScore());
+            assertEquals(0, cache.loadCoalescingStats().getCollapsed());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void waitForInFlight(LongSupplier inFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.getAsLong() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, inFlight.getAsLong());
+    }
+
+    /**
+     * CALLERS threads ek saath chalao; leader ko tab tak roko jab tak baaki sab follower ban chuke hon.
+     */
+    private static <T> List<Future<T>> runConcurrently(Supplier<T> call, LongSupplier collapsed,
+                                                      CountDownLatch release) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch started = new CountDownLatch(CALLERS);
+        List<Future<T>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(pool.submit(() -> {
+                    started.countDown();
+                    return call.get();
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // followers ko putIfAbsent tak pahunchne do
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (collapsed.getAsLong() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<T> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                } catch (Exception ignored) {
+                    // caller test assert karega
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ms.credit.codec;
+
+import com.ms.credit.batch.BinaryScoreReader;
+import com.ms.credit.dto.ScoreHistoryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryContentNegotiationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void historyIsBinaryOnlyWhenAskedByName() throws Exception {
+        mockMvc.perform(post("/api/credit/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":7801,\"monthlyIncome\":75000,\"existingLoans\":300000,"
+                                + "\"creditUtilization\":25,\"paymentHistory\":\"EXCELLENT\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Invalidate-Users", "7801"));
+
+        byte[] body = mockMvc.perform(get("/api/credit/history/7801").accept(BinaryMediaTypes.SCORE_HISTORY))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryMediaTypes.SCORE_HISTORY))
+                .andReturn().getResponse().getContentAsByteArray();
+        ScoreHistoryResponse history = ScoreHistoryCodec.decode(new ByteArrayInputStream(body));
+        assertEquals(7801, history.getUserId());
+        assertArrayEquals(new int[]{791}, history.getScores());
+
+        // wildcard / JSON Accept - purana behaviour
+        mockMvc.perform(get("/api/credit/history/7801").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.scores[0]").value(791));
+    }
+
+    @Test
+    void batchResultsFollowAcceptHeader() throws Exception {
+        String input = "{\"userId\":7802,\"monthlyIncome\":75000,\"paymentHistory\":\"GOOD\"}\n";
+
+        byte[] body = mockMvc.perform(post("/api/credit/batch?persist=false")
+                        .contentType("application/x-ndjson")
+                        .accept(BinaryMediaTypes.SCORE_BATCH)
+                        .content(input))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryMediaTypes.SCORE_BATCH))
+                .andReturn().getResponse().getContentAsByteArray();
+        BinaryScoreReader reader = new BinaryScoreReader(new ByteArrayInputStream(body));
+        assertEquals(BinaryScoreReader.SCORE, reader.next());
+        assertEquals(7802, reader.userId());
+        assertEquals(BinaryScoreReader.END, reader.next());
+
+        // persist=false kuch nahi likhta - gateway ko invalidate karne ko kuch nahi
+        mockMvc.perform(post("/api/credit/batch?persist=false")
+                        .contentType("application/x-ndjson")
+                        .content(input))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().doesNotExist("X-Invalidate-Users"));
+
+        mockMvc.perform(post("/api/credit/batch")
+                        .contentType("application/x-ndjson")
+                        .content("{\"userId\":7803,\"monthlyIncome\":75000,\"paymentHistory\":\"GOOD\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Invalidate-Users", "*"));
+    }
+}
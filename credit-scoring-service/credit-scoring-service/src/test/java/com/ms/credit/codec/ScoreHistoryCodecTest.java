@@ -0,0 +1,57 @@
+package com.ms.credit.codec;
+
+import com.ms.credit.dto.ScoreHistoryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreHistoryCodecTest {
+
+    @Test
+    void roundTripsThroughSmallBuffer() throws Exception {
+        int points = 5_000;
+        long[] timestamps = new long[points];
+        int[] scores = new int[points];
+        long t = 1_700_000_000_000L;
+        for (int i = 0; i < points; i++) {
+            t += 3_600_000L + i;
+            timestamps[i] = t;
+            scores[i] = 300 + i % 600;
+        }
+        ScoreHistoryResponse history = ScoreHistoryResponse.builder()
+                .userId(42).from(1_700_000_000_000L).to(t + 1).timestamps(timestamps).scores(scores).build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // buffer chhota - encode ko beech me kai baar flush karna padta hai
+        ScoreHistoryCodec.encode(history, out, new byte[64]);
+        ScoreHistoryResponse decoded = ScoreHistoryCodec.decode(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(42, decoded.getUserId());
+        assertEquals(history.getFrom(), decoded.getFrom());
+        assertEquals(history.getTo(), decoded.getTo());
+        assertArrayEquals(timestamps, decoded.getTimestamps());
+        assertArrayEquals(scores, decoded.getScores());
+        // ~1 ghante ke deltas 4 byte varint + 2 byte score
+        assertEquals(4 + 28 + points * 6, out.size());
+    }
+
+    @Test
+    void rejectsTruncatedAndForeignPayloads() throws Exception {
+        ScoreHistoryResponse history = ScoreHistoryResponse.builder()
+                .userId(1).from(0).to(10).timestamps(new long[]{5}).scores(new int[]{700}).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ScoreHistoryCodec.encode(history, out, new byte[256]);
+        byte[] bytes = out.toByteArray();
+
+        assertThrows(EOFException.class, () ->
+                ScoreHistoryCodec.decode(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))));
+        assertThrows(IOException.class, () ->
+                ScoreHistoryCodec.decode(new ByteArrayInputStream("{\"userId\":1}".getBytes())));
+    }
+}
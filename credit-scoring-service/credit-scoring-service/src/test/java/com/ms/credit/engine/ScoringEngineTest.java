@@ -0,0 +1,83 @@
+package com.ms.credit.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringEngineTest {
+
+    private static long score(double income, double loans, double utilization, PaymentHistory history) {
+        return ScoringEngine.evaluate(ScoringEngine.toMinorUnits(income), ScoringEngine.toMinorUnits(loans),
+                ScoringEngine.toBasisPoints(utilization), history);
+    }
+
+    @Test
+    void readmeExampleIsLowRisk() {
+        long packed = score(75_000, 300_000, 25, PaymentHistory.EXCELLENT);
+        int score = ScoringEngine.scoreOf(packed);
+
+        assertEquals(791, score);
+        assertEquals(RiskCategory.LOW, RiskCategory.of(score));
+        assertEquals(0, ScoringEngine.flagsOf(packed));
+        assertEquals("750-850", RiskCategory.LOW.getScoreRange());
+    }
+
+    @Test
+    void scoreStaysWithinBounds() {
+        assertEquals(ScoringEngine.MAX_SCORE, ScoringEngine.scoreOf(score(100_000, 0, 0, PaymentHistory.EXCELLENT)));
+        assertEquals(ScoringEngine.MIN_SCORE + 40, ScoringEngine.scoreOf(score(0, 500_000, 100, PaymentHistory.POOR)));
+        // garbage input clamp ho jata hai, exception nahi
+        assertEquals(ScoringEngine.MAX_SCORE,
+                ScoringEngine.scoreOf(ScoringEngine.evaluate(1, 0, -500, PaymentHistory.EXCELLENT)));
+    }
+
+    @Test
+    void flagsDriveRecommendations() {
+        long packed = score(20_000, 1_000_000, 80, PaymentHistory.FAIR);
+        int flags = ScoringEngine.flagsOf(packed);
+
+        assertEquals(ScoringEngine.FLAG_HIGH_UTILIZATION | ScoringEngine.FLAG_HIGH_DEBT
+                | ScoringEngine.FLAG_WEAK_PAYMENTS, flags);
+        RiskCategory category = RiskCategory.of(ScoringEngine.scoreOf(packed));
+        assertEquals(category.recommendations(0).size() + 3, category.recommendations(flags).size());
+        // same list instance har call pe - koi per-call allocation nahi
+        assertSame(category.recommendations(flags), category.recommendations(flags));
+    }
+
+    @Test
+    void pointsToNextLevel() {
+        assertEquals(70, RiskCategory.LOW.pointsToNextLevel(780));
+        assertEquals(1, RiskCategory.MEDIUM.pointsToNextLevel(749));
+        assertEquals(RiskCategory.MEDIUM, RiskCategory.of(650));
+        assertEquals(RiskCategory.VERY_HIGH, RiskCategory.of(100));
+    }
+
+    @Test
+    void steadyStateEvaluationDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeAllocationCounterSupported(bean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+
+        long sink = 0;
+        for (int i = 0; i < 200_000; i++) {
+            sink += ScoringEngine.evaluate(i * 1_000L + 1, i * 5_000L, i % 10_001, i & 3);
+        }
+        long tid = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < 1_000_000; i++) {
+            sink += ScoringEngine.evaluate(i * 1_000L + 1, i * 5_000L, i % 10_001, i & 3);
+        }
+        long allocated = threads.getThreadAllocatedBytes(tid) - before;
+
+        assertNotEquals(0, sink);
+        // sirf measurement call ka apna thoda overhead allowed hai
+        assertTrue(allocated < 1024, "engine allocated " + allocated + " bytes for 1M scores");
+    }
+
+    private static void assumeAllocationCounterSupported(java.lang.management.ThreadMXBean bean) {
+        org.junit.jupiter.api.Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+    }
+}
@@ -0,0 +1,130 @@
+package com.ms.credit.events;
+
+import com.ms.credit.dto.CreditScoreRequest;
+import com.ms.credit.dto.RecalculationAcceptedResponse;
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.engine.ScoringEngine;
+import com.ms.credit.entity.ScoreOutbox;
+import com.ms.credit.repository.CreditScoreRepository;
+import com.ms.credit.repository.ScoreOutboxRepository;
+import com.ms.credit.service.CreditScoreService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ScoreEventPipelineTest {
+
+    @Autowired
+    private ScoreEventProcessor processor;
+
+    @Autowired
+    private ScoreEventPipeline pipeline;
+
+    @Autowired
+    private CreditScoreService creditScoreService;
+
+    @Autowired
+    private ScoreOutboxRepository outboxRepository;
+
+    @Autowired
+    private CreditScoreRepository creditScoreRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void batchWritesOneScorePerUserAndSkipsRedelivery() {
+        ScoreRecalculationEvent first = outbox(8101, 20000, PaymentHistory.POOR);
+        ScoreRecalculationEvent second = outbox(8101, 50000, PaymentHistory.FAIR);
+        ScoreRecalculationEvent latest = outbox(8101, 90000, PaymentHistory.EXCELLENT);
+        ScoreRecalculationEvent other = outbox(8102, 40000, PaymentHistory.GOOD);
+        List<ScoreRecalculationEvent> batch = List.of(second, other, latest, first);
+
+        processor.process(batch);
+
+        assertEquals(1, scoreRows(8101));
+        assertEquals(1, scoreRows(8102));
+        assertEquals(expectedScore(latest), creditScoreRepository
+                .findFirstByUserIdOrderByCalculatedAtDescIdDesc(8101L).orElseThrow().getScore());
+        for (ScoreRecalculationEvent event : batch) {
+            assertNotNull(outboxRepository.findById(event.outboxId()).orElseThrow().getProcessedAt());
+        }
+
+        // redelivery (relay / Kafka at-least-once) - koi nayi row nahi
+        processor.process(batch);
+        assertEquals(1, scoreRows(8101));
+    }
+
+    @Test
+    void supersededEventArrivingLateDoesNotOverwriteNewerScore() {
+        ScoreRecalculationEvent older = outbox(8103, 10000, PaymentHistory.POOR);
+        ScoreRecalculationEvent newer = outbox(8103, 80000, PaymentHistory.EXCELLENT);
+
+        processor.process(List.of(newer));
+        // older kabhi deliver nahi hua tha, par newer ne use bhi close kar diya
+        assertNotNull(outboxRepository.findById(older.outboxId()).orElseThrow().getProcessedAt());
+
+        processor.process(List.of(older));
+        assertEquals(1, scoreRows(8103));
+        assertEquals(expectedScore(newer), creditScoreRepository
+                .findFirstByUserIdOrderByCalculatedAtDescIdDesc(8103L).orElseThrow().getScore());
+    }
+
+    @Test
+    void submittedRecalculationBecomesVisibleAsLatestScore() throws Exception {
+        CreditScoreRequest request = CreditScoreRequest.builder()
+                .userId(8200L)
+                .monthlyIncome(60000)
+                .existingLoans(100000)
+                .creditUtilization(20)
+                .paymentHistory(PaymentHistory.GOOD)
+                .build();
+
+        RecalculationAcceptedResponse accepted = creditScoreService.submitRecalculation(request);
+        assertEquals("QUEUED", accepted.getStatus());
+        assertNotNull(accepted.getEventId());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (outboxRepository.findById(accepted.getEventId()).orElseThrow().getProcessedAt() == null) {
+            assertTrue(System.nanoTime() < deadline, "event not processed in time");
+            Thread.sleep(10);
+        }
+        int expected = ScoringEngine.scoreOf(ScoringEngine.evaluate(
+                ScoringEngine.toMinorUnits(60000), ScoringEngine.toMinorUnits(100000),
+                ScoringEngine.toBasisPoints(20), PaymentHistory.GOOD));
+        assertEquals(expected, creditScoreService.getLatestScore(8200L).getScore());
+        assertTrue(pipeline.stats().getScoresWritten() >= 1);
+    }
+
+    private ScoreRecalculationEvent outbox(long userId, double income, PaymentHistory history) {
+        ScoreOutbox row = outboxRepository.save(ScoreOutbox.builder()
+                .userId(userId)
+                .monthlyIncome(income)
+                .existingLoans(50000)
+                .creditUtilization(30)
+                .paymentHistory(history)
+                .createdAt(Instant.now())
+                .build());
+        return ScoreRecalculationEvent.of(row);
+    }
+
+    private int scoreRows(long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM credit_scores WHERE user_id = ?", Integer.class, userId);
+    }
+
+    private static int expectedScore(ScoreRecalculationEvent event) {
+        return ScoringEngine.scoreOf(ScoringEngine.evaluate(
+                ScoringEngine.toMinorUnits(event.monthlyIncome()),
+                ScoringEngine.toMinorUnits(event.existingLoans()),
+                ScoringEngine.toBasisPoints(event.creditUtilization()),
+                event.paymentHistory()));
+    }
+}
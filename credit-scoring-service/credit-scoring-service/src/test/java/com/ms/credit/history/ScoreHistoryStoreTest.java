@@ -0,0 +1,97 @@
+package com.ms.credit.history;
+
+import com.ms.credit.dto.ScoreHistoryResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreHistoryStoreTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long START = 1_700_000_000_000L;
+
+    private static ScoreHistoryStore open(Path dir) {
+        // maintenance interval lamba rakha hai taaki test khud flush/compact control kare
+        return new ScoreHistoryStore(true, dir, 1_000_000, Duration.ofHours(1), 3, 1L << 30, false);
+    }
+
+    @Test
+    void rangeQueriesSpanSegmentsMemtableAndCompaction(@TempDir Path dir) throws Exception {
+        ScoreHistoryStore store = open(dir);
+        int users = 500;
+
+        // 4 "months", har ek alag segment me
+        for (int month = 0; month < 4; month++) {
+            for (int user = 1; user <= users; user++) {
+                store.append(user, START + month * 30 * DAY, 600 + month * 10 + user % 7);
+            }
+            store.flush();
+        }
+        // 5th month abhi memtable/WAL me hi hai
+        for (int user = 1; user <= users; user++) {
+            store.append(user, START + 4 * 30 * DAY, 700);
+        }
+        assertEquals(4, store.segmentCount());
+
+        ScoreHistoryResponse all = store.query(42, 0, Long.MAX_VALUE);
+        assertArrayEquals(new int[]{600, 610, 620, 630, 700}, all.getScores());
+
+        ScoreHistoryResponse middle = store.query(42, START + 25 * DAY, START + 95 * DAY);
+        assertArrayEquals(new long[]{START + 30 * DAY, START + 60 * DAY, START + 90 * DAY}, middle.getTimestamps());
+
+        assertTrue(store.compact());
+        assertEquals(1, store.segmentCount());
+        assertArrayEquals(all.getScores(), store.query(42, 0, Long.MAX_VALUE).getScores());
+        assertEquals(0, store.query(users + 1, 0, Long.MAX_VALUE).getScores().length);
+
+        // restart: segment + WAL replay se same data
+        store.close();
+        ScoreHistoryStore reopened = open(dir);
+        assertArrayEquals(all.getTimestamps(), reopened.query(42, 0, Long.MAX_VALUE).getTimestamps());
+        assertEquals(5, reopened.query(users, 0, Long.MAX_VALUE).getScores().length);
+        reopened.close();
+    }
+
+    @Test
+    void unflushedWriteAheadLogIsReplayedAfterCrash(@TempDir Path dir) throws Exception {
+        ScoreHistoryStore store = open(dir);
+        store.append(7, START, 650);
+        store.append(7, START + DAY, 655);
+        // close() nahi - crash simulate; WAL disk pe hai
+
+        ScoreHistoryStore recovered = open(dir);
+        assertArrayEquals(new int[]{650, 655}, recovered.query(7, 0, Long.MAX_VALUE).getScores());
+
+        recovered.flush();
+        try (var files = Files.list(dir)) {
+            // replayed WAL flush ke baad delete ho jata hai: ek segment + naya WAL
+            assertEquals(2, files.count());
+        }
+        recovered.close();
+    }
+
+    @Test
+    void encodingIsCompact(@TempDir Path dir) throws Exception {
+        ScoreHistoryStore store = open(dir);
+        int users = 1_000;
+        int pointsPerUser = 24;
+        for (int p = 0; p < pointsPerUser; p++) {
+            for (int user = 1; user <= users; user++) {
+                store.append(user, START + p * 30 * DAY, 650 + (p % 5));
+            }
+        }
+        store.flush();
+        long bytes;
+        try (var files = Files.list(dir)) {
+            bytes = files.filter(f -> f.toString().endsWith(".hist")).mapToLong(f -> f.toFile().length()).sum();
+        }
+        double perPoint = (double) bytes / (users * pointsPerUser);
+        assertTrue(perPoint < 3, "expected < 3 bytes per point, got " + perPoint);
+        store.close();
+    }
+}
@@ -0,0 +1,201 @@
+package com.ms.credit.loadtest;
+
+import com.ms.credit.CreditScoringServiceApplication;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PLATFORM vs VIRTUAL THREADS - closed-loop load test
+ *
+ * Service do baar boot hoti hai (platform, phir virtual), H2 ke saath. /loadtest/query endpoint
+ * Hikari se connection leta hai, usse db-latency-ms tak pakad ke rakhta hai (slow MySQL query
+ * jaisa) aur ek real SELECT chalata hai. `concurrency` clients bina ruke requests bhejte hain.
+ *
+ * Report: throughput, p50/p99 latency aur server pe max in-flight requests.
+ * Platform mode me in-flight Tomcat ke 200 threads pe rukta hai, virtual me DB pool pe.
+ *
+ * Java 21+ pe chalao (JAVA_HOME), warna virtual mode platform pe fall back karta hai:
+ *   JAVA_HOME=/path/to/jdk21 mvn -Pload-test test-compile exec:exec
+ */
+public class ThreadModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 800);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 15);
+    private static final int DB_LATENCY_MS = Integer.getInteger("loadtest.db-latency-ms", 50);
+    private static final int DB_POOL = Integer.getInteger("loadtest.db-pool", 400);
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("Java %d, %d clients, %d ms DB latency, DB pool %d, %d s per mode%n",
+                Runtime.version().feature(), CONCURRENCY, DB_LATENCY_MS, DB_POOL, SECONDS);
+
+        List<String> rows = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            rows.add(run(virtual));
+        }
+
+        System.out.println();
+        System.out.printf("%-9s %10s %10s %10s %10s %14s%n", "mode", "requests", "req/s", "p50 ms", "p99 ms", "max in-flight");
+        rows.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String run(boolean virtual) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                CreditScoringServiceApplication.class, LoadTestEndpoint.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + virtual + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=" + DB_POOL,
+                        "spring.datasource.hikari.connection-timeout=60000",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "server.tomcat.max-connections=" + (CONCURRENCY * 2),
+                        "server.tomcat.accept-count=" + CONCURRENCY,
+                        "credit.history.dir=" + Files.createTempDirectory("loadtest-history"),
+                        "logging.level.root=WARN",
+                        "loadtest.db-latency-ms=" + DB_LATENCY_MS)
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestEndpoint endpoint = context.getBean(LoadTestEndpoint.class);
+            URI uri = URI.create("http://localhost:" + port + "/loadtest/query");
+
+            drive(uri, WARMUP_SECONDS);
+            endpoint.maxInFlight.set(0);
+            long[] latencies = drive(uri, SECONDS);
+
+            Arrays.sort(latencies);
+            return String.format("%-9s %10d %10d %10.1f %10.1f %14d",
+                    virtual ? "virtual" : "platform",
+                    latencies.length,
+                    latencies.length / SECONDS,
+                    percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6,
+                    endpoint.maxInFlight.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    /** `CONCURRENCY` clients, har ek pichla response aate hi agli request bhejta hai. */
+    private static long[] drive(URI uri, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        long[][] perClient = new long[CONCURRENCY][];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(CONCURRENCY);
+        for (int c = 0; c < CONCURRENCY; c++) {
+            int slot = c;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[256];
+                int count = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                } finally {
+                    perClient[slot] = Arrays.copyOf(samples, count);
+                    done.countDown();
+                }
+            }, "loadtest-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        if (errors.get() > 0) {
+            System.out.println("  errors: " + errors.get());
+        }
+
+        long[] all = new long[Arrays.stream(perClient).mapToInt(a -> a.length).sum()];
+        int offset = 0;
+        for (long[] samples : perClient) {
+            System.arraycopy(samples, 0, all, offset, samples.length);
+            offset += samples.length;
+        }
+        return all;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    /** Slow query ka stand-in: connection pakad ke rakhta hai, phir ek real SELECT. */
+    @Configuration
+    @RestController
+    @ConditionalOnProperty("loadtest.db-latency-ms")   // normal tests me component scan isse skip kare
+    static class LoadTestEndpoint {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private final DataSource dataSource;
+        private final long latencyMillis;
+
+        LoadTestEndpoint(DataSource dataSource,
+                         @Value("${loadtest.db-latency-ms}") long latencyMillis) {
+            this.dataSource = dataSource;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @GetMapping("/loadtest/query")
+        public String query() throws Exception {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                Thread.sleep(latencyMillis);
+                statement.execute("select count(*) from credit_scores");
+                return "ok";
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
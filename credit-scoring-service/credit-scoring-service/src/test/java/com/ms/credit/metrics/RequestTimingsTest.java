@@ -0,0 +1,52 @@
+package com.ms.credit.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "metrics.timing-header.enabled=true")
+@AutoConfigureMockMvc
+class RequestTimingsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void calculateAndScoreReportStageBreakdown() throws Exception {
+        mockMvc.perform(post("/api/credit/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":7701,\"monthlyIncome\":75000,\"existingLoans\":300000,"
+                                + "\"creditUtilization\":25,\"paymentHistory\":\"EXCELLENT\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(startsWith("total;dur="),
+                        containsString("engine;dur="), containsString("db.save;dur="),
+                        containsString("statements\""))));
+
+        // pehla GET cache miss - DB load bhi dikhna chahiye
+        mockMvc.perform(get("/api/credit/score/7701"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(containsString("score.lookup;dur="),
+                        containsString("db.score-load;dur="))));
+
+        mockMvc.perform(get("/metrics/timings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints['POST /api/credit/calculate'].count").value(1))
+                .andExpect(jsonPath("$.endpoints['POST /api/credit/calculate'].statementsPerRequest").value(greaterThan(0.0)))
+                .andExpect(jsonPath("$.endpoints['GET /api/credit/score/{userId}'].count").value(1))
+                .andExpect(jsonPath("$.stages['engine'].count").value(greaterThan(0)))
+                .andExpect(jsonPath("$.pools").isNotEmpty());
+    }
+}
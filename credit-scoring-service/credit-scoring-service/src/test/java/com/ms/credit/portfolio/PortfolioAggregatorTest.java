@@ -0,0 +1,130 @@
+package com.ms.credit.portfolio;
+
+import com.ms.credit.dto.PortfolioSummaryResponse;
+import com.ms.credit.engine.PaymentHistory;
+import com.ms.credit.engine.RiskCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioAggregatorTest {
+
+    private static final PaymentHistory[] HISTORIES = PaymentHistory.values();
+
+    @TempDir
+    Path dir;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void createTable() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:portfolio-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE credit_scores (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                + "monthly_income DOUBLE, existing_loans DOUBLE, credit_utilization DOUBLE, payment_history VARCHAR(16), "
+                + "score INT, risk_category VARCHAR(16), factor_flags INT, calculated_at TIMESTAMP NOT NULL)");
+    }
+
+    @Test
+    void newScoreReplacesTheUsersPreviousOne() {
+        PortfolioAggregator portfolio = aggregator();
+        portfolio.record(1, 1000, 800, 1000, PaymentHistory.EXCELLENT, 80_000_00);
+        portfolio.record(2, 1000, 600, 5000, PaymentHistory.FAIR, 30_000_00);
+        portfolio.record(3, 1000, 700, 2500, PaymentHistory.GOOD, 30_000_00);
+
+        // user 2 ne loans chukaye - purana 600 book se hat jana chahiye
+        portfolio.record(2, 2000, 760, 500, PaymentHistory.GOOD, 30_000_00);
+        // purana (out-of-order) score ignore
+        portfolio.record(1, 500, 400, 9000, PaymentHistory.POOR, 80_000_00);
+
+        PortfolioSummaryResponse all = portfolio.summary(null, null);
+        assertEquals(3, all.getUsers());
+        assertEquals((800 + 760 + 700) / 3d, all.getMeanScore(), 1e-9);
+        assertEquals(760, all.getScorePercentiles().get("p50"));
+        assertEquals(800, all.getScorePercentiles().get("p99"));
+        assertEquals(2, all.getRiskCategories().get(RiskCategory.LOW));
+        assertEquals(1, all.getRiskCategories().get(RiskCategory.MEDIUM));
+        assertEquals(0, all.getRiskCategories().get(RiskCategory.HIGH));
+        assertArrayEquals(new long[]{1, 1, 1, 0, 0, 0, 0, 0, 0, 0}, all.getUtilizationHistogram());
+
+        PortfolioSummaryResponse good = portfolio.summary(PaymentHistory.GOOD, IncomeBand.BELOW_50K);
+        assertEquals(2, good.getUsers());
+        assertEquals(0, portfolio.summary(PaymentHistory.FAIR, null).getUsers());
+        assertEquals(1, portfolio.stats().getStaleUpdates());
+        assertEquals(20, portfolio.cohorts().size());
+    }
+
+    @Test
+    void parallelRebuildAndCheckpointRecoveryMatchTheLiveBook() throws Exception {
+        Path checkpoint = dir.resolve("portfolio.snap");
+        PortfolioAggregator live = aggregator(checkpoint);
+        long base = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            insert(live, 1 + random.nextInt(1_500), base + i, random);
+        }
+
+        PortfolioAggregator rebuilt = aggregator(checkpoint);
+        rebuilt.rebuild();
+        assertEquals(live.stats().getUsers(), rebuilt.stats().getUsers());
+        assertSameBook(live, rebuilt);
+
+        // checkpoint ke baad aur scores aaye, phir "crash"
+        rebuilt.writeCheckpoint();
+        for (int i = 0; i < 1_000; i++) {
+            insert(live, 1 + random.nextInt(2_000), System.currentTimeMillis() + 60_000 + i, random);
+        }
+
+        PortfolioAggregator restarted = aggregator(checkpoint);
+        restarted.recover();
+        assertTrue(restarted.stats().isReady());
+        assertEquals(0, restarted.stats().getRebuilds());
+        assertSameBook(live, restarted);
+    }
+
+    private void insert(PortfolioAggregator live, long userId, long calculatedAt, Random random) {
+        int score = 300 + random.nextInt(551);
+        double utilization = random.nextInt(12_000) / 100d;
+        double income = 10_000 + random.nextInt(300_000);
+        PaymentHistory history = HISTORIES[random.nextInt(HISTORIES.length)];
+        jdbc.update("INSERT INTO credit_scores (user_id, monthly_income, existing_loans, credit_utilization, "
+                        + "payment_history, score, risk_category, factor_flags, calculated_at) VALUES (?, ?, 0, ?, ?, ?, ?, 0, ?)",
+                userId, income, utilization, history.name(), score, RiskCategory.of(score).name(), new Timestamp(calculatedAt));
+        live.record(userId, calculatedAt, score, Math.round((float) (utilization * 100)), history, Math.round(income * 100));
+    }
+
+    private static void assertSameBook(PortfolioAggregator expected, PortfolioAggregator actual) {
+        List<PortfolioSummaryResponse> want = new ArrayList<>(expected.cohorts());
+        want.add(expected.summary(null, null));
+        List<PortfolioSummaryResponse> got = new ArrayList<>(actual.cohorts());
+        got.add(actual.summary(null, null));
+        for (int i = 0; i < want.size(); i++) {
+            want.get(i).setReady(true);
+            got.get(i).setReady(true);
+            assertEquals(want.get(i), got.get(i));
+        }
+    }
+
+    private PortfolioAggregator aggregator() {
+        return aggregator(dir.resolve("unused.snap"));
+    }
+
+    private PortfolioAggregator aggregator(Path checkpoint) {
+        return new PortfolioAggregator(dataSource, new DataSourceTransactionManager(dataSource), true, checkpoint,
+                Duration.ofMinutes(5), Duration.ofMinutes(5), 3);
+    }
+}
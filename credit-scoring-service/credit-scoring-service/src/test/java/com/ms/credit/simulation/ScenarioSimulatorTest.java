@@ -0,0 +1,123 @@
+package com.ms.credit.simulation;
+
+import com.ms.credit.dto.SensitivityCurve;
+import com.ms.credit.dto.SimulationRequest;
+import com.ms.credit.dto.SimulationResponse;
+import com.ms.credit.engine.PaymentHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioSimulatorTest {
+
+    private ScenarioSimulator simulator;
+
+    @AfterEach
+    void shutdown() {
+        simulator.close();
+    }
+
+    @Test
+    void sweepsGridAndBuildsForecastAndCurves() throws Exception {
+        simulator = simulator(Duration.ofSeconds(30));
+        SimulationRequest request = request(List.of(-10.0, 0.0, 20.0), List.of(0.0, 10000.0, 40000.0), List.of(60.0, 30.0, 10.0));
+
+        SimulationResponse response = simulator.start(request).result().get(10, TimeUnit.SECONDS);
+
+        assertEquals(27, response.getScenarios());
+        assertEquals(13, response.getAsIs().getScores().length);
+        assertEquals(response.getCurrentScore(), response.getAsIs().getScores()[0]);
+        int asIsHorizon = response.getAsIs().getScores()[12];
+        int bestHorizon = response.getBest().getScores()[12];
+        assertTrue(bestHorizon >= asIsHorizon);
+        assertEquals(40000.0, response.getBest().getMonthlyLoanPayment());
+
+        // zyada payoff / kam utilization -> average score kabhi kam nahi hota
+        SensitivityCurve payoff = response.getCurves().get(1);
+        assertEquals("monthlyLoanPayment", payoff.getParameter());
+        assertNonDecreasing(payoff.getMeanScore());
+        SensitivityCurve utilization = response.getCurves().get(2);
+        assertTrue(utilization.getMeanScore()[2] >= utilization.getMeanScore()[0]);
+    }
+
+    @Test
+    void parallelSweepMatchesSequentialEvaluation() throws Exception {
+        simulator = simulator(Duration.ofSeconds(30));
+        SimulationRequest request = request(range(-50, 50, 1), range(0, 20000, 500), range(0, 100, 5));
+        SimulationRun run = simulator.start(request);
+        SimulationResponse response = run.result().get(30, TimeUnit.SECONDS);
+
+        ScenarioGrid expected = new ScenarioGrid(request, Integer.MAX_VALUE, 6);
+        expected.evaluate(0, expected.size);
+        long sum = 0;
+        for (short score : expected.horizonScores) {
+            sum += score;
+        }
+        double[] means = response.getCurves().get(0).getMeanScore();
+        double total = 0;
+        for (double mean : means) {
+            total += mean * (expected.size / means.length);
+        }
+        assertEquals(sum, total, 1e-3);
+        assertTrue(expected.size > ScenarioSimulator.LEAF_SCENARIOS * 8);
+    }
+
+    @Test
+    void cpuBudgetAndCancellationStopTheRun() {
+        simulator = simulator(Duration.ofNanos(1));
+        SimulationRequest request = request(range(-50, 50, 1), range(0, 20000, 500), range(0, 100, 5));
+        ExecutionException budget = assertThrows(ExecutionException.class,
+                () -> simulator.start(request).result().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(SimulationRejectedException.class, budget.getCause());
+
+        simulator.close();
+        simulator = simulator(Duration.ofSeconds(30));
+        SimulationRun run = simulator.start(request);
+        run.cancel("client disconnected");
+        ExecutionException cancelled = assertThrows(ExecutionException.class, () -> run.result().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(CancellationException.class, cancelled.getCause());
+
+        assertThrows(SimulationRejectedException.class,
+                () -> new ScenarioSimulator(2, 10, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMillis(250), 6)
+                        .start(request));
+    }
+
+    private static ScenarioSimulator simulator(Duration budget) {
+        return new ScenarioSimulator(2, 1_000_000, budget, Duration.ofSeconds(10), Duration.ofMillis(250), 6);
+    }
+
+    private static SimulationRequest request(List<Double> income, List<Double> payment, List<Double> utilization) {
+        return SimulationRequest.builder()
+                .monthlyIncome(50000)
+                .existingLoans(400000)
+                .creditUtilization(60)
+                .paymentHistory(PaymentHistory.FAIR)
+                .months(12)
+                .incomeChangePercent(income)
+                .monthlyLoanPayment(payment)
+                .utilizationTarget(utilization)
+                .build();
+    }
+
+    private static List<Double> range(int from, int to, int step) {
+        List<Double> values = new ArrayList<>();
+        for (int v = from; v <= to; v += step) {
+            values.add((double) v);
+        }
+        return values;
+    }
+
+    private static void assertNonDecreasing(double[] values) {
+        for (int i = 1; i < values.length; i++) {
+            assertTrue(values[i] >= values[i - 1], "not monotone at " + i);
+        }
+    }
+}
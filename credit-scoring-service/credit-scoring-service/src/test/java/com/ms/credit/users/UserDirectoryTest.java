@@ -0,0 +1,185 @@
+package com.ms.credit.users;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDirectoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void growsUpdatesAndRoundTripsThroughCheckpoint() throws IOException {
+        UserDirectory directory = new UserDirectory(16);
+        for (long id = 1; id <= 20_000; id++) {
+            directory.upsert(id, "user" + id + "@example.com", UserStatus.ACTIVE);
+        }
+        // email badla - purane bytes garbage, naya email dikhe
+        for (long id = 1; id <= 20_000; id += 2) {
+            directory.upsert(id, "renamed" + id + "@example.com", UserStatus.DISABLED);
+        }
+
+        assertEquals(20_000, directory.size());
+        assertTrue(directory.contains(19_999));
+        assertFalse(directory.contains(20_001));
+        assertEquals(new DirectoryUser(7, "renamed7@example.com", UserStatus.DISABLED), directory.find(7).orElseThrow());
+        assertEquals("user8@example.com", directory.find(8).orElseThrow().email());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        directory.writeTo(new DataOutputStream(bytes), 42);
+        UserDirectory restored = new UserDirectory();
+        long seq = UserDirectory.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), restored);
+
+        assertEquals(42, seq);
+        assertEquals(20_000, restored.size());
+        assertEquals(directory.find(12_345), restored.find(12_345));
+    }
+
+    @Test
+    void replicatorCatchesUpFromSnapshotAndRefetchesGaps() throws Exception {
+        List<long[]> log = new ArrayList<>();     // {seq, userId}
+        HttpServer server = feedServer(log, new AtomicInteger());
+        try {
+            UserDirectoryReplicator replicator = new UserDirectoryReplicator(false, true, 0,
+                    "http://127.0.0.1:" + server.getAddress().getPort(), "t", dir.resolve("directory.snap"),
+                    Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+            log.add(new long[]{3, 3});
+            log.add(new long[]{5, 5});             // seq 4 abhi commit nahi hua
+            replicator.sync();
+            assertTrue(replicator.caughtUp());
+            assertEquals(4, replicator.directory().size());
+            assertEquals(1, replicator.stats().getPendingGaps());
+            replicator.checkKnownUser(4L);         // gap pending - ho sakta hai user 4 wahi ho, fail-open
+
+            log.add(0, new long[]{4, 4});          // late commit
+            replicator.sync();
+            assertEquals(0, replicator.stats().getPendingGaps());
+            replicator.checkKnownUser(4L);
+            assertEquals(5, replicator.stats().getAppliedSeq());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void permanentGapDoesNotStallPagingPastIt() throws Exception {
+        List<long[]> log = new ArrayList<>();
+        log.add(new long[]{3, 3});
+        // seq 4 rollback ho gaya (fail hua import chunk) - kabhi nahi aayega; uske baad PAGE se zyada rows
+        long last = 5 + UserDirectoryReplicator.PAGE + 1_000;
+        for (long seq = 5; seq <= last; seq++) {
+            log.add(new long[]{seq, seq});
+        }
+        AtomicInteger changeRequests = new AtomicInteger();
+        HttpServer server = feedServer(log, changeRequests);
+        try {
+            UserDirectoryReplicator replicator = new UserDirectoryReplicator(false, true, 0,
+                    "http://127.0.0.1:" + server.getAddress().getPort(), "t", dir.resolve("directory.snap"),
+                    Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(30), replicator::sync);
+            assertEquals(last, replicator.stats().getAppliedSeq());
+            assertEquals(last - 1, replicator.directory().size());      // 1, 2, 3, 5..last
+            assertEquals(1, replicator.stats().getPendingGaps());
+            assertEquals(2, changeRequests.get());                     // do forward pages, gap abhi nahi tha
+
+            // agla round: gap ka ek page + forward ka ek (khaali) - same page baar baar nahi
+            assertTimeoutPreemptively(Duration.ofSeconds(30), replicator::sync);
+            assertEquals(4, changeRequests.get());
+            assertEquals(1, replicator.stats().getPendingGaps());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void userRegisteredAfterLastPollIsNotRejected() throws Exception {
+        List<long[]> log = new ArrayList<>();
+        log.add(new long[]{3, 3});
+        HttpServer server = feedServer(log, new AtomicInteger());
+        try {
+            UserDirectoryReplicator replicator = new UserDirectoryReplicator(false, true, 0,
+                    "http://127.0.0.1:" + server.getAddress().getPort(), "t", dir.resolve("directory.snap"),
+                    Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5));
+            replicator.sync();
+            assertEquals(3, replicator.directory().maxUserId());
+
+            // user 4 ne abhi register kiya aur turant /calculate - replica agle poll pe hi dekhega
+            replicator.checkKnownUser(4L);
+
+            // dekhe gaye ids ke neeche, directory me nahi, koi gap nahi -> sach me unknown: 422, 500 nahi
+            log.add(new long[]{4, 5});
+            replicator.sync();
+            ResponseStatusException unknown = assertThrows(ResponseStatusException.class,
+                    () -> replicator.checkKnownUser(4L));
+            assertEquals(HttpStatus.UNPROCESSABLE_CONTENT, unknown.getStatusCode());
+            replicator.checkKnownUser(5L);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /** user-ms replication feed ka fake: snapshot = users 1, 2 @ seq 2; changes after / limit ke saath. */
+    private static HttpServer feedServer(List<long[]> log, AtomicInteger changeRequests) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/users/replication/snapshot", exchange -> {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeInt(0x55534E50);
+            out.writeLong(2);                      // watermark
+            for (long id = 1; id <= 2; id++) {
+                out.writeLong(id);
+                out.writeByte(0);
+                out.writeUTF("u" + id + "@example.com");
+            }
+            out.writeLong(0);
+            exchange.sendResponseHeaders(200, body.size());
+            exchange.getResponseBody().write(body.toByteArray());
+            exchange.close();
+        });
+        server.createContext("/api/users/replication/changes", exchange -> {
+            changeRequests.incrementAndGet();
+            String query = exchange.getRequestURI().getQuery();
+            long after = Long.parseLong(query.replaceAll(".*after=(\\d+).*", "$1"));
+            int limit = Integer.parseInt(query.replaceAll(".*limit=(\\d+).*", "$1"));
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            List<long[]> page = log.stream().filter(e -> e[0] > after)
+                    .sorted(Comparator.comparingLong(e -> e[0])).limit(limit).toList();
+            out.writeInt(0x55434847);
+            out.writeLong(1);
+            out.writeLong(log.stream().mapToLong(e -> e[0]).max().orElse(after));
+            out.writeInt(page.size());
+            for (long[] e : page) {
+                out.writeLong(e[0]);
+                out.writeLong(e[1]);
+                out.writeByte(0);
+                out.writeUTF("u" + e[1] + "@example.com");
+            }
+            exchange.sendResponseHeaders(200, body.size());
+            exchange.getResponseBody().write(body.toByteArray());
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,125 @@
+package com.credit.loadtest;
+
+import com.credit.loadtest.workload.Endpoint;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Saare options -Dloadtest.* system properties se (pom me defaults). Alag machine / release ke
+ * numbers tabhi comparable hain jab rate, mix aur duration same hon - isliye yeh baseline me bhi likhe jate hain.
+ */
+public record LoadConfig(
+        int ratePerSecond,
+        Duration duration,
+        Duration warmup,
+        Map<Endpoint, Integer> mix,
+        int users,
+        boolean capacity,
+        Map<Endpoint, Long> sloP99Millis,
+        boolean startStack,
+        String gatewayUrl,
+        int basePort,
+        String mvn,
+        int bcryptCost,
+        Path root,
+        Path baseline,
+        boolean saveBaseline,
+        double tolerancePercent,
+        double toleranceMillis,
+        Path result,
+        Duration requestTimeout,
+        int maxInFlight) {
+
+    public static LoadConfig fromSystemProperties() {
+        int basePort = Integer.getInteger("loadtest.base-port", 18080);
+        return new LoadConfig(
+                Integer.getInteger("loadtest.rate", 20),
+                Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 180)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 15)),
+                parseMix(System.getProperty("loadtest.mix", "register:5,login:15,calculate:30,score:50")),
+                Integer.getInteger("loadtest.users", 100),
+                Boolean.getBoolean("loadtest.capacity"),
+                parseSlo(System.getProperty("loadtest.slo-p99-ms", "register:1000,login:1000,calculate:250,score:100")),
+                Boolean.parseBoolean(System.getProperty("loadtest.start-stack", "true")),
+                System.getProperty("loadtest.gateway-url", "http://localhost:" + basePort),
+                basePort,
+                System.getProperty("loadtest.mvn", "mvn"),
+                Integer.getInteger("loadtest.bcrypt-cost", 10),
+                Path.of(System.getProperty("loadtest.root", "..")).toAbsolutePath().normalize(),
+                Path.of(System.getProperty("loadtest.baseline", "baseline/e2e-1cpu.json")),
+                Boolean.getBoolean("loadtest.save-baseline"),
+                Double.parseDouble(System.getProperty("loadtest.tolerance", "25")),
+                Double.parseDouble(System.getProperty("loadtest.tolerance-ms", "5")),
+                Path.of(System.getProperty("loadtest.result", "target/load-result.json")),
+                Duration.ofSeconds(Integer.getInteger("loadtest.request-timeout-seconds", 10)),
+                Integer.getInteger("loadtest.max-in-flight", 10_000));
+    }
+
+    /** Canonical form (enum order) - baseline ke config me isi se compare hota hai. */
+    public String mixSpec() {
+        return spec(mix);
+    }
+
+    public String sloSpec() {
+        return spec(sloP99Millis);
+    }
+
+    public long sloP99Millis(Endpoint endpoint) {
+        return sloP99Millis.getOrDefault(endpoint, Long.MAX_VALUE);
+    }
+
+    /**
+     * Capacity search ka p99 SLO: "250" (sab endpoints) ya "register:1000,score:100".
+     * register / login bcrypt pe hain (target-latency 250ms by design), isliye unka SLO alag.
+     */
+    static Map<Endpoint, Long> parseSlo(String spec) {
+        Map<Endpoint, Long> slo = new EnumMap<>(Endpoint.class);
+        if (!spec.contains(":")) {
+            long millis = Long.parseLong(spec.trim());
+            for (Endpoint endpoint : Endpoint.values()) {
+                slo.put(endpoint, millis);
+            }
+            return slo;
+        }
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad loadtest.slo-p99-ms entry: '" + part + "' (expected name:millis)");
+            }
+            slo.put(Endpoint.fromName(pair[0].trim()), Long.parseLong(pair[1].trim()));
+        }
+        return slo;
+    }
+
+    private static String spec(Map<Endpoint, ? extends Number> values) {
+        StringJoiner spec = new StringJoiner(",");
+        values.forEach((endpoint, value) -> spec.add(endpoint.key() + ":" + value));
+        return spec.toString();
+    }
+
+    /** "register:5,login:15,calculate:30,score:50" -> weights; 0 weight = endpoint mix se bahar. */
+    static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad loadtest.mix entry: '" + part + "' (expected name:weight)");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + part);
+            }
+            if (weight > 0) {
+                mix.put(Endpoint.fromName(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no endpoint with weight > 0");
+        }
+        return mix;
+    }
+}
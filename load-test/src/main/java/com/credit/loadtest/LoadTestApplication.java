@@ -0,0 +1,207 @@
+package com.credit.loadtest;
+
+import com.credit.loadtest.report.BaselineCheck;
+import com.credit.loadtest.report.EndpointResult;
+import com.credit.loadtest.report.LoadReport;
+import com.credit.loadtest.runner.OpenLoopRunner;
+import com.credit.loadtest.runner.PerTaskExecutors;
+import com.credit.loadtest.stack.ServiceStack;
+import com.credit.loadtest.workload.Endpoint;
+import com.credit.loadtest.workload.StackClient;
+import com.credit.loadtest.workload.StackWorkload;
+import com.credit.loadtest.workload.UserPool;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * END-TO-END LOAD TEST: api-gateway -> user-management-ms -> credit-scoring-service
+ *
+ * 1. Teeno services H2 pe start (ya -Dloadtest.start-stack=false = already chal raha gateway-url)
+ * 2. users pool: register + login + pehla calculate (measure nahi hota)
+ * 3. warm-up, phir measured run: mix (register / login / calculate / score polling) constant
+ *    arrival rate pe, open loop, har request virtual thread pe (Java 21+; 17 pe platform threads)
+ * 4. optional capacity search: har endpoint akela, rate x1.5 badhate hue jab tak p99 SLO ke andar hai
+ * 5. result JSON + baseline se compare; regression = exit code 1 (release se pehle CI gate)
+ *
+ *   cd load-test && mvn compile exec:exec [-Dloadtest.rate=100] [-Dloadtest.capacity=true]
+ *   mvn compile exec:exec -Dloadtest.save-baseline=true     # naya baseline
+ */
+public class LoadTestApplication {
+
+    private static final int SETUP_PARALLELISM = 8;              // bcrypt pool ki queue (64) se kam
+    private static final Duration SETUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration CAPACITY_STEP_DURATION = Duration.ofSeconds(10);
+    private static final int CAPACITY_START_RATE = 5;
+    private static final int CAPACITY_MAX_RATE = 20_000;
+    private static final double CAPACITY_MAX_ERROR_RATE = 0.01;
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(LoadConfig.fromSystemProperties()));
+    }
+
+    static int run(LoadConfig config) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        System.out.printf("Java %s (%s threads), %d CPUs | %d req/s for %ds (+%ds warm-up), mix %s, %d pool users%n",
+                System.getProperty("java.version"), PerTaskExecutors.virtualAvailable() ? "virtual" : "platform",
+                Runtime.getRuntime().availableProcessors(), config.ratePerSecond(), config.duration().toSeconds(),
+                config.warmup().toSeconds(), config.mixSpec(), config.users());
+
+        ExecutorService requests = PerTaskExecutors.newPerTaskExecutor("loadtest-request-");
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(requests)
+                .build();
+        Path workDir = config.result().toAbsolutePath().getParent().resolve("stack-" + runId);
+
+        LoadReport report;
+        try (ServiceStack ignored = config.startStack() ? ServiceStack.start(config, workDir) : null) {
+            StackClient client = new StackClient(http, config.gatewayUrl(), config.requestTimeout());
+            UserPool pool = createPool(client, runId, config.users());
+            StackWorkload workload = new StackWorkload(client, pool, runId, config.mix());
+            OpenLoopRunner runner = new OpenLoopRunner(requests, config.maxInFlight(),
+                    config.requestTimeout().plusSeconds(5));
+
+            if (!config.warmup().isZero()) {
+                System.out.printf("Warm-up %ds...%n", config.warmup().toSeconds());
+                runner.run(workload, config.ratePerSecond(), config.warmup());
+            }
+            System.out.printf("Measuring %ds at %d req/s...%n", config.duration().toSeconds(), config.ratePerSecond());
+            OpenLoopRunner.RunResult measured = runner.run(workload, config.ratePerSecond(), config.duration());
+
+            Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+            measured.endpoints().forEach((endpoint, result) -> endpoints.put(endpoint.key(), result));
+            if (config.capacity()) {
+                for (Endpoint endpoint : config.mix().keySet()) {
+                    double capacity = capacity(runner, workload.withMix(Map.of(endpoint, 1)), endpoint,
+                            config.sloP99Millis(endpoint));
+                    endpoints.computeIfPresent(endpoint.key(), (key, result) -> result.withCapacity(capacity));
+                }
+            }
+            report = new LoadReport(env(config), config(config),
+                    Math.round(measured.maxDispatchLagMillis() * 100) / 100.0, endpoints);
+        } finally {
+            requests.shutdownNow();
+        }
+
+        print(report);
+        report.write(config.result());
+        System.out.println("Result: " + config.result().toAbsolutePath());
+
+        if (config.saveBaseline()) {
+            report.write(config.baseline());
+            System.out.println("Baseline saved: " + config.baseline().toAbsolutePath());
+            return 0;
+        }
+        if (!Files.exists(config.baseline())) {
+            System.out.println("No baseline at " + config.baseline() + " - run with -Dloadtest.save-baseline=true to create one");
+            return 0;
+        }
+        BaselineCheck check = new BaselineCheck(config.tolerancePercent(), config.toleranceMillis());
+        LoadReport baseline = LoadReport.read(config.baseline());
+        check.warnings(baseline, report).forEach(warning -> System.out.println("WARNING: " + warning));
+        List<String> regressions = check.regressions(baseline, report);
+        regressions.forEach(regression -> System.out.println("REGRESSION: " + regression));
+        System.out.printf("%d regression(s) vs %s (tolerance %.0f%% / %.0f ms)%n", regressions.size(),
+                config.baseline(), config.tolerancePercent(), config.toleranceMillis());
+        return regressions.isEmpty() ? 0 : 1;
+    }
+
+    private static UserPool createPool(StackClient client, String runId, int users) throws Exception {
+        System.out.printf("Creating %d pool users...%n", users);
+        ExecutorService setup = Executors.newFixedThreadPool(SETUP_PARALLELISM);
+        try {
+            return UserPool.create(client, runId, users, setup, SETUP_TIMEOUT);
+        } finally {
+            setup.shutdownNow();
+        }
+    }
+
+    /**
+     * Ek endpoint akela, CAPACITY_START_RATE se x1.5 steps: jab tak p99 <= SLO, errors < 1% aur
+     * server offered rate ka 90%+ complete kar raha hai. Last passing step ka throughput = capacity.
+     */
+    private static double capacity(OpenLoopRunner runner, StackWorkload workload, Endpoint endpoint,
+                                   long sloP99Millis) throws InterruptedException {
+        double best = 0;
+        int rate = CAPACITY_START_RATE;
+        while (rate <= CAPACITY_MAX_RATE) {
+            EndpointResult step = runner.run(workload, rate, CAPACITY_STEP_DURATION).endpoints().get(endpoint);
+            boolean pass = step.p99Millis() <= sloP99Millis
+                    && step.errorRate() < CAPACITY_MAX_ERROR_RATE
+                    && step.throughputPerSecond() >= rate * 0.9;
+            System.out.printf("  capacity %-9s %5d req/s -> p99 %8.1f ms, errors %5.2f%%, %7.1f ok/s %s%n",
+                    endpoint.key(), rate, step.p99Millis(), step.errorRate() * 100, step.throughputPerSecond(),
+                    pass ? "" : "(over SLO)");
+            if (!pass) {
+                return best;
+            }
+            best = step.throughputPerSecond();
+            rate = (int) Math.ceil(rate * BaselineCheck.CAPACITY_GROWTH);
+            Thread.sleep(2_000);                          // pichle step ki queues khaali hone do
+        }
+        return best;
+    }
+
+    private static void print(LoadReport report) {
+        System.out.println();
+        System.out.printf("%-10s %9s %7s %9s %9s %9s %9s %9s %9s %11s%n", "endpoint", "requests", "errors",
+                "ok/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "svc p99", "capacity/s");
+        report.endpoints().forEach((name, r) -> System.out.printf("%-10s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %11s%n",
+                name, r.requests(), r.errors(), r.throughputPerSecond(), r.p50Millis(), r.p99Millis(),
+                r.p999Millis(), r.maxMillis(), r.serviceP99Millis(),
+                r.capacityPerSecond() == null ? "-" : String.format("%.1f", r.capacityPerSecond())));
+        System.out.printf("latencies corrected for coordinated omission (from intended start); "
+                + "svc p99 = from actual send; max generator lag %.1f ms%n", report.maxDispatchLagMillis());
+    }
+
+    public static Map<String, Object> env(LoadConfig config) {
+        Map<String, Object> env = new LinkedHashMap<>();
+        env.put("commit", git(config.root()));
+        env.put("date", Instant.now().toString());
+        env.put("cpus", Runtime.getRuntime().availableProcessors());
+        env.put("java", System.getProperty("java.version"));
+        env.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        env.put("threads", PerTaskExecutors.virtualAvailable() ? "virtual" : "platform");
+        return env;
+    }
+
+    private static Map<String, Object> config(LoadConfig config) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("rate", config.ratePerSecond());
+        values.put("seconds", config.duration().toSeconds());
+        values.put("warmupSeconds", config.warmup().toSeconds());
+        values.put("mix", config.mixSpec());
+        values.put("users", config.users());
+        values.put("bcryptCost", config.bcryptCost());
+        values.put("capacity", config.capacity());
+        values.put("sloP99Millis", config.sloSpec());
+        return values;
+    }
+
+    private static String git(Path root) {
+        try {
+            Process git = new ProcessBuilder("git", "-C", root.toString(), "rev-parse", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String out = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 ? out : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.credit.loadtest.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Current run vs stored baseline. Latency regression tab jab tolerance % se zyada AUR absolute
+ * tolerance-ms se zyada kharab ho (1-2 ms ki latencies pe % noise bahut hota hai).
+ *
+ * Percentile tabhi compare hota hai jab dono runs me uske upar kam se kam MIN_TAIL_SAMPLES hon -
+ * 360 requests ka "p999" asal me max hai, ek GC pause se hi fail ho jata. p999 ki tolerance double.
+ * Throughput / capacity ghatna bhi regression, aur error rate 1 percentage point se zyada badhna bhi.
+ */
+public final class BaselineCheck {
+
+    private static final double ERROR_RATE_SLACK = 0.01;
+    static final int MIN_TAIL_SAMPLES = 10;
+    /** Capacity search me har step pe rate ka multiplier. */
+    public static final double CAPACITY_GROWTH = 1.5;
+
+    private final double tolerancePercent;
+    private final double toleranceMillis;
+
+    public BaselineCheck(double tolerancePercent, double toleranceMillis) {
+        this.tolerancePercent = tolerancePercent;
+        this.toleranceMillis = toleranceMillis;
+    }
+
+    /** Jo rate / mix / machine alag hai uski warnings - fail nahi karti, par numbers comparable nahi. */
+    public List<String> warnings(LoadReport baseline, LoadReport current) {
+        List<String> warnings = new ArrayList<>();
+        for (String field : List.of("rate", "mix", "seconds", "users", "bcryptCost")) {
+            compareField(warnings, "config", field, baseline.config(), current.config());
+        }
+        for (String field : List.of("cpus", "java")) {
+            compareField(warnings, "env", field, baseline.env(), current.env());
+        }
+        return warnings;
+    }
+
+    public List<String> regressions(LoadReport baseline, LoadReport current) {
+        List<String> regressions = new ArrayList<>();
+        baseline.endpoints().forEach((name, old) -> {
+            EndpointResult now = current.endpoints().get(name);
+            if (now == null) {
+                return;                       // mix se hata diya - warning ke liye config diff kaafi
+            }
+            long samples = Math.min(old.requests(), now.requests());
+            latency(regressions, name, "p50", 0.50, samples, old.p50Millis(), now.p50Millis(), tolerancePercent);
+            latency(regressions, name, "p99", 0.99, samples, old.p99Millis(), now.p99Millis(), tolerancePercent);
+            latency(regressions, name, "p999", 0.999, samples, old.p999Millis(), now.p999Millis(), tolerancePercent * 2);
+            lower(regressions, name, "throughput/s", old.throughputPerSecond(), now.throughputPerSecond());
+            if (old.capacityPerSecond() != null && now.capacityPerSecond() != null) {
+                // capacity search CAPACITY_GROWTH steps me chalti hai - ek step neeche aana noise hai
+                double before = old.capacityPerSecond();
+                double after = now.capacityPerSecond();
+                if (after * CAPACITY_GROWTH < before * (1 - tolerancePercent / 100)) {
+                    regressions.add(String.format("%s capacity/s %.1f -> %.1f (-%.0f%%)", name, before, after,
+                            (before - after) / before * 100));
+                }
+            }
+            if (now.errorRate() > old.errorRate() + ERROR_RATE_SLACK) {
+                regressions.add(String.format("%s error rate %.2f%% -> %.2f%%",
+                        name, old.errorRate() * 100, now.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+
+    private void latency(List<String> out, String endpoint, String metric, double quantile, long samples,
+                         double old, double now, double percent) {
+        if (samples * (1 - quantile) < MIN_TAIL_SAMPLES) {
+            return;
+        }
+        double grown = now - old;
+        if (grown > toleranceMillis && grown > old * percent / 100) {
+            out.add(String.format("%s %s %.2f ms -> %.2f ms (+%.0f%%)", endpoint, metric, old, now,
+                    old == 0 ? 100 : grown / old * 100));
+        }
+    }
+
+    private void lower(List<String> out, String endpoint, String metric, double old, double now) {
+        if (now < old * (1 - tolerancePercent / 100)) {
+            out.add(String.format("%s %s %.1f -> %.1f (-%.0f%%)", endpoint, metric, old, now,
+                    (old - now) / old * 100));
+        }
+    }
+
+    private static void compareField(List<String> out, String section, String field,
+                                     Map<String, Object> baseline, Map<String, Object> current) {
+        Object old = baseline == null ? null : baseline.get(field);
+        Object now = current == null ? null : current.get(field);
+        if (!Objects.equals(String.valueOf(old), String.valueOf(now))) {
+            out.add(section + "." + field + " differs (" + old + " vs " + now + ") - numbers are not directly comparable");
+        }
+    }
+}
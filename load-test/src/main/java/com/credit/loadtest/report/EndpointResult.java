@@ -0,0 +1,30 @@
+package com.credit.loadtest.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Ek endpoint ka result. Latencies coordinated-omission corrected (intended start se), milliseconds me;
+ * serviceP99Millis = uncorrected (send se) - dono me bada fark = generator / client side queueing.
+ * capacityPerSecond sirf -Dloadtest.capacity=true pe: SLO ke andar sabse badi sustained rate.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EndpointResult(
+        long requests,
+        long errors,
+        double throughputPerSecond,
+        double p50Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis,
+        double serviceP99Millis,
+        Double capacityPerSecond) {
+
+    public double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    public EndpointResult withCapacity(double capacity) {
+        return new EndpointResult(requests, errors, throughputPerSecond, p50Millis, p99Millis, p999Millis,
+                maxMillis, serviceP99Millis, capacity);
+    }
+}
@@ -0,0 +1,34 @@
+package com.credit.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Ek run ka result file (target/load-result.json) - wahi format baseline ka bhi.
+ * env = machine / JVM, config = rate / mix / duration; inke bina do runs ke numbers compare karna bekaar hai.
+ */
+public record LoadReport(
+        Map<String, Object> env,
+        Map<String, Object> config,
+        double maxDispatchLagMillis,
+        Map<String, EndpointResult> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+}
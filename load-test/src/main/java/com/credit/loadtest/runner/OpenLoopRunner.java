@@ -0,0 +1,200 @@
+package com.credit.loadtest.runner;
+
+import com.credit.loadtest.report.EndpointResult;
+import com.credit.loadtest.workload.Endpoint;
+import com.credit.loadtest.workload.Workload;
+import com.credit.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * OPEN-LOOP CONSTANT ARRIVAL RATE
+ *
+ * Request i ka intended start = start + i / rate, chahe pichli requests ka jawab aaya ho ya nahi
+ * (asli users server ke slow hone pe rukte nahi). Har request apne thread pe, to slow response
+ * agli arrivals ko peeche nahi dhakelta.
+ *
+ * Coordinated omission correction: latency = completion - INTENDED start, actual send time se nahi.
+ * Agar generator khud peeche reh jaye (max-in-flight full, GC, CPU starvation) to woh wait bhi
+ * latency me aata hai - warna jitni der server atka, utni der ke samples gayab ho jate aur p99
+ * achha dikhta. Uncorrected (send -> completion) sirf comparison ke liye "service p99" me.
+ *
+ * Drain timeout ke baad bhi jo requests pending hain woh error hain, aur corrected histogram me
+ * (drain end - intended) pe record hoti hain - warna sabse slow requests hi percentiles se gayab.
+ * Service histogram me nahi jaati, unka send -> completion kabhi hua hi nahi.
+ */
+public final class OpenLoopRunner {
+
+    public record RunResult(Map<Endpoint, EndpointResult> endpoints, int offeredRate, double elapsedSeconds,
+                            double maxDispatchLagMillis) {
+
+        public long requests() {
+            return endpoints.values().stream().mapToLong(EndpointResult::requests).sum();
+        }
+
+        public long errors() {
+            return endpoints.values().stream().mapToLong(EndpointResult::errors).sum();
+        }
+    }
+
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Duration drainTimeout;
+
+    public OpenLoopRunner(ExecutorService executor, int maxInFlight, Duration drainTimeout) {
+        this.executor = executor;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.drainTimeout = drainTimeout;
+    }
+
+    public RunResult run(Workload workload, int ratePerSecond, Duration duration) throws InterruptedException {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("rate must be > 0");
+        }
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long arrivals = Math.max(1, duration.toNanos() / intervalNanos);
+        Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder());
+        }
+        Semaphore slots = new Semaphore(maxInFlight);
+        Set<InFlight> inFlight = ConcurrentHashMap.newKeySet();
+        long maxLag = 0;
+
+        long start = System.nanoTime();
+        for (long i = 0; i < arrivals; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // full = generator ruk jata hai; intended time wahi rehta hai, to wait bhi latency me gina jata hai
+            slots.acquire();
+            maxLag = Math.max(maxLag, System.nanoTime() - intended);
+
+            Endpoint endpoint = workload.pick(i);
+            Recorder recorder = recorders.get(endpoint);
+            recorder.started.incrementAndGet();
+            InFlight request = new InFlight(intended, recorder);
+            inFlight.add(request);
+            executor.execute(() -> {
+                long sent = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = workload.call(endpoint);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    ok = false;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long done = System.nanoTime();
+                // drain ke baad aaya jawab - timeout pe pehle hi record ho chuka
+                if (request.finish()) {
+                    recorder.record(done - intended, done - sent, ok);
+                }
+                inFlight.remove(request);
+                slots.release();
+            });
+        }
+
+        // drain: timeout ke andar jo complete nahi hua woh error, latency = ab tak ka wait
+        if (slots.tryAcquire(maxInFlight, drainTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            slots.release(maxInFlight);
+        } else {
+            long now = System.nanoTime();
+            for (InFlight request : inFlight) {
+                if (request.finish()) {
+                    request.recorder.recordTimeout(now - request.intended);
+                }
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Endpoint, EndpointResult> results = new EnumMap<>(Endpoint.class);
+        recorders.forEach((endpoint, recorder) -> {
+            if (recorder.started.get() > 0) {
+                results.put(endpoint, recorder.result(elapsedSeconds));
+            }
+        });
+        return new RunResult(results, ratePerSecond, elapsedSeconds, maxLag / 1e6);
+    }
+
+    /** Pending request; finish() jo pehle jeete (response ya drain timeout) wahi record karta hai. */
+    private static final class InFlight {
+
+        final long intended;
+        final Recorder recorder;
+        final AtomicBoolean finished = new AtomicBoolean();
+
+        InFlight(long intended, Recorder recorder) {
+            this.intended = intended;
+            this.recorder = recorder;
+        }
+
+        boolean finish() {
+            return finished.compareAndSet(false, true);
+        }
+    }
+
+    private static final class Recorder {
+
+        final AtomicLong started = new AtomicLong();
+        final LongAdder completed = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LatencyHistogram corrected = new LatencyHistogram();
+        final LatencyHistogram service = new LatencyHistogram();
+
+        void record(long correctedNanos, long serviceNanos, boolean ok) {
+            corrected.recordMicros(correctedNanos / 1_000);
+            service.recordMicros(serviceNanos / 1_000);
+            if (!ok) {
+                errors.increment();
+            }
+            completed.increment();
+        }
+
+        void recordTimeout(long correctedNanos) {
+            corrected.recordMicros(correctedNanos / 1_000);
+            errors.increment();
+            completed.increment();
+        }
+
+        EndpointResult result(double elapsedSeconds) {
+            long requests = started.get();
+            long done = completed.sum();
+            long failed = errors.sum() + Math.max(0, requests - done);   // timeouts errors me aa chuke
+            long[] percentiles = corrected.percentilesMicros(0.50, 0.99, 0.999);
+            long[] servicePercentiles = service.percentilesMicros(0.99);
+            return new EndpointResult(
+                    requests,
+                    failed,
+                    round((requests - failed) / elapsedSeconds),
+                    millis(percentiles[0]),
+                    millis(percentiles[1]),
+                    millis(percentiles[2]),
+                    millis(corrected.maxMicros()),
+                    millis(servicePercentiles[0]),
+                    null);
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.credit.loadtest.stack;
+
+import com.credit.loadtest.LoadConfig;
+import com.credit.loadtest.workload.StackClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teeno services local processes ke roop me: user-management-ms, credit-scoring-service, api-gateway.
+ *
+ * MySQL ki jagah in-memory H2 (MODE=MySQL) - har run saaf DB se shuru. Har module alag Boot
+ * version pe hai, isliye ek JVM me nahi chal sakte: har module ka classpath Maven se
+ * (test scope, H2 wahin hai) aur phir `java -cp target/classes:... Main` alag process.
+ *
+ * Production defaults wahi rehte hain, sirf yeh badalte hain:
+ *  - gateway per-client rate limit off: saari load ek IP / kuch users se aati hai, warna 429 hi napte.
+ *    Adaptive admission control (concurrency limit) on rehta hai - woh capacity ka hissa hai.
+ *  - bcrypt cost fixed (calibration machine pe depend karti hai, baseline comparable nahi rehti).
+ * Har service ka stdout/stderr workDir/<service>.log me.
+ */
+public final class ServiceStack implements AutoCloseable {
+
+    private static final String DEPENDENCY_PLUGIN = "org.apache.maven.plugins:maven-dependency-plugin:3.9.0";
+    private static final String CLASSPATH_FILE = "target/loadtest.classpath";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final String REPLICATION_TOKEN = "loadtest-replication-token";
+
+    /** Ek service ka launch spec: module dir, main class, command-line overrides aur readiness probe path. */
+    public record Service(String name, Path module, String mainClass, List<String> args, int port, String readyPath) {
+    }
+
+    private final List<Process> processes = new ArrayList<>();
+    private final Thread shutdownHook = new Thread(this::stopAll, "loadtest-stack-shutdown");
+
+    private ServiceStack() {
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public static ServiceStack start(LoadConfig config, Path workDir) throws Exception {
+        Files.createDirectories(workDir);
+        List<Service> services = services(config, workDir, false);
+
+        // pehle saare classpaths (compile bhi) - Maven aur services ek saath CPU na khayein
+        List<String> classpaths = new ArrayList<>();
+        for (Service service : services) {
+            classpaths.add(classpath(config.mvn(), service, workDir));
+        }
+
+        ServiceStack stack = new ServiceStack();
+        try {
+            for (int i = 0; i < services.size(); i++) {
+                stack.launch(services.get(i), classpaths.get(i), workDir);
+            }
+            HttpClient probe = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+            for (int i = 0; i < services.size(); i++) {
+                stack.awaitReady(services.get(i), stack.processes.get(i), probe, workDir);
+            }
+        } catch (Exception e) {
+            stack.close();
+            throw e;
+        }
+        return stack;
+    }
+
+    /**
+     * Teeno services dependency order me (user-ms -> credit -> gateway).
+     * persistentDb=false: in-memory H2, create-drop (har run saaf). true: workDir/db me H2 file aur
+     * schema module ka apna ddl-auto - restart ke baad bhi data rehta hai (startup benchmark).
+     */
+    public static List<Service> services(LoadConfig config, Path workDir, boolean persistentDb) {
+        int gatewayPort = config.basePort();
+        int userPort = config.basePort() + 1;
+        int creditPort = config.basePort() + 2;
+
+        List<String> userArgs = new ArrayList<>(List.of("--server.port=" + userPort));
+        userArgs.addAll(h2("users", workDir, persistentDb));
+        userArgs.addAll(List.of(
+                "--security.password.bcrypt-cost=" + config.bcryptCost(),
+                "--user.replication.token=" + REPLICATION_TOKEN));
+
+        List<String> creditArgs = new ArrayList<>(List.of("--server.port=" + creditPort));
+        creditArgs.addAll(h2("credit", workDir, persistentDb));
+        creditArgs.addAll(List.of(
+                "--credit.history.dir=" + workDir.resolve("credit/score-history"),
+                "--credit.users.checkpoint=" + workDir.resolve("credit/user-directory/directory.snap"),
+                "--credit.portfolio.checkpoint=" + workDir.resolve("credit/portfolio/portfolio.snap"),
+                "--credit.users.replication.source-url=http://localhost:" + userPort,
+                "--credit.users.replication.token=" + REPLICATION_TOKEN));
+
+        return List.of(
+                new Service("user-management-ms", config.root().resolve("user-management-ms"),
+                        "com.credit.userms.user_management_ms.UserManagementMsApplication",
+                        userArgs, userPort, "/api/users/login"),
+                new Service("credit-scoring-service", config.root().resolve("credit-scoring-service/credit-scoring-service"),
+                        "com.ms.credit.CreditScoringServiceApplication",
+                        creditArgs, creditPort, "/api/credit/events/stats"),
+                new Service("api-gateway", config.root().resolve("api-gateway"),
+                        "com.ms.gateway.api_gateway.ApiGatewayApplication",
+                        List.of("--server.port=" + gatewayPort,
+                                "--gateway.upstream.instances.user-management-service=http://localhost:" + userPort,
+                                "--gateway.upstream.instances.credit-scoring-service=http://localhost:" + creditPort,
+                                "--gateway.rate-limit.enabled=false"),
+                        gatewayPort, "/health"));
+    }
+
+    // dialect explicit: fast-start profile MySQLDialect pin karta hai, H2 pe woh nahi chalega
+    private static List<String> h2(String database, Path workDir, boolean persistentDb) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + (persistentDb
+                        ? "jdbc:h2:file:" + workDir.resolve("db/" + database) + ";MODE=MySQL"
+                        : "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        if (!persistentDb) {
+            args.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        }
+        return args;
+    }
+
+    @Override
+    public void close() {
+        stopAll();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // JVM already shutting down - hook khud chal raha hai
+        }
+    }
+
+    /** Module compile + test-scope classpath (H2 wahin hai); pehli entry module ki target/classes. */
+    public static String classpath(String mvn, Service service, Path workDir) throws IOException, InterruptedException {
+        System.out.printf("Resolving %s classpath...%n", service.name());
+        List<String> command = new ArrayList<>(List.of(mvn.trim().split("\\s+")));
+        command.addAll(List.of("-q", "-B", "compile", DEPENDENCY_PLUGIN + ":build-classpath",
+                "-Dmdep.outputFile=" + CLASSPATH_FILE, "-Dmdep.includeScope=test"));
+        Path log = workDir.resolve(service.name() + "-build.log");
+        Process maven = new ProcessBuilder(command)
+                .directory(service.module().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (maven.waitFor() != 0) {
+            throw new IllegalStateException("Maven failed for " + service.name() + ", see " + log);
+        }
+        String dependencies = Files.readString(service.module().resolve(CLASSPATH_FILE), StandardCharsets.UTF_8).trim();
+        return service.module().resolve("target/classes") + File.pathSeparator + dependencies;
+    }
+
+    private synchronized void launch(Service service, String classpath, Path workDir) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(classpath);
+        command.add(service.mainClass());
+        command.addAll(service.args());
+        Process process = new ProcessBuilder(command)
+                .directory(service.module().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve(service.name() + ".log").toFile())
+                .start();
+        processes.add(process);
+        System.out.printf("Started %s on :%d (pid %d)%n", service.name(), service.port(), process.pid());
+    }
+
+    private void awaitReady(Service service, Process process, HttpClient probe, Path workDir) throws InterruptedException {
+        StackClient client = new StackClient(probe, "http://localhost:" + service.port(), Duration.ofSeconds(2));
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!client.reachable(service.readyPath())) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service.name() + " exited with " + process.exitValue()
+                        + ", see " + workDir.resolve(service.name() + ".log"));
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(service.name() + " not ready after " + STARTUP_TIMEOUT);
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    private synchronized void stopAll() {
+        // ulta order: pehle gateway, phir backends
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+}
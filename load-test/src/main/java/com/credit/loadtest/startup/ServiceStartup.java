@@ -0,0 +1,38 @@
+package com.credit.loadtest.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ek service ke dono modes. firstRequest = process launch se pehli successful request tak (wall clock,
+ * benchmark side se); started = Spring ka "process running for" (JVM start -> context ready).
+ * Dono ka farak = web server / pehli request ka lazy kaam. speedup = default median / fast-start median.
+ */
+public record ServiceStartup(Timings defaultProfile, Timings fastStart, double speedup) {
+
+    public record Timings(List<Long> firstRequestMillis, List<Long> startedMillis,
+                          long firstRequestMedianMillis, long startedMedianMillis) {
+
+        static Timings of(List<Long> firstRequestMillis, List<Long> startedMillis) {
+            return new Timings(firstRequestMillis, startedMillis, median(firstRequestMillis), median(startedMillis));
+        }
+    }
+
+    static ServiceStartup of(Timings defaultProfile, Timings fastStart) {
+        double speedup = fastStart.firstRequestMedianMillis() == 0 ? 0
+                : (double) defaultProfile.firstRequestMedianMillis() / fastStart.firstRequestMedianMillis();
+        return new ServiceStartup(defaultProfile, fastStart, Math.round(speedup * 100) / 100.0);
+    }
+
+    /** Even count pe lower middle - hamesha ek asli measured value; -1 = koi sample nahi (log line nahi mili). */
+    static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.removeIf(value -> value < 0);
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+        Collections.sort(sorted);
+        return sorted.get((sorted.size() - 1) / 2);
+    }
+}
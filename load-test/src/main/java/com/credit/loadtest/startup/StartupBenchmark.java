@@ -0,0 +1,330 @@
+package com.credit.loadtest.startup;
+
+import com.credit.loadtest.LoadConfig;
+import com.credit.loadtest.LoadTestApplication;
+import com.credit.loadtest.stack.ServiceStack;
+import com.credit.loadtest.stack.ServiceStack.Service;
+import com.credit.loadtest.workload.StackClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * STARTUP BENCHMARK: default profile vs fast-start (AOT + AppCDS + lazy init), teeno services.
+ *
+ * Metric = process launch se pehli SUCCESSFUL request tak (autoscaling me naya instance tabhi kaam ka):
+ *   user-ms: login, credit: calculate (JWT + DB write), gateway: login via gateway -> user-ms.
+ * Spring ka "Started ... (process running for N)" bhi saath me - woh pehli request se pehle aa jata hai.
+ *
+ * Dono modes SAME extracted jar (target/fast-start, mvn -Pfast-start package) se chalte hain, farak sirf flags ka:
+ *   -XX:SharedArchiveFile=application.jsa -Xshare:on -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start
+ * -Xshare:on: archive map na ho (jar badla, classpath alag) toh JVM start hi nahi hota - bina CDS ke
+ * chup chap napne se behtar.
+ *
+ * DB = H2 file (MODE=MySQL) workDir me. fast-start schema nahi banata (ddl-auto=none), isliye pehle ek
+ * untimed default-mode round schema + benchmark user banata hai. Services ek ek karke start hote hain
+ * (dependency order) - 1 CPU pe saath start karna ek dusre ka startup napta. Rounds me modes ka order
+ * alternate hota hai (page cache / CPU boost ka fayda kisi ek mode ko na mile).
+ *
+ *   cd load-test && mvn -Pstartup compile exec:exec [-Dstartup.rounds=5] [-Dstartup.build=false]
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile(
+            "Started \\S+ in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+    private static final long POLL_MILLIS = 50;
+    private static final String EMAIL = "startup-benchmark@loadtest.local";
+
+    private enum Mode {
+        DEFAULT("default"),
+        FAST_START("fast-start");
+
+        final String key;
+
+        Mode(String key) {
+            this.key = key;
+        }
+    }
+
+    /** Ek module ka extracted fast-start jar, uska CDS archive aur H2 (sirf DB wale services). */
+    private record Artifacts(Path jar, Path archive, String h2Jar) {
+    }
+
+    /** Pehli successful request; IOException = abhi port nahi khula, retry. */
+    @FunctionalInterface
+    private interface FirstRequest {
+        boolean attempt() throws IOException, InterruptedException;
+    }
+
+    private final LoadConfig loadConfig;
+    private final StartupConfig config;
+    private final Path workDir;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final List<Process> running = new ArrayList<>();
+
+    private StartupBenchmark(LoadConfig loadConfig, StartupConfig config, Path workDir) {
+        this.loadConfig = loadConfig;
+        this.config = config;
+        this.workDir = workDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(LoadConfig.fromSystemProperties(), StartupConfig.fromSystemProperties()));
+    }
+
+    static int run(LoadConfig loadConfig, StartupConfig config) throws Exception {
+        Path workDir = config.result().toAbsolutePath().getParent()
+                .resolve("startup-" + Long.toString(System.currentTimeMillis(), 36));
+        Files.createDirectories(workDir);
+        StartupBenchmark benchmark = new StartupBenchmark(loadConfig, config, workDir);
+        Thread hook = new Thread(benchmark::stopAll, "startup-benchmark-shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+        try {
+            return benchmark.run();
+        } finally {
+            benchmark.stopAll();
+            Runtime.getRuntime().removeShutdownHook(hook);
+        }
+    }
+
+    private int run() throws Exception {
+        List<Service> services = ServiceStack.services(loadConfig, workDir, true);
+        List<Artifacts> artifacts = new ArrayList<>();
+        for (Service service : services) {
+            artifacts.add(artifacts(service));
+        }
+        System.out.printf("Java %s, %d CPUs | %d round(s), workDir %s%n", System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), config.rounds(), workDir);
+
+        long userId = prepare(services, artifacts);
+
+        // [mode][service] -> per round values
+        Map<Mode, List<List<Long>>> firstRequest = new LinkedHashMap<>();
+        Map<Mode, List<List<Long>>> started = new LinkedHashMap<>();
+        for (Mode mode : Mode.values()) {
+            firstRequest.put(mode, emptyLists(services.size()));
+            started.put(mode, emptyLists(services.size()));
+        }
+        for (int round = 1; round <= config.rounds(); round++) {
+            List<Mode> order = round % 2 == 1
+                    ? List.of(Mode.DEFAULT, Mode.FAST_START)
+                    : List.of(Mode.FAST_START, Mode.DEFAULT);
+            for (Mode mode : order) {
+                String label = mode.key + "-" + round;
+                String token = null;
+                for (int i = 0; i < services.size(); i++) {
+                    Service service = services.get(i);
+                    StackClient client = client(service);
+                    Path log = workDir.resolve(service.name() + "-" + label + ".log");
+                    String[] loginToken = new String[1];
+                    FirstRequest request = switch (i) {
+                        case 0 -> () -> (loginToken[0] = client.login(EMAIL)) != null;
+                        case 1 -> {
+                            String jwt = token;
+                            yield () -> client.calculate(userId, jwt);
+                        }
+                        default -> () -> client.login(EMAIL) != null;
+                    };
+                    long millis = timeToFirstRequest(service, artifacts.get(i), mode, log, request);
+                    if (i == 0) {
+                        token = loginToken[0];
+                    }
+                    long startedMillis = startedMillis(Files.readString(log, StandardCharsets.UTF_8));
+                    firstRequest.get(mode).get(i).add(millis);
+                    started.get(mode).get(i).add(startedMillis);
+                    System.out.printf("  round %d %-10s %-24s first request %6d ms, started %6d ms%n",
+                            round, mode.key, service.name(), millis, startedMillis);
+                }
+                stopAll();
+            }
+        }
+
+        Map<String, ServiceStartup> results = new LinkedHashMap<>();
+        for (int i = 0; i < services.size(); i++) {
+            results.put(services.get(i).name(), ServiceStartup.of(
+                    ServiceStartup.Timings.of(firstRequest.get(Mode.DEFAULT).get(i), started.get(Mode.DEFAULT).get(i)),
+                    ServiceStartup.Timings.of(firstRequest.get(Mode.FAST_START).get(i), started.get(Mode.FAST_START).get(i))));
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("rounds", config.rounds());
+        values.put("bcryptCost", loadConfig.bcryptCost());
+        values.put("database", "h2-file");
+        StartupReport report = new StartupReport(LoadTestApplication.env(loadConfig), values, results);
+
+        print(report);
+        report.write(config.result());
+        System.out.println("Result: " + config.result().toAbsolutePath());
+        return 0;
+    }
+
+    /** Untimed default-mode run: schema (ddl-auto=update), benchmark user, credit ka pehla score. */
+    private long prepare(List<Service> services, List<Artifacts> artifacts) throws Exception {
+        System.out.println("Preparing schema and benchmark user (default profile, not timed)...");
+        Service users = services.get(0);
+        StackClient userClient = client(users);
+        long[] userId = {-1};
+        timeToFirstRequest(users, artifacts.get(0), Mode.DEFAULT, workDir.resolve(users.name() + "-prepare.log"),
+                () -> (userId[0] = userClient.register(EMAIL)) > 0);
+        String token = userClient.login(EMAIL);
+        if (token == null) {
+            throw new IllegalStateException("Benchmark user login failed, see " + workDir.resolve(users.name() + "-prepare.log"));
+        }
+        Service credit = services.get(1);
+        StackClient creditClient = client(credit);
+        timeToFirstRequest(credit, artifacts.get(1), Mode.DEFAULT, workDir.resolve(credit.name() + "-prepare.log"),
+                () -> creditClient.calculate(userId[0], token));
+        stopAll();
+        return userId[0];
+    }
+
+    private long timeToFirstRequest(Service service, Artifacts artifacts, Mode mode, Path log,
+                                    FirstRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = launch(service, artifacts, mode, log);
+        long deadline = start + config.timeout().toNanos();
+        while (true) {
+            try {
+                if (request.attempt()) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            } catch (IOException e) {
+                // connection refused / reset - abhi start ho raha hai
+            }
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service.name() + " (" + mode.key + ") exited with "
+                        + process.exitValue() + ", see " + log);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(service.name() + " (" + mode.key + ") no successful request after "
+                        + config.timeout() + ", see " + log);
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    private synchronized Process launch(Service service, Artifacts artifacts, Mode mode, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode == Mode.FAST_START) {
+            command.add("-XX:SharedArchiveFile=" + artifacts.archive());
+            command.add("-Xshare:on");
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-Dspring.profiles.active=fast-start");
+        }
+        command.add("-cp");
+        // training run ka classpath (jar + manifest lib/) prefix rehna chahiye, H2 uske baad
+        command.add(artifacts.h2Jar() == null
+                ? artifacts.jar().toString()
+                : artifacts.jar() + File.pathSeparator + artifacts.h2Jar());
+        command.add(service.mainClass());
+        command.addAll(service.args());
+        Process process = new ProcessBuilder(command)
+                .directory(artifacts.jar().getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        running.add(process);
+        return process;
+    }
+
+    private synchronized void stopAll() {
+        for (int i = running.size() - 1; i >= 0; i--) {
+            running.get(i).destroy();
+        }
+        for (Process process : running) {
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        running.clear();
+    }
+
+    /** -Dstartup.build=true pe mvn -Pfast-start package; phir target/fast-start ka jar + archive. */
+    private Artifacts artifacts(Service service) throws IOException, InterruptedException {
+        // test-scope classpath se sirf H2 chahiye (extracted jar me MySQL driver hi hai); compile bhi yahin
+        String classpath = ServiceStack.classpath(loadConfig.mvn(), service, workDir);
+        String h2 = Stream.of(classpath.split(File.pathSeparator))
+                .filter(entry -> Path.of(entry).getFileName().toString().matches("h2-[\\d.]+\\.jar"))
+                .findFirst()
+                .orElse(null);
+
+        if (config.build()) {
+            System.out.printf("Building %s fast-start (AOT + CDS training run)...%n", service.name());
+            List<String> command = new ArrayList<>(List.of(loadConfig.mvn().trim().split("\\s+")));
+            command.addAll(List.of("-q", "-B", "-Pfast-start", "package", "-DskipTests"));
+            Path log = workDir.resolve(service.name() + "-fast-start-build.log");
+            Process maven = new ProcessBuilder(command)
+                    .directory(service.module().toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+            if (maven.waitFor() != 0) {
+                throw new IllegalStateException("fast-start build failed for " + service.name() + ", see " + log);
+            }
+        }
+
+        Path dir = service.module().resolve("target/fast-start");
+        Path archive = dir.resolve("application.jsa");
+        Path jar;
+        try (Stream<Path> files = Files.list(dir)) {
+            jar = files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst().orElse(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No " + dir + " - run mvn -Pfast-start package in " + service.module(), e);
+        }
+        if (jar == null || !Files.exists(archive)) {
+            throw new IllegalStateException("Incomplete fast-start build in " + dir
+                    + " - run mvn -Pfast-start package in " + service.module());
+        }
+        return new Artifacts(jar, archive, h2);
+    }
+
+    private StackClient client(Service service) {
+        return new StackClient(http, "http://localhost:" + service.port(), Duration.ofSeconds(5));
+    }
+
+    /** "Started X in 2.1 seconds (process running for 2.6)" -> 2600; -1 agar line nahi mili. */
+    static long startedMillis(String log) {
+        Matcher matcher = STARTED.matcher(log);
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1;
+    }
+
+    private static List<List<Long>> emptyLists(int count) {
+        List<List<Long>> lists = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private static void print(StartupReport report) {
+        System.out.println();
+        System.out.printf("%-24s %18s %18s %8s %15s %15s%n", "service", "default 1st req", "fast 1st req",
+                "speedup", "default started", "fast started");
+        report.services().forEach((name, s) -> System.out.printf("%-24s %15d ms %15d ms %7.2fx %12d ms %12d ms%n",
+                name, s.defaultProfile().firstRequestMedianMillis(), s.fastStart().firstRequestMedianMillis(),
+                s.speedup(), s.defaultProfile().startedMedianMillis(), s.fastStart().startedMedianMillis()));
+        System.out.println("medians; 1st req = launch -> first successful request, started = JVM start -> context ready");
+    }
+}
@@ -0,0 +1,27 @@
+package com.credit.loadtest.startup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Startup benchmark ke options -Dstartup.* se; ports, mvn, root aur bcrypt cost LoadConfig (-Dloadtest.*) wale.
+ * rounds odd rakho - median ek hi run ka number hota hai, average nahi.
+ */
+public record StartupConfig(
+        int rounds,
+        boolean build,
+        Path result,
+        Duration timeout) {
+
+    public static StartupConfig fromSystemProperties() {
+        int rounds = Integer.getInteger("startup.rounds", 3);
+        if (rounds < 1) {
+            throw new IllegalArgumentException("startup.rounds must be >= 1, got " + rounds);
+        }
+        return new StartupConfig(
+                rounds,
+                Boolean.parseBoolean(System.getProperty("startup.build", "true")),
+                Path.of(System.getProperty("startup.result", "target/startup-result.json")),
+                Duration.ofSeconds(Integer.getInteger("startup.timeout-seconds", 180)));
+    }
+}
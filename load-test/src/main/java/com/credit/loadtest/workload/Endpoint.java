@@ -0,0 +1,37 @@
+package com.credit.loadtest.workload;
+
+import java.util.Locale;
+
+/**
+ * Mix ke operations - har ek gateway ke through ek HTTP call.
+ */
+public enum Endpoint {
+
+    REGISTER("POST /api/users/register"),
+    LOGIN("POST /api/users/login"),
+    CALCULATE("POST /api/credit/calculate"),
+    SCORE("GET /api/credit/score/{userId}");
+
+    private final String route;
+
+    Endpoint(String route) {
+        this.route = route;
+    }
+
+    public String route() {
+        return route;
+    }
+
+    /** Mix / baseline me lowercase naam ("calculate"). */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Endpoint fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown endpoint '" + name + "' (register, login, calculate, score)");
+        }
+    }
+}
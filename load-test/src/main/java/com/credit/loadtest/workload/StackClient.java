@@ -0,0 +1,118 @@
+package com.credit.loadtest.workload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gateway ke public API pe HTTP calls - wahi requests jo frontend bhejta hai.
+ * Ek shared HttpClient (keep-alive pool); blocking send() - har call apne virtual thread pe hoti hai.
+ */
+public class StackClient {
+
+    static final String PASSWORD = "LoadTest#Passw0rd";
+
+    private static final String[] PAYMENT_HISTORY = {"EXCELLENT", "GOOD", "FAIR", "POOR"};
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public StackClient(HttpClient http, String baseUrl, Duration timeout) {
+        this.http = http;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+    }
+
+    /** @return naye user ka id, ya -1 agar register fail hua */
+    public long register(String email) throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fullName", "Load Test " + email.substring(0, email.indexOf('@')));
+        body.put("email", email);
+        body.put("password", PASSWORD);
+        HttpResponse<byte[]> response = send(post("/api/users/register", body, null));
+        if (!ok(response)) {
+            return -1;
+        }
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        return id == null ? -1 : id.asLong();
+    }
+
+    /** @return JWT, ya null agar login fail hua */
+    public String login(String email) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(post("/api/users/login",
+                Map.of("email", email, "password", PASSWORD), null));
+        if (!ok(response)) {
+            return null;
+        }
+        JsonNode token = objectMapper.readTree(response.body()).get("token");
+        return token == null ? null : token.asText();
+    }
+
+    /** Random (lekin valid) inputs ke saath score calculate - har call engine + DB write + cache invalidation. */
+    public boolean calculate(long userId, String token) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("userId", userId);
+        body.put("monthlyIncome", 20_000 + random.nextInt(180_000));
+        body.put("existingLoans", random.nextInt(2_000_000));
+        body.put("creditUtilization", random.nextInt(101));
+        body.put("paymentHistory", PAYMENT_HISTORY[random.nextInt(PAYMENT_HISTORY.length)]);
+        return ok(send(post("/api/credit/calculate", body, token)));
+    }
+
+    /** Frontend dashboard ka polling call. */
+    public boolean score(long userId, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/credit/score/" + userId))
+                .timeout(timeout)
+                .GET();
+        authorize(request, token);
+        return ok(send(request.build()));
+    }
+
+    /** Koi bhi HTTP response (4xx bhi) = process upar hai. */
+    public boolean reachable(String path) {
+        try {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(2)).GET().build());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest post(String path, Object body, String token) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        authorize(request, token);
+        return request.build();
+    }
+
+    private static void authorize(HttpRequest.Builder request, String token) {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
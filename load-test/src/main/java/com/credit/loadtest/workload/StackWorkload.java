@@ -0,0 +1,78 @@
+package com.credit.loadtest.workload;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Weighted mix ko ek fixed repeating schedule me badalta hai (smooth weighted round-robin):
+ * register:1,score:3 -> score, register, score, score, ... Same rate + mix = har run me same sequence,
+ * aur koi endpoint burst me nahi aata.
+ *
+ * register hamesha naya email (run id + counter) - pool users sirf login / calculate / score ke liye.
+ */
+public class StackWorkload implements Workload {
+
+    private final StackClient client;
+    private final UserPool pool;
+    private final String runId;
+    private final Endpoint[] schedule;
+    private final AtomicLong registrations = new AtomicLong();
+
+    public StackWorkload(StackClient client, UserPool pool, String runId, Map<Endpoint, Integer> mix) {
+        this.client = client;
+        this.pool = pool;
+        this.runId = runId;
+        this.schedule = schedule(mix);
+    }
+
+    @Override
+    public Endpoint pick(long sequence) {
+        return schedule[(int) (sequence % schedule.length)];
+    }
+
+    @Override
+    public boolean call(Endpoint endpoint) throws Exception {
+        switch (endpoint) {
+            case REGISTER:
+                return client.register("load-" + runId + "-" + registrations.incrementAndGet() + "@loadtest.local") >= 0;
+            case LOGIN:
+                return client.login(pool.random().email()) != null;
+            case CALCULATE: {
+                UserPool.PoolUser user = pool.random();
+                return client.calculate(user.id(), user.token());
+            }
+            case SCORE: {
+                UserPool.PoolUser user = pool.random();
+                return client.score(user.id(), user.token());
+            }
+            default:
+                throw new IllegalArgumentException("Unhandled endpoint " + endpoint);
+        }
+    }
+
+    /** Same workload, dusra mix (capacity search me ek-ek endpoint akela). */
+    public StackWorkload withMix(Map<Endpoint, Integer> mix) {
+        return new StackWorkload(client, pool, runId + "-" + mix.keySet().iterator().next().key(), mix);
+    }
+
+    static Endpoint[] schedule(Map<Endpoint, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Map<Endpoint, Integer> current = new EnumMap<>(Endpoint.class);
+        List<Endpoint> order = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            Endpoint best = null;
+            for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+                int value = current.merge(entry.getKey(), entry.getValue(), Integer::sum);
+                if (best == null || value > current.get(best)) {
+                    best = entry.getKey();
+                }
+            }
+            current.merge(best, -total, Integer::sum);
+            order.add(best);
+        }
+        return order.toArray(new Endpoint[0]);
+    }
+}
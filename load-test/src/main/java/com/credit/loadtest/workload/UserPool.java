@@ -0,0 +1,71 @@
+package com.credit.loadtest.workload;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measured run se pehle bane users (register + login + ek calculate), taaki login / calculate /
+ * score polling existing users pe chalein. calculate tab tak retry hota hai jab tak credit-scoring-service
+ * ki user directory naye user ko replicate na kar le (warna "Unknown user").
+ */
+public class UserPool {
+
+    public record PoolUser(long id, String email, String token) {
+    }
+
+    private final List<PoolUser> users;
+
+    private UserPool(List<PoolUser> users) {
+        this.users = users;
+    }
+
+    public static UserPool create(StackClient client, String runId, int size, ExecutorService executor,
+                                  Duration setupTimeout) throws Exception {
+        List<Future<PoolUser>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String email = "pool-" + runId + "-" + i + "@loadtest.local";
+            futures.add(executor.submit(() -> createUser(client, email, setupTimeout)));
+        }
+        List<PoolUser> users = new ArrayList<>(size);
+        for (Future<PoolUser> future : futures) {
+            users.add(future.get());
+        }
+        return new UserPool(List.copyOf(users));
+    }
+
+    public PoolUser random() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    private static PoolUser createUser(StackClient client, String email, Duration setupTimeout) throws Exception {
+        long deadline = System.nanoTime() + setupTimeout.toNanos();
+        // gateway abhi upstreams ko healthy mark kar raha ho to pehli calls 503 - retry
+        long id;
+        while ((id = client.register(email)) < 0) {
+            pause(deadline, "register failed for " + email);
+        }
+        String token;
+        while ((token = client.login(email)) == null) {
+            pause(deadline, "login failed for " + email);
+        }
+        while (!client.calculate(id, token)) {
+            pause(deadline, "user " + id + " not scorable - is credit-scoring-service replicating from user-management-ms?");
+        }
+        return new PoolUser(id, email, token);
+    }
+
+    private static void pause(long deadline, String failure) throws InterruptedException {
+        if (System.nanoTime() > deadline) {
+            throw new IllegalStateException("Setup: " + failure);
+        }
+        Thread.sleep(200);
+    }
+}
@@ -0,0 +1,12 @@
+package com.credit.loadtest.workload;
+
+/**
+ * Runner har scheduled arrival pe pick() se endpoint leta hai aur call() ek virtual thread pe chalata hai.
+ */
+public interface Workload {
+
+    Endpoint pick(long sequence);
+
+    /** true = 2xx. Exception bhi error hi ginti hota hai. */
+    boolean call(Endpoint endpoint) throws Exception;
+}
@@ -0,0 +1,60 @@
+package com.credit.loadtest.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaselineCheckTest {
+
+    private final BaselineCheck check = new BaselineCheck(25, 5);
+
+    @Test
+    void flagsLatencyCapacityAndErrorRegressionsOnly() {
+        LoadReport baseline = report(Map.of(
+                "score", new EndpointResult(20000, 0, 25, 2.0, 10.0, 20.0, 30.0, 9.0, null),
+                "calculate", new EndpointResult(12000, 0, 15, 20.0, 80.0, 120.0, 150.0, 70.0, 400.0)));
+        LoadReport current = report(Map.of(
+                // p50 2 -> 4 ms = +100% lekin sirf 2 ms: noise, regression nahi
+                "score", new EndpointResult(20000, 0, 25, 4.0, 12.0, 24.0, 35.0, 11.0, null),
+                // p999 +42% = double tolerance ke andar
+                "calculate", new EndpointResult(12000, 600, 14.2, 22.0, 130.0, 170.0, 300.0, 90.0, 180.0)));
+
+        List<String> regressions = check.regressions(baseline, current);
+
+        assertThat(regressions).hasSize(3);
+        assertThat(regressions).anyMatch(r -> r.startsWith("calculate p99"));
+        assertThat(regressions).anyMatch(r -> r.startsWith("calculate capacity/s"));
+        assertThat(regressions).anyMatch(r -> r.startsWith("calculate error rate"));
+        assertThat(check.warnings(baseline, current)).isEmpty();
+    }
+
+    @Test
+    void skipsTailPercentilesWithTooFewSamples() {
+        // 360 requests: p99 ke upar sirf 3.6 samples - woh "p99" ek GC pause hai, regression nahi
+        LoadReport baseline = report(Map.of(
+                "calculate", new EndpointResult(360, 0, 6, 18.0, 48.0, 52.0, 52.0, 47.0, null)));
+        LoadReport current = report(Map.of(
+                "calculate", new EndpointResult(360, 0, 6, 19.0, 90.0, 95.0, 95.0, 88.0, null)));
+
+        assertThat(check.regressions(baseline, current)).isEmpty();
+    }
+
+    @Test
+    void warnsWhenRunsAreNotComparable() {
+        LoadReport baseline = report(Map.of());
+        LoadReport current = new LoadReport(Map.of("cpus", 8, "java", "21.0.2"),
+                Map.of("rate", 200, "mix", "score:1", "seconds", 60, "users", 100, "bcryptCost", 10), 0, Map.of());
+
+        assertThat(check.warnings(baseline, current))
+                .anyMatch(w -> w.startsWith("config.rate"))
+                .anyMatch(w -> w.startsWith("env.cpus"));
+    }
+
+    private static LoadReport report(Map<String, EndpointResult> endpoints) {
+        return new LoadReport(Map.of("cpus", 1, "java", "17.0.9"),
+                Map.of("rate", 50, "mix", "score:1", "seconds", 60, "users", 100, "bcryptCost", 10), 0, endpoints);
+    }
+}
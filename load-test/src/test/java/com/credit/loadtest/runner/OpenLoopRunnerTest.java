@@ -0,0 +1,105 @@
+package com.credit.loadtest.runner;
+
+import com.credit.loadtest.report.EndpointResult;
+import com.credit.loadtest.workload.Endpoint;
+import com.credit.loadtest.workload.Workload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenLoopRunnerTest {
+
+    private final ExecutorService executor = PerTaskExecutors.newPerTaskExecutor("test-request-");
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void arrivalsFollowTheScheduleAndFailuresAreCounted() throws Exception {
+        OpenLoopRunner runner = new OpenLoopRunner(executor, 1_000, Duration.ofSeconds(5));
+        Workload workload = new Workload() {
+            @Override
+            public Endpoint pick(long sequence) {
+                return sequence % 4 == 0 ? Endpoint.LOGIN : Endpoint.SCORE;
+            }
+
+            @Override
+            public boolean call(Endpoint endpoint) {
+                return endpoint == Endpoint.SCORE;
+            }
+        };
+
+        OpenLoopRunner.RunResult result = runner.run(workload, 200, Duration.ofSeconds(1));
+
+        assertThat(result.requests()).isEqualTo(200);
+        assertThat(result.endpoints().get(Endpoint.LOGIN).requests()).isEqualTo(50);
+        assertThat(result.endpoints().get(Endpoint.LOGIN).errors()).isEqualTo(50);
+        assertThat(result.endpoints().get(Endpoint.SCORE).errors()).isZero();
+        assertThat(result.endpoints()).doesNotContainKey(Endpoint.REGISTER);
+    }
+
+    @Test
+    void latencyIncludesTimeRequestsWaitedBehindAStalledGenerator() throws Exception {
+        // sirf 1 request in-flight: 50 req/s offer, server 100 ms leta hai -> generator ruk ruk ke bhejta hai
+        OpenLoopRunner runner = new OpenLoopRunner(executor, 1, Duration.ofSeconds(5));
+        Workload slow = new Workload() {
+            @Override
+            public Endpoint pick(long sequence) {
+                return Endpoint.CALCULATE;
+            }
+
+            @Override
+            public boolean call(Endpoint endpoint) throws InterruptedException {
+                Thread.sleep(100);
+                return true;
+            }
+        };
+
+        EndpointResult result = runner.run(slow, 50, Duration.ofSeconds(1)).endpoints().get(Endpoint.CALCULATE);
+
+        // har request khud ~100 ms, lekin aakhri wali ~4 s se queue me thi
+        assertThat(result.serviceP99Millis()).isLessThan(500);
+        assertThat(result.p99Millis()).isGreaterThan(3_000);
+        assertThat(result.maxMillis()).isGreaterThanOrEqualTo(result.p99Millis());
+    }
+
+    @Test
+    void requestsStillPendingAfterDrainAreErrorsInTheCorrectedHistogram() throws Exception {
+        // 10 fast + 10 jo kabhi jawab nahi dete; drain 300 ms
+        OpenLoopRunner runner = new OpenLoopRunner(executor, 100, Duration.ofMillis(300));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Workload hanging = new Workload() {
+            @Override
+            public Endpoint pick(long sequence) {
+                return Endpoint.SCORE;
+            }
+
+            @Override
+            public boolean call(Endpoint endpoint) throws InterruptedException {
+                if (calls.getAndIncrement() % 2 == 1) {
+                    release.await();
+                }
+                return true;
+            }
+        };
+
+        EndpointResult result = runner.run(hanging, 100, Duration.ofMillis(200)).endpoints().get(Endpoint.SCORE);
+        release.countDown();
+
+        assertThat(result.requests()).isEqualTo(20);
+        assertThat(result.errors()).isEqualTo(10);
+        // hung requests drain timeout jitni latency ke saath histogram me
+        assertThat(result.p99Millis()).isGreaterThanOrEqualTo(300);
+        assertThat(result.maxMillis()).isGreaterThanOrEqualTo(300);
+        assertThat(result.serviceP99Millis()).isLessThan(300);
+    }
+}
@@ -0,0 +1,41 @@
+package com.credit.loadtest.startup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceStartupTest {
+
+    @Test
+    void medianIsAMeasuredValueAndSkipsMissingSamples() {
+        assertThat(ServiceStartup.median(List.of(900L, 300L, 500L))).isEqualTo(500);
+        // even count: lower middle, average nahi
+        assertThat(ServiceStartup.median(List.of(400L, 100L, 300L, 200L))).isEqualTo(200);
+        // -1 = "Started" line nahi mili
+        assertThat(ServiceStartup.median(List.of(-1L, 700L, -1L))).isEqualTo(700);
+        assertThat(ServiceStartup.median(List.of(-1L))).isEqualTo(-1);
+    }
+
+    @Test
+    void speedupComparesFirstRequestMedians() {
+        ServiceStartup startup = ServiceStartup.of(
+                ServiceStartup.Timings.of(List.of(18_000L, 17_500L, 19_000L), List.of(17_000L, 16_500L, 18_000L)),
+                ServiceStartup.Timings.of(List.of(10_500L, 9_000L, 10_000L), List.of(6_000L, 6_200L, 6_100L)));
+
+        assertThat(startup.defaultProfile().firstRequestMedianMillis()).isEqualTo(18_000);
+        assertThat(startup.fastStart().startedMedianMillis()).isEqualTo(6_100);
+        assertThat(startup.speedup()).isEqualTo(1.8);
+    }
+
+    @Test
+    void parsesProcessUptimeFromSpringStartedLine() {
+        String log = "INFO 42 --- [main] c.c.u.u.UserManagementMsApplication : Starting AOT-processed ...\n"
+                + "INFO 42 --- [main] c.c.u.u.UserManagementMsApplication : Started UserManagementMsApplication"
+                + " in 5.729 seconds (process running for 6.279)\n";
+
+        assertThat(StartupBenchmark.startedMillis(log)).isEqualTo(6_279);
+        assertThat(StartupBenchmark.startedMillis("Tomcat started on port 8080")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.credit.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HDR-style log-linear latency histogram (microseconds).
+ *
+ * 0-127 µs exact, uske baad har power-of-two range 64 sub-buckets me - relative error < 1.6%.
+ * Record = ek bucket index calculation + ek atomic increment; koi allocation nahi, koi lock nahi.
+ * Range ~19 hours tak; usse bada value last bucket me clamp hota hai.
+ *
+ * Services, gateway aur load-test sab yahi class use karte hain - percentiles har jagah same buckets se.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;          // 64
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;              // 128
+    private static final int MAX_MAGNITUDE = 36;                          // 2^36 µs
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * Percentiles ek hi pass me (quantiles ascending order me hone chahiye).
+     * Har result bucket ki upper bound hai, to reported value kabhi kam nahi aati.
+     */
+    public long[] percentilesMicros(double... quantiles) {
+        long[] snapshot = new long[BUCKETS];
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            seen += snapshot[i];
+        }
+        long[] result = new long[quantiles.length];
+        if (seen == 0) {
+            return result;
+        }
+        int q = 0;
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS && q < quantiles.length; i++) {
+            cumulative += snapshot[i];
+            while (q < quantiles.length && cumulative >= Math.ceil(quantiles[q] * seen)) {
+                result[q++] = Math.min(upperBound(i), max.get());
+            }
+        }
+        return result;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;                          // value >>> shift in [64, 127]
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,80 @@
+package com.credit.metrics;
+
+import com.credit.metrics.dto.PoolTimingResponse;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HikariCP connection wait - har pool (user-ms me primary + replica) ka getConnection() histogram,
+ * timeouts aur current active / idle / pending. Hikari borrowing thread pe hi callback deta hai,
+ * to request ke andar wait us request ke {@link RequestTimings} me bhi jud jata hai.
+ *
+ * {@link TimingMetricsConfiguration} har HikariDataSource pe pool start hone se pehle laga deta hai.
+ */
+@Component
+public class PoolTimings implements MetricsTrackerFactory {
+
+    private static final double[] QUANTILES = {0.50, 0.99};
+
+    private final Map<String, Tracker> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolStats);
+        pools.put(poolName, tracker);
+        return tracker;
+    }
+
+    public Map<String, PoolTimingResponse> snapshot() {
+        Map<String, PoolTimingResponse> result = new TreeMap<>();
+        pools.forEach((name, tracker) -> result.put(name, tracker.snapshot()));
+        return result;
+    }
+
+    private static final class Tracker implements IMetricsTracker {
+
+        final PoolStats poolStats;
+        final LatencyHistogram wait = new LatencyHistogram();
+        final LongAdder timeouts = new LongAdder();
+
+        Tracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            wait.recordMicros(elapsedAcquiredNanos / 1_000);
+            RequestTimings request = RequestTimings.current();
+            if (request != null) {
+                request.addConnection(elapsedAcquiredNanos);
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        PoolTimingResponse snapshot() {
+            long[] p = wait.percentilesMicros(QUANTILES);
+            return PoolTimingResponse.builder()
+                    .acquires(wait.count())
+                    .waitP50Ms(p[0] / 1000d)
+                    .waitP99Ms(p[1] / 1000d)
+                    .waitMaxMs(wait.maxMicros() / 1000d)
+                    .timeouts(timeouts.sum())
+                    .active(poolStats.getActiveConnections())
+                    .idle(poolStats.getIdleConnections())
+                    .total(poolStats.getTotalConnections())
+                    .pendingThreads(poolStats.getPendingThreads())
+                    .build();
+        }
+    }
+}
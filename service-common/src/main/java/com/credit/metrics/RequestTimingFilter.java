@@ -0,0 +1,55 @@
+package com.credit.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Sabse bahar wala filter (security chain se bhi pehle) - request ka {@link RequestTimings} kholta
+ * hai, aur end me endpoint ka total latency + statements + pool wait {@link StageTimings} me.
+ * /metrics/** khud gina nahi jata (scrape se numbers na bigdein).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final StageTimings stageTimings;
+
+    public RequestTimingFilter(StageTimings stageTimings) {
+        this.stageTimings = stageTimings;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/metrics/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            RequestTimings.end();
+            stageTimings.recordRequest(endpoint(request), timings, failed);
+        }
+    }
+
+    // mapping pattern ("/api/credit/score/{userId}") - har id ka alag entry na bane
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+    }
+}
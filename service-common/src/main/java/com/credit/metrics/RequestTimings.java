@@ -0,0 +1,106 @@
+package com.credit.metrics;
+
+import java.util.Locale;
+
+/**
+ * Ek request ka stage-wise breakdown (Server-Timing header + per-endpoint averages ke liye).
+ *
+ * Request thread ka ThreadLocal - {@link RequestTimingFilter} begin / end karta hai. Stages wahi
+ * thread record karta hai (user-ms ka bcrypt hash bhi caller join ke baad likhta hai), isliye lock nahi.
+ * Request ke bahar (batch / import workers, event pipeline, scheduled jobs) current() null hai -
+ * sirf global histograms.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final int MAX_STAGES = 16;
+
+    private final long startNanos = System.nanoTime();
+    private final String[] stages = new String[MAX_STAGES];
+    private final long[] stageNanos = new long[MAX_STAGES];
+    private int size;
+    private int statements;
+    private int connections;
+    private long poolWaitNanos;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /** Same stage dobara aaye (do queries) to jud jata hai. */
+    void addStage(String stage, long nanos) {
+        for (int i = 0; i < size; i++) {
+            if (stages[i].equals(stage)) {
+                stageNanos[i] += nanos;
+                return;
+            }
+        }
+        if (size < MAX_STAGES) {
+            stages[size] = stage;
+            stageNanos[size++] = nanos;
+        }
+    }
+
+    void addStatement() {
+        statements++;
+    }
+
+    void addConnection(long waitNanos) {
+        connections++;
+        poolWaitNanos += waitNanos;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long poolWaitNanos() {
+        return poolWaitNanos;
+    }
+
+    public long stageNanos(String stage) {
+        for (int i = 0; i < size; i++) {
+            if (stages[i].equals(stage)) {
+                return stageNanos[i];
+            }
+        }
+        return 0;
+    }
+
+    /** "total;dur=4.1, engine;dur=0.002, db.save;dur=2.9, db;desc=\"2 statements\", db.pool;dur=0.01" */
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(64 + size * 24);
+        appendDuration(header, "total", elapsedNanos());
+        for (int i = 0; i < size; i++) {
+            header.append(", ");
+            appendDuration(header, stages[i], stageNanos[i]);
+        }
+        header.append(", db;desc=\"").append(statements).append(" statements\"");
+        if (connections > 0) {
+            header.append(", ");
+            appendDuration(header, "db.pool", poolWaitNanos);
+        }
+        return header.toString();
+    }
+
+    private static void appendDuration(StringBuilder header, String name, long nanos) {
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+    }
+}
@@ -0,0 +1,124 @@
+package com.credit.metrics;
+
+import com.credit.metrics.dto.StageTimingResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * HOT-PATH TIMINGS - har stage (credit: engine, db.save, ...; user-ms: jwt.verify, bcrypt.hash, ...) ka latency histogram
+ * aur har endpoint ka total + per-request DB statements / pool wait.
+ *
+ * Record = ek map lookup (stage pehli baar aane ke baad) + histogram ka atomic increment;
+ * request ke andar ho to {@link RequestTimings} me bhi (Server-Timing header ke liye).
+ * GET /metrics/timings pe dikhta hai.
+ */
+@Component
+public class StageTimings {
+
+    private static final double[] QUANTILES = {0.50, 0.90, 0.99};
+
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+    private final Map<String, Stage> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder statements = new LongAdder();
+
+    public void record(String stage, long nanos) {
+        stage(stages, stage).latency.recordMicros(nanos / 1_000);
+        RequestTimings request = RequestTimings.current();
+        if (request != null) {
+            request.addStage(stage, nanos);
+        }
+    }
+
+    /** Stage ka time; exception aaye to bhi record hota hai aur errors++ (rethrow). */
+    public <T> T time(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            stage(stages, stage).errors.increment();
+            throw e;
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void time(String stage, Runnable work) {
+        time(stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Hibernate ne statement prepare kiya (StatementCounter). */
+    void recordStatement() {
+        statements.increment();
+        RequestTimings request = RequestTimings.current();
+        if (request != null) {
+            request.addStatement();
+        }
+    }
+
+    /** Request khatam - endpoint = "POST /api/users/login" (mapping pattern, ids nahi). */
+    void recordRequest(String endpoint, RequestTimings request, boolean failed) {
+        Stage stats = stage(endpoints, endpoint);
+        stats.latency.recordMicros(request.elapsedNanos() / 1_000);
+        stats.statements.add(request.statements());
+        stats.poolWaitNanos.add(request.poolWaitNanos());
+        if (failed) {
+            stats.errors.increment();
+        }
+    }
+
+    public long statementCount() {
+        return statements.sum();
+    }
+
+    public Map<String, StageTimingResponse> stageSnapshot() {
+        return snapshot(stages, false);
+    }
+
+    public Map<String, StageTimingResponse> endpointSnapshot() {
+        return snapshot(endpoints, true);
+    }
+
+    private static Stage stage(Map<String, Stage> map, String name) {
+        Stage stage = map.get(name);
+        return stage != null ? stage : map.computeIfAbsent(name, n -> new Stage());
+    }
+
+    private static Map<String, StageTimingResponse> snapshot(Map<String, Stage> map, boolean perRequest) {
+        Map<String, StageTimingResponse> result = new TreeMap<>();
+        map.forEach((name, stage) -> result.put(name, stage.snapshot(perRequest)));
+        return result;
+    }
+
+    private static final class Stage {
+
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder poolWaitNanos = new LongAdder();
+
+        StageTimingResponse snapshot(boolean perRequest) {
+            long[] p = latency.percentilesMicros(QUANTILES);
+            long count = latency.count();
+            StageTimingResponse.StageTimingResponseBuilder builder = StageTimingResponse.builder()
+                    .count(count)
+                    .errors(errors.sum())
+                    .p50Ms(p[0] / 1000d)
+                    .p90Ms(p[1] / 1000d)
+                    .p99Ms(p[2] / 1000d)
+                    .maxMs(latency.maxMicros() / 1000d);
+            if (perRequest && count > 0) {
+                builder.statementsPerRequest((double) statements.sum() / count)
+                        .poolWaitMsPerRequest(poolWaitNanos.sum() / 1e6 / count);
+            }
+            return builder.build();
+        }
+    }
+}
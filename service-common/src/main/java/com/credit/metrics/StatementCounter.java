@@ -0,0 +1,22 @@
+package com.credit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate har SQL prepare karne se pehle yahan se guzarta hai - per-request statement count
+ * (N+1 ya extra SELECT yahin dikhta hai). SQL badalta nahi; batched INSERT ek hi statement gina jata hai.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private final StageTimings stageTimings;
+
+    public StatementCounter(StageTimings stageTimings) {
+        this.stageTimings = stageTimings;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        stageTimings.recordStatement();
+        return sql;
+    }
+}
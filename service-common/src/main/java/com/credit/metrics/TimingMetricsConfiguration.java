@@ -0,0 +1,34 @@
+package com.credit.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Timing beans + har HikariDataSource pe {@link PoolTimings}.
+ *
+ * Service ka apna TimingMetricsConfig ise import karta hai aur Hibernate statement inspector
+ * ({@link StatementCounter}) khud lagata hai - HibernatePropertiesCustomizer ka package Boot 3 aur 4 me alag hai.
+ */
+@Configuration
+@Import({StageTimings.class, PoolTimings.class, RequestTimingFilter.class, ServerTimingAdvice.class})
+public class TimingMetricsConfiguration {
+
+    // static - BeanPostProcessor baaki beans se pehle banta hai; PoolTimings tab lazily aata hai
+    @Bean
+    static BeanPostProcessor hikariTimingPostProcessor(ObjectProvider<PoolTimings> poolTimings) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // pool pehle getConnection() pe start hota hai - us se pehle hi lagana zaruri hai
+                if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+                    dataSource.setMetricsTrackerFactory(poolTimings.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.credit.metrics.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PoolTimingResponse {
+
+    // getConnection() me kitna ruke (pool khaali ho to yahi badhta hai)
+    private long acquires;
+    private double waitP50Ms;
+    private double waitP99Ms;
+    private double waitMaxMs;
+    private long timeouts;
+
+    private int active;
+    private int idle;
+    private int total;
+    private int pendingThreads;
+}
@@ -0,0 +1,22 @@
+package com.credit.metrics.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StageTimingResponse {
+
+    private long count;
+    private long errors;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double maxMs;
+
+    // sirf endpoints ke liye
+    private Double statementsPerRequest;
+    private Double poolWaitMsPerRequest;
+}
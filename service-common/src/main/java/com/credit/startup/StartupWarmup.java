@@ -0,0 +1,79 @@
+package com.credit.startup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * fast-start profile: startup pe DB ko haath nahi lagate, yeh kaam ready hone ke BAAD background me:
+ *  1. har Hikari pool ka pehla connection (pool khud min-idle tak bhar leta hai)
+ *  2. EntityManagerFactory (bootstrap-mode=lazy - background bootstrap ka wait)
+ *  3. bache hue lazy singletons - pehli request ko controller / service banane ka kharcha na pade
+ * Jo request isse pehle aa jaye woh wahi bean khud bana leti hai; warm-up sirf aage nikal jata hai.
+ *
+ * user-ms aur credit ka FastStartConfig ise @Import karta hai; gateway reactive hai (JPA nahi), uska apna hai.
+ */
+@Component
+@ConditionalOnProperty(name = "startup.warmup.enabled", havingValue = "true")
+@Slf4j
+public class StartupWarmup {
+
+    private final ObjectProvider<HikariDataSource> dataSources;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactories;
+    private final ConfigurableListableBeanFactory beanFactory;
+
+    public StartupWarmup(ObjectProvider<HikariDataSource> dataSources,
+                         ObjectProvider<EntityManagerFactory> entityManagerFactories,
+                         ConfigurableListableBeanFactory beanFactory) {
+        this.dataSources = dataSources;
+        this.entityManagerFactories = entityManagerFactories;
+        this.beanFactory = beanFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long started = System.nanoTime();
+        int pools = 0;
+        for (HikariDataSource dataSource : dataSources) {
+            try (Connection ignored = dataSource.getConnection()) {
+                pools++;
+            } catch (Exception e) {
+                // DB abhi nahi mila - pehli request dobara try karegi, startup fail nahi
+                log.warn("Warm-up: pool {} not reachable yet: {}", dataSource.getPoolName(), e.getMessage());
+            }
+        }
+        entityManagerFactories.forEach(EntityManagerFactory::getMetamodel);
+
+        int beans = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isSingleton() && !definition.isAbstract() && definition.isLazyInit()
+                    && !beanFactory.containsSingleton(name)) {
+                try {
+                    beanFactory.getBean(name);
+                    beans++;
+                } catch (Exception e) {
+                    log.debug("Warm-up: skipped lazy bean {}: {}", name, e.getMessage());
+                }
+            }
+        }
+        log.info("Startup warm-up done in {} ms ({} pools, {} lazy beans)",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), pools, beans);
+    }
+}
@@ -0,0 +1,115 @@
+package com.credit.threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PINNING DIAGNOSTICS
+ *
+ * Virtual thread agar synchronized block ke andar block ho (JDBC socket read, file write...)
+ * to woh carrier thread ko pakde rehta hai - virtual mode ka fayda wahin khatam.
+ * JFR ka jdk.VirtualThreadPinned event in-process stream karke har pinning site
+ * (pehla app frame - diagnostics.pinning.app-packages) ka count rakhte hain aur naye site pe stack log karte hain.
+ *
+ * Sirf virtual mode me chalta hai; diagnostics.pinning.enabled=false se band,
+ * diagnostics.pinning.threshold se chhote pins ignore.
+ */
+@Component
+@Slf4j
+public class PinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private final List<String> appPackages;
+    private final RecordingStream stream;
+
+    public PinningMonitor(VirtualThreads virtualThreads,
+                          @Value("${diagnostics.pinning.enabled:true}") boolean enabled,
+                          @Value("${diagnostics.pinning.threshold:20ms}") Duration threshold,
+                          @Value("${diagnostics.pinning.app-packages:com.ms.,com.credit.}") List<String> appPackages) {
+        this.appPackages = appPackages;
+        if (!enabled || !virtualThreads.isActive()) {
+            this.stream = null;
+            return;
+        }
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor on (threshold {} ms)", threshold.toMillis());
+    }
+
+    /** Site -> kitni baar pinned hua (sorted). */
+    public Map<String, Long> pinnedSites() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        sites.forEach((site, count) -> snapshot.put(site, count.sum()));
+        return snapshot;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String site = site(stackTrace);
+        LongAdder count = sites.computeIfAbsent(site, s -> new LongAdder());
+        count.increment();
+        long seen = count.sum();
+
+        // naya site -> poora stack; baad me sirf 2 ki power pe ek line (log flood nahi)
+        if (seen == 1) {
+            log.warn("Virtual thread pinned for {} ms at {}\n{}",
+                    event.getDuration().toMillis(), site, frames(stackTrace));
+        } else if (Long.bitCount(seen) == 1) {
+            log.warn("Virtual thread pinned at {} ({} times so far)", site, seen);
+        }
+    }
+
+    private String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<unknown>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (appPackages.stream().anyMatch(type::startsWith)) {
+                return describe(frame);
+            }
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private static String frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        int limit = Math.min(LOGGED_FRAMES, stackTrace.getFrames().size());
+        for (int i = 0; i < limit; i++) {
+            out.append("\tat ").append(describe(stackTrace.getFrames().get(i))).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
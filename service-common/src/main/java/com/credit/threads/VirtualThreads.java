@@ -0,0 +1,54 @@
+package com.credit.threads;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * THREAD MODE (spring.threads.virtual.enabled)
+ *
+ * Property Boot ko Tomcat request threads, @Async aur scheduler virtual banane ko bolti hai.
+ * Service ke apne I/O-heavy executors yahan se ThreadFactory lete hain taaki woh bhi same mode me chalein.
+ * CPU-bound pools (bcrypt, import hashing) jaan-boojh ke platform threads pe rehte hain.
+ *
+ * Build Java 17 target karta hai; virtual threads sirf Java 21+ JVM pe milte hain.
+ * 17 pe flag on ho to warning aati hai aur sab platform threads pe hi chalta hai.
+ */
+@Component
+@Slf4j
+public class VirtualThreads {
+
+    private final boolean active;
+
+    public VirtualThreads(@Value("${spring.threads.virtual.enabled:false}") boolean requested) {
+        int javaVersion = Runtime.version().feature();
+        this.active = requested && javaVersion >= 21;
+        if (requested && !active) {
+            log.warn("spring.threads.virtual.enabled=true but this JVM is Java {} - virtual threads need 21+, "
+                    + "running on platform threads", javaVersion);
+        } else {
+            log.info("Thread mode: {}", active ? "virtual" : "platform");
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /** Virtual mode me virtual thread factory, warna named daemon platform threads. */
+    public ThreadFactory threadFactory(String namePrefix) {
+        if (active) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.credit.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsAreContiguousAndTight() {
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBound(index - 1)).isLessThan(value);
+            }
+        }
+        // relative error 1/64 ke andar
+        long big = 123_456_789L;
+        assertThat((double) LatencyHistogram.upperBound(LatencyHistogram.indexOf(big)) / big).isLessThan(1.016);
+    }
+
+    @Test
+    void percentilesFollowTheDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.recordMicros(i * 10L);        // 10 µs .. 100 ms uniform
+        }
+        long[] p = histogram.percentilesMicros(0.5, 0.9, 0.99, 0.999);
+
+        assertThat(p[0]).isBetween(50_000L, 50_800L);
+        assertThat(p[1]).isBetween(90_000L, 91_500L);
+        assertThat(p[2]).isBetween(99_000L, 100_000L);
+        assertThat(p[3]).isBetween(99_900L, 100_000L);
+        assertThat(histogram.maxMicros()).isEqualTo(100_000L);
+    }
+}
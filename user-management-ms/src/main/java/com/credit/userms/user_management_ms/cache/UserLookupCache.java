@@ -0,0 +1,80 @@
+package com.credit.userms.user_management_ms.cache;
+
+import com.credit.userms.user_management_ms.dto.UserResponse;
+import com.credit.userms.user_management_ms.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * USER LOOKUP CACHE (GET /api/users/{id}, findByEmail)
+ *
+ * Bounded in-process cache of {@link UserResponse} DTOs - id aur email dono se. Entity nahi rakhte,
+ * isliye password hash memory me cache nahi hota. Har load dono keys bhar deta hai.
+ *
+ * Har user change {@link com.credit.userms.user_management_ms.replication.UserChangeLog#record} se
+ * guzarta hai - wahi commit ke baad yahan se evict karta hai. "Not found" cache nahi hota,
+ * warna naya register hua user ttl tak 404 deta.
+ */
+@Component
+public class UserLookupCache {
+
+    private final Cache<Long, UserResponse> byId;
+    private final Cache<String, UserResponse> byEmail;
+
+    public UserLookupCache(@Value("${user.lookup-cache.max-entries:100000}") long maxEntries,
+                           @Value("${user.lookup-cache.ttl:10m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).recordStats().build();
+        this.byEmail = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public Optional<UserResponse> byId(Long id, Function<Long, Optional<UserResponse>> loader) {
+        UserResponse user = byId.get(id, key -> loader.apply(key).orElse(null));
+        if (user != null) {
+            byEmail.asMap().putIfAbsent(user.getEmail(), user);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    public Optional<UserResponse> byEmail(String email, Function<String, Optional<UserResponse>> loader) {
+        UserResponse user = byEmail.get(email, key -> loader.apply(key).orElse(null));
+        if (user != null) {
+            byId.asMap().putIfAbsent(user.getId(), user);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /** Transaction commit hone ke baad evict; transaction na ho to turant. */
+    public void evictAfterCommit(Collection<User> users) {
+        List<Long> ids = users.stream().map(User::getId).toList();
+        List<String> emails = users.stream().map(User::getEmail).toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids, emails);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids, emails);
+            }
+        });
+    }
+
+    public long hitCount() {
+        return byId.stats().hitCount() + byEmail.stats().hitCount();
+    }
+
+    private void evict(List<Long> ids, List<String> emails) {
+        byId.invalidateAll(ids);
+        byEmail.invalidateAll(emails);
+    }
+}
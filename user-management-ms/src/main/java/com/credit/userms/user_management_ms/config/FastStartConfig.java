@@ -0,0 +1,30 @@
+package com.credit.userms.user_management_ms.config;
+
+import com.credit.startup.StartupWarmup;
+import com.credit.userms.user_management_ms.replication.UserChangeLog;
+import com.credit.userms.user_management_ms.service.auth.PasswordHasher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * fast-start profile (spring.main.lazy-initialization=true) me bhi yeh beans startup pe bante hain:
+ *  - UserChangeLog: retention thread; credit-service replication pehle poll pe hi isse maangta hai
+ *  - PasswordHasher: bcrypt calibration startup me - warna pehla login ~calibration jitna slow
+ * Baaki beans pehli zarurat pe (ya {@link StartupWarmup} me ready ke baad) bante hain.
+ * {@link UserIdSequenceAligner} jaan bujh ke lazy hai: schema / id migration default profile wale
+ * instance ka kaam hai (ddl-auto=none yahan), fast-start instance startup pe DB ko chhuta hi nahi
+ * (warm-up ready ke baad isse bhi bana deta hai - aligned DB pe no-op).
+ */
+@Configuration(proxyBeanMethods = false)
+@Import(StartupWarmup.class)
+public class FastStartConfig {
+
+    // static - LazyInitializationBeanFactoryPostProcessor baaki beans se pehle isse padhta hai
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                UserChangeLog.class, PasswordHasher.class);
+    }
+}
@@ -1,32 +1,63 @@
 package com.credit.userms.user_management_ms.config;
 
+import com.credit.metrics.StageTimings;
 import com.credit.userms.user_management_ms.service.auth.JwtUtil;
+import com.credit.userms.user_management_ms.service.auth.VerifiedToken;
 import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.web.WebApplicationInitializer;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT FILTER - stateless fast path
+ *
+ * Token ek hi baar parse/verify hota hai (ya verified-token cache se aata hai) aur
+ * username + roles claims se hi Authentication banta hai - har request pe
+ * UserRepository.findByEmail wala SELECT nahi hota.
+ *
+ * Trade-off: user delete/disable hone ke baad bhi uska token expiry (1 hour) tak chalega.
+ *
+ * Trusted-header mode (security.trusted-headers.enabled=true): gateway token verify kar chuka hai,
+ * to X-User-Email / X-User-Roles se hi Authentication banta hai - bas X-Gateway-Identity
+ * shared secret se match hona chahiye. Match na ho to normal JWT path chalta hai.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    static final String HEADER_USER_EMAIL = "X-User-Email";
+    static final String HEADER_USER_ROLES = "X-User-Roles";
+    static final String HEADER_GATEWAY_IDENTITY = "X-Gateway-Identity";
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private StageTimings stageTimings;
 
+    @Value("${security.trusted-headers.enabled:false}")
+    private boolean trustedHeadersEnabled;
 
+    @Value("${security.trusted-headers.secret:}")
+    private String trustedHeadersSecret;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -35,71 +66,66 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     throws
                                   ServletException, IOException {
 
-        System.out.println("=== JWT Filter Called ===");
+        // sirf auth ka hissa - filterChain (controller) iske bahar
+        long start = System.nanoTime();
+        // gateway ne already verify kar diya - dobara JWT parse karne ki zarurat nahi
+        if (SecurityContextHolder.getContext().getAuthentication() == null && fromTrustedGateway(request)) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    request.getHeader(HEADER_USER_EMAIL), null, roleAuthorities(request.getHeader(HEADER_USER_ROLES)));
+            authToken.setDetails(detailsSource.buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
 
         //request header se authorization header nikalo!!
         final String authHeader = request.getHeader("Authorization");
 
+        //check if header is present and start with bearer or nt
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-        System.out.println("Authorization Header: " + authHeader);
-        String jwt = null;
-        String userEmail = null;
-       //check if header is present and start with bearer or nt
-        if(authHeader != null && authHeader.startsWith("Bearer ")){
-
-            //extract actual token
-            jwt = authHeader.substring(7);
-
-            System.out.println("✅ Email extracted: " + userEmail); // ADD THIS
-
-            try {
-                //token se email extract
-                userEmail = jwtUtil.extractUsername(jwt);
-
-
-            } catch (Exception e) {
-
-                System.out.println("token extraction failed: " + e.getMessage() );
-            }
-
-        }
-        if( userEmail  != null && SecurityContextHolder.getContext().getAuthentication() == null){
-
-
-            System.out.println("🔍 Loading user: " + userEmail);
-            //database se userdetail nikalo
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-
-            //token validation
+            // signature + expiry ek hi parse me (invalid token -> null)
+            long verifyStart = System.nanoTime();
+            VerifiedToken token = jwtUtil.verify(authHeader.substring(BEARER_PREFIX.length()));
+            stageTimings.record("jwt.verify", System.nanoTime() - verifyStart);
 
-            if(jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-
-// if token valid ---> user ko authenticated mark kro
+            if (token != null) {
+                // if token valid ---> user ko authenticated mark kro (claims se, DB se nahi)
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails , null
-                                , userDetails.getAuthorities()
-                        );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-
-                );
-               //spring security context me set kro
-
+                                token.username(), null, token.authorities());
+                authToken.setDetails(detailsSource.buildDetails(request));
 
+                //spring security context me set kro
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+        }
+        stageTimings.record("jwt.filter", System.nanoTime() - start);
 
+        filterChain.doFilter(request, response);
+    }
 
-
-
-
+    // "USER,ADMIN" -> ROLE_USER, ROLE_ADMIN (JWT claims wala hi format)
+    private static List<GrantedAuthority> roleAuthorities(String roles) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (roles != null) {
+            for (String role : roles.split(",")) {
+                if (!role.isBlank()) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_" + role.trim()));
                 }
-
             }
-
-        filterChain.doFilter(request,response);
-
         }
-
+        return authorities;
     }
 
+    private boolean fromTrustedGateway(HttpServletRequest request) {
+        if (!trustedHeadersEnabled || trustedHeadersSecret.isEmpty()
+                || request.getHeader(HEADER_USER_EMAIL) == null) {
+            return false;
+        }
+        String presented = request.getHeader(HEADER_GATEWAY_IDENTITY);
+        // constant-time compare, secret timing se leak na ho
+        return presented != null && MessageDigest.isEqual(
+                trustedHeadersSecret.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
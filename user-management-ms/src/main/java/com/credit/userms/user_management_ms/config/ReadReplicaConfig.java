@@ -0,0 +1,77 @@
+package com.credit.userms.user_management_ms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * READ REPLICA ROUTING (opt-in: user.datasource.replica.enabled=true)
+ *
+ * readOnly transactions (user lookups) replica pool pe, baaki sab - writes, login, change log feed -
+ * primary pe. LazyConnectionDataSourceProxy physical connection pehle statement pe leta hai; tab
+ * tak transaction manager connection ko readOnly mark kar chuka hota hai, to sahi pool chuna jata hai.
+ *
+ * Primary pool spring.datasource.* / spring.datasource.hikari.* se hi banta hai (Boot ka default
+ * DataSource is config ke hone par nahi banta).
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("user.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(DataSourceProperties properties, ReplicaProperties replica) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replica.getUrl())
+                // alag credentials na diye hon to primary wale
+                .username(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername())
+                .password(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replica);
+        return routing;
+    }
+
+    @Bean
+    @ConfigurationProperties("user.datasource.replica")
+    ReplicaProperties replicaProperties() {
+        return new ReplicaProperties();
+    }
+
+    @Data
+    public static class ReplicaProperties {
+        private boolean enabled;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -1,9 +1,9 @@
 package com.credit.userms.user_management_ms.config;
 
 
+import com.credit.userms.user_management_ms.service.auth.PasswordHasher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
@@ -11,8 +11,9 @@ public class SecurityBeanConfig {
 
 
 
+    // calibrated cost wala encoder (PasswordHasher decide karta hai)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHasher passwordHasher) {
+        return passwordHasher.encoder();
     }
 }
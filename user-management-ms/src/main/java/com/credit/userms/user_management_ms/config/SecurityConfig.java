@@ -44,6 +44,15 @@ public class SecurityConfig {
                                 "/h2-console/**"         // H2 database console
                         ).permitAll()
 
+                        // 🔁 Replication feed - apna shared token controller me check hota hai
+                        .requestMatchers("/api/users/replication/**").permitAll()
+
+                        // 📊 Timings - controller khud localhost check karta hai (metrics.local-only)
+                        .requestMatchers("/metrics/timings").permitAll()
+
+                        // 📦 Bulk import sirf ADMIN role ke token se
+                        .requestMatchers("/api/users/import").hasRole("ADMIN")
+
                         // 🔒 PROTECTED URLs - Token chahiye
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,19 @@
+package com.credit.userms.user_management_ms.config;
+
+import com.credit.threads.PinningMonitor;
+import com.credit.threads.VirtualThreads;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Shared thread mode beans (spring.threads.virtual.enabled): {@link VirtualThreads} + {@link PinningMonitor}.
+ *
+ * Jaan-boojh ke platform threads pe rehne wale pools:
+ *  - PasswordHasher (bcrypt-*): CPU-bound, aur pool size hi admission control hai
+ *  - UserBulkImporter hash pool: CPU-bound
+ * Virtual threads CPU nahi badhate; in pools ko virtual karne se sirf bound khatam hota.
+ */
+@Configuration(proxyBeanMethods = false)
+@Import({VirtualThreads.class, PinningMonitor.class})
+public class ThreadModeConfig {
+}
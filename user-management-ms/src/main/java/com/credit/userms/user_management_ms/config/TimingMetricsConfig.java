@@ -0,0 +1,26 @@
+package com.credit.userms.user_management_ms.config;
+
+import com.credit.metrics.StageTimings;
+import com.credit.metrics.StatementCounter;
+import com.credit.metrics.TimingMetricsConfiguration;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * DB side ke timings hook karta hai:
+ *  - shared timing beans ({@link TimingMetricsConfiguration}) - har HikariDataSource (Boot default ya
+ *    ReadReplicaConfig ke primary + replica) pe PoolTimings
+ *  - Hibernate statement inspector = {@link StatementCounter}
+ */
+@Configuration
+@Import(TimingMetricsConfiguration.class)
+public class TimingMetricsConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer statementCounterCustomizer(StageTimings stageTimings) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter(stageTimings));
+    }
+}
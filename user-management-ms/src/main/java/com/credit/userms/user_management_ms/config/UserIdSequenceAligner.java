@@ -0,0 +1,43 @@
+package com.credit.userms.user_management_ms.config;
+
+import com.credit.userms.user_management_ms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * IDENTITY -> pooled sequence migration ke liye.
+ *
+ * Purane rows AUTO_INCREMENT ids ke saath hain; MySQL pe Hibernate users_seq ko table se
+ * emulate karta hai jo 1 se start hota hai. Startup pe (schema update ke baad, traffic se pehle)
+ * users_seq ko max(id) ke upar le jate hain, taaki naye ids purane ids se na takrayein.
+ * Native sequence wale DBs (H2 tests) me kuch nahi karte.
+ */
+@Component
+@Slf4j
+public class UserIdSequenceAligner {
+
+    public UserIdSequenceAligner(DataSource dataSource, EntityManagerFactory entityManagerFactory) throws SQLException {
+        String product;
+        try (Connection connection = dataSource.getConnection()) {
+            product = connection.getMetaData().getDatabaseProductName();
+        }
+        if (!"MySQL".equalsIgnoreCase(product) && !"MariaDB".equalsIgnoreCase(product)) {
+            return;
+        }
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from users", Long.class);
+        // pooled optimizer: next_val = block ki upper limit, ids (next_val - allocation, next_val] milte hain
+        long floor = maxId + User.ID_ALLOCATION_SIZE;
+        int updated = jdbc.update("update users_seq set next_val = ? where next_val < ?", floor, floor);
+        if (updated > 0) {
+            log.info("users_seq moved to {} (max existing id {})", floor, maxId);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.credit.userms.user_management_ms.controller;
 
+import com.credit.userms.user_management_ms.dto.ImportSummary;
 import com.credit.userms.user_management_ms.dto.JwtResponse;
 import com.credit.userms.user_management_ms.dto.LoginRequest;
 import com.credit.userms.user_management_ms.dto.RegisterRequest;
 import com.credit.userms.user_management_ms.dto.UserResponse;
-import com.credit.userms.user_management_ms.entity.User;
+import com.credit.userms.user_management_ms.importer.UserBulkImporter;
 import com.credit.userms.user_management_ms.service.UserService;
 import com.credit.userms.user_management_ms.service.auth.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -17,6 +21,7 @@ public class UserController {
 
     private final UserService userService;
     private final AuthService authService;
+    private final UserBulkImporter userBulkImporter;
 
     @PostMapping("/register")
     public UserResponse registerUser(@RequestBody RegisterRequest request) {
@@ -28,15 +33,16 @@ public class UserController {
         return authService.login(request);
     }
 
+    // partner migration: CSV (fullName,email,password) stream hota hai, poori file memory me nahi aati
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportSummary importUsers(HttpServletRequest request) throws IOException {
+        return userBulkImporter.importCsv(request.getInputStream());
+    }
+
     @GetMapping("/{userId}")
     public UserResponse getUserById(@PathVariable Long userId){
-
-        User user = userService.findById(userId);
-        return UserResponse.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .build();
+        // projection + cache: entity / password hash load nahi hota
+        return userService.findById(userId);
     }
 
 
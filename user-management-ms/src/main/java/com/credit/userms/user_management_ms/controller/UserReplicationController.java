@@ -0,0 +1,71 @@
+package com.credit.userms.user_management_ms.controller;
+
+import com.credit.userms.user_management_ms.replication.UserChangeLog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Service-to-service replication feed (credit-scoring-service ka user directory).
+ * User JWT ki jagah shared token (X-Replication-Token) - caller koi end user nahi hai.
+ */
+@RestController
+@RequestMapping("/api/users/replication")
+public class UserReplicationController {
+
+    static final String TOKEN_HEADER = "X-Replication-Token";
+    private static final String BINARY = "application/octet-stream";
+    private static final int MAX_LIMIT = 10_000;
+
+    private final UserChangeLog userChangeLog;
+    private final byte[] token;
+
+    public UserReplicationController(UserChangeLog userChangeLog,
+                                     @Value("${user.replication.token:}") String token) {
+        this.userChangeLog = userChangeLog;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @GetMapping("/changes")
+    public void changes(@RequestParam(defaultValue = "0") long after,
+                        @RequestParam(defaultValue = "5000") int limit,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        if (!authorized(request, response)) {
+            return;
+        }
+        response.setContentType(BINARY);
+        if (!userChangeLog.writeChanges(after, Math.max(1, Math.min(limit, MAX_LIMIT)), response.getOutputStream())) {
+            // offset retention ke bahar - snapshot se shuru karo
+            response.sendError(HttpStatus.GONE.value());
+        }
+    }
+
+    @GetMapping("/snapshot")
+    public void snapshot(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!authorized(request, response)) {
+            return;
+        }
+        response.setContentType(BINARY);
+        userChangeLog.writeSnapshot(response.getOutputStream());
+    }
+
+    private boolean authorized(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String presented = request.getHeader(TOKEN_HEADER);
+        if (token.length == 0 || presented == null
+                || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return false;
+        }
+        return true;
+    }
+}
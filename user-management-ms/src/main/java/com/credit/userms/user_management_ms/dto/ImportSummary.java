@@ -0,0 +1,19 @@
+package com.credit.userms.user_management_ms.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ImportSummary {
+
+    private long imported;
+    private long duplicates;
+    private long rejected;
+    private long elapsedMillis;
+
+    // pehli kuch galat lines ("line 12: invalid email") - poori list nahi
+    private List<String> errors;
+}
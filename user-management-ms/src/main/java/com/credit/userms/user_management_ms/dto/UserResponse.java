@@ -1,11 +1,15 @@
 package com.credit.userms.user_management_ms.dto;
 
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor   // JPQL constructor projection (UserRepository.findResponseById)
 public class UserResponse {
 
     private Long id;
@@ -14,8 +14,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class User {
 
+    /** Pooled sequence ka block size - har 50 inserts pe ek baar hi sequence hit hota hai. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY ki jagah pooled sequence: id insert se pehle pata hota hai, to Hibernate inserts batch kar sakta hai
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "fullname", nullable = false)   // column name DB me FULLNAME
@@ -0,0 +1,39 @@
+package com.credit.userms.user_management_ms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * User change log ki ek entry (replayable log). User row ke saath hi same transaction me
+ * likhi jaati hai, to log aur users table kabhi alag nahi hote. seq = replication offset.
+ */
+@Entity
+@Table(name = "user_changes", indexes = @Index(name = "idx_user_changes_time", columnList = "changedAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserStatus status;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,7 @@
+package com.credit.userms.user_management_ms.entity;
+
+/** Replication events me jaata hai; ordinal wire format ka hissa hai - order mat badlo. */
+public enum UserStatus {
+    ACTIVE,
+    DISABLED
+}
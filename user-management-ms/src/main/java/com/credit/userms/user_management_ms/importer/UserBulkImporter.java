@@ -0,0 +1,251 @@
+package com.credit.userms.user_management_ms.importer;
+
+import com.credit.userms.user_management_ms.dto.ImportSummary;
+import com.credit.userms.user_management_ms.entity.User;
+import com.credit.userms.user_management_ms.replication.UserChangeLog;
+import com.credit.userms.user_management_ms.repository.UserRepository;
+import com.credit.userms.user_management_ms.service.auth.PasswordHasher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BULK USER IMPORT (partner migration)
+ *
+ * CSV chunks me padha jata hai (chunk-size rows):
+ *  1. chunk ke passwords import pool pe saare cores pe hash hote hain
+ *     (agla chunk hash hote waqt pichla chunk DB me jata hai)
+ *  2. already-registered emails ek IN query se skip
+ *  3. baaki rows ek transaction me persist - pooled sequence ids + hibernate.jdbc.batch_size
+ *     ki wajah se yeh multi-row batched INSERTs bante hain; change log entries bhi isi
+ *     transaction me ek JDBC batch me
+ *  4. batch beech me unique constraint pe fail ho (parallel register) to sirf us chunk ko
+ *     row-by-row retry karte hain
+ *
+ * Interactive login wala PasswordHasher pool use nahi hota - import login ko 503 nahi karwata.
+ */
+@Component
+@Slf4j
+public class UserBulkImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UserRepository userRepository;
+    private final UserChangeLog userChangeLog;
+    private final PasswordEncoder encoder;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserBulkImporter(UserRepository userRepository,
+                            UserChangeLog userChangeLog,
+                            PasswordHasher passwordHasher,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${user.import.chunk-size:1000}") int chunkSize,
+                            @Value("${user.import.parallelism:0}") int parallelism) {
+        this.userRepository = userRepository;
+        this.userChangeLog = userChangeLog;
+        this.encoder = passwordHasher.encoder();
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public ImportSummary importCsv(InputStream input) throws IOException {
+        long start = System.currentTimeMillis();
+        Progress progress = new Progress();
+        UserCsvParser parser = new UserCsvParser();
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService hashPool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "user-import-hash-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16)) {
+            String first = reader.readLine();
+            if (first == null) {
+                return progress.summary(start);
+            }
+            progress.line = 1;
+            List<Row> firstChunk = new ArrayList<>(chunkSize);
+            if (!parser.readHeader(first)) {
+                addRow(parser, first, firstChunk, progress);
+            }
+            fillChunk(reader, parser, firstChunk, progress);
+
+            List<Row> chunk = firstChunk;
+            CompletableFuture<List<User>> hashed = hashAsync(chunk, hashPool);
+            while (!chunk.isEmpty()) {
+                List<Row> next = new ArrayList<>(chunkSize);
+                fillChunk(reader, parser, next, progress);
+                CompletableFuture<List<User>> nextHashed = hashAsync(next, hashPool);
+
+                persist(hashed.join(), progress);
+
+                chunk = next;
+                hashed = nextHashed;
+            }
+        } finally {
+            hashPool.shutdownNow();
+        }
+
+        ImportSummary summary = progress.summary(start);
+        log.info("User import finished: {}", summary);
+        return summary;
+    }
+
+    private void fillChunk(BufferedReader reader, UserCsvParser parser, List<Row> chunk, Progress progress) throws IOException {
+        String line;
+        while (chunk.size() < chunkSize && (line = reader.readLine()) != null) {
+            progress.line++;
+            if (!line.isBlank()) {
+                addRow(parser, line, chunk, progress);
+            }
+        }
+    }
+
+    private static void addRow(UserCsvParser parser, String line, List<Row> chunk, Progress progress) {
+        String[] fields = parser.parse(line);
+        if (fields == null) {
+            progress.reject("line " + progress.line + ": expected fullName,email,password");
+        } else if (fields[0].isEmpty()) {
+            progress.reject("line " + progress.line + ": fullName is required");
+        } else if (fields[1].indexOf('@') <= 0) {
+            progress.reject("line " + progress.line + ": invalid email");
+        } else if (fields[2].isEmpty()) {
+            progress.reject("line " + progress.line + ": password is required");
+        } else {
+            chunk.add(new Row(fields[0], fields[1], fields[2]));
+        }
+    }
+
+    /** Chunk ko parallelism slices me baant ke har slice ek pool thread pe hash. */
+    private CompletableFuture<List<User>> hashAsync(List<Row> rows, ExecutorService pool) {
+        if (rows.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        User[] users = new User[rows.size()];
+        int slice = (rows.size() + parallelism - 1) / parallelism;
+        List<CompletableFuture<Void>> parts = new ArrayList<>(parallelism);
+        for (int from = 0; from < rows.size(); from += slice) {
+            int lo = from;
+            int hi = Math.min(rows.size(), from + slice);
+            parts.add(CompletableFuture.runAsync(() -> {
+                for (int i = lo; i < hi; i++) {
+                    Row row = rows.get(i);
+                    users[i] = User.builder()
+                            .fullName(row.fullName())
+                            .email(row.email())
+                            .password(encoder.encode(row.password()))
+                            .build();
+                }
+            }, pool));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(v -> List.of(users));
+    }
+
+    private void persist(List<User> hashed, Progress progress) {
+        if (hashed.isEmpty()) {
+            return;
+        }
+        // file ke andar duplicate + DB me pehle se maujood - dono skip
+        List<String> emails = new ArrayList<>(hashed.size());
+        for (User user : hashed) {
+            emails.add(user.getEmail());
+        }
+        Set<String> taken = new HashSet<>(userRepository.findExistingEmails(emails));
+        List<User> fresh = new ArrayList<>(hashed.size());
+        for (User user : hashed) {
+            if (taken.add(user.getEmail())) {
+                fresh.add(user);
+            } else {
+                progress.duplicates++;
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (User user : fresh) {
+                    entityManager.persist(user);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                userChangeLog.record(fresh);
+            });
+            progress.imported += fresh.size();
+        } catch (DataIntegrityViolationException | PersistenceException ex) {
+            // beech me kisi ne register kar liya - sirf is chunk ko ek-ek karke.
+            // flush() seedha EntityManager pe hai (repository ka exception translation nahi), isliye
+            // wahan Hibernate ka ConstraintViolationException aata hai; commit pe fail ho to Spring ka.
+            log.debug("Batch insert hit a constraint, retrying {} rows individually", fresh.size());
+            for (User user : fresh) {
+                user.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        entityManager.persist(user);   // sequence id persist pe hi mil jata hai
+                        userChangeLog.record(List.of(user));
+                    });
+                    progress.imported++;
+                } catch (DataIntegrityViolationException | PersistenceException duplicate) {
+                    progress.duplicates++;
+                }
+            }
+        }
+    }
+
+    private record Row(String fullName, String email, String password) {
+    }
+
+    private static final class Progress {
+        long line;
+        long imported;
+        long duplicates;
+        long rejected;
+        final List<String> errors = new ArrayList<>();
+
+        void reject(String error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        ImportSummary summary(long start) {
+            return ImportSummary.builder()
+                    .imported(imported)
+                    .duplicates(duplicates)
+                    .rejected(rejected)
+                    .elapsedMillis(System.currentTimeMillis() - start)
+                    .errors(List.copyOf(errors))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.credit.userms.user_management_ms.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partner CSV ki ek line -> fields. Quoted fields ("Sharma, Amit") aur "" escape support hai.
+ *
+ * Columns default order me: fullName,email,password. Pehli line header ho to
+ * uske naam se order liya jata hai (case-insensitive).
+ */
+final class UserCsvParser {
+
+    private int fullNameIndex = 0;
+    private int emailIndex = 1;
+    private int passwordIndex = 2;
+
+    /** @return true agar line header thi (data nahi) */
+    boolean readHeader(String line) {
+        List<String> fields = split(line);
+        int fullName = indexOf(fields, "fullname");
+        int email = indexOf(fields, "email");
+        int password = indexOf(fields, "password");
+        if (email < 0 || fullName < 0 || password < 0) {
+            return false;
+        }
+        fullNameIndex = fullName;
+        emailIndex = email;
+        passwordIndex = password;
+        return true;
+    }
+
+    /** @return [fullName, email, password] ya null agar columns kam hain */
+    String[] parse(String line) {
+        List<String> fields = split(line);
+        int needed = Math.max(fullNameIndex, Math.max(emailIndex, passwordIndex));
+        if (fields.size() <= needed) {
+            return null;
+        }
+        return new String[]{fields.get(fullNameIndex).trim(), fields.get(emailIndex).trim(), fields.get(passwordIndex)};
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int indexOf(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.credit.userms.user_management_ms.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * OFFLINE MODE - partner ki CSV file seedha import (HTTP ke bina).
+ *
+ * java -jar user-management-ms.jar --spring.main.web-application-type=none \
+ *      --user.import.file=/data/partner-users.csv [--user.import.parallelism=16] [--user.import.chunk-size=1000]
+ */
+@Component
+@ConditionalOnProperty(name = "user.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportRunner implements ApplicationRunner {
+
+    private final UserBulkImporter importer;
+
+    @Value("${user.import.file}")
+    private String file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path path = Path.of(file);
+        log.info("Importing users from {}", path);
+        try (InputStream in = Files.newInputStream(path)) {
+            importer.importCsv(in);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.credit.userms.user_management_ms.replication;
+
+import com.credit.userms.user_management_ms.cache.UserLookupCache;
+import com.credit.userms.user_management_ms.entity.User;
+import com.credit.userms.user_management_ms.entity.UserStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * USER CHANGE LOG (replication source)
+ *
+ * register / bulk import user rows ke saath isi transaction me user_changes me ek row likhte hain
+ * (aur commit ke baad {@link UserLookupCache} se wo users evict).
+ * Followers (credit-scoring-service ka user directory) do tarah se padhte hain:
+ *  - changes: seq ke baad ki entries, offset se replay
+ *  - snapshot: poori users table + watermark seq; restart / purane offset pe catch-up
+ *
+ * Log retention ke baad purana hissa delete hota hai - usse purane offset wala follower
+ * 410 paata hai aur snapshot se shuru karta hai.
+ *
+ * Wire format (big-endian, DataOutputStream):
+ *  changes:  int magic "UCHG", long oldestSeq, long latestSeq, int count, count x (long seq, long userId, byte status, UTF email)
+ *  snapshot: int magic "USNP", long watermark, n x (long userId, byte status, UTF email), long 0
+ */
+@Component
+@Slf4j
+public class UserChangeLog {
+
+    static final int CHANGES_MAGIC = 0x55434847;   // UCHG
+    static final int SNAPSHOT_MAGIC = 0x55534E50;  // USNP
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_changes (user_id, email, status, changed_at) VALUES (?, ?, ?, ?)";
+    private static final int SNAPSHOT_PAGE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserLookupCache userLookupCache;
+    private final Duration settle;
+    private final Duration retention;
+    private final ScheduledExecutorService maintenance;
+
+    public UserChangeLog(JdbcTemplate jdbcTemplate,
+                         UserLookupCache userLookupCache,
+                         @Value("${user.replication.settle:5s}") Duration settle,
+                         @Value("${user.replication.log-retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userLookupCache = userLookupCache;
+        this.settle = settle;
+        this.retention = retention;
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "user-change-log-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::purgeQuietly, 1, 60, TimeUnit.MINUTES);
+    }
+
+    /** Naye / badle users log me. Caller ke transaction me hi chalna chahiye. */
+    public void record(Collection<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("User changes must be recorded in the user's transaction");
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(users.size());
+        for (User user : users) {
+            rows.add(new Object[]{user.getId(), user.getEmail(), UserStatus.ACTIVE.name(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        // har user change yahin se guzarta hai - cached lookups bhi yahin se saaf
+        userLookupCache.evictAfterCommit(users);
+    }
+
+    /**
+     * seq &gt; after wali entries (max limit). after log ke shuru se pehle ka ho (retention me
+     * delete ho chuka) to false - follower ko snapshot lena hoga.
+     */
+    public boolean writeChanges(long after, int limit, OutputStream target) throws IOException {
+        long oldest = jdbcTemplate.queryForObject("SELECT COALESCE(MIN(seq), 0) FROM user_changes", Long.class);
+        long latest = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM user_changes", Long.class);
+        if (oldest > 0 && after < oldest - 1) {
+            return false;
+        }
+        List<Object[]> changes = jdbcTemplate.query(
+                "SELECT seq, user_id, status, email FROM user_changes WHERE seq > ? ORDER BY seq LIMIT ?",
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4)},
+                after, limit);
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(CHANGES_MAGIC);
+        out.writeLong(oldest);
+        out.writeLong(latest);
+        out.writeInt(changes.size());
+        for (Object[] change : changes) {
+            out.writeLong((Long) change[0]);
+            out.writeLong((Long) change[1]);
+            out.writeByte(UserStatus.valueOf((String) change[2]).ordinal());
+            out.writeUTF((String) change[3]);
+        }
+        out.flush();
+        return true;
+    }
+
+    /**
+     * Poori users table, id order me, keyset pages me stream. Watermark pehle padhte hain aur
+     * settle jitna peeche rakhte hain - us waqt open transactions ke changes watermark ke baad
+     * aayenge aur follower unhe replay karega (apply idempotent hai).
+     */
+    public void writeSnapshot(OutputStream target) throws IOException {
+        Long watermark = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(seq), 0) FROM user_changes WHERE changed_at < ?", Long.class,
+                Timestamp.from(Instant.now().minus(settle)));
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(watermark);
+        long afterId = 0;
+        int page;
+        do {
+            List<Object[]> users = jdbcTemplate.query(
+                    "SELECT id, email FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)},
+                    afterId, SNAPSHOT_PAGE);
+            for (Object[] user : users) {
+                afterId = (Long) user[0];
+                out.writeLong(afterId);
+                out.writeByte(UserStatus.ACTIVE.ordinal());
+                out.writeUTF((String) user[1]);
+            }
+            page = users.size();
+        } while (page == SNAPSHOT_PAGE);
+        out.writeLong(0);
+        out.flush();
+    }
+
+    int purge() {
+        return jdbcTemplate.update("DELETE FROM user_changes WHERE changed_at < ?",
+                Timestamp.from(Instant.now().minus(retention)));
+    }
+
+    @PreDestroy
+    void close() {
+        maintenance.shutdownNow();
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted = purge();
+            if (deleted > 0) {
+                log.info("Purged {} user change log entries older than {}", deleted, retention);
+            }
+        } catch (Exception e) {
+            log.warn("User change log purge failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.credit.userms.user_management_ms.repository;
 
 
+import com.credit.userms.user_management_ms.dto.UserResponse;
 import com.credit.userms.user_management_ms.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Long> {
@@ -11,4 +18,24 @@ public interface UserRepository extends JpaRepository<User,Long> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
 
+    // lookups: sirf teen columns seedha DTO me - password hash load nahi, managed entity / dirty check nahi.
+    // readOnly transaction -> replica configured ho to wahin jata hai
+    @Transactional(readOnly = true)
+    @Query("select new com.credit.userms.user_management_ms.dto.UserResponse(u.id, u.fullName, u.email) from User u where u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.credit.userms.user_management_ms.dto.UserResponse(u.id, u.fullName, u.email) from User u where u.email = :email")
+    Optional<UserResponse> findResponseByEmail(@Param("email") String email);
+
+    // bulk import: chunk ke emails me se kaun se pehle se registered hain (ek IN query)
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // rehash-on-login: sirf password column update, entity load/merge nahi
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
 }
@@ -1,5 +1,6 @@
 package com.credit.userms.user_management_ms.service.auth;
 
+import com.credit.metrics.StageTimings;
 import com.credit.userms.user_management_ms.entity.User;
 import com.credit.userms.user_management_ms.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,18 +14,22 @@ import org.springframework.stereotype.Service;
 public class CustomerUserDetailService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserRoles userRoles;
+    private final StageTimings stageTimings;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        // username == email
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found: " + username));
+        return stageTimings.time("user-details.load", () -> {
+            // username == email
+            User user = userRepository.findByEmail(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found: " + username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())   // encoded password
-                .roles("USER")                  // default role
-                .build();
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(user.getEmail())
+                    .password(user.getPassword())   // encoded password
+                    .roles(userRoles.rolesFor(user.getEmail()).toArray(String[]::new))   // token jaise hi roles
+                    .build();
+        });
     }
 }
\ No newline at end of file
@@ -1,38 +1,114 @@
 package com.credit.userms.user_management_ms.service.auth;
 
-import com.credit.userms.user_management_ms.config.JwtAuthenticationFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@Slf4j
 public class JwtUtil {
 
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "uid";
 
+    private static final List<String> DEFAULT_ROLES = List.of("USER");
 
-    private final String secret = "Zm9yZGV2LXNlY3JldC1wbGVhc2UtY2hhbmdlLWF0LWxlYXN0LTI1Ni1iaXRzIQ==";// minimum 32 chars for HS256
     private final long jwtExpirationMs = 1000 * 60 * 60; // 1 hour
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // key aur parser ek hi baar bante hain - har request pe base64 decode / parser build nahi
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // already verified tokens (SHA-256 digest se keyed, raw token memory me nahi rakhte);
+    // har entry token ke exp pe hi expire hoti hai
+    private final Cache<TokenDigest, VerifiedToken> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    public JwtUtil(@Value("${jwt.secret:Zm9yZGV2LXNlY3JldC1wbGVhc2UtY2hhbmdlLWF0LWxlYXN0LTI1Ni1iaXRzIQ==}") String secret,
+                   @Value("${jwt.verified-cache.max-entries:100000}") long verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)); // minimum 32 bytes for HS256
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     // ---------- GENERATE TOKEN ----------
     public String generateToken(String username) {
-        return Jwts.builder()
+        return generateToken(username, null, DEFAULT_ROLES);
+    }
+
+    /** Roles aur userId claims me - filter ko DB se user load nahi karna padta. */
+    public String generateToken(String username, Long userId, Collection<String> roles) {
+        Date now = new Date();
+        var builder = Jwts.builder()
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .claim(CLAIM_ROLES, List.copyOf(roles))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs));
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+        }
+        return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    // ---------- VERIFY (one parse per request) ----------
+
+    /**
+     * Token verify karta hai - valid ho to identity, warna null.
+     * Pehle se verified token cache se aata hai (sirf ek SHA-256 lagta hai).
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.isExpired(now) ? null : cached;
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = toVerifiedToken(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Token validation failed: {}", ex.getMessage());
+            return null;
+        }
+        if (verified.isExpired(now)) {
+            return null;
+        }
+        verifiedTokens.put(digest, verified);
+        return verified;
     }
 
     // ---------- EXTRACT USERNAME ----------
@@ -45,31 +121,61 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     // ---------- VALIDATE TOKEN ----------
     public boolean validateToken(String token, String username) {
-        try {
-            Claims claims = extractAllClaims(token);
+        VerifiedToken verified = verify(token);
+        return verified != null && verified.username().equals(username);
+    }
 
-            // Username match check
-            String tokenUsername = claims.getSubject();
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        Object rolesClaim = claims.get(CLAIM_ROLES);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (rolesClaim instanceof Collection<?> roles) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+            }
+        } else {
+            // roles claim se pehle ke tokens - CustomerUserDetailService jaisa default role
+            for (String role : DEFAULT_ROLES) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+            }
+        }
 
-            // Expiry check
-            Date expiration = claims.getExpiration();
-            boolean isExpired = expiration.before(new Date());
+        Object uid = claims.get(CLAIM_USER_ID);
+        Long userId = uid instanceof Number number ? number.longValue() : null;
 
-            // Dono conditions pass honi chahiye
-            return tokenUsername.equals(username) && !isExpired;
+        return new VerifiedToken(claims.getSubject(), userId, List.copyOf(authorities),
+                claims.getExpiration().getTime());
+    }
+
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            MessageDigest sha = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(sha.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            long remainingMs = Math.max(0, value.expiresAtMillis() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMs);
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
 
-        } catch (Exception ex) {
-            System.out.println("Token validation failed: " + ex.getMessage());
-            return false;
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,191 @@
+package com.credit.userms.user_management_ms.service.auth;
+
+import com.credit.metrics.StageTimings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * BCRYPT PIPELINE
+ *
+ * BCrypt jaan-boojh ke slow hai, isliye Tomcat threads pe nahi chalta:
+ *  - dedicated pool (default = CPU cores) jitne hash parallel chal sakte hain
+ *  - bounded queue - full ho to {@link PasswordHashingBusyException} turant (503),
+ *    login storm me baaki endpoints ke worker threads free rehte hain
+ *  - cost startup pe calibrate hota hai: sabse bada cost jo target-latency ke andar ho
+ *  - login pe kam cost wala hash current cost pe rehash ho jata hai ({@link Verification#upgradedHash()});
+ *    zyada cost wala kabhi neeche nahi aata - calibrated instances alag cost pe hon to bhi hash
+ *    login-by-login upar neeche nahi jhoolta. Multiple instances pe bcrypt-cost pin karo.
+ *
+ * Caller sirf result ka wait karta hai (CPU nahi jalata); queue bounded hai to wait bhi bounded hai.
+ * Timings: bcrypt.queue (pool slot ka wait) aur bcrypt.hash (asli hashing) alag - login slow ho to
+ * pata chale pool chhota hai ya cost bada.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private final int cost;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+    private final StageTimings stageTimings;
+
+    public PasswordHasher(int configuredCost, Duration targetLatency, int minCost, int maxCost, int threads, int maxQueue) {
+        this(configuredCost, targetLatency, minCost, maxCost, threads, maxQueue, new StageTimings());
+    }
+
+    @Autowired
+    public PasswordHasher(@Value("${security.password.bcrypt-cost:0}") int configuredCost,
+                          @Value("${security.password.target-latency:250ms}") Duration targetLatency,
+                          @Value("${security.password.min-cost:10}") int minCost,
+                          @Value("${security.password.max-cost:14}") int maxCost,
+                          @Value("${security.password.hash-threads:0}") int threads,
+                          @Value("${security.password.max-queue:64}") int maxQueue,
+                          StageTimings stageTimings) {
+        this.stageTimings = stageTimings;
+        this.cost = configuredCost > 0 ? configuredCost : calibrate(targetLatency, minCost, maxCost);
+        if (configuredCost <= 0) {
+            log.warn("BCrypt cost calibrated per instance - set security.password.bcrypt-cost (BCRYPT_COST) "
+                    + "when running more than one instance");
+        }
+        this.encoder = new BCryptPasswordEncoder(cost);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueue),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("BCrypt cost {} ({} hash threads, queue {})", cost, poolSize, maxQueue);
+    }
+
+    /** Login result - match hua ya nahi, aur agar cost badla hai to naya hash. */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public Verification verify(CharSequence rawPassword, String storedHash) {
+        return run(() -> {
+            if (storedHash == null || !encoder.matches(rawPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            // same hash thread pe rehash - alag queue slot nahi lena padta
+            String upgraded = needsRehash(storedHash) ? encoder.encode(rawPassword) : null;
+            return new Verification(true, upgraded);
+        });
+    }
+
+    /** Stored hash ka cost current cost se kam hai? Zyada cost wala hash waise hi rehta hai. */
+    public boolean needsRehash(String storedHash) {
+        // format: $2a$10$<salt+hash>
+        if (storedHash == null || storedHash.length() < 7 || storedHash.charAt(0) != '$') {
+            return true;
+        }
+        int end = storedHash.indexOf('$', 4);
+        try {
+            return end < 0 || Integer.parseInt(storedHash.substring(4, end)) < cost;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /** Spring Security ke liye same cost wala encoder (AuthenticationManager etc.). */
+    public BCryptPasswordEncoder encoder() {
+        return encoder;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Supplier<T> task) {
+        long submitted = System.nanoTime();
+        // hash thread likhta hai, join ke baad caller padhta hai (join happens-before deta hai)
+        long[] hashNanos = new long[1];
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    hashNanos[0] = System.nanoTime() - start;
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new PasswordHashingBusyException("Too many login/register requests, please retry");
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            // caller thread pe record - request ke Server-Timing me bhi aata hai
+            long total = System.nanoTime() - submitted;
+            stageTimings.record("bcrypt.queue", Math.max(0, total - hashNanos[0]));
+            stageTimings.record("bcrypt.hash", hashNanos[0]);
+        }
+    }
+
+    /**
+     * Har cost +1 pe BCrypt ka time double hota hai, to min-cost pe ek measurement kaafi hai:
+     * cost = min + floor(log2(target / t_min)), [min, max] me clamp.
+     */
+    static int calibrate(Duration targetLatency, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("warm-up");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int extra = 0;
+        long budget = targetLatency.toNanos();
+        while (minCost + extra < maxCost && best << (extra + 1) <= budget) {
+            extra++;
+        }
+        log.info("BCrypt calibration: cost {} took {} ms, target {} ms",
+                minCost, TimeUnit.NANOSECONDS.toMillis(best), targetLatency.toMillis());
+        return minCost + extra;
+    }
+}
@@ -0,0 +1,11 @@
+package com.credit.userms.user_management_ms.service.auth;
+
+/**
+ * Hashing queue full hai - caller ko turant 503 milta hai, request line me nahi lagti.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.credit.userms.user_management_ms.service.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Login pe token me jaane wale roles.
+ *
+ * Sab users USER hain; security.admin-emails (ADMIN_EMAILS, comma separated) wale emails ko ADMIN bhi milta hai
+ * - /api/users/import jaise ops endpoints ke liye. Role column nahi hai, isliye role badalne ke baad
+ * naya token lena padta hai (purana token expiry tak purane roles ke saath chalta hai).
+ */
+@Component
+public class UserRoles {
+
+    private static final List<String> USER = List.of("USER");
+    private static final List<String> ADMIN = List.of("USER", "ADMIN");
+
+    private final Set<String> adminEmails;
+
+    public UserRoles(@Value("${security.admin-emails:}") List<String> adminEmails) {
+        this.adminEmails = adminEmails.stream()
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public List<String> rolesFor(String email) {
+        return email != null && adminEmails.contains(email.toLowerCase(Locale.ROOT)) ? ADMIN : USER;
+    }
+}
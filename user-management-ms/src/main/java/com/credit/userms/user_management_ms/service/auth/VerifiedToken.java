@@ -0,0 +1,18 @@
+package com.credit.userms.user_management_ms.service.auth;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Signature + expiry check pass kar chuka token - claims se hi identity, DB lookup nahi.
+ */
+public record VerifiedToken(String username,
+                            Long userId,
+                            List<GrantedAuthority> authorities,
+                            long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
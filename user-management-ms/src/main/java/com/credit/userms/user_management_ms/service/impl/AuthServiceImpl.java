@@ -1,13 +1,15 @@
 package com.credit.userms.user_management_ms.service.impl;
 
+import com.credit.metrics.StageTimings;
 import com.credit.userms.user_management_ms.dto.JwtResponse;
 import com.credit.userms.user_management_ms.dto.LoginRequest;
 import com.credit.userms.user_management_ms.entity.User;
 import com.credit.userms.user_management_ms.repository.UserRepository;
 import com.credit.userms.user_management_ms.service.auth.AuthService;
 import com.credit.userms.user_management_ms.service.auth.JwtUtil;
+import com.credit.userms.user_management_ms.service.auth.PasswordHasher;
+import com.credit.userms.user_management_ms.service.auth.UserRoles;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,25 +17,36 @@ import org.springframework.stereotype.Service;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final UserRoles userRoles;
+    private final StageTimings stageTimings;
 
     @Override
     public JwtResponse login(LoginRequest request) {
 
 
 
-        User user = userRepository.findByEmail(request.getEmail())
+        // 1) User (DB) - bcrypt.queue / bcrypt.hash PasswordHasher khud record karta hai
+        User user = stageTimings.time("db.find-by-email", () -> userRepository.findByEmail(request.getEmail()))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
 
-        // 2) Password match?
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // 2) Password match? (bcrypt pool pe, queue full ho to 503)
+        PasswordHasher.Verification verification = passwordHasher.verify(request.getPassword(), user.getPassword());
+        if (!verification.matches()) {
             throw new RuntimeException("Invalid password");
         }
 
-        // 3) Generate JWT
-        String token = jwtUtil.generateToken(user.getEmail());
+        // cost badla hai to naya hash save karo - user ko pata bhi nahi chalta
+        if (verification.upgradedHash() != null) {
+            stageTimings.time("db.rehash-update",
+                    () -> userRepository.updatePassword(user.getId(), verification.upgradedHash()));
+        }
+
+        // 3) Generate JWT (roles + userId claims me, taaki filter ko DB na chahiye)
+        String token = stageTimings.time("jwt.sign",
+                () -> jwtUtil.generateToken(user.getEmail(), user.getId(), userRoles.rolesFor(user.getEmail())));
 
         return JwtResponse.builder()
                 .token(token)
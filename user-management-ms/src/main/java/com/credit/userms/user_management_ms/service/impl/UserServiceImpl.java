@@ -1,36 +1,42 @@
 package com.credit.userms.user_management_ms.service.impl;
-import com.credit.userms.user_management_ms.entity.User;
+import com.credit.userms.user_management_ms.cache.UserLookupCache;
 import com.credit.userms.user_management_ms.dto.RegisterRequest;
 import com.credit.userms.user_management_ms.dto.UserResponse;
 import com.credit.userms.user_management_ms.entity.User;
+import com.credit.userms.user_management_ms.replication.UserChangeLog;
 import com.credit.userms.user_management_ms.repository.UserRepository;
 import com.credit.userms.user_management_ms.service.UserService;
+import com.credit.userms.user_management_ms.service.auth.PasswordHasher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserChangeLog userChangeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final UserLookupCache userLookupCache;
+
+    // replica pe abhi na pahuncha user (replication lag) primary se dobara dekho
+    @Value("${user.datasource.replica.enabled:false}")
+    private boolean replicaReads;
 
     @Override
     public UserResponse register(RegisterRequest request) {
 
 
 
-        // 1) email already use ho to error
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already in use: " + request.getEmail());
-        }
-
-
-
-
-
-        String Hashed = passwordEncoder.encode(request.getPassword());
+        String Hashed = passwordHasher.encode(request.getPassword());
 
         // 2) DTO -> Entity
         User user = User.builder()
@@ -39,8 +45,23 @@ public class UserServiceImpl implements UserService {
                 .password(Hashed)   // (later: encode password)
                 .build();
 
-        // 3) DB me save
-        User saved = userRepository.save(user);
+        // 3) DB me save - ek hi INSERT; duplicate email unique constraint pakadta hai
+        //    (pehle existsByEmail + save tha: do round trips aur beech me race)
+        //    change log entry isi transaction me - replicas ko user tabhi dikhe jab commit ho
+        User saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                User created = userRepository.saveAndFlush(user);
+                userChangeLog.record(List.of(created));
+                return created;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // error path pe hi check - koi aur constraint toota ho to wahi error aage jaye
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new RuntimeException("Email already in use: " + request.getEmail());
+            }
+            throw ex;
+        }
 
         // 4) Entity -> Response DTO
         return UserResponse.builder()
@@ -53,16 +74,25 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
-    public User findById(Long userId) {
-        return  userRepository.findById(userId)
+    public UserResponse findById(Long userId) {
+        return userLookupCache.byId(userId, id -> readThrough(() -> userRepository.findResponseById(id)))
                 .orElseThrow(()-> new RuntimeException("User Not Found!"));
     }
 
     @Override
-    public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
+    public UserResponse findByEmail(String email) {
+        return userLookupCache.byEmail(email, key -> readThrough(() -> userRepository.findResponseByEmail(key)))
                 .orElseThrow(()-> new RuntimeException(" UserEmail Not Found!"));
     }
 
+    private Optional<UserResponse> readThrough(Supplier<Optional<UserResponse>> lookup) {
+        Optional<UserResponse> user = lookup.get();          // readOnly -> replica
+        if (user.isEmpty() && replicaReads) {
+            // read-write transaction me repository ka readOnly join hota hai -> primary
+            user = transactionTemplate.execute(status -> lookup.get());
+        }
+        return user;
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.credit.userms.user_management_ms.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ek login ka password match, alag BCrypt costs pe (har +1 cost = ~2x time).
+ * security.password.bcrypt-cost chunne ke liye: is machine pe target latency ke andar wala sabse
+ * bada cost. Concurrency ke saath behaviour LoginThroughputBenchmark me.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=BcryptCost
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Thread)
+public class BcryptCostBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    private int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        storedHash = encoder.encode("correct-horse-battery");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("correct-horse-battery", storedHash);
+    }
+}
@@ -0,0 +1,128 @@
+package com.credit.userms.user_management_ms.benchmark;
+
+import com.credit.metrics.StageTimings;
+import com.credit.userms.user_management_ms.config.JwtAuthenticationFilter;
+import com.credit.userms.user_management_ms.service.auth.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter ka per-request cost, pehle vs ab.
+ *
+ *  - legacyFilter: purana flow - har request pe key base64 decode + parser build, token do baar
+ *    parse, aur UserDetailsService lookup. Yahan lookup in-memory stub hai, asli me MySQL SELECT
+ *    hota tha - to real gap isse bhi bada hai.
+ *  - fastPathCold: naya filter, verified-token cache ke bina (har request ek parse)
+ *  - fastPathCached: naya filter, wahi token dobara (dashboard polling) - sirf SHA-256 + cache hit
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JwtAuthenticationFilter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "Zm9yZGV2LXNlY3JldC1wbGVhc2UtY2hhbmdlLWF0LWxlYXN0LTI1Ni1iaXRzIQ==";
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private UserDetailsService userDetailsService;
+    private final FilterChain chain = (req, res) -> { };
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    private MockHttpServletRequest cachedRequest;
+    private MockHttpServletRequest[] coldRequests;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 100_000);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "stageTimings", new StageTimings());
+        // cache size 0 -> har request pe asli signature verify (cache miss ka cost)
+        uncachedFilter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(uncachedFilter, "jwtUtil", new JwtUtil(SECRET, 0));
+        ReflectionTestUtils.setField(uncachedFilter, "stageTimings", new StageTimings());
+
+        UserDetails user = User.withUsername("user@example.com").password("{noop}x").roles("USER").build();
+        userDetailsService = username -> user;
+
+        cachedRequest = request(jwtUtil.generateToken("user@example.com", 1L, List.of("USER")));
+        coldRequests = new MockHttpServletRequest[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            coldRequests[i] = request(jwtUtil.generateToken("user" + i + "@example.com", (long) i, List.of("USER")));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object legacyFilter() throws Exception {
+        MockHttpServletRequest request = cachedRequest;
+        String jwt = request.getHeader("Authorization").substring(7);
+
+        String email = legacyParse(jwt).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        Claims claims = legacyParse(jwt);
+        if (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date())) {
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(detailsSource.buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        chain.doFilter(request, new MockHttpServletResponse());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object fastPathCold() throws Exception {
+        uncachedFilter.doFilter(coldRequests[cursor++ & (DISTINCT_TOKENS - 1)], new MockHttpServletResponse(), chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object fastPathCached() throws Exception {
+        filter.doFilter(cachedRequest, new MockHttpServletResponse(), chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
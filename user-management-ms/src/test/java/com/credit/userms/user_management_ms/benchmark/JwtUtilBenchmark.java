@@ -0,0 +1,62 @@
+package com.credit.userms.user_management_ms.benchmark;
+
+import com.credit.userms.user_management_ms.service.auth.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil ke do hot calls: login pe generateToken, har authenticated request pe validateToken.
+ *
+ *  - generateToken: HS256 sign + claims (roles, uid)
+ *  - validateTokenCold: verified-token cache size 0 aur 1024 alag tokens - har call pe signature
+ *    verify + parse (ek hi token hota to Caffeine async eviction se pehle hit de deta)
+ *  - validateTokenCached: wahi token dobara (dashboard polling) - SHA-256 + cache hit
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JwtUtilBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "Zm9yZGV2LXNlY3JldC1wbGVhc2UtY2hhbmdlLWF0LWxlYXN0LTI1Ni1iaXRzIQ==";
+    private static final List<String> ROLES = List.of("USER");
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+    private String[] coldTokens;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtil(SECRET, 100_000);
+        uncached = new JwtUtil(SECRET, 0);
+        token = cached.generateToken("user@example.com", 1L, ROLES);
+        coldTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            coldTokens[i] = cached.generateToken("user@example.com", (long) i, ROLES);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken("user@example.com", 1L, ROLES);
+    }
+
+    @Benchmark
+    public boolean validateTokenCold() {
+        return uncached.validateToken(coldTokens[cursor++ & (DISTINCT_TOKENS - 1)], "user@example.com");
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token, "user@example.com");
+    }
+}
@@ -0,0 +1,58 @@
+package com.credit.userms.user_management_ms.benchmark;
+
+import com.credit.userms.user_management_ms.service.auth.PasswordHasher;
+import com.credit.userms.user_management_ms.service.auth.PasswordHashingBusyException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login ka password check, 32 concurrent callers (Tomcat workers jaisa).
+ *
+ *  - requestThread: purana flow - har worker khud BCrypt chalata hai, sab cores pe contention
+ *  - pooled: PasswordHasher pool (cores jitne threads, bounded queue); rejected = fast 503
+ *
+ * Throughput dono me CPU-bound hai; farq yeh hai ki pooled me sirf cores jitne hash
+ * ek saath chalte hain aur baaki callers wait/503 karte hain, CPU steal nahi karte.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=LoginThroughput
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class LoginThroughputBenchmark {
+
+    private static final int COST = 8;
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHasher hasher;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(COST);
+        hasher = new PasswordHasher(COST, Duration.ZERO, COST, COST, 0, 64);
+        storedHash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean requestThread() {
+        return encoder.matches("correct horse battery staple", storedHash);
+    }
+
+    @Benchmark
+    public void pooled(Blackhole bh) {
+        try {
+            bh.consume(hasher.verify("correct horse battery staple", storedHash).matches());
+        } catch (PasswordHashingBusyException e) {
+            bh.consume(e);
+        }
+    }
+}
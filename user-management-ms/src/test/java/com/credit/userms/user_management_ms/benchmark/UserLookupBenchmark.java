@@ -0,0 +1,102 @@
+package com.credit.userms.user_management_ms.benchmark;
+
+import com.credit.userms.user_management_ms.UserManagementMsApplication;
+import com.credit.userms.user_management_ms.dto.UserResponse;
+import com.credit.userms.user_management_ms.entity.User;
+import com.credit.userms.user_management_ms.repository.UserRepository;
+import com.credit.userms.user_management_ms.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/users/{id} ka lookup path, embedded H2 pe (test application.properties), 4 threads.
+ *
+ *  - entityLookup: purana flow - findById se poori managed User entity (password hash samet),
+ *    phir teen fields UserResponse me copy
+ *  - projectionLookup: findResponseById - teen columns seedha DTO me, readOnly transaction
+ *  - cachedLookup: UserService.findById - UserLookupCache hit (USERS cache size se kam hain)
+ *  - emailLookup: UserRepository.findByEmail - login path (email unique index + poori entity)
+ *
+ * H2 in-process hai, to DB round trip ka network cost isme nahi - MySQL pe entity vs projection
+ * ka farq aur cache ka fayda dono isse bade hote hain.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=UserLookup
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class UserLookupBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserManagementMsApplication.class)
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:lookup-bench;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=warn")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        userService = context.getBean(UserService.class);
+
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int id = 1; id <= USERS; id++) {
+            // asli BCrypt hash jitna lamba password column
+            rows.add(new Object[]{id, "User " + id, "user" + id + "@example.com", "$2a$10$" + "x".repeat(53)});
+        }
+        context.getBean(JdbcTemplate.class)
+                .batchUpdate("INSERT INTO users (id, fullname, email, password) VALUES (?, ?, ?, ?)", rows);
+        // cache pehle se garam - chhoti (--quick) warmup me bhi cachedLookup sirf hits naape
+        for (long id = 1; id <= USERS; id++) {
+            userService.findById(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse entityLookup() {
+        User user = userRepository.findById(randomId()).orElseThrow();
+        return UserResponse.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse projectionLookup() {
+        return userRepository.findResponseById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public UserResponse cachedLookup() {
+        return userService.findById(randomId());
+    }
+
+    @Benchmark
+    public User emailLookup() {
+        return userRepository.findByEmail("user" + randomId() + "@example.com").orElseThrow();
+    }
+
+    private static long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(USERS);
+    }
+}
@@ -0,0 +1,126 @@
+package com.credit.userms.user_management_ms.config;
+
+import com.credit.metrics.StageTimings;
+import com.credit.userms.user_management_ms.service.auth.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "Zm9yZGV2LXNlY3JldC1wbGVhc2UtY2hhbmdlLWF0LWxlYXN0LTI1Ni1iaXRzIQ==";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 1000);
+    private final StageTimings stageTimings = new StageTimings();
+    private final JwtAuthenticationFilter filter = filter(false);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesFromClaims() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("Bearer " + jwtUtil.generateToken("a@b.com", 7L, List.of("USER"))),
+                new MockHttpServletResponse(), chain);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth.getName()).isEqualTo("a@b.com");
+        assertThat(roles(auth)).containsExactly("ROLE_USER");
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(stageTimings.stageSnapshot()).containsKeys("jwt.verify", "jwt.filter");
+    }
+
+    @Test
+    void invalidOrExpiredTokenLeavesRequestAnonymous() throws Exception {
+        String valid = jwtUtil.generateToken("a@b.com", 7L, List.of("USER"));
+        for (String header : List.of("Bearer garbage", "Bearer " + valid + "x", "Basic " + valid, "Bearer " + expired())) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request(header), new MockHttpServletResponse(), chain);
+
+            // filter reject nahi karta - security chain anonymous request ko 401/403 deti hai
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+            assertThat(chain.getRequest()).isNotNull();
+        }
+    }
+
+    @Test
+    void cachedTokenStillAuthenticatesOnRepeatRequests() throws Exception {
+        String header = "Bearer " + jwtUtil.generateToken("a@b.com", 7L, List.of("USER", "ADMIN"));
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(request(header), new MockHttpServletResponse(), new MockFilterChain());
+
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            assertThat(auth.getName()).isEqualTo("a@b.com");
+            assertThat(roles(auth)).containsExactly("ROLE_USER", "ROLE_ADMIN");
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void trustedHeadersNeedMatchingGatewaySecret() throws Exception {
+        JwtAuthenticationFilter trusting = filter(true);
+
+        MockHttpServletRequest fromGateway = request(null);
+        fromGateway.addHeader(JwtAuthenticationFilter.HEADER_USER_EMAIL, "a@b.com");
+        fromGateway.addHeader(JwtAuthenticationFilter.HEADER_USER_ROLES, "USER,ADMIN");
+        fromGateway.addHeader(JwtAuthenticationFilter.HEADER_GATEWAY_IDENTITY, "shared-secret");
+        trusting.doFilter(fromGateway, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(roles(SecurityContextHolder.getContext().getAuthentication())).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        SecurityContextHolder.clearContext();
+
+        // galat secret -> headers ignore, normal JWT path (yahan token nahi, to anonymous)
+        MockHttpServletRequest spoofed = request(null);
+        spoofed.addHeader(JwtAuthenticationFilter.HEADER_USER_EMAIL, "admin@b.com");
+        spoofed.addHeader(JwtAuthenticationFilter.HEADER_USER_ROLES, "ADMIN");
+        spoofed.addHeader(JwtAuthenticationFilter.HEADER_GATEWAY_IDENTITY, "spoofed");
+        trusting.doFilter(spoofed, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private JwtAuthenticationFilter filter(boolean trustedHeaders) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "stageTimings", stageTimings);
+        ReflectionTestUtils.setField(filter, "trustedHeadersEnabled", trustedHeaders);
+        ReflectionTestUtils.setField(filter, "trustedHeadersSecret", trustedHeaders ? "shared-secret" : "");
+        return filter;
+    }
+
+    private static String expired() {
+        return Jwts.builder()
+                .setSubject("a@b.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/7");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return request;
+    }
+
+    private static List<String> roles(Authentication auth) {
+        return auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
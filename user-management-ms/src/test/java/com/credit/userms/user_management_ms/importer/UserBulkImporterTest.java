@@ -0,0 +1,152 @@
+package com.credit.userms.user_management_ms.importer;
+
+import com.credit.userms.user_management_ms.dto.ImportSummary;
+import com.credit.userms.user_management_ms.dto.RegisterRequest;
+import com.credit.userms.user_management_ms.repository.UserRepository;
+import com.credit.userms.user_management_ms.service.UserService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"user.import.chunk-size=3", "user.import.parallelism=2",
+        "security.admin-emails=Ops@Partner.com"})
+class UserBulkImporterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserBulkImporter importer;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void importsChunksAndSkipsDuplicatesAndBadRows() throws Exception {
+        userService.register(RegisterRequest.builder()
+                .fullName("Existing").email("existing@partner.com").password("pw").build());
+
+        String csv = """
+                email,fullName,password
+                a@partner.com,"Sharma, Amit",pw-a
+                b@partner.com,Bina,pw-b
+                existing@partner.com,Existing Again,pw
+                c@partner.com,Chetan,pw-c
+                not-an-email,Nobody,pw
+                a@partner.com,Amit Twice,pw-a2
+                d@partner.com,,pw-d
+                e@partner.com,Esha,pw-e
+                """;
+
+        ImportSummary summary = importer.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(summary.getImported()).isEqualTo(4);
+        assertThat(summary.getDuplicates()).isEqualTo(2);
+        assertThat(summary.getRejected()).isEqualTo(2);
+        assertThat(summary.getErrors()).containsExactly("line 6: invalid email", "line 8: fullName is required");
+
+        var amit = userRepository.findByEmail("a@partner.com").orElseThrow();
+        assertThat(amit.getFullName()).isEqualTo("Sharma, Amit");
+        assertThat(passwordEncoder.matches("pw-a", amit.getPassword())).isTrue();
+    }
+
+    @Test
+    void concurrentRegisterMidChunkSkipsOnlyThatRow() throws Exception {
+        // findExistingEmails ke BAAD, chunk ke transaction se theek pehle register - conflict batch flush pe hi milta hai
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                userService.register(RegisterRequest.builder()
+                        .fullName("Raced").email("race-b@partner.com").password("pw").build());
+            }
+            return invocation.callRealMethod();
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        String csv = """
+                email,fullName,password
+                race-a@partner.com,Asha,pw-a
+                race-b@partner.com,Bharat,pw-b
+                race-c@partner.com,Chitra,pw-c
+                """;
+
+        ImportSummary summary = importer.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(raced).isTrue();
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getDuplicates()).isEqualTo(1);
+        assertThat(userRepository.findByEmail("race-a@partner.com")).isPresent();
+        assertThat(userRepository.findByEmail("race-c@partner.com")).isPresent();
+        assertThat(userRepository.findByEmail("race-b@partner.com").orElseThrow().getFullName()).isEqualTo("Raced");
+    }
+
+    @Test
+    void registerReliesOnUniqueConstraint() {
+        RegisterRequest request = RegisterRequest.builder()
+                .fullName("Once").email("once@partner.com").password("pw").build();
+        userService.register(request);
+
+        assertThatThrownBy(() -> userService.register(request))
+                .hasMessage("Email already in use: once@partner.com");
+    }
+
+    @Test
+    void httpImportNeedsATokenFromAConfiguredAdminEmail() throws Exception {
+        userService.register(RegisterRequest.builder().fullName("Ops").email("ops@partner.com").password("pw").build());
+        userService.register(RegisterRequest.builder().fullName("Plain").email("plain@partner.com").password("pw").build());
+        String csv = """
+                email,fullName,password
+                via-http@partner.com,Http,pw
+                """;
+
+        mockMvc.perform(post("/api/users/import").contentType("text/csv").content(csv)
+                        .header("Authorization", "Bearer " + login("plain@partner.com")))
+                .andExpect(status().isForbidden());
+
+        // security.admin-emails case-insensitive match -> login token me ADMIN
+        mockMvc.perform(post("/api/users/import").contentType("text/csv").content(csv)
+                        .header("Authorization", "Bearer " + login("ops@partner.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+        assertThat(userRepository.findByEmail("via-http@partner.com")).isPresent();
+    }
+
+    private String login(String email) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"pw\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.token");
+    }
+}
@@ -0,0 +1,60 @@
+package com.credit.userms.user_management_ms.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "metrics.timing-header.enabled=true")
+@AutoConfigureMockMvc
+class RequestTimingsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginReportsStageBreakdownInHeaderAndTimingsEndpoint() throws Exception {
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"Timed\",\"email\":\"timed@example.com\",\"password\":\"pw\"}"))
+                .andExpect(status().isOk());
+
+        String serverTiming = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"timed@example.com\",\"password\":\"pw\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertThat(serverTiming)
+                .startsWith("total;dur=")
+                .contains("db.find-by-email;dur=", "bcrypt.queue;dur=", "bcrypt.hash;dur=", "jwt.sign;dur=")
+                .containsPattern("db;desc=\"[1-9]\\d* statements\"");
+
+        // MockMvc request 127.0.0.1 se aati hai - local-only guard pass
+        mockMvc.perform(get("/metrics/timings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints['POST /api/users/login'].count").value(1))
+                .andExpect(jsonPath("$.endpoints['POST /api/users/login'].statementsPerRequest").value(greaterThan(0.0)))
+                .andExpect(jsonPath("$.stages['bcrypt.hash'].count").value(greaterThan(1)))
+                .andExpect(jsonPath("$.statements").value(greaterThan(0)))
+                .andExpect(jsonPath("$.pools").isNotEmpty());
+    }
+
+    @Test
+    void timingsAreHiddenFromRemoteClients() throws Exception {
+        mockMvc.perform(get("/metrics/timings").with(request -> {
+                    request.setRemoteAddr("10.1.2.3");
+                    return request;
+                }))
+                .andExpect(status().isNotFound());
+    }
+}
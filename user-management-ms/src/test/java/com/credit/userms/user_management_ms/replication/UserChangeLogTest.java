@@ -0,0 +1,86 @@
+package com.credit.userms.user_management_ms.replication;
+
+import com.credit.userms.user_management_ms.dto.RegisterRequest;
+import com.credit.userms.user_management_ms.dto.UserResponse;
+import com.credit.userms.user_management_ms.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class UserChangeLogTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserChangeLog changeLog;
+
+    @Test
+    void registerAppendsReplayableChange() throws IOException {
+        long before = latestSeq();
+        UserResponse created = userService.register(RegisterRequest.builder()
+                .fullName("Replica").email("replica@example.com").password("pw").build());
+
+        DataInputStream in = changesAfter(before);
+        assertThat(in.readInt()).isEqualTo(UserChangeLog.CHANGES_MAGIC);
+        in.readLong();
+        long latest = in.readLong();
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readLong()).isEqualTo(latest);
+        assertThat(in.readLong()).isEqualTo(created.getId());
+        assertThat(in.readByte()).isEqualTo((byte) 0);    // ACTIVE
+        assertThat(in.readUTF()).isEqualTo("replica@example.com");
+
+        // duplicate email rollback - log me kuch nahi
+        assertThatThrownBy(() -> userService.register(RegisterRequest.builder()
+                .fullName("Again").email("replica@example.com").password("pw").build()))
+                .hasMessageContaining("Email already in use");
+        assertThat(latestSeq()).isEqualTo(latest);
+    }
+
+    @Test
+    void snapshotStreamsEveryUser() throws IOException {
+        UserResponse created = userService.register(RegisterRequest.builder()
+                .fullName("Snap").email("snap@example.com").password("pw").build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        changeLog.writeSnapshot(out);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(in.readInt()).isEqualTo(UserChangeLog.SNAPSHOT_MAGIC);
+        in.readLong();
+        List<String> emails = new ArrayList<>();
+        long id;
+        while ((id = in.readLong()) != 0) {
+            in.readByte();
+            String email = in.readUTF();
+            if (id == created.getId()) {
+                emails.add(email);
+            }
+        }
+        assertThat(emails).containsExactly("snap@example.com");
+    }
+
+    private long latestSeq() throws IOException {
+        DataInputStream in = changesAfter(Long.MAX_VALUE - 1);
+        in.readInt();
+        in.readLong();
+        return in.readLong();
+    }
+
+    private DataInputStream changesAfter(long after) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(changeLog.writeChanges(after, 100, out)).isTrue();
+        return new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.credit.userms.user_management_ms.service;
+
+import com.credit.userms.user_management_ms.cache.UserLookupCache;
+import com.credit.userms.user_management_ms.dto.RegisterRequest;
+import com.credit.userms.user_management_ms.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:users-primary;DB_CLOSE_DELAY=-1",
+        "user.datasource.replica.enabled=true",
+        "user.datasource.replica.url=jdbc:h2:mem:users-replica;DB_CLOSE_DELAY=-1"
+})
+class UserLookupTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Test
+    void lookupsReadTheReplicaAndFallBackToPrimaryForUnreplicatedUsers() {
+        JdbcTemplate replicaJdbc = replicaWithSchema();
+        replicaJdbc.update("INSERT INTO users (id, fullname, email, password) VALUES (900001, 'Replica Only', 'replica-only@example.com', 'x')");
+
+        // sirf replica pe hai - readOnly lookup wahin gaya
+        assertThat(userService.findById(900001L).getFullName()).isEqualTo("Replica Only");
+        assertThat(new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM users WHERE id = 900001", Integer.class)).isZero();
+
+        // abhi replicate nahi hua (replication lag) - primary se mila
+        UserResponse created = userService.register(RegisterRequest.builder()
+                .fullName("Fresh").email("fresh@example.com").password("pw").build());
+        assertThat(userService.findById(created.getId())).isEqualTo(created);
+
+        assertThatThrownBy(() -> userService.findById(999_999L)).hasMessageContaining("User Not Found");
+    }
+
+    @Test
+    void idAndEmailLookupsShareTheCache() {
+        replicaWithSchema();
+        UserResponse created = userService.register(RegisterRequest.builder()
+                .fullName("Cached").email("cached@example.com").password("pw").build());
+
+        assertThat(userService.findByEmail("cached@example.com")).isEqualTo(created);
+        long hits = userLookupCache.hitCount();
+        assertThat(userService.findById(created.getId())).isEqualTo(created);
+        assertThat(userService.findByEmail("cached@example.com")).isEqualTo(created);
+        assertThat(userLookupCache.hitCount()).isEqualTo(hits + 2);
+    }
+
+    private JdbcTemplate replicaWithSchema() {
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, fullname VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL)");
+        return jdbc;
+    }
+}
@@ -0,0 +1,95 @@
+package com.credit.userms.user_management_ms.service.auth;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "Zm9yZGV2LXNlY3JldC1wbGVhc2UtY2hhbmdlLWF0LWxlYXN0LTI1Ni1iaXRzIQ==";
+    private static final String OTHER_SECRET = "YW5vdGhlci1zZWNyZXQtdGhhdC1pcy1hbHNvLWF0LWxlYXN0LTI1Ni1iaXRzIQ==";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 1000);
+
+    @Test
+    void generatedTokenVerifiesWithClaimsIdentity() {
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken("a@b.com", 7L, List.of("USER", "ADMIN")));
+
+        assertThat(token.username()).isEqualTo("a@b.com");
+        assertThat(token.userId()).isEqualTo(7L);
+        assertThat(roles(token)).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(token.isExpired(System.currentTimeMillis())).isFalse();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        assertThat(jwtUtil.verify(token(SECRET, Map.of("roles", List.of("USER")), -1_000))).isNull();
+        assertThat(jwtUtil.validateToken(token(SECRET, Map.of("roles", List.of("USER")), -1_000), "a@b.com")).isFalse();
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenAfterTheOriginalWasCached() {
+        String original = jwtUtil.generateToken("a@b.com", 7L, List.of("USER"));
+        assertThat(jwtUtil.verify(original)).isNotNull();
+
+        // payload badla (ADMIN role), signature purana - cache digest alag hai, parse fail hona chahiye
+        String[] parts = original.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"sub\":\"a@b.com\",\"roles\":[\"ADMIN\"],\"exp\":" + (System.currentTimeMillis() / 1000 + 3600) + "}")
+                        .getBytes(StandardCharsets.UTF_8));
+        assertThat(jwtUtil.verify(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+
+        // doosri key se sign kiya hua, aur signature ke aage kachra
+        assertThat(jwtUtil.verify(token(OTHER_SECRET, Map.of("roles", List.of("ADMIN")), 3_600_000))).isNull();
+        assertThat(jwtUtil.verify(original + "x")).isNull();
+        assertThat(jwtUtil.verify("garbage")).isNull();
+    }
+
+    @Test
+    void repeatedTokenIsServedFromTheVerifiedCache() {
+        String token = jwtUtil.generateToken("a@b.com", 7L, List.of("USER"));
+
+        VerifiedToken first = jwtUtil.verify(token);
+        assertThat(jwtUtil.verify(token)).isSameAs(first);
+        // doosre user ka token apni entry banata hai
+        assertThat(jwtUtil.verify(jwtUtil.generateToken("c@d.com", 8L, List.of("USER"))).username()).isEqualTo("c@d.com");
+        assertThat(jwtUtil.verify(token)).isSameAs(first);
+    }
+
+    @Test
+    void legacyTokenWithoutRolesOrUserIdGetsDefaultRole() {
+        // roles / uid claims aane se pehle ke tokens - sirf subject + exp
+        VerifiedToken token = jwtUtil.verify(token(SECRET, Map.of(), 3_600_000));
+
+        assertThat(token.username()).isEqualTo("a@b.com");
+        assertThat(token.userId()).isNull();
+        assertThat(roles(token)).containsExactly("ROLE_USER");
+        assertThat(jwtUtil.extractUsername(jwtUtil.generateToken("legacy@b.com"))).isEqualTo("legacy@b.com");
+    }
+
+    private static List<String> roles(VerifiedToken token) {
+        return token.authorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    private static String token(String secret, Map<String, Object> claims, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("a@b.com")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
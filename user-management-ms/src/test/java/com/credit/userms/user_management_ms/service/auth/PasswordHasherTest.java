@@ -0,0 +1,73 @@
+package com.credit.userms.user_management_ms.service.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    @Test
+    void verifyRehashesWhenCostChanged() {
+        PasswordHasher hasher = new PasswordHasher(5, Duration.ZERO, 4, 4, 1, 4);
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        PasswordHasher.Verification ok = hasher.verify("secret", oldHash);
+        assertThat(ok.matches()).isTrue();
+        assertThat(ok.upgradedHash()).startsWith("$2a$05$");
+        assertThat(hasher.verify("secret", ok.upgradedHash()).upgradedHash()).isNull();
+
+        assertThat(hasher.verify("wrong", oldHash).matches()).isFalse();
+    }
+
+    @Test
+    void higherCostHashIsNeverDowngraded() {
+        // doosre instance ne zyada cost calibrate kiya tha - yeh instance usse neeche rehash na kare
+        PasswordHasher hasher = new PasswordHasher(4, Duration.ZERO, 4, 4, 1, 4);
+        String strongerHash = new BCryptPasswordEncoder(5).encode("secret");
+
+        PasswordHasher.Verification ok = hasher.verify("secret", strongerHash);
+        assertThat(ok.matches()).isTrue();
+        assertThat(ok.upgradedHash()).isNull();
+        assertThat(hasher.needsRehash(strongerHash)).isFalse();
+        assertThat(hasher.needsRehash("not-a-bcrypt-hash")).isTrue();
+    }
+
+    @Test
+    void fullQueueFailsFastInsteadOfWaiting() throws Exception {
+        // 1 thread + 1 queue slot; cost 14 ka hash ~1s leta hai, to teesri request turant reject honi chahiye
+        PasswordHasher hasher = new PasswordHasher(14, Duration.ZERO, 4, 14, 1, 1);
+        CompletableFuture<?> running = CompletableFuture.runAsync(() -> hasher.encode("a"));
+        CompletableFuture<?> queued = CompletableFuture.runAsync(() -> hasher.encode("b"));
+        while (hasher.queueDepth() < 1) {
+            Thread.sleep(1);
+        }
+
+        long start = System.nanoTime();
+        PasswordHashingBusyException busy = null;
+        try {
+            hasher.encode("c");
+        } catch (PasswordHashingBusyException e) {
+            busy = e;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(busy).isNotNull();
+        assertThat(elapsedMillis).isLessThan(100);
+        assertThat(hasher.rejectedCount()).isEqualTo(1);
+
+        hasher.shutdown();
+        running.cancel(true);
+        queued.cancel(true);
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(PasswordHasher.calibrate(Duration.ZERO, 4, 8)).isEqualTo(4);
+        assertThat(PasswordHasher.calibrate(Duration.ofHours(1), 4, 8)).isEqualTo(8);
+    }
+}